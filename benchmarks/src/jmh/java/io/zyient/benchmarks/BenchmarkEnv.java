@@ -0,0 +1,37 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.benchmarks;
+
+import io.zyient.base.core.BaseEnv;
+import io.zyient.base.core.processing.ProcessorState;
+import lombok.NonNull;
+import org.apache.commons.configuration2.HierarchicalConfiguration;
+import org.apache.commons.configuration2.tree.ImmutableNode;
+
+/**
+ * Minimal, un-initialized environment for benchmarks of components that only keep a reference to the env.
+ */
+public class BenchmarkEnv extends BaseEnv<ProcessorState.EProcessorState> {
+    public BenchmarkEnv(@NonNull String name) {
+        super(name, new ProcessorState());
+    }
+
+    @Override
+    protected BaseEnv<?> create(@NonNull HierarchicalConfiguration<ImmutableNode> xmlConfig) {
+        return this;
+    }
+}
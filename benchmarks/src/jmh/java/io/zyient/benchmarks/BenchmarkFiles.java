@@ -0,0 +1,66 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.benchmarks;
+
+import lombok.NonNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+
+/**
+ * Local filesystem fixtures shared by the benchmarks.
+ */
+public final class BenchmarkFiles {
+    private BenchmarkFiles() {
+    }
+
+    public static File tempDir(@NonNull String prefix) throws IOException {
+        return Files.createTempDirectory(prefix).toFile();
+    }
+
+    public static File randomFile(@NonNull File dir,
+                                  @NonNull String name,
+                                  long size) throws IOException {
+        File file = new File(dir, name);
+        byte[] buffer = new byte[1024 * 1024];
+        try (OutputStream out = Files.newOutputStream(file.toPath())) {
+            long written = 0;
+            while (written < size) {
+                ThreadLocalRandom.current().nextBytes(buffer);
+                int len = (int) Math.min(buffer.length, size - written);
+                out.write(buffer, 0, len);
+                written += len;
+            }
+        }
+        return file;
+    }
+
+    public static void delete(File dir) throws IOException {
+        if (dir == null || !dir.exists()) return;
+        try (Stream<Path> paths = Files.walk(dir.toPath())) {
+            paths.sorted(Comparator.reverseOrder())
+                    .map(Path::toFile)
+                    .forEach(File::delete);
+        }
+    }
+}
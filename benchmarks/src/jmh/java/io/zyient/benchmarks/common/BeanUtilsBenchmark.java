@@ -0,0 +1,103 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.benchmarks.common;
+
+import io.zyient.base.common.utils.beans.BeanUtils;
+import io.zyient.base.common.utils.beans.TypeRef;
+import lombok.Getter;
+import lombok.Setter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Path based property access through {@link BeanUtils}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BeanUtilsBenchmark {
+    @Getter
+    @Setter
+    public static class Address {
+        private String city;
+        private String zip;
+    }
+
+    @Getter
+    @Setter
+    public static class Customer {
+        private String name;
+        private int age;
+        private Address address;
+        @TypeRef(type = Address.class)
+        private List<Address> addresses;
+    }
+
+    private Customer customer;
+
+    @Setup
+    public void setup() throws Exception {
+        customer = new Customer();
+        customer.name = "customer";
+        customer.age = 42;
+        customer.address = new Address();
+        customer.address.city = "city";
+        customer.addresses = new ArrayList<>();
+        for (int ii = 0; ii < 8; ii++) {
+            Address address = new Address();
+            address.city = "city-" + ii;
+            customer.addresses.add(address);
+        }
+        BeanUtils.get(Customer.class);
+    }
+
+    @Benchmark
+    public Object classDef() throws Exception {
+        return BeanUtils.get(Customer.class);
+    }
+
+    @Benchmark
+    public Object getField() throws Exception {
+        return BeanUtils.getValue(customer, "name");
+    }
+
+    @Benchmark
+    public Object getNested() throws Exception {
+        return BeanUtils.getValue(customer, "address.city");
+    }
+
+    @Benchmark
+    public Object getIndexed() throws Exception {
+        return BeanUtils.getValue(customer, "addresses[4].city");
+    }
+
+    @Benchmark
+    public void setNested() throws Exception {
+        BeanUtils.setValue(customer, "address.zip", "12345");
+    }
+
+    @Benchmark
+    public Object setFromString() throws Exception {
+        return BeanUtils.setValueFromString(customer, "age", "43");
+    }
+}
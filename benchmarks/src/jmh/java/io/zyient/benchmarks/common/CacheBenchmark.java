@@ -0,0 +1,83 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.benchmarks.common;
+
+import io.zyient.base.common.cache.Cache;
+import io.zyient.base.common.cache.LRUCache;
+import io.zyient.base.common.cache.TinyLfuCache;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mixed read/write throughput of the in-process caches over a skewed key distribution
+ * (key space 4x the cache capacity, 90% reads).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CacheBenchmark {
+    private static final int KEYS_MASK = (1 << 16) - 1;
+
+    @Param({"LRU", "TinyLFU"})
+    private String type;
+    @Param({"16384"})
+    private int capacity;
+
+    private Cache<Integer, String> cache;
+    private Integer[] keys;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("deprecation")
+    public void setup() throws Exception {
+        if (type.equals("LRU")) {
+            cache = new LRUCache<>(capacity);
+        } else {
+            cache = new TinyLfuCache<>(capacity);
+        }
+        keys = new Integer[KEYS_MASK + 1];
+        for (int ii = 0; ii < keys.length; ii++) {
+            // Skewed: low keys are far more frequent than high keys.
+            double r = ThreadLocalRandom.current().nextDouble();
+            keys[ii] = (int) (Math.pow(r, 3) * capacity * 4);
+        }
+        for (int ii = 0; ii < capacity; ii++) {
+            cache.put(ii, String.valueOf(ii));
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int index = ThreadLocalRandom.current().nextInt();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Optional<String> readWrite(Cursor cursor) throws Exception {
+        Integer key = keys[cursor.index++ & KEYS_MASK];
+        Optional<String> value = cache.get(key);
+        if (value.isEmpty() && (cursor.index % 10 == 0)) {
+            cache.put(key, String.valueOf(key));
+        }
+        return value;
+    }
+}
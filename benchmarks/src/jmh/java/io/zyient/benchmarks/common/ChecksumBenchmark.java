@@ -0,0 +1,62 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.benchmarks.common;
+
+import io.zyient.base.common.utils.ChecksumUtils;
+import io.zyient.benchmarks.BenchmarkFiles;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Buffer and string checksums through {@link ChecksumUtils}. File tree hashes are in {@link TreeHashBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ChecksumBenchmark {
+    private File dir;
+    private byte[] data;
+    private String text;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        dir = BenchmarkFiles.tempDir("checksum-benchmark");
+        data = Files.readAllBytes(BenchmarkFiles.randomFile(dir, "small.bin", 1024 * 1024).toPath());
+        text = new String(data, 0, 4096);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        BenchmarkFiles.delete(dir);
+    }
+
+    @Benchmark
+    public String checksum() throws Exception {
+        return ChecksumUtils.checksum(data, data.length);
+    }
+
+    @Benchmark
+    public String generateHash() throws Exception {
+        return ChecksumUtils.generateHash(text);
+    }
+}
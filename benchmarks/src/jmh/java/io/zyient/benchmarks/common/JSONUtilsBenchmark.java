@@ -0,0 +1,133 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.benchmarks.common;
+
+import io.zyient.base.common.utils.JSONUtils;
+import lombok.Getter;
+import lombok.Setter;
+import org.apache.curator.framework.CuratorFramework;
+import org.apache.curator.framework.CuratorFrameworkFactory;
+import org.apache.curator.retry.RetryOneTime;
+import org.apache.curator.test.TestingServer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON (de)serialization through {@link JSONUtils}, in memory and round-tripped through
+ * an embedded ZooKeeper ({@link TestingServer}) as the state managers do.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JSONUtilsBenchmark {
+    private static final String ZK_PATH = "/benchmarks/json";
+
+    @Getter
+    @Setter
+    public static class Item {
+        private String sku;
+        private int quantity;
+        private double price;
+    }
+
+    @Getter
+    @Setter
+    public static class Order {
+        private String id;
+        private long timestamp;
+        private String customer;
+        private List<Item> items;
+        private Map<String, String> attributes;
+    }
+
+    private Order order;
+    private byte[] json;
+    private String jsonString;
+    private TestingServer server;
+    private CuratorFramework client;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        order = new Order();
+        order.id = "order-0001";
+        order.timestamp = System.currentTimeMillis();
+        order.customer = "customer-0001";
+        order.items = new ArrayList<>();
+        order.attributes = new HashMap<>();
+        for (int ii = 0; ii < 16; ii++) {
+            Item item = new Item();
+            item.sku = "sku-" + ii;
+            item.quantity = ii;
+            item.price = ii * 1.5;
+            order.items.add(item);
+            order.attributes.put("key-" + ii, "value-" + ii);
+        }
+        json = JSONUtils.asBytes(order);
+        jsonString = new String(json);
+
+        server = new TestingServer(true);
+        client = CuratorFrameworkFactory.newClient(server.getConnectString(), new RetryOneTime(100));
+        client.start();
+        client.blockUntilConnected();
+        client.create().creatingParentsIfNeeded().forPath(ZK_PATH);
+        JSONUtils.write(client, ZK_PATH, order);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        client.close();
+        server.close();
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return JSONUtils.asBytes(order);
+    }
+
+    @Benchmark
+    public Order deserialize() throws Exception {
+        return JSONUtils.read(json, Order.class);
+    }
+
+    @Benchmark
+    public Map<String, Object> asMap() throws Exception {
+        return JSONUtils.asMap(order);
+    }
+
+    @Benchmark
+    public boolean isJson() {
+        return JSONUtils.isJson(jsonString);
+    }
+
+    @Benchmark
+    public Order zkRead() throws Exception {
+        return JSONUtils.read(client, ZK_PATH, Order.class);
+    }
+
+    @Benchmark
+    public void zkWrite() throws Exception {
+        JSONUtils.write(client, ZK_PATH, order);
+    }
+}
@@ -0,0 +1,285 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.benchmarks.common;
+
+import io.zyient.base.common.cache.CacheException;
+import io.zyient.base.common.cache.dynamic.DeltaMapCacheLoader;
+import io.zyient.base.common.cache.dynamic.MapCache;
+import io.zyient.base.common.cache.dynamic.MapCacheDelta;
+import io.zyient.base.common.cache.dynamic.MapCacheLoader;
+import io.zyient.base.common.cache.dynamic.MapCacheSettings;
+import io.zyient.base.common.config.units.TimeUnitValue;
+import io.zyient.base.common.model.Context;
+import io.zyient.base.common.model.entity.IKey;
+import io.zyient.base.common.model.entity.IKeyed;
+import io.zyient.base.common.threads.ManagedThread;
+import io.zyient.base.common.threads.ThreadManager;
+import lombok.Getter;
+import lombok.NonNull;
+import org.apache.commons.configuration2.BaseHierarchicalConfiguration;
+import org.apache.commons.configuration2.HierarchicalConfiguration;
+import org.apache.commons.configuration2.tree.ImmutableNode;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full reload vs. incremental (delta) refresh of a {@link MapCache} backed by an embedded H2
+ * reference table of 1M rows. Each delta invocation applies {@link #changes} updated/deleted rows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class MapCacheRefreshBenchmark {
+    private static final String JDBC_URL = "jdbc:h2:mem:map_cache_bench;DB_CLOSE_DELAY=-1";
+
+    @Param({"1000000"})
+    public int rows;
+    @Param({"1000"})
+    public int changes;
+
+    private Connection connection;
+    private MapCache<RefKey, RefRecord> cache;
+    private long version;
+
+    @Getter
+    public static class RefKey implements IKey {
+        private final long id;
+
+        public RefKey(long id) {
+            this.id = id;
+        }
+
+        @Override
+        public String stringKey() {
+            return String.valueOf(id);
+        }
+
+        @Override
+        public int compareTo(IKey key) {
+            return Long.compare(id, ((RefKey) key).id);
+        }
+
+        @Override
+        public IKey fromString(@NonNull String value) {
+            return new RefKey(Long.parseLong(value));
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return (o instanceof RefKey) && ((RefKey) o).id == id;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(id);
+        }
+    }
+
+    @Getter
+    public static class RefRecord implements IKeyed<RefKey> {
+        private final RefKey key;
+        private final String name;
+
+        public RefRecord(long id, String name) {
+            this.key = new RefKey(id);
+            this.name = name;
+        }
+
+        @Override
+        public RefKey entityKey() {
+            return key;
+        }
+    }
+
+    public static class H2RefDataLoader implements DeltaMapCacheLoader<RefKey, RefRecord> {
+        private Connection connection;
+
+        @Override
+        public boolean needsReload() {
+            return true;
+        }
+
+        @Override
+        public Collection<RefRecord> read(Context context) throws CacheException {
+            try (Statement stmt = connection.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT id, name FROM ref_data WHERE deleted = FALSE")) {
+                List<RefRecord> records = new ArrayList<>();
+                while (rs.next()) {
+                    records.add(new RefRecord(rs.getLong(1), rs.getString(2)));
+                }
+                return records;
+            } catch (SQLException ex) {
+                throw new CacheException(ex);
+            }
+        }
+
+        @Override
+        public long highWaterMark() throws CacheException {
+            try (Statement stmt = connection.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT MAX(version) FROM ref_data")) {
+                return rs.next() ? rs.getLong(1) : -1;
+            } catch (SQLException ex) {
+                throw new CacheException(ex);
+            }
+        }
+
+        @Override
+        public MapCacheDelta<RefKey, RefRecord> readDelta(Context context, long since) throws CacheException {
+            try (PreparedStatement stmt = connection.prepareStatement(
+                    "SELECT id, name, version, deleted FROM ref_data WHERE version > ? ORDER BY version")) {
+                stmt.setLong(1, since);
+                MapCacheDelta<RefKey, RefRecord> delta = new MapCacheDelta<>(since);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        if (rs.getBoolean(4)) {
+                            delta.delete(new RefKey(rs.getLong(1)));
+                        } else {
+                            delta.update(new RefRecord(rs.getLong(1), rs.getString(2)));
+                        }
+                        delta.highWaterMark(rs.getLong(3));
+                    }
+                }
+                return delta;
+            } catch (SQLException ex) {
+                throw new CacheException(ex);
+            }
+        }
+
+        @Override
+        public MapCacheLoader<RefKey, RefRecord> init(@NonNull HierarchicalConfiguration<ImmutableNode> config,
+                                                      @NonNull String path) {
+            try {
+                connection = DriverManager.getConnection(JDBC_URL);
+                return this;
+            } catch (SQLException ex) {
+                throw new RuntimeException(ex);
+            }
+        }
+
+        @Override
+        public void close() {
+            try {
+                connection.close();
+            } catch (SQLException ex) {
+                // Ignore...
+            }
+        }
+    }
+
+    private static class BenchThreadManager implements ThreadManager {
+        private final Map<String, ManagedThread> threads = new HashMap<>();
+
+        @Override
+        public ThreadManager addThread(@NonNull String name, @NonNull ManagedThread thread) {
+            threads.put(name, thread);
+            return this;
+        }
+
+        @Override
+        public ManagedThread getThread(@NonNull String name) {
+            return threads.get(name);
+        }
+
+        @Override
+        public ManagedThread removeThread(@NonNull String name) {
+            return threads.remove(name);
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        connection = DriverManager.getConnection(JDBC_URL);
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("DROP TABLE IF EXISTS ref_data");
+            stmt.execute("CREATE TABLE ref_data (id BIGINT PRIMARY KEY, name VARCHAR(64), " +
+                    "version BIGINT NOT NULL, deleted BOOLEAN DEFAULT FALSE)");
+            stmt.execute("CREATE INDEX ref_data_version ON ref_data(version)");
+        }
+        connection.setAutoCommit(false);
+        try (PreparedStatement stmt = connection.prepareStatement(
+                "INSERT INTO ref_data (id, name, version) VALUES (?, ?, ?)")) {
+            for (int ii = 0; ii < rows; ii++) {
+                stmt.setLong(1, ii);
+                stmt.setString(2, "name-" + ii);
+                stmt.setLong(3, ++version);
+                stmt.addBatch();
+                if (ii % 10000 == 0) {
+                    stmt.executeBatch();
+                }
+            }
+            stmt.executeBatch();
+        }
+        connection.commit();
+
+        MapCacheSettings settings = new MapCacheSettings();
+        settings.setName("ref-data");
+        settings.setLoaderClass(H2RefDataLoader.class);
+        settings.setIncremental(true);
+        settings.setRefreshInterval(new TimeUnitValue(1, TimeUnit.HOURS));
+        BaseHierarchicalConfiguration config = new BaseHierarchicalConfiguration();
+        config.addProperty("cache-loader.name", "h2");
+        cache = new MapCache<>(RefRecord.class, new BenchThreadManager());
+        cache.configure(settings, config);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        cache.close();
+        connection.close();
+    }
+
+    @Setup(Level.Invocation)
+    public void applyChanges() throws Exception {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        try (PreparedStatement stmt = connection.prepareStatement(
+                "UPDATE ref_data SET name = ?, version = ?, deleted = ? WHERE id = ?")) {
+            for (int ii = 0; ii < changes; ii++) {
+                stmt.setString(1, "updated-" + version);
+                stmt.setLong(2, ++version);
+                stmt.setBoolean(3, random.nextInt(10) == 0);
+                stmt.setLong(4, random.nextInt(rows));
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+        connection.commit();
+    }
+
+    @Benchmark
+    public int fullReload() throws Exception {
+        cache.runLoad();
+        return cache.size();
+    }
+
+    @Benchmark
+    public int deltaRefresh() throws Exception {
+        cache.runDelta();
+        return Objects.requireNonNull(cache.metrics()).lastDeltaSize().intValue();
+    }
+}
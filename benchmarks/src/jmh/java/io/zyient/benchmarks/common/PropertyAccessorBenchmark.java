@@ -0,0 +1,163 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.benchmarks.common;
+
+import io.zyient.base.common.utils.beans.BeanUtils;
+import io.zyient.base.common.utils.beans.MapPropertyDef;
+import io.zyient.base.common.utils.beans.PropertyAccessor;
+import io.zyient.base.common.utils.beans.TypeRef;
+import io.zyient.base.common.utils.beans.TypeRefs;
+import lombok.Getter;
+import lombok.Setter;
+import org.apache.commons.lang3.reflect.MethodUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the compiled {@link PropertyAccessor} chains against plain reflective access
+ * for field, nested and collection (list/map) paths.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PropertyAccessorBenchmark {
+    @Getter
+    @Setter
+    public static class Leaf {
+        private String name;
+        private double amount;
+    }
+
+    @Getter
+    @Setter
+    public static class Root {
+        private String name;
+        private Leaf leaf;
+        @TypeRef(type = Leaf.class)
+        private List<Leaf> leaves;
+        @TypeRefs(refs = {
+                @TypeRef(value = MapPropertyDef.REF_NAME_KEY, type = String.class),
+                @TypeRef(value = MapPropertyDef.REF_NAME_VALUE, type = Leaf.class)
+        })
+        private Map<String, Leaf> leafMap;
+    }
+
+    private Root root;
+    private Method getName;
+    private Method getLeaf;
+    private Method getLeafName;
+    private PropertyAccessor fieldAccessor;
+    private PropertyAccessor nestedAccessor;
+    private PropertyAccessor listAccessor;
+    private PropertyAccessor mapAccessor;
+
+    @Setup
+    public void setup() throws Exception {
+        root = new Root();
+        root.name = "root";
+        root.leaf = new Leaf();
+        root.leaf.name = "leaf";
+        root.leaves = new ArrayList<>();
+        root.leafMap = new HashMap<>();
+        for (int ii = 0; ii < 10; ii++) {
+            Leaf leaf = new Leaf();
+            leaf.name = "leaf-" + ii;
+            leaf.amount = ii;
+            root.leaves.add(leaf);
+            root.leafMap.put(leaf.name, leaf);
+        }
+        getName = Root.class.getMethod("getName");
+        getLeaf = Root.class.getMethod("getLeaf");
+        getLeafName = Leaf.class.getMethod("getName");
+        fieldAccessor = PropertyAccessor.get(Root.class, "name");
+        nestedAccessor = PropertyAccessor.get(Root.class, "leaf.name");
+        listAccessor = PropertyAccessor.get(Root.class, "leaves[5].amount");
+        mapAccessor = PropertyAccessor.get(Root.class, "leafMap(leaf-5).amount");
+        // Warm the BeanUtils class definitions.
+        BeanUtils.get(Root.class);
+        BeanUtils.get(Leaf.class);
+    }
+
+    @Benchmark
+    public Object fieldReflection() throws Exception {
+        return getName.invoke(root);
+    }
+
+    @Benchmark
+    public Object fieldMethodUtils() throws Exception {
+        return MethodUtils.invokeMethod(root, "getName");
+    }
+
+    @Benchmark
+    public Object fieldCompiled() throws Exception {
+        return fieldAccessor.getValue(root);
+    }
+
+    @Benchmark
+    public Object nestedReflection() throws Exception {
+        return getLeafName.invoke(getLeaf.invoke(root));
+    }
+
+    @Benchmark
+    public Object nestedCompiled() throws Exception {
+        return nestedAccessor.getValue(root);
+    }
+
+    @Benchmark
+    public Object nestedBeanUtils() throws Exception {
+        return BeanUtils.getValue(root, "leaf.name");
+    }
+
+    @Benchmark
+    public Object listCompiled() throws Exception {
+        return listAccessor.getValue(root);
+    }
+
+    @Benchmark
+    public Object listBeanUtils() throws Exception {
+        return BeanUtils.getValue(root, "leaves[5].amount");
+    }
+
+    @Benchmark
+    public Object mapCompiled() throws Exception {
+        return mapAccessor.getValue(root);
+    }
+
+    @Benchmark
+    public Object mapBeanUtils() throws Exception {
+        return BeanUtils.getValue(root, "leafMap(leaf-5).amount");
+    }
+
+    @Benchmark
+    public void setNestedCompiled() throws Exception {
+        nestedAccessor.setValue(root, "updated");
+    }
+
+    @Benchmark
+    public void setNestedReflection() throws Exception {
+        MethodUtils.invokeMethod(root.leaf, "setName", "updated");
+    }
+}
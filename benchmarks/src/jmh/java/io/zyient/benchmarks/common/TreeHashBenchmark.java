@@ -0,0 +1,78 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.benchmarks.common;
+
+import io.zyient.base.common.utils.ChecksumUtils;
+import io.zyient.benchmarks.BenchmarkFiles;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SHA-256 tree hash throughput of local files at different hashing parallelism. The {@code megabytes}
+ * counter reports MB/s.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class TreeHashBenchmark {
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Counters {
+        public long megabytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            megabytes = 0;
+        }
+    }
+
+    @Param({"1024", "10240"})
+    private int sizeMb;
+    @Param({"1", "4", "8"})
+    private int threads;
+
+    private File dir;
+    private File file;
+    private ExecutorService executor;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        dir = BenchmarkFiles.tempDir("treehash-benchmark");
+        file = BenchmarkFiles.randomFile(dir, "data.bin", (long) sizeMb * 1024 * 1024);
+        executor = Executors.newFixedThreadPool(threads);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        executor.shutdownNow();
+        BenchmarkFiles.delete(dir);
+    }
+
+    @Benchmark
+    public byte[] treeHash(Counters counters) throws Exception {
+        byte[] hash = ChecksumUtils.computeSHA256TreeHash(file, executor, threads);
+        counters.megabytes += sizeMb;
+        return hash;
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.benchmarks.core;
+
+import io.zyient.base.core.BaseEnv;
+import io.zyient.base.core.executor.BaseScheduler;
+import io.zyient.base.core.executor.BaseTask;
+import io.zyient.base.core.executor.SchedulerSettings;
+import io.zyient.base.core.executor.TaskResponse;
+import io.zyient.base.core.model.Heartbeat;
+import io.zyient.base.core.state.BaseStateManager;
+import io.zyient.benchmarks.BenchmarkEnv;
+import lombok.NonNull;
+import org.apache.commons.configuration2.HierarchicalConfiguration;
+import org.apache.commons.configuration2.tree.ImmutableNode;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scheduling overhead and latency of {@link BaseScheduler}.
+ * <p>
+ * {@code shortTasks}: time to run a burst of short one-shot tasks.
+ * {@code latencyWithLongTasks}: add-to-completion latency of a short task while the scheduler
+ * is saturated with long-running recurring tasks of another type (percentiles via SampleTime).
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class BaseSchedulerBenchmark {
+    private static final String TYPE_SHORT = "short";
+    private static final String TYPE_LONG = "long";
+
+    @Param({"10000"})
+    private int tasks;
+    @Param({"false", "true"})
+    private boolean virtualThreads;
+
+    private BenchmarkEnv env;
+    private BenchStateManager stateManager;
+    private BenchScheduler scheduler;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        env = new BenchmarkEnv("scheduler-benchmark");
+        stateManager = new BenchStateManager();
+    }
+
+    @TearDown(Level.Iteration)
+    public void stopScheduler() {
+        if (scheduler != null) {
+            scheduler.stop();
+            scheduler = null;
+        }
+    }
+
+    private BenchScheduler startScheduler(int longTasks) throws Exception {
+        SchedulerSettings settings = new SchedulerSettings();
+        settings.setCorePoolSize(8);
+        settings.setMaxPoolSize(8);
+        settings.setVirtualThreads(virtualThreads);
+        if (longTasks > 0) {
+            Map<String, String> limits = new HashMap<>();
+            limits.put(TYPE_LONG, String.valueOf(settings.getMaxPoolSize() - 2));
+            settings.setTaskTypeLimits(limits);
+        }
+        BenchScheduler scheduler = new BenchScheduler();
+        scheduler.init(settings, env);
+        scheduler.start();
+        for (int ii = 0; ii < longTasks; ii++) {
+            scheduler.add(new BenchTask(stateManager, TYPE_LONG, null, 5, true));
+        }
+        return scheduler;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Measurement(iterations = 10)
+    public void shortTasks() throws Exception {
+        scheduler = startScheduler(0);
+        CountDownLatch latch = new CountDownLatch(tasks);
+        for (int ii = 0; ii < tasks; ii++) {
+            scheduler.add(new BenchTask(stateManager, TYPE_SHORT, latch, 0, false));
+        }
+        latch.await();
+    }
+
+    @State(Scope.Benchmark)
+    public static class LongTaskState {
+        private BenchScheduler scheduler;
+
+        @Setup(Level.Iteration)
+        public void setup(BaseSchedulerBenchmark benchmark) throws Exception {
+            scheduler = benchmark.startScheduler(32);
+        }
+
+        @TearDown(Level.Iteration)
+        public void tearDown() {
+            scheduler.stop();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void latencyWithLongTasks(LongTaskState state) throws Exception {
+        CountDownLatch latch = new CountDownLatch(1);
+        state.scheduler.add(new BenchTask(stateManager, TYPE_SHORT, latch, 0, false));
+        latch.await();
+    }
+
+    private static final class BenchTask extends BaseTask<Long> {
+        private final CountDownLatch latch;
+        private final long sleep;
+        private final boolean recurring;
+
+        private BenchTask(BaseStateManager stateManager,
+                          String type,
+                          CountDownLatch latch,
+                          long sleep,
+                          boolean recurring) {
+            super(stateManager, type);
+            this.latch = latch;
+            this.sleep = sleep;
+            this.recurring = recurring;
+        }
+
+        @Override
+        public TaskResponse<Long> initResponse() {
+            return new TaskResponse<>();
+        }
+
+        @Override
+        public Long execute() throws Exception {
+            if (sleep > 0) {
+                Thread.sleep(sleep);
+            }
+            if (latch != null) {
+                latch.countDown();
+            }
+            return System.nanoTime();
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static final class BenchScheduler extends BaseScheduler<Long> {
+        @Override
+        public boolean schedule(@NonNull BaseTask<Long> task) {
+            if (((BenchTask) task).recurring) {
+                return true;
+            }
+            task.stop();
+            return false;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static final class BenchStateManager extends BaseStateManager {
+        @Override
+        public BaseStateManager init(@NonNull HierarchicalConfiguration<ImmutableNode> xmlConfig,
+                                     @NonNull BaseEnv<?> env) {
+            return this;
+        }
+
+        @Override
+        public Heartbeat heartbeat(@NonNull String instance) {
+            return null;
+        }
+    }
+}
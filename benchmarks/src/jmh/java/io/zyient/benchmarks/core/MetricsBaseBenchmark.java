@@ -0,0 +1,87 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.benchmarks.core;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.zyient.base.core.BaseEnv;
+import io.zyient.base.core.processing.EventProcessorMetrics;
+import io.zyient.base.core.utils.Timer;
+import io.zyient.benchmarks.BenchmarkEnv;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-sample overhead of the metrics recorded on the {@code Processor}/{@code MessageProcessor} paths.
+ * <p>
+ * {@code processorPath} mirrors the per-message loop of {@code MessageProcessor.handleBatch}
+ * (one timer sample + one counter increment), {@code lookupPath} adds the by-name meter lookup
+ * and {@code scopedTimer} the {@link Timer} scope used on the other call sites.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class MetricsBaseBenchmark {
+    private EventProcessorMetrics metrics;
+    private DistributionSummary timer;
+    private Counter counter;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BaseEnv.registry(new SimpleMeterRegistry());
+        metrics = new EventProcessorMetrics("benchmark",
+                "metrics-benchmark",
+                "jmh",
+                new BenchmarkEnv("metrics-benchmark"));
+        timer = metrics.getTimer(EventProcessorMetrics.METRIC_EVENTS_TIME);
+        counter = metrics.getCounter(EventProcessorMetrics.METRIC_EVENTS_PROCESSED);
+    }
+
+    @Benchmark
+    public long processorPath() {
+        long start = Timer.start();
+        counter.increment();
+        return Timer.record(timer, start);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long processorPathContended() {
+        long start = Timer.start();
+        counter.increment();
+        return Timer.record(timer, start);
+    }
+
+    @Benchmark
+    public long lookupPath() {
+        long start = Timer.start();
+        metrics.getCounter(EventProcessorMetrics.METRIC_EVENTS_PROCESSED).increment();
+        return Timer.record(metrics.getTimer(EventProcessorMetrics.METRIC_EVENTS_TIME), start);
+    }
+
+    @Benchmark
+    public void scopedTimer() throws Exception {
+        try (Timer t = new Timer(timer)) {
+            counter.increment();
+        }
+    }
+}
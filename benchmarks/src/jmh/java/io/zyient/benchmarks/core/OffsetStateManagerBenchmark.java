@@ -0,0 +1,241 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.benchmarks.core;
+
+import io.zyient.base.common.config.units.TimeUnitValue;
+import io.zyient.base.core.BaseEnv;
+import io.zyient.base.core.connections.ConnectionManager;
+import io.zyient.base.core.connections.common.ZookeeperConnection;
+import io.zyient.base.core.connections.settings.common.ZookeeperSettings;
+import io.zyient.base.core.model.Heartbeat;
+import io.zyient.base.core.state.*;
+import io.zyient.benchmarks.BenchmarkEnv;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+import org.apache.commons.configuration2.HierarchicalConfiguration;
+import org.apache.commons.configuration2.tree.ImmutableNode;
+import org.apache.curator.drivers.TracerDriver;
+import org.apache.curator.test.TestingServer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Offset update throughput of {@link OffsetStateManager} against an embedded ZooKeeper, comparing the
+ * distributed-lock update ({@code Locked}), the versioned compare-and-set update ({@code Versioned}) and
+ * coalesced write-behind ({@code WriteBehind}). The {@code zkOps} counter divided by {@code updates}
+ * gives the ZooKeeper operations issued per offset update.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class OffsetStateManagerBenchmark {
+    public enum EUpdateMode {
+        Locked, Versioned, WriteBehind
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Counters {
+        public long updates;
+        public long zkOps;
+        private long baseline;
+
+        @Setup(Level.Iteration)
+        public void reset(OffsetStateManagerBenchmark benchmark) {
+            updates = 0;
+            zkOps = 0;
+            baseline = benchmark.tracer.operations.get();
+        }
+    }
+
+    private static class OperationCounter implements TracerDriver {
+        private final AtomicLong operations = new AtomicLong();
+
+        @Override
+        public void addTrace(String name, long time, TimeUnit unit) {
+            if (name.endsWith("-Foreground") || name.endsWith("-Background")) {
+                operations.incrementAndGet();
+            }
+        }
+
+        @Override
+        public void addCount(String name, int increment) {
+        }
+    }
+
+    @Param({"Locked", "Versioned", "WriteBehind"})
+    private EUpdateMode mode;
+    @Param({"100"})
+    private long flushInterval;
+
+    private final OperationCounter tracer = new OperationCounter();
+    private TestingServer server;
+    private ZookeeperConnection connection;
+    private BenchOffsetStateManager manager;
+    private BenchOffsetState state;
+    private long sequence = 0;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        server = new TestingServer(true);
+        ZookeeperSettings zs = new ZookeeperSettings();
+        zs.setName("zk-benchmark");
+        zs.setConnectionString(server.getConnectString());
+        zs.setRetryEnabled(true);
+        connection = new ZookeeperConnection();
+        connection.setup(zs, new BenchmarkEnv("offset-benchmark"));
+        connection.connect();
+        ConnectionManager connections = new ConnectionManager();
+        connections.addConnection(zs.getName(), connection);
+
+        BenchOffsetSettings settings = new BenchOffsetSettings();
+        settings.setName("offsets");
+        settings.setZkConnection(zs.getName());
+        settings.setExclusiveLocking(mode == EUpdateMode.Locked);
+        if (mode == EUpdateMode.WriteBehind) {
+            settings.setFlushInterval(new TimeUnitValue(flushInterval, TimeUnit.MILLISECONDS));
+        }
+        manager = (BenchOffsetStateManager) new BenchOffsetStateManager()
+                .withStateManager(new BenchStateManager())
+                .init(settings, new ZkEnv(connections));
+        state = manager.create("partition-0");
+        connection.client().getZookeeperClient().setTracerDriver(tracer);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        manager.close();
+        connection.close();
+        server.close();
+    }
+
+    @Benchmark
+    public BenchOffsetState update(Counters counters) throws Exception {
+        state.getOffset().setValue(++sequence);
+        state = manager.update(state);
+        counters.updates++;
+        counters.zkOps = tracer.operations.get() - counters.baseline;
+        return state;
+    }
+
+    public static class ZkEnv extends BenchmarkEnv {
+        private final ConnectionManager connections;
+
+        public ZkEnv(@NonNull ConnectionManager connections) {
+            super("offset-benchmark");
+            this.connections = connections;
+        }
+
+        @Override
+        public ConnectionManager connectionManager() {
+            return connections;
+        }
+    }
+
+    public static class BenchStateManager extends BaseStateManager {
+        @Override
+        public String getOffsetPath(@NonNull String name) {
+            return String.format("/benchmarks/offsets/%s", name);
+        }
+
+        @Override
+        public BaseStateManager init(@NonNull HierarchicalConfiguration<ImmutableNode> xmlConfig,
+                                     @NonNull BaseEnv<?> env) {
+            return this;
+        }
+
+        @Override
+        public Heartbeat heartbeat(@NonNull String instance) {
+            return null;
+        }
+    }
+
+    public static class BenchOffsetSettings extends OffsetStateManagerSettings {
+    }
+
+    @Getter
+    @Setter
+    public static class BenchOffset extends Offset {
+        private long value;
+
+        @Override
+        public String asString() {
+            return String.valueOf(value);
+        }
+
+        @Override
+        public Offset fromString(@NonNull String source) {
+            value = Long.parseLong(source);
+            return this;
+        }
+
+        @Override
+        public int compareTo(Offset offset) {
+            return Long.compare(value, ((BenchOffset) offset).value);
+        }
+    }
+
+    public enum EBenchState {
+        Unknown, Running, Error
+    }
+
+    public static class BenchOffsetState extends OffsetState<EBenchState, BenchOffset> {
+        public static final String OFFSET_TYPE = "benchmark";
+
+        public BenchOffsetState() {
+            super(EBenchState.Error, EBenchState.Unknown, OFFSET_TYPE);
+        }
+    }
+
+    public static class BenchOffsetStateManager extends OffsetStateManager<BenchOffset> {
+        @Override
+        public OffsetStateManager<BenchOffset> init(@NonNull HierarchicalConfiguration<ImmutableNode> xmlConfig,
+                                                    @NonNull BaseEnv<?> env) throws StateManagerError {
+            try {
+                super.init(xmlConfig, env, BenchOffsetSettings.class);
+                return this;
+            } catch (Exception ex) {
+                throw new StateManagerError(ex);
+            }
+        }
+
+        @Override
+        public OffsetStateManager<BenchOffset> init(@NonNull OffsetStateManagerSettings settings,
+                                                    @NonNull BaseEnv<?> env) throws StateManagerError {
+            try {
+                setup(settings, env);
+                return this;
+            } catch (Exception ex) {
+                throw new StateManagerError(ex);
+            }
+        }
+
+        public BenchOffsetState create(@NonNull String name) throws StateManagerError {
+            BenchOffsetState state = create(BenchOffsetState.OFFSET_TYPE, name, BenchOffsetState.class);
+            if (state.getOffset() == null) {
+                state.setOffset(new BenchOffset());
+            }
+            return update(state);
+        }
+    }
+}
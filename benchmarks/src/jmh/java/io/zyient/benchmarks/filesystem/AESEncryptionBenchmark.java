@@ -0,0 +1,80 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.benchmarks.filesystem;
+
+import io.zyient.base.common.model.Context;
+import io.zyient.benchmarks.BenchmarkEnv;
+import io.zyient.benchmarks.BenchmarkFiles;
+import io.zyient.core.filesystem.encryption.AESEncryptionHandler;
+import io.zyient.core.filesystem.model.FileInode;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * File encryption/decryption through {@link AESEncryptionHandler} on the local filesystem.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class AESEncryptionBenchmark {
+    private static final String KEY = "benchmark-key-0123456789abcdefgh";
+    private static final String IV = "benchmark-iv-001";
+
+    @Param({"16"})
+    private int sizeMb;
+
+    private File dir;
+    private File source;
+    private File encrypted;
+    private File decrypted;
+    private FileInode inode;
+    private AESEncryptionHandler handler;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        dir = BenchmarkFiles.tempDir("aes-benchmark");
+        source = BenchmarkFiles.randomFile(dir, "source.bin", (long) sizeMb * 1024 * 1024);
+        encrypted = new File(dir, "source.enc");
+        decrypted = new File(dir, "source.dec");
+        inode = new FileInode("benchmark", dir.getAbsolutePath(), source.getName());
+        handler = new AESEncryptionHandler(new BenchmarkEnv("aes-benchmark"), KEY, IV);
+        handler.encrypt(source, inode, new Context(), encrypted);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        BenchmarkFiles.delete(dir);
+    }
+
+    @Benchmark
+    public long encrypt() throws Exception {
+        File out = new File(dir, "encrypt.out");
+        handler.encrypt(source, inode, new Context(), out);
+        return out.length();
+    }
+
+    @Benchmark
+    public long decrypt() throws Exception {
+        handler.decrypt(encrypted, inode, new Context(), decrypted);
+        return decrypted.length();
+    }
+}
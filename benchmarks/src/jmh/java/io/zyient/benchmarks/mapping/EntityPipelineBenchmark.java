@@ -0,0 +1,197 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.benchmarks.mapping;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.zyient.base.core.BaseEnv;
+import io.zyient.base.core.connections.Connection;
+import io.zyient.base.core.model.LongKey;
+import io.zyient.base.core.processing.ProcessorState;
+import io.zyient.benchmarks.BenchmarkEnv;
+import io.zyient.benchmarks.BenchmarkFiles;
+import io.zyient.benchmarks.persistence.RdbmsBatchWriteBenchmark;
+import io.zyient.core.mapping.model.InputContentInfo;
+import io.zyient.core.mapping.pipeline.source.SourceEntityPipeline;
+import io.zyient.core.mapping.pipeline.settings.PersistedEntityPipelineSettings;
+import io.zyient.core.mapping.readers.ReadResponse;
+import io.zyient.core.mapping.readers.impl.separated.SeparatedInputReader;
+import io.zyient.core.mapping.readers.settings.SeparatedReaderSettings;
+import io.zyient.core.persistence.impl.rdbms.HibernateConnection;
+import io.zyient.core.persistence.impl.rdbms.RdbmsDataStore;
+import io.zyient.core.persistence.impl.settings.rdbms.RdbmsStoreSettings;
+import org.apache.commons.configuration2.XMLConfiguration;
+import org.apache.commons.configuration2.io.FileHandler;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.cfg.Environment;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to load a generated CSV file into H2 through {@link SourceEntityPipeline}, committing every
+ * record in its own transaction ({@code PerRecord}) against chunked bulk writes ({@code Chunked},
+ * {@code dataStore.commitBatchSize} records per bulk create).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class EntityPipelineBenchmark {
+    public enum ECommitMode {
+        PerRecord, Chunked
+    }
+
+    private static final String[] COLUMNS = {"Name", "Amount", "Payload"};
+    private static final String[] TARGETS = {"name", "amount", "payload"};
+
+    @Param({"1000000"})
+    private int rows;
+    @Param({"PerRecord", "Chunked"})
+    private ECommitMode mode;
+    @Param({"1000"})
+    private int commitBatchSize;
+
+    private File dir;
+    private File file;
+    private HibernateConnection connection;
+    private RdbmsDataStore dataStore;
+    private SourceEntityPipeline<LongKey, RdbmsBatchWriteBenchmark.BenchRow> pipeline;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        if (BaseEnv.registry() == null) {
+            BaseEnv.registry(new SimpleMeterRegistry());
+        }
+        dir = BenchmarkFiles.tempDir("pipeline-benchmark");
+        file = new File(dir, "rows.csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(file.toPath())) {
+            writer.write(String.join(",", COLUMNS));
+            writer.newLine();
+            for (int ii = 0; ii < rows; ii++) {
+                writer.write(String.format("row-%d,%d,payload-%d-%s", ii, ii, ii, "x".repeat(64)));
+                writer.newLine();
+            }
+        }
+
+        Properties properties = new Properties();
+        properties.setProperty(Environment.DRIVER, "org.h2.Driver");
+        properties.setProperty(Environment.URL, "jdbc:h2:mem:pipeline-bench;DB_CLOSE_DELAY=-1");
+        properties.setProperty(Environment.USER, "sa");
+        properties.setProperty(Environment.PASS, "");
+        properties.setProperty(Environment.HBM2DDL_AUTO, "create-drop");
+        properties.setProperty(Environment.STATEMENT_BATCH_SIZE, "50");
+        properties.setProperty(Environment.ORDER_INSERTS, "true");
+        SessionFactory sessionFactory = new Configuration()
+                .addProperties(properties)
+                .addAnnotatedClass(RdbmsBatchWriteBenchmark.BenchRow.class)
+                .buildSessionFactory();
+        connection = new HibernateConnection().withSessionFactory(sessionFactory);
+        connection.state().setState(Connection.EConnectionState.Initialized);
+        connection.connect();
+
+        RdbmsStoreSettings storeSettings = new RdbmsStoreSettings();
+        storeSettings.setName("benchmark");
+        storeSettings.setConnectionName("benchmark");
+        storeSettings.setConnectionType(HibernateConnection.class);
+        storeSettings.setBatchSize(commitBatchSize);
+        BenchmarkEnv env = new BenchmarkEnv("pipeline-benchmark");
+        dataStore = new RdbmsDataStore();
+        dataStore.configure(new RdbmsBatchWriteBenchmark.BenchDataStoreManager(connection), storeSettings, env);
+
+        XMLConfiguration config = new XMLConfiguration();
+        new FileHandler(config).load(new StringReader(config()));
+        BenchRowMapping mapping = (BenchRowMapping) new BenchRowMapping()
+                .configure(config.configurationAt("mapping"), env);
+
+        PersistedEntityPipelineSettings settings = new PersistedEntityPipelineSettings();
+        settings.setName("benchmark-pipeline");
+        settings.setTerminateOnValidationError(false);
+        settings.setCommitBatchSize(mode == ECommitMode.Chunked ? commitBatchSize : 1);
+        pipeline = new SourceEntityPipeline<>();
+        pipeline.settings(settings);
+        pipeline.mapping(mapping);
+        pipeline.entityType(RdbmsBatchWriteBenchmark.BenchRow.class);
+        pipeline.keyType(LongKey.class);
+        pipeline.dataStore(dataStore);
+        pipeline.state().setState(ProcessorState.EProcessorState.Running);
+    }
+
+    @Setup(Level.Iteration)
+    public void prepare() throws Exception {
+        try (StatelessSession session = connection.openStatelessSession()) {
+            Transaction tx = session.beginTransaction();
+            session.createNativeMutationQuery("DELETE FROM bench_rows").executeUpdate();
+            tx.commit();
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void clear() throws Exception {
+        dataStore.closeSession();
+    }
+
+    @TearDown(Level.Trial)
+    public void teardown() throws Exception {
+        dataStore.close();
+        connection.close();
+        BenchmarkFiles.delete(dir);
+    }
+
+    @Benchmark
+    public int load() throws Exception {
+        InputContentInfo ci = new InputContentInfo()
+                .path(file)
+                .sourceURI(file.toURI());
+        SeparatedReaderSettings settings = new SeparatedReaderSettings();
+        settings.setHasHeader(true);
+        SeparatedInputReader reader = (SeparatedInputReader) new SeparatedInputReader()
+                .contentInfo(ci)
+                .settings(settings);
+        ReadResponse response = pipeline.read(reader, ci);
+        if (response.getCommitCount() != rows) {
+            throw new Exception(String.format("Rows not committed. [expected=%d][committed=%d][errors=%d]",
+                    rows, response.getCommitCount(), response.getErrorCount()));
+        }
+        return response.getCommitCount();
+    }
+
+    private static String config() {
+        StringBuilder builder = new StringBuilder("<configuration>")
+                .append("<mapping entity=\"io.zyient.benchmarks.mapping.BenchRowMappedResponse\"")
+                .append(" type=\"io.zyient.benchmarks.mapping.BenchRowMapping\">")
+                .append("<settings><name>benchmark-rows</name></settings><mappings>");
+        for (int ii = 0; ii < COLUMNS.length; ii++) {
+            builder.append("<map source=\"").append(COLUMNS[ii]).append("\">")
+                    .append("<sequence>").append(ii + 1).append("</sequence>")
+                    .append("<target>").append(TARGETS[ii]).append("</target>")
+                    .append("<nullable>false</nullable>")
+                    .append("<type>Field</type>")
+                    .append("</map>");
+        }
+        return builder.append("</mappings></mapping></configuration>").toString();
+    }
+}
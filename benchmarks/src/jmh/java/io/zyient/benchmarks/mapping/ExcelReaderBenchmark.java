@@ -0,0 +1,205 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.benchmarks.mapping;
+
+import io.zyient.benchmarks.BenchmarkFiles;
+import io.zyient.core.mapping.model.InputContentInfo;
+import io.zyient.core.mapping.model.mapping.SourceMap;
+import io.zyient.core.mapping.readers.ReadCursor;
+import io.zyient.core.mapping.readers.impl.excel.ExcelInputReader;
+import io.zyient.core.mapping.readers.impl.excel.ExcelSheet;
+import io.zyient.core.mapping.readers.settings.ExcelReaderSettings;
+import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to first record and time to read all records of a large generated trades workbook with the
+ * streaming {@link ExcelInputReader}, against loading the workbook model ({@link XSSFWorkbook}, the
+ * previous implementation). The streaming reads run with a 256MB heap, the {@code peakHeapMB} counter
+ * reports the peak heap used by each read.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgs = {"-Xmx256m"})
+public class ExcelReaderBenchmark {
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Counters {
+        public long records;
+        public long peakHeapMB;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            records = 0;
+            peakHeapMB = 0;
+            System.gc();
+            for (MemoryPoolMXBean pool : heapPools()) {
+                pool.resetPeakUsage();
+            }
+        }
+
+        private void record(long count) {
+            records = count;
+            long peak = 0;
+            for (MemoryPoolMXBean pool : heapPools()) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+            peakHeapMB = peak / (1024 * 1024);
+        }
+    }
+
+    @Param({"1000000"})
+    private int rows;
+
+    private File dir;
+    private File file;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        dir = BenchmarkFiles.tempDir("excel-benchmark");
+        file = new File(dir, "trades.xlsx");
+        // Shared strings are kept in memory while writing: the (unique) trade id is written as a number,
+        // the remaining string columns have a small number of distinct values.
+        try (SXSSFWorkbook workbook = new SXSSFWorkbook(null, 100, true, true)) {
+            CellStyle dateStyle = workbook.createCellStyle();
+            dateStyle.setDataFormat(workbook.createDataFormat().getFormat("yyyy-MM-dd"));
+            Sheet sheet = workbook.createSheet("trades");
+            Row header = sheet.createRow(0);
+            for (int ii = 0; ii < SeparatedInputReaderBenchmark.COLUMNS.length; ii++) {
+                header.createCell(ii).setCellValue(SeparatedInputReaderBenchmark.COLUMNS[ii]);
+            }
+            header.createCell(SeparatedInputReaderBenchmark.COLUMNS.length).setCellValue("TradeDate");
+            for (int ii = 0; ii < rows; ii++) {
+                String[] values = SeparatedInputReaderBenchmark.row(ii);
+                Row row = sheet.createRow(ii + 1);
+                row.createCell(0).setCellValue(ii);
+                for (int jj = 1; jj < values.length; jj++) {
+                    if (jj == 4 || jj == 5) {
+                        row.createCell(jj).setCellValue(Double.parseDouble(values[jj]));
+                    } else {
+                        row.createCell(jj).setCellValue(values[jj]);
+                    }
+                }
+                Cell date = row.createCell(values.length);
+                date.setCellValue(45000 + ii % 365);
+                date.setCellStyle(dateStyle);
+            }
+            try (OutputStream out = Files.newOutputStream(file.toPath())) {
+                workbook.write(out);
+            }
+            workbook.dispose();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        BenchmarkFiles.delete(dir);
+    }
+
+    @Benchmark
+    public SourceMap firstRecord(Counters counters) throws Exception {
+        try (ReadCursor cursor = open()) {
+            SourceMap record = cursor.next();
+            counters.record(record != null ? 1 : 0);
+            return record;
+        }
+    }
+
+    @Benchmark
+    public long readAll(Counters counters) throws Exception {
+        long count = 0;
+        try (ReadCursor cursor = open()) {
+            while (cursor.next() != null) {
+                count++;
+            }
+        }
+        check(count);
+        counters.record(count);
+        return count;
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgs = {"-Xmx8g"})
+    public Object workbookFirstRecord(Counters counters) throws Exception {
+        try (FileInputStream stream = new FileInputStream(file);
+             Workbook workbook = new XSSFWorkbook(stream)) {
+            Row row = workbook.getSheetAt(0).getRow(0);
+            counters.record(row != null ? 1 : 0);
+            return (row != null ? row.getCell(0).toString() : null);
+        }
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgs = {"-Xmx8g"})
+    public long workbookReadAll(Counters counters) throws Exception {
+        long count = 0;
+        try (FileInputStream stream = new FileInputStream(file);
+             Workbook workbook = new XSSFWorkbook(stream)) {
+            for (Row row : workbook.getSheetAt(0)) {
+                if (row.getPhysicalNumberOfCells() > 0) {
+                    count++;
+                }
+            }
+        }
+        check(count);
+        counters.record(count);
+        return count;
+    }
+
+    private ReadCursor open() throws Exception {
+        InputContentInfo ci = new InputContentInfo()
+                .path(file)
+                .sourceURI(file.toURI());
+        ExcelSheet sheet = new ExcelSheet();
+        sheet.setIndex(0);
+        ExcelReaderSettings settings = new ExcelReaderSettings();
+        settings.setSheets(List.of(sheet));
+        return new ExcelInputReader()
+                .contentInfo(ci)
+                .settings(settings)
+                .open();
+    }
+
+    private void check(long count) throws Exception {
+        // Header row and data rows.
+        if (count != rows + 1) {
+            throw new Exception(String.format("Rows not read. [expected=%d][read=%d]", rows + 1, count));
+        }
+    }
+
+    private static List<MemoryPoolMXBean> heapPools() {
+        return ManagementFactory.getMemoryPoolMXBeans()
+                .stream()
+                .filter(p -> p.getType() == MemoryType.HEAP)
+                .toList();
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.benchmarks.mapping;
+
+import io.zyient.benchmarks.BenchmarkEnv;
+import io.zyient.core.mapping.model.mapping.MappedResponse;
+import io.zyient.core.mapping.model.mapping.SourceMap;
+import org.apache.commons.configuration2.XMLConfiguration;
+import org.apache.commons.configuration2.io.FileHandler;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-record cost of {@link io.zyient.core.mapping.mapper.Mapping#read} for a 100 column CSV-shaped
+ * record, through the compiled mapping plan ({@code Plan}) against the transformed Map converted by
+ * Jackson ({@code Map}, {@code compilePlan} disabled).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MappingPlanBenchmark {
+    public enum EReadMode {
+        Plan, Map
+    }
+
+    private static final int RECORDS = 1024;
+
+    @Param({"Plan", "Map"})
+    private EReadMode mode;
+
+    private WideRecordMapping mapping;
+    private SourceMap[] records;
+    private int next = 0;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        XMLConfiguration config = new XMLConfiguration();
+        new FileHandler(config).load(new StringReader(config(mode == EReadMode.Plan)));
+        mapping = (WideRecordMapping) new WideRecordMapping()
+                .configure(config.configurationAt("mapping"), new BenchmarkEnv("mapping-plan-benchmark"));
+        if (mode == EReadMode.Plan && mapping.plan() == null) {
+            throw new Exception("Mapping plan not compiled...");
+        }
+        records = new SourceMap[RECORDS];
+        for (int ii = 0; ii < RECORDS; ii++) {
+            SourceMap record = new SourceMap();
+            for (int jj = 0; jj < WideRecord.COLUMNS; jj++) {
+                record.put(column(jj), value(ii, jj));
+            }
+            records[ii] = record;
+        }
+    }
+
+    @Benchmark
+    public MappedResponse<WideRecord> read() throws Exception {
+        SourceMap record = records[next];
+        next = (next + 1) % RECORDS;
+        return mapping.read(record, null);
+    }
+
+    private static String column(int index) {
+        return String.format("COL_%03d", index);
+    }
+
+    private static String value(int row, int column) {
+        return switch (column % 4) {
+            case 0 -> String.format("value-%d-%d", row, column);
+            case 1 -> String.valueOf(row + column);
+            case 2 -> String.valueOf((long) row * 1000L + column);
+            default -> String.format("%d.%d", row, column);
+        };
+    }
+
+    private static String config(boolean compile) {
+        StringBuilder builder = new StringBuilder("<configuration>")
+                .append("<mapping entity=\"io.zyient.benchmarks.mapping.WideRecordMappedResponse\"")
+                .append(" type=\"io.zyient.benchmarks.mapping.WideRecordMapping\">")
+                .append("<settings><name>benchmark-wide</name>")
+                .append("<compilePlan>").append(compile).append("</compilePlan>")
+                .append("</settings><mappings>");
+        for (int ii = 0; ii < WideRecord.COLUMNS; ii++) {
+            String target = String.format("c%03d", ii);
+            if (ii >= WideRecord.NESTED) {
+                target = "detail." + target;
+            }
+            builder.append("<map source=\"").append(column(ii)).append("\">")
+                    .append("<sequence>").append(ii + 1).append("</sequence>")
+                    .append("<target>").append(target).append("</target>")
+                    .append("<nullable>false</nullable>")
+                    .append("<type>Field</type>")
+                    .append("</map>");
+        }
+        return builder.append("</mappings></mapping></configuration>").toString();
+    }
+}
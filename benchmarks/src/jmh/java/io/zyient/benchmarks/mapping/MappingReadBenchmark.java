@@ -0,0 +1,68 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.benchmarks.mapping;
+
+import io.zyient.base.common.config.ConfigReader;
+import io.zyient.benchmarks.BenchmarkEnv;
+import io.zyient.core.mapping.model.mapping.MappedResponse;
+import io.zyient.core.mapping.model.mapping.SourceMap;
+import org.apache.commons.configuration2.XMLConfiguration;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-record cost of {@link io.zyient.core.mapping.mapper.Mapping#read} for a flat CSV-shaped record
+ * mapped onto a nested entity.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MappingReadBenchmark {
+    private static final String CONFIG = "mapping/benchmark-mapping.xml";
+    private static final int RECORDS = 1024;
+
+    private TradeMapping mapping;
+    private SourceMap[] records;
+    private int next = 0;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        XMLConfiguration config = ConfigReader.readFromClasspath(CONFIG);
+        mapping = (TradeMapping) new TradeMapping()
+                .configure(config.configurationAt("mapping"), new BenchmarkEnv("mapping-benchmark"));
+        records = new SourceMap[RECORDS];
+        for (int ii = 0; ii < RECORDS; ii++) {
+            String[] row = SeparatedInputReaderBenchmark.row(ii);
+            SourceMap record = new SourceMap();
+            for (int jj = 0; jj < row.length; jj++) {
+                record.put(SeparatedInputReaderBenchmark.COLUMNS[jj], row[jj]);
+            }
+            records[ii] = record;
+        }
+    }
+
+    @Benchmark
+    public MappedResponse<Trade> read() throws Exception {
+        SourceMap record = records[next];
+        next = (next + 1) % RECORDS;
+        return mapping.read(record, null);
+    }
+}
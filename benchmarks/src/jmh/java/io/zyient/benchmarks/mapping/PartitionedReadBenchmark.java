@@ -0,0 +1,134 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.benchmarks.mapping;
+
+import io.zyient.base.common.config.ConfigReader;
+import io.zyient.benchmarks.BenchmarkEnv;
+import io.zyient.benchmarks.BenchmarkFiles;
+import io.zyient.core.mapping.model.InputContentInfo;
+import io.zyient.core.mapping.model.RecordResponse;
+import io.zyient.core.mapping.model.mapping.MappedResponse;
+import io.zyient.core.mapping.pipeline.PartitionedMapper;
+import io.zyient.core.mapping.readers.InputReader;
+import io.zyient.core.mapping.readers.InputSplit;
+import io.zyient.core.mapping.readers.impl.separated.SeparatedInputReader;
+import io.zyient.core.mapping.readers.settings.SeparatedReaderSettings;
+import org.apache.commons.configuration2.XMLConfiguration;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to read and map a large generated trades CSV file split into {@code workers} partitions,
+ * read and mapped in parallel by {@link PartitionedMapper} and consumed by a single thread
+ * ({@code ordered}: in input order). Throughput is {@code rows / time}, the row count is logged.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class PartitionedReadBenchmark {
+    private static final String CONFIG = "mapping/benchmark-mapping.xml";
+
+    @Param({"5120"})
+    private int sizeMB;
+    @Param({"1", "4", "8"})
+    private int workers;
+    @Param({"true", "false"})
+    private boolean ordered;
+
+    private File dir;
+    private File file;
+    private long rows;
+    private TradeMapping mapping;
+    private ExecutorService executor;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        dir = BenchmarkFiles.tempDir("partitioned-benchmark");
+        file = new File(dir, "trades.csv");
+        long size = sizeMB * 1024L * 1024L;
+        long written = 0;
+        try (BufferedWriter writer = Files.newBufferedWriter(file.toPath())) {
+            String header = String.join(",", SeparatedInputReaderBenchmark.COLUMNS);
+            writer.write(header);
+            writer.newLine();
+            written += header.length() + 1;
+            while (written < size) {
+                String line = String.join(",", SeparatedInputReaderBenchmark.row((int) (rows % Integer.MAX_VALUE)));
+                writer.write(line);
+                writer.newLine();
+                written += line.length() + 1;
+                rows++;
+            }
+        }
+        XMLConfiguration config = ConfigReader.readFromClasspath(CONFIG);
+        mapping = (TradeMapping) new TradeMapping()
+                .configure(config.configurationAt("mapping"), new BenchmarkEnv("partitioned-benchmark"));
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        executor.shutdownNow();
+        BenchmarkFiles.delete(dir);
+    }
+
+    @Benchmark
+    public long read() throws Exception {
+        InputContentInfo ci = new InputContentInfo()
+                .path(file)
+                .sourceURI(file.toURI());
+        SeparatedReaderSettings settings = new SeparatedReaderSettings();
+        settings.setHasHeader(true);
+        settings.setSplittable(true);
+        List<InputReader> readers = new ArrayList<>(workers);
+        for (InputSplit split : InputSplit.plan(file.length(), workers, 1024 * 1024)) {
+            readers.add(new SeparatedInputReader()
+                    .contentInfo(ci)
+                    .settings(settings)
+                    .split(split));
+        }
+        long count = 0;
+        try (PartitionedMapper mapper = new PartitionedMapper(readers, data -> {
+            MappedResponse<Trade> r = mapping.read(data, null);
+            RecordResponse response = new RecordResponse();
+            response.setSource(data);
+            response.setEntity(r.getEntity());
+            response.setStatus(r.getStatus());
+            return response;
+        }, ordered, settings.getReadBatchSize(), PartitionedMapper.DEFAULT_QUEUE_SIZE)) {
+            mapper.start(executor);
+            while (mapper.next() != null) {
+                count++;
+            }
+        }
+        if (count != rows) {
+            throw new Exception(String.format("Rows not read. [expected=%d][read=%d]", rows, count));
+        }
+        return count;
+    }
+}
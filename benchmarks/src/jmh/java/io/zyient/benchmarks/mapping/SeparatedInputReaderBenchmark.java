@@ -0,0 +1,105 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.benchmarks.mapping;
+
+import io.zyient.benchmarks.BenchmarkFiles;
+import io.zyient.core.mapping.model.InputContentInfo;
+import io.zyient.core.mapping.model.mapping.SourceMap;
+import io.zyient.core.mapping.readers.ReadCursor;
+import io.zyient.core.mapping.readers.impl.separated.SeparatedInputReader;
+import io.zyient.core.mapping.readers.settings.SeparatedReaderSettings;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full scan of a generated CSV file through {@link SeparatedInputReader}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SeparatedInputReaderBenchmark {
+    public static final String[] COLUMNS = {"TradeId", "Account", "AccountName", "Symbol", "Quantity", "Price", "Currency", "Side"};
+
+    @Param({"100000"})
+    private int rows;
+    @Param({"256"})
+    private int batchSize;
+
+    private File dir;
+    private File file;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        dir = BenchmarkFiles.tempDir("separated-benchmark");
+        file = new File(dir, "trades.csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(file.toPath())) {
+            writer.write(String.join(",", COLUMNS));
+            writer.newLine();
+            for (int ii = 0; ii < rows; ii++) {
+                writer.write(String.join(",", row(ii)));
+                writer.newLine();
+            }
+        }
+    }
+
+    public static String[] row(int index) {
+        return new String[]{
+                String.format("T%08d", index),
+                String.format("A%05d", index % 1000),
+                String.format("Account %d", index % 1000),
+                String.format("SYM%d", index % 200),
+                String.valueOf(index % 500 + 1),
+                String.format("%d.%02d", index % 300, index % 100),
+                (index % 3 == 0 ? "EUR" : "USD"),
+                (index % 2 == 0 ? "BUY" : "SELL")
+        };
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        BenchmarkFiles.delete(dir);
+    }
+
+    @Benchmark
+    public int readAll() throws Exception {
+        InputContentInfo ci = new InputContentInfo()
+                .path(file)
+                .sourceURI(file.toURI());
+        SeparatedReaderSettings settings = new SeparatedReaderSettings();
+        settings.setHasHeader(true);
+        settings.setReadBatchSize(batchSize);
+        SeparatedInputReader reader = (SeparatedInputReader) new SeparatedInputReader()
+                .contentInfo(ci)
+                .settings(settings);
+        int count = 0;
+        try (ReadCursor cursor = reader.open()) {
+            while (true) {
+                SourceMap data = cursor.next();
+                if (data == null) break;
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.benchmarks.mapping;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Record with 100 columns (String, Integer, Long and Double), the last 10 in a nested object.
+ */
+@Getter
+@Setter
+public class WideRecord {
+    public static final int COLUMNS = 100;
+    public static final int NESTED = 90;
+
+    @Getter
+    @Setter
+    public static class Detail {
+        private Long c090;
+        private Double c091;
+        private String c092;
+        private Integer c093;
+        private Long c094;
+        private Double c095;
+        private String c096;
+        private Integer c097;
+        private Long c098;
+        private Double c099;
+    }
+
+    private Detail detail;
+    private String c000;
+    private Integer c001;
+    private Long c002;
+    private Double c003;
+    private String c004;
+    private Integer c005;
+    private Long c006;
+    private Double c007;
+    private String c008;
+    private Integer c009;
+    private Long c010;
+    private Double c011;
+    private String c012;
+    private Integer c013;
+    private Long c014;
+    private Double c015;
+    private String c016;
+    private Integer c017;
+    private Long c018;
+    private Double c019;
+    private String c020;
+    private Integer c021;
+    private Long c022;
+    private Double c023;
+    private String c024;
+    private Integer c025;
+    private Long c026;
+    private Double c027;
+    private String c028;
+    private Integer c029;
+    private Long c030;
+    private Double c031;
+    private String c032;
+    private Integer c033;
+    private Long c034;
+    private Double c035;
+    private String c036;
+    private Integer c037;
+    private Long c038;
+    private Double c039;
+    private String c040;
+    private Integer c041;
+    private Long c042;
+    private Double c043;
+    private String c044;
+    private Integer c045;
+    private Long c046;
+    private Double c047;
+    private String c048;
+    private Integer c049;
+    private Long c050;
+    private Double c051;
+    private String c052;
+    private Integer c053;
+    private Long c054;
+    private Double c055;
+    private String c056;
+    private Integer c057;
+    private Long c058;
+    private Double c059;
+    private String c060;
+    private Integer c061;
+    private Long c062;
+    private Double c063;
+    private String c064;
+    private Integer c065;
+    private Long c066;
+    private Double c067;
+    private String c068;
+    private Integer c069;
+    private Long c070;
+    private Double c071;
+    private String c072;
+    private Integer c073;
+    private Long c074;
+    private Double c075;
+    private String c076;
+    private Integer c077;
+    private Long c078;
+    private Double c079;
+    private String c080;
+    private Integer c081;
+    private Long c082;
+    private Double c083;
+    private String c084;
+    private Integer c085;
+    private Long c086;
+    private Double c087;
+    private String c088;
+    private Integer c089;
+}
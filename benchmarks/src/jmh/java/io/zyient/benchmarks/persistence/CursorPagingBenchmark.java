@@ -0,0 +1,161 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.benchmarks.persistence;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.zyient.base.core.BaseEnv;
+import io.zyient.base.core.connections.Connection;
+import io.zyient.base.core.model.LongKey;
+import io.zyient.benchmarks.BenchmarkEnv;
+import io.zyient.benchmarks.persistence.RdbmsBatchWriteBenchmark.BenchDataStoreManager;
+import io.zyient.benchmarks.persistence.RdbmsBatchWriteBenchmark.BenchRow;
+import io.zyient.core.persistence.AbstractDataStore;
+import io.zyient.core.persistence.BatchResult;
+import io.zyient.core.persistence.Cursor;
+import io.zyient.core.persistence.impl.rdbms.HibernateConnection;
+import io.zyient.core.persistence.impl.rdbms.RdbmsDataStore;
+import io.zyient.core.persistence.impl.settings.rdbms.RdbmsStoreSettings;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.cfg.Environment;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of reading the page at {@code depth} of an H2 table of {@code rows} rows, with
+ * {@code Offset} ({@code LIMIT/OFFSET}, the cost grows with the depth) against the {@code Keyset}
+ * cursor returned by {@link RdbmsDataStore#search} (seeks past the last key read, flat per page).
+ * <p>
+ * The keyset cursor is walked to the page before {@code depth} outside of the measurement.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class CursorPagingBenchmark {
+    public enum EPagingMode {
+        Offset, Keyset
+    }
+
+    @Param({"1000000"})
+    private int rows;
+    @Param({"1", "100", "1000", "10000"})
+    private int depth;
+    @Param({"Offset", "Keyset"})
+    private EPagingMode mode;
+    @Param({"100"})
+    private int pageSize;
+
+    private HibernateConnection connection;
+    private RdbmsDataStore dataStore;
+    private Cursor<LongKey, BenchRow> cursor;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        if (BaseEnv.registry() == null) {
+            BaseEnv.registry(new SimpleMeterRegistry());
+        }
+        Properties properties = new Properties();
+        properties.setProperty(Environment.DRIVER, "org.h2.Driver");
+        properties.setProperty(Environment.URL, "jdbc:h2:mem:paging;DB_CLOSE_DELAY=-1");
+        properties.setProperty(Environment.USER, "sa");
+        properties.setProperty(Environment.PASS, "");
+        properties.setProperty(Environment.HBM2DDL_AUTO, "create-drop");
+        properties.setProperty(Environment.STATEMENT_BATCH_SIZE, "50");
+        SessionFactory sessionFactory = new Configuration()
+                .addProperties(properties)
+                .addAnnotatedClass(BenchRow.class)
+                .buildSessionFactory();
+        connection = new HibernateConnection().withSessionFactory(sessionFactory);
+        connection.state().setState(Connection.EConnectionState.Initialized);
+        connection.connect();
+
+        RdbmsStoreSettings settings = new RdbmsStoreSettings();
+        settings.setName("benchmark");
+        settings.setConnectionName("benchmark");
+        settings.setConnectionType(HibernateConnection.class);
+        dataStore = new RdbmsDataStore();
+        dataStore.configure(new BenchDataStoreManager(connection), settings, new BenchmarkEnv("paging-benchmark"));
+
+        List<BenchRow> entities = new ArrayList<>(rows);
+        for (int ii = 0; ii < rows; ii++) {
+            entities.add(new BenchRow(ii));
+        }
+        BatchResult<BenchRow> result = dataStore.createAll(entities, BenchRow.class, null);
+        if (result.hasErrors()) {
+            throw new Exception(result.failures().get(0).error());
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void prepare() throws Exception {
+        if (mode == EPagingMode.Keyset) {
+            AbstractDataStore.Q query = new AbstractDataStore.Q()
+                    .where("amount >= :amount")
+                    .add("amount", 0L);
+            cursor = dataStore.search(query, pageSize, LongKey.class, BenchRow.class, null);
+            for (int ii = 1; ii < depth; ii++) {
+                if (cursor.nextPage() == null) {
+                    throw new Exception(String.format("Not enough rows. [depth=%d][page=%d]", depth, ii));
+                }
+            }
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void clear() throws Exception {
+        if (cursor != null) {
+            cursor.close();
+            cursor = null;
+        }
+        dataStore.closeSession();
+    }
+
+    @TearDown(Level.Trial)
+    public void teardown() throws Exception {
+        dataStore.close();
+        connection.close();
+    }
+
+    @Benchmark
+    public int page() throws Exception {
+        List<BenchRow> page;
+        if (mode == EPagingMode.Keyset) {
+            page = cursor.nextPage();
+        } else {
+            try (StatelessSession session = connection.openStatelessSession()) {
+                page = session.createQuery("FROM BenchRow WHERE (amount >= :amount) ORDER BY id ASC",
+                                BenchRow.class)
+                        .setParameter("amount", 0L)
+                        .setFirstResult((depth - 1) * pageSize)
+                        .setMaxResults(pageSize)
+                        .list();
+            }
+        }
+        if (page == null || page.isEmpty()) {
+            throw new Exception(String.format("Page not found. [depth=%d]", depth));
+        }
+        return page.size();
+    }
+}
@@ -0,0 +1,270 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.benchmarks.persistence;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.zyient.base.common.model.Context;
+import io.zyient.base.common.model.CopyException;
+import io.zyient.base.common.model.ValidationExceptions;
+import io.zyient.base.common.model.entity.IEntity;
+import io.zyient.base.common.model.entity.IKey;
+import io.zyient.base.common.utils.ReflectionHelper;
+import io.zyient.base.core.BaseEnv;
+import io.zyient.base.core.connections.Connection;
+import io.zyient.base.core.model.LongKey;
+import io.zyient.benchmarks.BenchmarkEnv;
+import io.zyient.benchmarks.persistence.RdbmsBatchWriteBenchmark.BenchDataStoreManager;
+import io.zyient.benchmarks.persistence.RdbmsBatchWriteBenchmark.BenchRow;
+import io.zyient.core.persistence.AbstractDataStore;
+import io.zyient.core.persistence.IDGenerator;
+import io.zyient.core.persistence.annotations.EGeneratedType;
+import io.zyient.core.persistence.annotations.GeneratedId;
+import io.zyient.core.persistence.impl.rdbms.HibernateConnection;
+import io.zyient.core.persistence.impl.rdbms.RdbmsDataStore;
+import io.zyient.core.persistence.impl.settings.rdbms.RdbmsStoreSettings;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Id;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.cfg.Environment;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of assigning generated IDs to {@code entities} wide entities with a simple ({@code @Id})
+ * or composite ({@code @EmbeddedId}) key: {@code Reflective} scans the fields of every entity (the
+ * previous IDGenerator), {@code Plan} uses the cached per-class ID plan one entity at a time and
+ * {@code PlanBatch} assigns the whole batch with one sequence reservation.
+ * <p>
+ * Sequences are served from a local counter, so the numbers measure the ID assignment overhead.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1)
+public class IdGeneratorBenchmark {
+    public enum EKeyType {
+        Simple, Composite
+    }
+
+    public enum EMode {
+        Reflective, Plan, PlanBatch
+    }
+
+    @Param({"1000"})
+    private int entities;
+    @Param({"Simple", "Composite"})
+    private EKeyType keyType;
+    @Param({"Reflective", "Plan", "PlanBatch"})
+    private EMode mode;
+
+    private HibernateConnection connection;
+    private RdbmsDataStore dataStore;
+    private List<IEntity<?>> batch;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        if (BaseEnv.registry() == null) {
+            BaseEnv.registry(new SimpleMeterRegistry());
+        }
+        Properties properties = new Properties();
+        properties.setProperty(Environment.DRIVER, "org.h2.Driver");
+        properties.setProperty(Environment.URL, "jdbc:h2:mem:ids;DB_CLOSE_DELAY=-1");
+        properties.setProperty(Environment.USER, "sa");
+        properties.setProperty(Environment.PASS, "");
+        SessionFactory sessionFactory = new Configuration()
+                .addProperties(properties)
+                .addAnnotatedClass(BenchRow.class)
+                .buildSessionFactory();
+        connection = new HibernateConnection().withSessionFactory(sessionFactory);
+        connection.state().setState(Connection.EConnectionState.Initialized);
+        connection.connect();
+
+        RdbmsStoreSettings settings = new RdbmsStoreSettings();
+        settings.setName("benchmark");
+        settings.setConnectionName("benchmark");
+        settings.setConnectionType(HibernateConnection.class);
+        dataStore = new RdbmsDataStore();
+        dataStore.configure(new BenchDataStoreManager(connection), settings, new BenchmarkEnv("id-benchmark"));
+
+        batch = new ArrayList<>(entities);
+        for (int ii = 0; ii < entities; ii++) {
+            batch.add(keyType == EKeyType.Simple ? new SimpleRow() : new CompositeRow(String.format("tenant-%d", ii % 8)));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void teardown() throws Exception {
+        dataStore.close();
+        connection.close();
+    }
+
+    @Benchmark
+    public int assign() throws Exception {
+        if (mode == EMode.PlanBatch) {
+            IDGenerator.process(batch, dataStore);
+        } else if (mode == EMode.Plan) {
+            for (IEntity<?> entity : batch) {
+                IDGenerator.process(entity, dataStore);
+            }
+        } else {
+            for (IEntity<?> entity : batch) {
+                reflective(entity, dataStore);
+            }
+        }
+        return batch.size();
+    }
+
+    /**
+     * The previous IDGenerator: resolves the ID fields of every entity by reflection.
+     */
+    private static void reflective(IEntity<?> entity, AbstractDataStore<?> dataStore) throws Exception {
+        Field[] fields = ReflectionHelper.getAllFields(entity.getClass());
+        if (fields == null) {
+            return;
+        }
+        for (Field field : fields) {
+            if (field.isAnnotationPresent(Id.class)) {
+                if (field.isAnnotationPresent(GeneratedId.class)) {
+                    GeneratedId gi = field.getAnnotation(GeneratedId.class);
+                    if (gi.type() == EGeneratedType.UUID) {
+                        ReflectionHelper.setStringValue(entity, field, UUID.randomUUID().toString());
+                    } else {
+                        ReflectionHelper.setLongValue(entity, field, dataStore.nextSequence(gi.sequence()));
+                    }
+                }
+                return;
+            } else if (field.isAnnotationPresent(EmbeddedId.class)) {
+                Field[] kfs = ReflectionHelper.getAllFields(field.getType());
+                if (kfs != null) {
+                    for (Field f : kfs) {
+                        if (f.isAnnotationPresent(GeneratedId.class)) {
+                            Object fv = ReflectionHelper.reflectionUtils().getFieldValue(entity, field);
+                            if (fv == null) {
+                                fv = ReflectionHelper.createInstance(field.getType());
+                                ReflectionHelper.setValue(fv, entity, field);
+                            }
+                            ReflectionHelper.setLongValue(fv, f,
+                                    dataStore.nextSequence(f.getAnnotation(GeneratedId.class).sequence()));
+                            break;
+                        }
+                    }
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Payload columns of the benchmark entities (a wide row).
+     */
+    @Getter
+    @Setter
+    public static abstract class WideRow<K extends IKey> implements IEntity<K> {
+        private String c00, c01, c02, c03, c04, c05, c06, c07, c08, c09, c10, c11;
+        private long n00, n01, n02, n03, n04, n05, n06, n07, n08, n09, n10, n11;
+
+        @Override
+        public int compare(K key) {
+            return entityKey().compareTo(key);
+        }
+
+        @Override
+        public IEntity<K> copyChanges(IEntity<K> source, Context context) throws CopyException {
+            return this;
+        }
+
+        @Override
+        public IEntity<K> clone(Context context) throws CopyException {
+            return this;
+        }
+
+        @Override
+        public void validate() throws ValidationExceptions {
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class SimpleRow extends WideRow<LongKey> {
+        @Id
+        @GeneratedId(type = EGeneratedType.SEQUENCE, sequence = "simple_rows")
+        private Long id;
+
+        @Override
+        public LongKey entityKey() {
+            return new LongKey(id);
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class CompositeRow extends WideRow<RowKey> {
+        @EmbeddedId
+        private RowKey key;
+        private String tenant;
+
+        public CompositeRow() {
+        }
+
+        public CompositeRow(String tenant) {
+            this.tenant = tenant;
+        }
+
+        @Override
+        public RowKey entityKey() {
+            return key;
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class RowKey implements IKey {
+        @GeneratedId(type = EGeneratedType.SEQUENCE, sequence = "composite_rows")
+        private Long id;
+        private String tenant;
+
+        @Override
+        public String stringKey() {
+            return String.format("%s::%d", tenant, id);
+        }
+
+        @Override
+        public int compareTo(IKey key) {
+            return stringKey().compareTo(key.stringKey());
+        }
+
+        @Override
+        public IKey fromString(@NonNull String value) throws Exception {
+            String[] parts = value.split("::");
+            tenant = parts[0];
+            id = Long.parseLong(parts[1]);
+            return this;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.benchmarks.persistence;
+
+import com.mongodb.WriteConcern;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.InsertOneModel;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.ReplaceOptions;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.zyient.base.core.BaseEnv;
+import io.zyient.benchmarks.BenchmarkEnv;
+import io.zyient.core.persistence.BatchResult;
+import io.zyient.core.persistence.DataStoreMetrics;
+import io.zyient.core.persistence.impl.mongo.MongoBulkWriter;
+import org.bson.Document;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to write {@code rows} documents, one insertOne per document ({@code PerEntity}, the previous
+ * MongoDbDataStore write path) against the {@link MongoBulkWriter} unordered bulk inserts
+ * ({@code Bulk}) and keyed upserts ({@code BulkUpsert}).
+ * <p>
+ * Runs against the in-memory mongo-java-server as a stand-in for a MongoDB server, so the numbers
+ * measure the client/protocol round trips rather than storage engine costs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class MongoBulkWriteBenchmark {
+    private static final String COLLECTION = "bench_rows";
+
+    public enum EWriteMode {
+        PerEntity, Bulk, BulkUpsert
+    }
+
+    @Param({"10000", "100000"})
+    private int rows;
+    @Param({"PerEntity", "Bulk", "BulkUpsert"})
+    private EWriteMode mode;
+    @Param({"1000"})
+    private int batchSize;
+
+    private MongoServer server;
+    private MongoClient client;
+    private MongoCollection<Document> collection;
+    private MongoBulkWriter writer;
+    private List<RdbmsBatchWriteBenchmark.BenchRow> entities;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        if (BaseEnv.registry() == null) {
+            BaseEnv.registry(new SimpleMeterRegistry());
+        }
+        server = new MongoServer(new MemoryBackend());
+        client = MongoClients.create(server.bindAndGetConnectionString());
+        collection = client.getDatabase("benchmark").getCollection(COLLECTION);
+        DataStoreMetrics metrics = new DataStoreMetrics("DataStore",
+                "mongo-benchmark",
+                MongoBulkWriter.class.getSimpleName(),
+                new BenchmarkEnv("mongo-benchmark"),
+                MongoBulkWriteBenchmark.class);
+        writer = new MongoBulkWriter(batchSize, WriteConcern.ACKNOWLEDGED, 3, metrics);
+    }
+
+    @Setup(Level.Iteration)
+    public void prepare() {
+        collection.drop();
+        entities = new ArrayList<>(rows);
+        for (int ii = 0; ii < rows; ii++) {
+            RdbmsBatchWriteBenchmark.BenchRow row = new RdbmsBatchWriteBenchmark.BenchRow(ii);
+            row.setId((long) ii);
+            entities.add(row);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void teardown() {
+        client.close();
+        server.shutdown();
+    }
+
+    @Benchmark
+    public int write() throws Exception {
+        if (mode == EWriteMode.PerEntity) {
+            for (RdbmsBatchWriteBenchmark.BenchRow row : entities) {
+                collection.insertOne(document(row));
+            }
+            return entities.size();
+        }
+        MongoBulkWriter.ModelBuilder<RdbmsBatchWriteBenchmark.BenchRow, Document> builder;
+        if (mode == EWriteMode.Bulk) {
+            builder = row -> new InsertOneModel<>(document(row));
+        } else {
+            builder = row -> new ReplaceOneModel<>(Filters.eq("_id", row.getId()),
+                    document(row),
+                    new ReplaceOptions().upsert(true));
+        }
+        BatchResult<RdbmsBatchWriteBenchmark.BenchRow> result = writer.write(collection, entities.iterator(), builder);
+        if (result.hasErrors()) {
+            throw new Exception(String.format("Failed to write documents. [failed=%d]", result.failures().size()),
+                    result.failures().get(0).error());
+        }
+        return result.entities().size();
+    }
+
+    private static Document document(RdbmsBatchWriteBenchmark.BenchRow row) {
+        return new Document("_id", row.getId())
+                .append("name", row.getName())
+                .append("amount", row.getAmount())
+                .append("payload", row.getPayload());
+    }
+}
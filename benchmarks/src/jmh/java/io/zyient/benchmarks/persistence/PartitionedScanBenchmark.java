@@ -0,0 +1,179 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.benchmarks.persistence;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.zyient.base.common.model.Context;
+import io.zyient.base.common.model.CopyException;
+import io.zyient.base.common.model.ValidationExceptions;
+import io.zyient.base.common.model.entity.IEntity;
+import io.zyient.base.core.BaseEnv;
+import io.zyient.base.core.connections.Connection;
+import io.zyient.base.core.model.LongKey;
+import io.zyient.benchmarks.BenchmarkEnv;
+import io.zyient.benchmarks.persistence.RdbmsBatchWriteBenchmark.BenchDataStoreManager;
+import io.zyient.core.persistence.AbstractDataStore;
+import io.zyient.core.persistence.PartitionedScan;
+import io.zyient.core.persistence.ScanPartition;
+import io.zyient.core.persistence.impl.rdbms.HibernateConnection;
+import io.zyient.core.persistence.impl.rdbms.RdbmsDataStore;
+import io.zyient.core.persistence.impl.settings.rdbms.RdbmsStoreSettings;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.cfg.Environment;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to read all the {@code rows} rows of an H2 table with a {@link PartitionedScan} over
+ * {@code partitions} key ranges ({@code 1} is the single cursor read used by bulk consumers today).
+ * The consumer only counts the rows, the read-ahead queue holds two pages per partition.
+ * Rows are keyed by an embedded {@link LongKey}, the key form ranges are split on.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class PartitionedScanBenchmark {
+    @Param({"5000000"})
+    private int rows;
+    @Param({"1", "4", "8"})
+    private int partitions;
+    @Param({"1000"})
+    private int pageSize;
+
+    private HibernateConnection connection;
+    private RdbmsDataStore dataStore;
+    private AbstractDataStore.Q query;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        if (BaseEnv.registry() == null) {
+            BaseEnv.registry(new SimpleMeterRegistry());
+        }
+        Properties properties = new Properties();
+        properties.setProperty(Environment.DRIVER, "org.h2.Driver");
+        properties.setProperty(Environment.URL, "jdbc:h2:mem:bench-scan;DB_CLOSE_DELAY=-1");
+        properties.setProperty(Environment.USER, "sa");
+        properties.setProperty(Environment.PASS, "");
+        properties.setProperty(Environment.HBM2DDL_AUTO, "create-drop");
+        SessionFactory sessionFactory = new Configuration()
+                .addProperties(properties)
+                .addAnnotatedClass(ScanRow.class)
+                .buildSessionFactory();
+        connection = new HibernateConnection().withSessionFactory(sessionFactory);
+        connection.state().setState(Connection.EConnectionState.Initialized);
+        connection.connect();
+
+        RdbmsStoreSettings settings = new RdbmsStoreSettings();
+        settings.setName("benchmark");
+        settings.setConnectionName("benchmark");
+        settings.setConnectionType(HibernateConnection.class);
+        dataStore = new RdbmsDataStore();
+        dataStore.configure(new BenchDataStoreManager(connection), settings, new BenchmarkEnv("scan-benchmark"));
+
+        try (StatelessSession session = connection.openStatelessSession()) {
+            Transaction tx = session.beginTransaction();
+            session.createNativeMutationQuery("INSERT INTO scan_rows (id, name, amount, payload) " +
+                            "SELECT X, CONCAT('row-', X), X, CONCAT('payload [', X, '] ', REPEAT('x', 64)) " +
+                            "FROM SYSTEM_RANGE(1, :rows)")
+                    .setParameter("rows", rows)
+                    .executeUpdate();
+            tx.commit();
+        }
+        query = new AbstractDataStore.Q()
+                .where("amount >= :amount")
+                .add("amount", 0L);
+    }
+
+    @TearDown(Level.Trial)
+    public void teardown() throws Exception {
+        dataStore.close();
+        connection.close();
+    }
+
+    @Benchmark
+    public long scan() throws Exception {
+        List<ScanPartition> ranges = dataStore.partitions(query, partitions, LongKey.class, ScanRow.class, null);
+        long count = 0;
+        try (PartitionedScan<LongKey, ScanRow> scan = new PartitionedScan<>(dataStore,
+                query,
+                ranges,
+                pageSize,
+                0,
+                LongKey.class,
+                ScanRow.class)) {
+            scan.start(null);
+            List<ScanRow> page;
+            while ((page = scan.next()) != null) {
+                count += page.size();
+            }
+        }
+        if (count != rows) {
+            throw new Exception(String.format("Rows missed. [expected=%d][read=%d]", rows, count));
+        }
+        return count;
+    }
+
+    @Getter
+    @Setter
+    @Entity(name = "ScanRow")
+    @Table(name = "scan_rows")
+    public static class ScanRow implements IEntity<LongKey> {
+        @EmbeddedId
+        private LongKey id;
+        private String name;
+        private long amount;
+        private String payload;
+
+        @Override
+        public int compare(LongKey key) {
+            return id.compareTo(key);
+        }
+
+        @Override
+        public IEntity<LongKey> copyChanges(IEntity<LongKey> source, Context context) throws CopyException {
+            return this;
+        }
+
+        @Override
+        public IEntity<LongKey> clone(Context context) throws CopyException {
+            return this;
+        }
+
+        @Override
+        public LongKey entityKey() {
+            return id;
+        }
+
+        @Override
+        public void validate() throws ValidationExceptions {
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.benchmarks.persistence;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.zyient.base.core.BaseEnv;
+import io.zyient.base.core.model.LongKey;
+import io.zyient.benchmarks.BenchmarkEnv;
+import io.zyient.benchmarks.persistence.RdbmsBatchWriteBenchmark.BenchRow;
+import io.zyient.core.persistence.AbstractDataStore;
+import io.zyient.core.persistence.DataStoreMetrics;
+import io.zyient.core.persistence.impl.rdbms.SqlQueryParser;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cost of translating a {@link AbstractDataStore.Q} with {@link SqlQueryParser}, parsing every query
+ * ({@code Uncached}) against the parse cache keyed by query shape ({@code Cached}). Shapes:
+ * <ul>
+ *     <li>{@code CaseByName}: CaseManager.findByName</li>
+ *     <li>{@code CaseStates}: case search by states with a sort (CaseManagementHandler)</li>
+ *     <li>{@code DBRule}: a DBRule lookup on two where fields</li>
+ * </ul>
+ * Every invocation builds a new query with new parameter values, as the callers do.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1)
+public class QueryParserBenchmark {
+    public enum EShape {
+        CaseByName, CaseStates, DBRule
+    }
+
+    public enum EMode {
+        Uncached, Cached
+    }
+
+    @Param({"CaseByName", "CaseStates", "DBRule"})
+    private EShape shape;
+    @Param({"Uncached", "Cached"})
+    private EMode mode;
+
+    private SqlQueryParser<LongKey, BenchRow> parser;
+    private final AtomicLong counter = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        if (BaseEnv.registry() == null) {
+            BaseEnv.registry(new SimpleMeterRegistry());
+        }
+        parser = new SqlQueryParser<>(LongKey.class, BenchRow.class);
+        if (mode == EMode.Cached) {
+            DataStoreMetrics metrics = new DataStoreMetrics("DataStore",
+                    "query-benchmark",
+                    SqlQueryParser.class.getSimpleName(),
+                    new BenchmarkEnv("query-benchmark"),
+                    QueryParserBenchmark.class);
+            parser.withCache(1024, metrics);
+        }
+    }
+
+    @Benchmark
+    public String parse() throws Exception {
+        AbstractDataStore.Q query = query(counter.incrementAndGet());
+        parser.parse(query);
+        return query.generatedQuery();
+    }
+
+    private AbstractDataStore.Q query(long value) {
+        switch (shape) {
+            case CaseByName:
+                return new AbstractDataStore.Q()
+                        .where("name = :name")
+                        .add("name", String.format("case-%d", value));
+            case CaseStates:
+                return new AbstractDataStore.Q()
+                        .where("(caseState.state = :state_0 OR caseState.state = :state_1 OR caseState.state = :state_2)")
+                        .add("state_0", "New")
+                        .add("state_1", "Assigned")
+                        .add("state_2", "PendingReview")
+                        .addSort("createdTime", false);
+            default:
+                return new AbstractDataStore.Q()
+                        .where("customerId = :customerId AND region = :region AND amount >= :amount")
+                        .add("customerId", value)
+                        .add("region", "EMEA")
+                        .add("amount", value % 1000);
+        }
+    }
+}
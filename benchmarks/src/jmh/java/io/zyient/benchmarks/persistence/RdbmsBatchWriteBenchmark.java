@@ -0,0 +1,255 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.benchmarks.persistence;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.zyient.base.common.model.Context;
+import io.zyient.base.common.model.CopyException;
+import io.zyient.base.common.model.ValidationExceptions;
+import io.zyient.base.common.model.entity.IEntity;
+import io.zyient.base.core.BaseEnv;
+import io.zyient.base.core.connections.Connection;
+import io.zyient.base.core.model.LongKey;
+import io.zyient.benchmarks.BenchmarkEnv;
+import io.zyient.core.persistence.AbstractConnection;
+import io.zyient.core.persistence.AbstractDataStore;
+import io.zyient.core.persistence.BatchResult;
+import io.zyient.core.persistence.DataStoreManager;
+import io.zyient.core.persistence.SequenceAllocator;
+import io.zyient.core.persistence.annotations.EGeneratedType;
+import io.zyient.core.persistence.annotations.GeneratedId;
+import io.zyient.core.persistence.impl.rdbms.HibernateConnection;
+import io.zyient.core.persistence.impl.rdbms.RdbmsDataStore;
+import io.zyient.core.persistence.impl.settings.rdbms.RdbmsStoreSettings;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.cfg.Environment;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time to load {@code rows} entities through {@link RdbmsDataStore}, one transaction per entity
+ * ({@code PerEntity}, the pattern used by the entity pipeline) against the bulk write path
+ * ({@code Batched}). {@code H2} runs H2 with its own dialect, {@code Postgres} runs H2 in PostgreSQL
+ * compatibility mode with the PostgreSQL dialect as a stand-in for a PostgreSQL server.
+ * <p>
+ * Sequences are served from a local counter, the equivalent of an already reserved sequence block.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class RdbmsBatchWriteBenchmark {
+    public enum EDatabase {
+        H2, Postgres
+    }
+
+    public enum EWriteMode {
+        PerEntity, Batched
+    }
+
+    @Param({"1000", "100000", "1000000"})
+    private int rows;
+    @Param({"H2", "Postgres"})
+    private EDatabase database;
+    @Param({"PerEntity", "Batched"})
+    private EWriteMode mode;
+    @Param({"1000"})
+    private int batchSize;
+
+    private HibernateConnection connection;
+    private RdbmsDataStore dataStore;
+    private List<BenchRow> entities;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        if (BaseEnv.registry() == null) {
+            BaseEnv.registry(new SimpleMeterRegistry());
+        }
+        Properties properties = new Properties();
+        properties.setProperty(Environment.DRIVER, "org.h2.Driver");
+        properties.setProperty(Environment.USER, "sa");
+        properties.setProperty(Environment.PASS, "");
+        properties.setProperty(Environment.HBM2DDL_AUTO, "create-drop");
+        properties.setProperty(Environment.STATEMENT_BATCH_SIZE, "50");
+        properties.setProperty(Environment.ORDER_INSERTS, "true");
+        if (database == EDatabase.Postgres) {
+            properties.setProperty(Environment.URL,
+                    "jdbc:h2:mem:bench-pg;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1");
+            properties.setProperty(Environment.DIALECT, "org.hibernate.dialect.PostgreSQLDialect");
+        } else {
+            properties.setProperty(Environment.URL, "jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1");
+        }
+        SessionFactory sessionFactory = new Configuration()
+                .addProperties(properties)
+                .addAnnotatedClass(BenchRow.class)
+                .buildSessionFactory();
+        connection = new HibernateConnection().withSessionFactory(sessionFactory);
+        connection.state().setState(Connection.EConnectionState.Initialized);
+        connection.connect();
+
+        RdbmsStoreSettings settings = new RdbmsStoreSettings();
+        settings.setName("benchmark");
+        settings.setConnectionName("benchmark");
+        settings.setConnectionType(HibernateConnection.class);
+        settings.setBatchSize(batchSize);
+        dataStore = new RdbmsDataStore();
+        dataStore.configure(new BenchDataStoreManager(connection), settings, new BenchmarkEnv("rdbms-benchmark"));
+    }
+
+    @Setup(Level.Iteration)
+    public void prepare() throws Exception {
+        try (StatelessSession session = connection.openStatelessSession()) {
+            Transaction tx = session.beginTransaction();
+            session.createNativeMutationQuery("DELETE FROM bench_rows").executeUpdate();
+            tx.commit();
+        }
+        entities = new ArrayList<>(rows);
+        for (int ii = 0; ii < rows; ii++) {
+            entities.add(new BenchRow(ii));
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void clear() throws Exception {
+        dataStore.closeSession();
+    }
+
+    @TearDown(Level.Trial)
+    public void teardown() throws Exception {
+        dataStore.close();
+        connection.close();
+    }
+
+    @Benchmark
+    public int write() throws Exception {
+        if (mode == EWriteMode.Batched) {
+            BatchResult<BenchRow> result = dataStore.createAll(entities, BenchRow.class, null);
+            if (result.hasErrors()) {
+                throw result.failures().get(0).error() instanceof Exception
+                        ? (Exception) result.failures().get(0).error()
+                        : new Exception(result.failures().get(0).error());
+            }
+            return result.entities().size();
+        }
+        int count = 0;
+        for (BenchRow row : entities) {
+            dataStore.beingTransaction();
+            try {
+                dataStore.create(row, BenchRow.class, null);
+                dataStore.commit();
+            } catch (Exception ex) {
+                dataStore.rollback(false);
+                throw ex;
+            }
+            count++;
+        }
+        return count;
+    }
+
+    public static class BenchDataStoreManager extends DataStoreManager {
+        private final HibernateConnection connection;
+        private final AtomicLong sequence = new AtomicLong();
+
+        public BenchDataStoreManager(@NonNull HibernateConnection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T extends AbstractConnection<?>> T getConnection(@NonNull String name,
+                                                                 Class<? extends T> type) {
+            return (T) connection;
+        }
+
+        @Override
+        public long nextSequence(String name, String sequenceName) {
+            return sequence.incrementAndGet();
+        }
+
+        @Override
+        public SequenceAllocator.Range nextSequences(String name, String sequenceName, int count) {
+            return new SequenceAllocator.Range(sequence.getAndAdd(count) + 1, count);
+        }
+
+        @Override
+        @SuppressWarnings("rawtypes")
+        public void close(@NonNull AbstractDataStore dataStore) {
+        }
+    }
+
+    @Getter
+    @Setter
+    @Entity
+    @Table(name = "bench_rows")
+    public static class BenchRow implements IEntity<LongKey> {
+        @Id
+        @GeneratedId(type = EGeneratedType.SEQUENCE, sequence = "bench_rows")
+        private Long id;
+        private String name;
+        private long amount;
+        private String payload;
+
+        public BenchRow() {
+        }
+
+        public BenchRow(int index) {
+            name = String.format("row-%d", index);
+            amount = index;
+            payload = String.format("payload [%d] %s", index, "x".repeat(64));
+        }
+
+        @Override
+        public int compare(LongKey key) {
+            return Long.compare(id, key.getKey());
+        }
+
+        @Override
+        public IEntity<LongKey> copyChanges(IEntity<LongKey> source, Context context) throws CopyException {
+            return this;
+        }
+
+        @Override
+        public IEntity<LongKey> clone(Context context) throws CopyException {
+            return this;
+        }
+
+        @Override
+        public LongKey entityKey() {
+            return new LongKey(id);
+        }
+
+        @Override
+        public void validate() throws ValidationExceptions {
+        }
+    }
+}
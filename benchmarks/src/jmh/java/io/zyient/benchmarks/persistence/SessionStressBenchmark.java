@@ -0,0 +1,185 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.benchmarks.persistence;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.zyient.base.core.BaseEnv;
+import io.zyient.base.core.connections.Connection;
+import io.zyient.benchmarks.BenchmarkEnv;
+import io.zyient.benchmarks.persistence.RdbmsBatchWriteBenchmark.BenchDataStoreManager;
+import io.zyient.benchmarks.persistence.RdbmsBatchWriteBenchmark.BenchRow;
+import io.zyient.core.persistence.StoreSessionManager;
+import io.zyient.core.persistence.impl.rdbms.HibernateConnection;
+import io.zyient.core.persistence.impl.rdbms.RdbmsDataStore;
+import io.zyient.core.persistence.impl.settings.rdbms.RdbmsStoreSettings;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.cfg.Environment;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stress of the store session manager: {@code tasks} concurrent tasks each open a session, run a
+ * transaction with a nested (joined) transaction inserting a row into H2, and close the session.
+ * Half of the tasks commit the row from a second thread, re-binding the session context
+ * ({@link RdbmsDataStore#bind}) as an async continuation would.
+ * <p>
+ * {@code Virtual} runs each task on its own virtual thread and requires a JDK 21+ runtime,
+ * {@code Platform} runs the tasks on a pool of {@code poolSize} platform threads. The run fails if
+ * sessions are left open.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class SessionStressBenchmark {
+    public enum EThreads {
+        Virtual, Platform
+    }
+
+    @Param({"10000"})
+    private int tasks;
+    @Param({"Virtual", "Platform"})
+    private EThreads threads;
+    @Param({"200"})
+    private int poolSize;
+
+    private HibernateConnection connection;
+    private RdbmsDataStore dataStore;
+    private ExecutorService hops;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        if (BaseEnv.registry() == null) {
+            BaseEnv.registry(new SimpleMeterRegistry());
+        }
+        Properties properties = new Properties();
+        properties.setProperty(Environment.DRIVER, "org.h2.Driver");
+        properties.setProperty(Environment.URL, "jdbc:h2:mem:sessions;DB_CLOSE_DELAY=-1");
+        properties.setProperty(Environment.USER, "sa");
+        properties.setProperty(Environment.PASS, "");
+        properties.setProperty(Environment.HBM2DDL_AUTO, "create-drop");
+        properties.setProperty(Environment.POOL_SIZE, "64");
+        SessionFactory sessionFactory = new Configuration()
+                .addProperties(properties)
+                .addAnnotatedClass(BenchRow.class)
+                .buildSessionFactory();
+        connection = new HibernateConnection().withSessionFactory(sessionFactory);
+        connection.state().setState(Connection.EConnectionState.Initialized);
+        connection.connect();
+
+        RdbmsStoreSettings settings = new RdbmsStoreSettings();
+        settings.setName("benchmark");
+        settings.setConnectionName("benchmark");
+        settings.setConnectionType(HibernateConnection.class);
+        dataStore = new RdbmsDataStore();
+        dataStore.configure(new BenchDataStoreManager(connection), settings, new BenchmarkEnv("session-benchmark"));
+        hops = executor();
+    }
+
+    @Setup(Level.Iteration)
+    public void prepare() throws Exception {
+        try (StatelessSession session = connection.openStatelessSession()) {
+            Transaction tx = session.beginTransaction();
+            session.createNativeMutationQuery("DELETE FROM bench_rows").executeUpdate();
+            tx.commit();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void teardown() throws Exception {
+        hops.shutdown();
+        dataStore.close();
+        connection.close();
+    }
+
+    @Benchmark
+    public int sessions() throws Exception {
+        List<Future<?>> futures = new ArrayList<>(tasks);
+        ExecutorService executor = executor();
+        try {
+            for (int ii = 0; ii < tasks; ii++) {
+                BenchRow row = new BenchRow(ii);
+                boolean hop = (ii % 2 == 1);
+                futures.add(executor.submit(() -> {
+                    write(row, hop);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        int open = dataStore.sessionManager().openCount();
+        if (open > 0) {
+            throw new Exception(String.format("Sessions left open. [count=%d]", open));
+        }
+        return futures.size();
+    }
+
+    private void write(BenchRow row, boolean hop) throws Exception {
+        dataStore.beingTransaction();
+        try {
+            dataStore.create(row, BenchRow.class, null);
+            // Nested unit of work: joins the outer transaction.
+            dataStore.beingTransaction();
+            dataStore.commit();
+            if (hop) {
+                StoreSessionManager.StoreSession<Session, Transaction> session = dataStore.currentSession();
+                hops.submit(() -> {
+                    try (StoreSessionManager.Scope ignored = dataStore.bind(session)) {
+                        dataStore.commit();
+                    }
+                    return null;
+                }).get();
+            } else {
+                dataStore.commit();
+            }
+        } catch (Exception ex) {
+            dataStore.rollback(false);
+            throw ex;
+        } finally {
+            dataStore.closeSession();
+        }
+    }
+
+    private ExecutorService executor() throws Exception {
+        if (threads == EThreads.Virtual) {
+            try {
+                return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (NoSuchMethodException ex) {
+                throw new Exception(String.format("Virtual threads require a JDK 21+ runtime. [version=%s]",
+                        System.getProperty("java.version")));
+            }
+        }
+        return Executors.newFixedThreadPool(poolSize);
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.benchmarks.persistence;
+
+import io.zyient.benchmarks.BenchmarkFiles;
+import io.zyient.core.persistence.impl.solr.SolrWriter;
+import org.apache.solr.client.solrj.embedded.EmbeddedSolrServer;
+import org.apache.solr.common.SolrInputDocument;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Time to index {@code docs} documents into an embedded Solr core, committing after every
+ * document ({@code PerDocumentCommit}, the previous SolrDataStore behaviour) against the
+ * buffered {@link SolrWriter} ({@code Buffered}, batches + commitWithin, committed on close).
+ * <p>
+ * The per document commit baseline is slow at 100k documents (one segment flush per document).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class SolrIndexingBenchmark {
+    private static final String CORE = "bench";
+    private static final String[] RESOURCES = {
+            "solr/solr.xml",
+            "solr/bench/core.properties",
+            "solr/bench/conf/solrconfig.xml",
+            "solr/bench/conf/schema.xml"
+    };
+
+    public enum EWriteMode {
+        PerDocumentCommit, Buffered
+    }
+
+    @Param({"100000"})
+    private int docs;
+    @Param({"PerDocumentCommit", "Buffered"})
+    private EWriteMode mode;
+    @Param({"500"})
+    private int batchSize;
+    @Param({"1000"})
+    private long commitWithin;
+
+    private File home;
+    private EmbeddedSolrServer server;
+    private List<SolrInputDocument> documents;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        home = BenchmarkFiles.tempDir("solr-benchmark");
+        for (String resource : RESOURCES) {
+            File target = new File(home, resource.substring("solr/".length()));
+            if (!target.getParentFile().exists() && !target.getParentFile().mkdirs()) {
+                throw new Exception(String.format("Failed to create directory. [path=%s]", target.getParent()));
+            }
+            try (InputStream in = getClass().getClassLoader().getResourceAsStream(resource)) {
+                if (in == null) {
+                    throw new Exception(String.format("Resource not found. [resource=%s]", resource));
+                }
+                Files.copy(in, target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        server = new EmbeddedSolrServer(home.toPath(), CORE);
+    }
+
+    @Setup(Level.Iteration)
+    public void prepare() throws Exception {
+        server.deleteByQuery("*:*");
+        server.commit();
+        documents = new ArrayList<>(docs);
+        for (int ii = 0; ii < docs; ii++) {
+            SolrInputDocument document = new SolrInputDocument();
+            document.addField("id", String.format("doc-%d", ii));
+            document.addField("name", String.format("name-%d", ii));
+            document.addField("amount", (long) ii);
+            document.addField("payload", String.format("payload [%d] %s", ii, "lorem ipsum ".repeat(8)));
+            documents.add(document);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void teardown() throws Exception {
+        server.close();
+        BenchmarkFiles.delete(home);
+    }
+
+    @Benchmark
+    public int index() throws Exception {
+        if (mode == EWriteMode.PerDocumentCommit) {
+            for (SolrInputDocument document : documents) {
+                server.add(document);
+                server.commit();
+            }
+            return documents.size();
+        }
+        AtomicInteger failed = new AtomicInteger();
+        try (SolrWriter writer = new SolrWriter(collection -> server, batchSize, commitWithin, 250)) {
+            writer.addFailureHandler(failure -> failed.incrementAndGet());
+            for (SolrInputDocument document : documents) {
+                writer.add(CORE, document, document);
+            }
+        }
+        if (failed.get() > 0) {
+            throw new Exception(String.format("Failed to index documents. [failed=%d]", failed.get()));
+        }
+        return documents.size();
+    }
+}
@@ -25,6 +25,10 @@ import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
+/**
+ * @deprecated Reads mutate the LRU list under a shared lock, use {@link TinyLfuCache} instead.
+ */
+@Deprecated
 public class LRUCache<K, V> implements Cache<K, V> {
     private int size;
     private final Map<K, LinkedListNode<CacheElement<K, V>>> nodeMap;
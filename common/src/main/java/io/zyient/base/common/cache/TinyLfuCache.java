@@ -0,0 +1,568 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.base.common.cache;
+
+import com.google.common.base.Preconditions;
+import io.zyient.base.common.utils.DefaultLogger;
+import lombok.NonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrent, weight bounded cache using the W-TinyLFU admission/eviction policy.
+ * <p>
+ * Reads are lock-free: the entry is looked up in a {@link ConcurrentHashMap} and the access is
+ * recorded into a striped, lossy read buffer. The buffers are drained (and the policy updated)
+ * under the eviction lock by whichever thread acquires it first, readers never block on it.
+ * <p>
+ * New entries are admitted into a small LRU window (1% of the capacity). Entries overflowing the
+ * window compete with the least recently used entry of the main (segmented LRU) region, the one
+ * with the higher estimated frequency ({@link FrequencySketch}) is retained.
+ * <p>
+ * Entries can optionally expire after write and/or after last access.
+ */
+public class TinyLfuCache<K, V> implements Cache<K, V> {
+    private static final double WINDOW_PERCENT = 0.01;
+    private static final double PROTECTED_PERCENT = 0.8;
+    private static final int READ_BUFFER_SIZE = 64;
+    private static final int READ_BUFFER_STRIPES =
+            Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() - 1)) << 1;
+
+    private enum EQueue {
+        None, Window, Probation, Protected
+    }
+
+    private static final class Entry<K, V> {
+        private final K key;
+        private volatile V value;
+        private volatile long writeTime;
+        private volatile long accessTime;
+        private int weight;
+        private EQueue queue = EQueue.None;
+        private Entry<K, V> accessPrev;
+        private Entry<K, V> accessNext;
+        private Entry<K, V> writePrev;
+        private Entry<K, V> writeNext;
+
+        private Entry(K key, V value, int weight, long now) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+            this.writeTime = now;
+            this.accessTime = now;
+        }
+
+        private boolean isAlive() {
+            return queue != EQueue.None;
+        }
+    }
+
+    /**
+     * Intrusive doubly linked deque, ordered either by access or by write.
+     * Guarded by the eviction lock.
+     */
+    private static final class LinkedDeque<K, V> {
+        private final boolean writeOrder;
+        private Entry<K, V> first;
+        private Entry<K, V> last;
+
+        private LinkedDeque(boolean writeOrder) {
+            this.writeOrder = writeOrder;
+        }
+
+        private Entry<K, V> prev(Entry<K, V> e) {
+            return writeOrder ? e.writePrev : e.accessPrev;
+        }
+
+        private Entry<K, V> next(Entry<K, V> e) {
+            return writeOrder ? e.writeNext : e.accessNext;
+        }
+
+        private void link(Entry<K, V> e, Entry<K, V> prev, Entry<K, V> next) {
+            if (writeOrder) {
+                e.writePrev = prev;
+                e.writeNext = next;
+            } else {
+                e.accessPrev = prev;
+                e.accessNext = next;
+            }
+        }
+
+        private void setNext(Entry<K, V> e, Entry<K, V> next) {
+            if (writeOrder) {
+                e.writeNext = next;
+            } else {
+                e.accessNext = next;
+            }
+        }
+
+        private void setPrev(Entry<K, V> e, Entry<K, V> prev) {
+            if (writeOrder) {
+                e.writePrev = prev;
+            } else {
+                e.accessPrev = prev;
+            }
+        }
+
+        private void addLast(Entry<K, V> e) {
+            link(e, last, null);
+            if (last == null) {
+                first = e;
+            } else {
+                setNext(last, e);
+            }
+            last = e;
+        }
+
+        private void remove(Entry<K, V> e) {
+            Entry<K, V> prev = prev(e);
+            Entry<K, V> next = next(e);
+            if (prev == null) {
+                if (first != e) return;
+                first = next;
+            } else {
+                setNext(prev, next);
+            }
+            if (next == null) {
+                last = prev;
+            } else {
+                setPrev(next, prev);
+            }
+            link(e, null, null);
+        }
+
+        private void moveToBack(Entry<K, V> e) {
+            if (e != last) {
+                remove(e);
+                addLast(e);
+            }
+        }
+
+        private Entry<K, V> peekFirst() {
+            return first;
+        }
+
+        private Entry<K, V> peekLast() {
+            return last;
+        }
+
+        private void clear() {
+            first = null;
+            last = null;
+        }
+    }
+
+    /**
+     * Bounded, lossy multi-producer buffer of accessed entries. Drained by a single
+     * consumer holding the eviction lock, offers are dropped when the buffer is full.
+     */
+    private static final class ReadBuffer<K, V> {
+        private static final int MASK = READ_BUFFER_SIZE - 1;
+        private final AtomicReferenceArray<Entry<K, V>> buffer = new AtomicReferenceArray<>(READ_BUFFER_SIZE);
+        private final AtomicLong writeCounter = new AtomicLong();
+        private volatile long readCounter = 0;
+
+        private boolean offer(Entry<K, V> e) {
+            long tail = writeCounter.get();
+            if (tail - readCounter >= READ_BUFFER_SIZE) {
+                return false;
+            }
+            if (writeCounter.compareAndSet(tail, tail + 1)) {
+                buffer.lazySet((int) (tail & MASK), e);
+            }
+            return true;
+        }
+
+        private void drain(TinyLfuCache<K, V> cache) {
+            long head = readCounter;
+            long tail = writeCounter.get();
+            for (; head < tail; head++) {
+                int index = (int) (head & MASK);
+                Entry<K, V> e = buffer.get(index);
+                if (e == null) {
+                    break;
+                }
+                buffer.lazySet(index, null);
+                cache.onAccess(e);
+            }
+            readCounter = head;
+        }
+    }
+
+    private final ConcurrentHashMap<K, Entry<K, V>> data = new ConcurrentHashMap<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final List<EvictionCallback<K, V>> evictionCallbacks = new CopyOnWriteArrayList<>();
+    private final ReadBuffer<K, V>[] readBuffers;
+    private final FrequencySketch sketch;
+    private final LinkedDeque<K, V> window = new LinkedDeque<>(false);
+    private final LinkedDeque<K, V> probation = new LinkedDeque<>(false);
+    private final LinkedDeque<K, V> protectedQueue = new LinkedDeque<>(false);
+    private final LinkedDeque<K, V> writeQueue = new LinkedDeque<>(true);
+    private final long maximumWeight;
+    private final long windowMaximum;
+    private final long protectedMaximum;
+    private Weigher<K, V> weigher = Weigher.singleton();
+    private long expireAfterWriteNanos = -1;
+    private long expireAfterAccessNanos = -1;
+    private long weightedSize = 0;
+    private long windowWeight = 0;
+    private long protectedWeight = 0;
+
+    /**
+     * Create a cache bounded by the total weight of its entries. With the default
+     * weigher every entry weighs 1, i.e. the bound is the maximum number of entries.
+     *
+     * @param maximumWeight - Maximum total weight
+     */
+    @SuppressWarnings("unchecked")
+    public TinyLfuCache(long maximumWeight) {
+        Preconditions.checkArgument(maximumWeight > 0);
+        this.maximumWeight = maximumWeight;
+        this.windowMaximum = maximumWeight - (long) (maximumWeight * (1 - WINDOW_PERCENT));
+        this.protectedMaximum = (long) ((maximumWeight - windowMaximum) * PROTECTED_PERCENT);
+        this.sketch = new FrequencySketch(Math.min(maximumWeight, 1024));
+        this.readBuffers = new ReadBuffer[READ_BUFFER_STRIPES];
+        for (int ii = 0; ii < readBuffers.length; ii++) {
+            readBuffers[ii] = new ReadBuffer<>();
+        }
+    }
+
+    public TinyLfuCache<K, V> withWeigher(@NonNull Weigher<K, V> weigher) {
+        this.weigher = weigher;
+        return this;
+    }
+
+    public TinyLfuCache<K, V> withExpireAfterWrite(long duration, @NonNull TimeUnit unit) {
+        Preconditions.checkArgument(duration > 0);
+        this.expireAfterWriteNanos = unit.toNanos(duration);
+        return this;
+    }
+
+    public TinyLfuCache<K, V> withExpireAfterAccess(long duration, @NonNull TimeUnit unit) {
+        Preconditions.checkArgument(duration > 0);
+        this.expireAfterAccessNanos = unit.toNanos(duration);
+        return this;
+    }
+
+    public TinyLfuCache<K, V> withEvictionCallback(@NonNull EvictionCallback<K, V> callback) {
+        evictionCallbacks.add(callback);
+        return this;
+    }
+
+    @Override
+    public boolean put(@NonNull K key, V value) {
+        int weight = weigher.weigh(key, value);
+        Preconditions.checkArgument(weight >= 0);
+        long now = System.nanoTime();
+        List<Entry<K, V>> evicted = new ArrayList<>();
+        evictionLock.lock();
+        try {
+            Entry<K, V> entry = data.get(key);
+            if (entry != null && entry.isAlive()) {
+                entry.value = value;
+                entry.writeTime = now;
+                entry.accessTime = now;
+                int delta = weight - entry.weight;
+                entry.weight = weight;
+                weightedSize += delta;
+                if (entry.queue == EQueue.Window) {
+                    windowWeight += delta;
+                } else if (entry.queue == EQueue.Protected) {
+                    protectedWeight += delta;
+                }
+                writeQueue.moveToBack(entry);
+                onAccess(entry);
+            } else {
+                entry = new Entry<>(key, value, weight, now);
+                data.put(key, entry);
+                entry.queue = EQueue.Window;
+                window.addLast(entry);
+                writeQueue.addLast(entry);
+                windowWeight += weight;
+                weightedSize += weight;
+                sketch.increment(key);
+            }
+            maintenance(now, evicted);
+        } finally {
+            evictionLock.unlock();
+        }
+        notifyEvicted(evicted);
+        return true;
+    }
+
+    @Override
+    public Optional<V> get(K key) {
+        Entry<K, V> entry = data.get(key);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        long now = System.nanoTime();
+        if (hasExpired(entry, now)) {
+            tryMaintenance(now);
+            return Optional.empty();
+        }
+        if (expireAfterAccessNanos > 0) {
+            entry.accessTime = now;
+        }
+        ReadBuffer<K, V> buffer = readBuffers[(int) Thread.currentThread().getId() & (readBuffers.length - 1)];
+        if (!buffer.offer(entry)) {
+            tryMaintenance(now);
+        }
+        return Optional.ofNullable(entry.value);
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        Entry<K, V> entry = data.get(key);
+        return (entry != null && !hasExpired(entry, System.nanoTime()));
+    }
+
+    @Override
+    public int size() {
+        return data.size();
+    }
+
+    /**
+     * @return - Total weight of the entries currently held.
+     */
+    public long weightedSize() {
+        evictionLock.lock();
+        try {
+            return weightedSize;
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return data.isEmpty();
+    }
+
+    @Override
+    public void clear() {
+        evictionLock.lock();
+        try {
+            for (ReadBuffer<K, V> buffer : readBuffers) {
+                buffer.drain(this);
+            }
+            for (Entry<K, V> entry : data.values()) {
+                entry.queue = EQueue.None;
+            }
+            data.clear();
+            window.clear();
+            probation.clear();
+            protectedQueue.clear();
+            writeQueue.clear();
+            weightedSize = 0;
+            windowWeight = 0;
+            protectedWeight = 0;
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean remove(K key) {
+        List<Entry<K, V>> evicted = new ArrayList<>(1);
+        evictionLock.lock();
+        try {
+            Entry<K, V> entry = data.get(key);
+            if (entry == null) {
+                return false;
+            }
+            evict(entry, evicted);
+        } finally {
+            evictionLock.unlock();
+        }
+        notifyEvicted(evicted);
+        return true;
+    }
+
+    /**
+     * Force a synchronous drain of the pending reads and run expiration/eviction.
+     */
+    public void cleanUp() {
+        List<Entry<K, V>> evicted = new ArrayList<>();
+        evictionLock.lock();
+        try {
+            maintenance(System.nanoTime(), evicted);
+        } finally {
+            evictionLock.unlock();
+        }
+        notifyEvicted(evicted);
+    }
+
+    private boolean hasExpired(Entry<K, V> entry, long now) {
+        return (expireAfterWriteNanos > 0 && (now - entry.writeTime) >= expireAfterWriteNanos)
+                || (expireAfterAccessNanos > 0 && (now - entry.accessTime) >= expireAfterAccessNanos);
+    }
+
+    private void tryMaintenance(long now) {
+        if (evictionLock.tryLock()) {
+            List<Entry<K, V>> evicted = new ArrayList<>();
+            try {
+                maintenance(now, evicted);
+            } finally {
+                evictionLock.unlock();
+            }
+            notifyEvicted(evicted);
+        }
+    }
+
+    private void maintenance(long now, List<Entry<K, V>> evicted) {
+        for (ReadBuffer<K, V> buffer : readBuffers) {
+            buffer.drain(this);
+        }
+        sketch.ensureCapacity(data.size());
+        expireEntries(now, evicted);
+        evictEntries(evicted);
+    }
+
+    private void onAccess(Entry<K, V> entry) {
+        if (!entry.isAlive()) {
+            return;
+        }
+        sketch.increment(entry.key);
+        switch (entry.queue) {
+            case Window:
+                window.moveToBack(entry);
+                break;
+            case Probation:
+                probation.remove(entry);
+                entry.queue = EQueue.Protected;
+                protectedQueue.addLast(entry);
+                protectedWeight += entry.weight;
+                while (protectedWeight > protectedMaximum) {
+                    Entry<K, V> demoted = protectedQueue.peekFirst();
+                    if (demoted == null || demoted == entry) break;
+                    protectedQueue.remove(demoted);
+                    protectedWeight -= demoted.weight;
+                    demoted.queue = EQueue.Probation;
+                    probation.addLast(demoted);
+                }
+                break;
+            case Protected:
+                protectedQueue.moveToBack(entry);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void expireEntries(long now, List<Entry<K, V>> evicted) {
+        if (expireAfterAccessNanos > 0) {
+            expireByAccess(window, now, evicted);
+            expireByAccess(probation, now, evicted);
+            expireByAccess(protectedQueue, now, evicted);
+        }
+        if (expireAfterWriteNanos > 0) {
+            Entry<K, V> entry;
+            while ((entry = writeQueue.peekFirst()) != null
+                    && (now - entry.writeTime) >= expireAfterWriteNanos) {
+                evict(entry, evicted);
+            }
+        }
+    }
+
+    private void expireByAccess(LinkedDeque<K, V> queue, long now, List<Entry<K, V>> evicted) {
+        Entry<K, V> entry;
+        while ((entry = queue.peekFirst()) != null
+                && (now - entry.accessTime) >= expireAfterAccessNanos) {
+            evict(entry, evicted);
+        }
+    }
+
+    private void evictEntries(List<Entry<K, V>> evicted) {
+        int candidates = 0;
+        while (windowWeight > windowMaximum) {
+            Entry<K, V> entry = window.peekFirst();
+            if (entry == null) break;
+            window.remove(entry);
+            windowWeight -= entry.weight;
+            entry.queue = EQueue.Probation;
+            probation.addLast(entry);
+            candidates++;
+        }
+        while (weightedSize > maximumWeight) {
+            Entry<K, V> victim = probation.peekFirst();
+            if (victim == null) victim = protectedQueue.peekFirst();
+            if (victim == null) victim = window.peekFirst();
+            if (victim == null) break;
+            Entry<K, V> candidate = (candidates > 0 ? probation.peekLast() : null);
+            if (candidate == null || candidate == victim) {
+                if (candidate != null) candidates--;
+                evict(victim, evicted);
+            } else if (candidate.weight > maximumWeight || !admit(candidate, victim)) {
+                candidates--;
+                evict(candidate, evicted);
+            } else {
+                evict(victim, evicted);
+            }
+        }
+    }
+
+    private boolean admit(Entry<K, V> candidate, Entry<K, V> victim) {
+        return sketch.frequency(candidate.key) > sketch.frequency(victim.key);
+    }
+
+    private void evict(Entry<K, V> entry, List<Entry<K, V>> evicted) {
+        data.remove(entry.key, entry);
+        switch (entry.queue) {
+            case Window:
+                window.remove(entry);
+                windowWeight -= entry.weight;
+                break;
+            case Probation:
+                probation.remove(entry);
+                break;
+            case Protected:
+                protectedQueue.remove(entry);
+                protectedWeight -= entry.weight;
+                break;
+            default:
+                return;
+        }
+        writeQueue.remove(entry);
+        weightedSize -= entry.weight;
+        entry.queue = EQueue.None;
+        evicted.add(entry);
+    }
+
+    private void notifyEvicted(List<Entry<K, V>> evicted) {
+        if (evicted.isEmpty() || evictionCallbacks.isEmpty()) {
+            return;
+        }
+        for (Entry<K, V> entry : evicted) {
+            for (EvictionCallback<K, V> callback : evictionCallbacks) {
+                try {
+                    callback.evicted(entry.key, entry.value);
+                } catch (Throwable t) {
+                    DefaultLogger.error(String.format("Eviction callback failed. [key=%s]", entry.key), t);
+                }
+            }
+        }
+    }
+}
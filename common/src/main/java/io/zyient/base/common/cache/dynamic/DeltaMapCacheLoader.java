@@ -0,0 +1,50 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.base.common.cache.dynamic;
+
+import io.zyient.base.common.cache.CacheException;
+import io.zyient.base.common.model.Context;
+import io.zyient.base.common.model.entity.IKey;
+import io.zyient.base.common.model.entity.IKeyed;
+
+/**
+ * Cache loader that can read incremental changes. Changes are tracked using a monotonically
+ * increasing high-water mark (update timestamp or row version) maintained by the source.
+ *
+ * @param <K> - Key type
+ * @param <T> - Entity type
+ */
+public interface DeltaMapCacheLoader<K extends IKey, T extends IKeyed<K>> extends MapCacheLoader<K, T> {
+    /**
+     * Get the current high-water mark of the source. Called before a full read, so changes
+     * committed while the full read runs are picked up by the next delta.
+     *
+     * @return - Current high-water mark
+     * @throws CacheException
+     */
+    long highWaterMark() throws CacheException;
+
+    /**
+     * Read the records updated/deleted after the specified high-water mark.
+     *
+     * @param context - Read context
+     * @param since   - Last applied high-water mark
+     * @return - Changes with the new high-water mark
+     * @throws CacheException
+     */
+    MapCacheDelta<K, T> readDelta(Context context, long since) throws CacheException;
+}
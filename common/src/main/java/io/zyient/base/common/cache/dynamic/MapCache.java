@@ -34,6 +34,7 @@ import org.apache.commons.configuration2.tree.ImmutableNode;
 
 import java.io.IOException;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
@@ -41,26 +42,95 @@ import java.util.Set;
 @Getter
 @Accessors(fluent = true)
 public class MapCache<K extends IKey, T extends IKeyed<K>> extends AbstractMapCache<K, T> {
+    /**
+     * Immutable view of the cached data: a base map plus an overlay of incremental
+     * changes (a null overlay value marks a deleted key). A refresh publishes a new
+     * snapshot, so readers always see a fully applied refresh.
+     */
+    private static final class Snapshot<K, T> {
+        private final Map<K, T> base;
+        private final Map<K, T> overlay;
+        private final int size;
+        private volatile Map<K, T> merged;
+
+        private Snapshot(Map<K, T> base, Map<K, T> overlay, int size) {
+            this.base = base;
+            this.overlay = overlay;
+            this.size = size;
+            if (overlay.isEmpty()) {
+                merged = base;
+            }
+        }
+
+        private T get(K key) {
+            if (!overlay.isEmpty()) {
+                T value = overlay.get(key);
+                if (value != null || overlay.containsKey(key)) {
+                    return value;
+                }
+            }
+            return base.get(key);
+        }
+
+        private boolean contains(K key) {
+            if (overlay.containsKey(key)) {
+                return overlay.get(key) != null;
+            }
+            return base.containsKey(key);
+        }
+
+        private Map<K, T> view() {
+            Map<K, T> map = merged;
+            if (map == null) {
+                map = new HashMap<>(base);
+                for (Map.Entry<K, T> entry : overlay.entrySet()) {
+                    if (entry.getValue() == null) {
+                        map.remove(entry.getKey());
+                    } else {
+                        map.put(entry.getKey(), entry.getValue());
+                    }
+                }
+                merged = map;
+            }
+            return map;
+        }
+
+        private Snapshot<K, T> compact() {
+            return new Snapshot<>(view(), Collections.emptyMap(), size);
+        }
+    }
+
+    private static final int MIN_COMPACTION_SIZE = 1024;
+
     @Getter(AccessLevel.NONE)
-    private Map<K, T> cache = null;
-    @Getter(AccessLevel.NONE)
-    private Map<K, T> backupCache = null;
-    @Getter(AccessLevel.NONE)
-    private Map<K, T> cache01 = new HashMap<>();
+    private volatile Snapshot<K, T> snapshot = new Snapshot<>(Collections.emptyMap(), Collections.emptyMap(), 0);
     @Getter(AccessLevel.NONE)
-    private Map<K, T> cache02 = new HashMap<>();
+    private DeltaMapCacheLoader<K, T> deltaLoader;
+    private long highWaterMark = -1;
+    private long lastFullRefresh = 0;
+    private MapCacheMetrics metrics;
 
     public MapCache(@NonNull Class<? extends T> entityType,
                     @NonNull ThreadManager manager) {
         super(entityType, MapCacheSettings.class, manager);
-        cache = cache01;
-        backupCache = cache02;
     }
 
     @Override
     protected void init(@NonNull HierarchicalConfiguration<ImmutableNode> config) throws ConfigurationException {
         try {
+            if (settings.incremental) {
+                if (!(loader instanceof DeltaMapCacheLoader<K, T>)) {
+                    throw new ConfigurationException(
+                            String.format("Incremental refresh requires a delta loader. [name=%s][loader=%s]",
+                                    settings.name, loader.getClass().getCanonicalName()));
+                }
+                deltaLoader = (DeltaMapCacheLoader<K, T>) loader;
+            }
+            metrics = new MapCacheMetrics(settings.name)
+                    .register(this);
             runLoad();
+            // Mark available before the refresh thread starts, else its run loop can exit immediately.
+            state.setState(ECacheState.Available);
             String name = String.format("%s[%s]", getClass().getSimpleName(), settings.name);
             loaderThread = new ManagedThread(manager, this, name);
             loaderThread.start();
@@ -73,36 +143,39 @@ public class MapCache<K extends IKey, T extends IKeyed<K>> extends AbstractMapCa
     @Override
     public T get(@NonNull K key) {
         Preconditions.checkState(state.isAvailable());
-        if (cache != null && !cache.isEmpty()) return cache.get(key);
+        Snapshot<K, T> current = snapshot;
+        if (current.size > 0) return current.get(key);
         return null;
     }
 
     @Override
     public Set<K> keySet() {
         Preconditions.checkState(state.isAvailable());
-        if (cache != null && !cache.isEmpty()) return cache.keySet();
+        Snapshot<K, T> current = snapshot;
+        if (current.size > 0) return Collections.unmodifiableSet(current.view().keySet());
         return null;
     }
 
     @Override
     public Collection<T> values() {
         Preconditions.checkState(state.isAvailable());
-        if (cache != null && !cache.isEmpty()) return cache.values();
+        Snapshot<K, T> current = snapshot;
+        if (current.size > 0) return Collections.unmodifiableCollection(current.view().values());
         return null;
     }
 
     @Override
     public boolean isEmpty() {
-        if (state.isAvailable() && cache != null) {
-            return cache.isEmpty();
+        if (state.isAvailable()) {
+            return snapshot.size == 0;
         }
         return true;
     }
 
     @Override
     public int size() {
-        if (state.isAvailable() && cache != null) {
-            return cache.size();
+        if (state.isAvailable()) {
+            return snapshot.size;
         }
         return 0;
     }
@@ -113,10 +186,10 @@ public class MapCache<K extends IKey, T extends IKeyed<K>> extends AbstractMapCa
             state.setState(ECacheState.Disposed);
         }
         try {
-            cache01.clear();
-            cache02.clear();
-            loader.close();
+            snapshot = new Snapshot<>(Collections.emptyMap(), Collections.emptyMap(), 0);
+            loaderThread.interrupt();
             loaderThread.join();
+            loader.close();
         } catch (Exception ex) {
             DefaultLogger.error(getClass().getCanonicalName(), ex);
             throw new IOException(ex);
@@ -136,7 +209,13 @@ public class MapCache<K extends IKey, T extends IKeyed<K>> extends AbstractMapCa
                     }
                 }
                 lastRunTime = System.currentTimeMillis();
-                if (loader.needsReload()) {
+                if (deltaLoader != null) {
+                    if (lastRunTime - lastFullRefresh >= settings.fullRefreshInterval.normalized()) {
+                        runLoad();
+                    } else {
+                        runDelta();
+                    }
+                } else if (loader.needsReload()) {
                     runLoad();
                 }
             }
@@ -146,23 +225,77 @@ public class MapCache<K extends IKey, T extends IKeyed<K>> extends AbstractMapCa
         }
     }
 
-    private void runLoad() throws CacheException {
+    /**
+     * Run a full reload of the cache.
+     *
+     * @throws CacheException
+     */
+    public void runLoad() throws CacheException {
         lock.lock();
         try {
-            backupCache.clear();
+            long start = System.nanoTime();
+            long hwm = (deltaLoader != null ? deltaLoader.highWaterMark() : -1);
             Collection<T> data = loader.read(null);
             if (data != null && !data.isEmpty()) {
+                Map<K, T> map = new HashMap<>((int) (data.size() / 0.75f) + 1);
                 for (T record : data) {
-                    backupCache.put(record.entityKey(), record);
+                    map.put(record.entityKey(), record);
                 }
-                Map<K, T> tcache = cache;
-                cache = backupCache;
-                backupCache = tcache;
+                snapshot = new Snapshot<>(map, Collections.emptyMap(), map.size());
+                highWaterMark = hwm;
+                metrics.fullRefresh(System.nanoTime() - start);
                 DefaultLogger.info(
                         String.format("Refreshed cache [name=%s]. [#records=%d]", settings.name, data.size()));
             } else {
                 DefaultLogger.warn(String.format("No data loaded for cache. [name=%s]", settings.name));
             }
+            // Record the attempt even if nothing was loaded, else every cycle runs another full reload.
+            lastFullRefresh = System.currentTimeMillis();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Read the changes since the last high-water mark and apply them atomically.
+     *
+     * @throws CacheException
+     */
+    public void runDelta() throws CacheException {
+        Preconditions.checkState(deltaLoader != null);
+        lock.lock();
+        try {
+            long start = System.nanoTime();
+            MapCacheDelta<K, T> delta = deltaLoader.readDelta(null, highWaterMark);
+            if (delta == null) {
+                return;
+            }
+            if (!delta.isEmpty()) {
+                Snapshot<K, T> current = snapshot;
+                Map<K, T> overlay = new HashMap<>(current.overlay);
+                Snapshot<K, T> working = new Snapshot<>(current.base, overlay, current.size);
+                int size = current.size;
+                for (T record : delta.updated()) {
+                    K key = record.entityKey();
+                    if (!working.contains(key)) size++;
+                    overlay.put(key, record);
+                }
+                for (K key : delta.deleted()) {
+                    if (working.contains(key)) size--;
+                    overlay.put(key, null);
+                }
+                Snapshot<K, T> next = new Snapshot<>(current.base, overlay, size);
+                if (overlay.size() > Math.max(MIN_COMPACTION_SIZE, current.base.size() * settings.compactionRatio)) {
+                    next = next.compact();
+                }
+                snapshot = next;
+            }
+            highWaterMark = Math.max(highWaterMark, delta.highWaterMark());
+            metrics.deltaRefresh(System.nanoTime() - start, delta.size());
+            if (DefaultLogger.isTraceEnabled()) {
+                DefaultLogger.trace(String.format("Applied cache delta [name=%s]. [#changes=%d][hwm=%d]",
+                        settings.name, delta.size(), highWaterMark));
+            }
         } finally {
             lock.unlock();
         }
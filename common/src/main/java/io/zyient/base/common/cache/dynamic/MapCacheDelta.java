@@ -0,0 +1,64 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.base.common.cache.dynamic;
+
+import io.zyient.base.common.model.entity.IKey;
+import io.zyient.base.common.model.entity.IKeyed;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+/**
+ * Set of changes read by a {@link DeltaMapCacheLoader} since a high-water mark.
+ *
+ * @param <K> - Key type
+ * @param <T> - Entity type
+ */
+@Getter
+@Setter
+@Accessors(fluent = true)
+public class MapCacheDelta<K extends IKey, T extends IKeyed<K>> {
+    private final Collection<T> updated = new ArrayList<>();
+    private final Collection<K> deleted = new ArrayList<>();
+    private long highWaterMark;
+
+    public MapCacheDelta(long highWaterMark) {
+        this.highWaterMark = highWaterMark;
+    }
+
+    public MapCacheDelta<K, T> update(@NonNull T record) {
+        updated.add(record);
+        return this;
+    }
+
+    public MapCacheDelta<K, T> delete(@NonNull K key) {
+        deleted.add(key);
+        return this;
+    }
+
+    public boolean isEmpty() {
+        return updated.isEmpty() && deleted.isEmpty();
+    }
+
+    public int size() {
+        return updated.size() + deleted.size();
+    }
+}
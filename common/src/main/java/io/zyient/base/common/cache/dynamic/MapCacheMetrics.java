@@ -0,0 +1,113 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.base.common.cache.dynamic;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.experimental.Accessors;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Refresh metrics of a {@link MapCache}: refresh latency (full/delta), delta size and staleness
+ * (time since the last successful refresh).
+ */
+@Getter
+@Accessors(fluent = true)
+public class MapCacheMetrics {
+    public static final String METRIC_REFRESH_LATENCY = "cache_refresh_latency";
+    public static final String METRIC_DELTA_SIZE = "cache_refresh_delta_size";
+    public static final String METRIC_STALENESS = "cache_staleness_ms";
+    public static final String METRIC_SIZE = "cache_size";
+    public static final String TAG_CACHE = "CACHE";
+    public static final String TAG_REFRESH_TYPE = "REFRESH_TYPE";
+
+    private final String name;
+    private final AtomicLong fullRefreshCount = new AtomicLong();
+    private final AtomicLong deltaRefreshCount = new AtomicLong();
+    private final AtomicLong lastRefreshLatency = new AtomicLong();
+    private final AtomicLong lastDeltaSize = new AtomicLong();
+    private final AtomicLong lastRefreshTime = new AtomicLong();
+    private Timer fullRefreshTimer;
+    private Timer deltaRefreshTimer;
+    private DistributionSummary deltaSize;
+
+    public MapCacheMetrics(@NonNull String name) {
+        this.name = name;
+    }
+
+    public MapCacheMetrics register(@NonNull MapCache<?, ?> cache) {
+        return register(cache, Metrics.globalRegistry);
+    }
+
+    public MapCacheMetrics register(@NonNull MapCache<?, ?> cache,
+                                    @NonNull MeterRegistry registry) {
+        fullRefreshTimer = Timer.builder(METRIC_REFRESH_LATENCY)
+                .tags(TAG_CACHE, name, TAG_REFRESH_TYPE, "full")
+                .publishPercentileHistogram()
+                .register(registry);
+        deltaRefreshTimer = Timer.builder(METRIC_REFRESH_LATENCY)
+                .tags(TAG_CACHE, name, TAG_REFRESH_TYPE, "delta")
+                .publishPercentileHistogram()
+                .register(registry);
+        deltaSize = DistributionSummary.builder(METRIC_DELTA_SIZE)
+                .tags(TAG_CACHE, name)
+                .register(registry);
+        Gauge.builder(METRIC_STALENESS, this, MapCacheMetrics::staleness)
+                .tags(TAG_CACHE, name)
+                .register(registry);
+        Gauge.builder(METRIC_SIZE, cache, MapCache::size)
+                .tags(TAG_CACHE, name)
+                .register(registry);
+        return this;
+    }
+
+    public void fullRefresh(long latencyNanos) {
+        fullRefreshCount.incrementAndGet();
+        lastRefreshLatency.set(latencyNanos);
+        lastRefreshTime.set(System.currentTimeMillis());
+        if (fullRefreshTimer != null) {
+            fullRefreshTimer.record(latencyNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public void deltaRefresh(long latencyNanos, int size) {
+        deltaRefreshCount.incrementAndGet();
+        lastRefreshLatency.set(latencyNanos);
+        lastDeltaSize.set(size);
+        lastRefreshTime.set(System.currentTimeMillis());
+        if (deltaRefreshTimer != null) {
+            deltaRefreshTimer.record(latencyNanos, TimeUnit.NANOSECONDS);
+            deltaSize.record(size);
+        }
+    }
+
+    /**
+     * @return - Milliseconds since the last successful refresh (-1 if never refreshed)
+     */
+    public double staleness() {
+        long last = lastRefreshTime.get();
+        if (last <= 0) return -1;
+        return System.currentTimeMillis() - last;
+    }
+}
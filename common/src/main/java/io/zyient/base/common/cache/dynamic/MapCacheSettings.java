@@ -18,9 +18,13 @@ package io.zyient.base.common.cache.dynamic;
 
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import io.zyient.base.common.config.Config;
+import io.zyient.base.common.config.units.TimeUnitValue;
+import io.zyient.base.common.config.units.TimeValueParser;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.util.concurrent.TimeUnit;
+
 @Getter
 @Setter
 @JsonTypeInfo(use = JsonTypeInfo.Id.CLASS, include = JsonTypeInfo.As.PROPERTY,
@@ -28,4 +32,19 @@ import lombok.Setter;
 public class MapCacheSettings extends AbstractDynamicCacheSettings {
     @Config(name = "loader", type = Class.class)
     protected Class<? extends MapCacheLoader<?, ?>> loaderClass;
+    /**
+     * Apply incremental changes on refresh (requires a {@link DeltaMapCacheLoader}).
+     */
+    @Config(name = "incremental", required = false, type = Boolean.class)
+    protected boolean incremental = false;
+    /**
+     * Interval between full reloads when running incremental refreshes.
+     */
+    @Config(name = "fullRefresh", required = false, parser = TimeValueParser.class)
+    protected TimeUnitValue fullRefreshInterval = new TimeUnitValue(24L * 60 * 60 * 1000, TimeUnit.MILLISECONDS);
+    /**
+     * Max size of the un-compacted delta overlay as a fraction of the cache size.
+     */
+    @Config(name = "compactionRatio", required = false, type = Double.class)
+    protected double compactionRatio = 0.1;
 }
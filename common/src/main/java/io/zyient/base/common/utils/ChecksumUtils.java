@@ -18,19 +18,43 @@ package io.zyient.base.common.utils;
 
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import lombok.NonNull;
 
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.*;
 
 public class ChecksumUtils {
-    private static final int ONE_MB = 1024 * 1024;
+    private static final int ONE_MB = TreeHasher.CHUNK_SIZE;
     private static final String HASH_ALGO = "MD5";
 
+    private static final class HashPool {
+        private static final int PARALLELISM = Runtime.getRuntime().availableProcessors();
+        private static final ExecutorService EXECUTOR = createExecutor();
+
+        private static ExecutorService createExecutor() {
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(PARALLELISM,
+                    PARALLELISM,
+                    60,
+                    TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(),
+                    new ThreadFactoryBuilder()
+                            .setNameFormat("CHECKSUM-%d")
+                            .setDaemon(true)
+                            .build());
+            executor.allowCoreThreadTimeOut(true);
+            return executor;
+        }
+    }
+
     public static String computeSHA256(File inputFile) {
 
         try {
@@ -56,51 +80,69 @@ public class ChecksumUtils {
         return computeSHA256TreeHash(chunkSHA256Hashes);
     }
 
+    /**
+     * Computes the SHA-256 tree hash of the file, hashing chunks on the passed executor.
+     */
+    public static byte[] computeSHA256TreeHash(@NonNull File inputFile,
+                                               @NonNull Executor executor,
+                                               int parallelism) throws IOException {
+        return TreeHasher.treeHash(getChunkSHA256Hashes(inputFile, executor, parallelism));
+    }
+
     /**
      * Computes an SHA256 checksum for each 1 MB chunk of the input file. This
      * includes the checksum for the last chunk, even if it's smaller than 1 MB.
+     * Chunks are hashed in parallel on a shared pool while the file is read.
      */
     public static byte[][] getChunkSHA256Hashes(File file) throws IOException,
             NoSuchAlgorithmException {
+        return getChunkSHA256Hashes(file, HashPool.EXECUTOR, HashPool.PARALLELISM);
+    }
 
-        MessageDigest md = MessageDigest.getInstance("SHA-256");
-        long numChunks = file.length() / ONE_MB;
-        if (file.length() % ONE_MB > 0) {
-            numChunks++;
-        }
-
-        if (numChunks == 0) {
-            return new byte[][]{md.digest()};
+    /**
+     * Computes an SHA256 checksum for each 1 MB chunk of the input file, with at most
+     * parallelism chunks being hashed on the executor at a time.
+     */
+    public static byte[][] getChunkSHA256Hashes(@NonNull File file,
+                                                @NonNull Executor executor,
+                                                int parallelism) throws IOException {
+        TreeHasher hasher = (file.length() > ONE_MB && parallelism > 1 ?
+                new TreeHasher(executor, parallelism) : new TreeHasher());
+        try (FileInputStream fileStream = new FileInputStream(file)) {
+            return hasher.update(fileStream)
+                    .chunkHashes();
         }
+    }
 
-        byte[][] chunkSHA256Hashes = new byte[(int) numChunks][];
-        FileInputStream fileStream = null;
-
-        try {
-            fileStream = new FileInputStream(file);
-            byte[] buff = new byte[ONE_MB];
-
-            int bytesRead;
-            int idx = 0;
-
-            while ((bytesRead = fileStream.read(buff, 0, ONE_MB)) > 0) {
-                md.reset();
-                md.update(buff, 0, bytesRead);
-                chunkSHA256Hashes[idx++] = md.digest();
-            }
-
-            return chunkSHA256Hashes;
-
-        } finally {
-            if (fileStream != null) {
-                try {
-                    fileStream.close();
-                } catch (IOException ioe) {
-                    System.err.printf("Exception while closing %s.\n %s", file.getName(),
-                            ioe.getMessage());
+    /**
+     * Verifies the SHA-256 checksums of the chunk range [from, to) of the file against the
+     * expected chunk hashes (as returned by getChunkSHA256Hashes), reading only that range.
+     *
+     * @return - Index of the first chunk that does not match, -1 if all match.
+     */
+    public static int verifyChunks(@NonNull File file,
+                                   @NonNull byte[][] expected,
+                                   int from,
+                                   int to) throws IOException {
+        Preconditions.checkPositionIndexes(from, to, expected.length);
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(ONE_MB);
+            for (int ii = from; ii < to; ii++) {
+                buffer.clear();
+                long position = (long) ii * ONE_MB;
+                while (buffer.hasRemaining()) {
+                    int r = channel.read(buffer, position + buffer.position());
+                    if (r < 0) break;
+                }
+                byte[] hash = new TreeHasher()
+                        .update(buffer.array(), 0, buffer.position())
+                        .digest();
+                if (!MessageDigest.isEqual(hash, expected[ii])) {
+                    return ii;
                 }
             }
         }
+        return -1;
     }
 
     /**
@@ -109,37 +151,7 @@ public class ChecksumUtils {
      */
     public static byte[] computeSHA256TreeHash(byte[][] chunkSHA256Hashes)
             throws NoSuchAlgorithmException {
-
-        MessageDigest md = MessageDigest.getInstance("SHA-256");
-        byte[][] prevLvlHashes = chunkSHA256Hashes;
-        while (prevLvlHashes.length > 1) {
-            int len = prevLvlHashes.length / 2;
-            if (prevLvlHashes.length % 2 != 0) {
-                len++;
-            }
-
-            byte[][] currLvlHashes = new byte[len][];
-            int j = 0;
-            for (int i = 0; i < prevLvlHashes.length; i = i + 2, j++) {
-
-                // If there are at least two elements remaining.
-                if (prevLvlHashes.length - i > 1) {
-
-                    // Calculate a digest of the concatenated nodes.
-                    md.reset();
-                    md.update(prevLvlHashes[i]);
-                    md.update(prevLvlHashes[i + 1]);
-                    currLvlHashes[j] = md.digest();
-
-                } else { // Take care of the remaining odd chunk
-                    currLvlHashes[j] = prevLvlHashes[i];
-                }
-            }
-
-            prevLvlHashes = currLvlHashes;
-        }
-
-        return prevLvlHashes[0];
+        return TreeHasher.treeHash(chunkSHA256Hashes);
     }
 
     /**
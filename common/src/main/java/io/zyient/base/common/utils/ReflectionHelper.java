@@ -24,6 +24,7 @@ import com.google.common.base.Strings;
 import com.google.common.reflect.ClassPath;
 import io.zyient.base.common.utils.beans.BeanUtils;
 import io.zyient.base.common.utils.beans.ClassDef;
+import io.zyient.base.common.utils.beans.MethodAccessors;
 import io.zyient.base.common.utils.beans.PropertyDef;
 import lombok.NonNull;
 import org.apache.commons.lang3.StringUtils;
@@ -34,6 +35,8 @@ import java.io.IOException;
 import java.lang.reflect.*;
 import java.nio.charset.Charset;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -51,6 +54,44 @@ public class ReflectionHelper {
 
     private static final ClassUtils CLASS_UTILS = new ClassUtils();
     private static final ReflectionUtils REFLECTION_UTILS = new ReflectionUtils();
+    private static final ClassValue<Field[]> __fields = new ClassValue<>() {
+        @Override
+        protected Field[] computeValue(Class<?> type) {
+            return findAllFields(type);
+        }
+    };
+    private static final ClassValue<Map<String, Field>> __fieldsMap = new ClassValue<>() {
+        @Override
+        protected Map<String, Field> computeValue(Class<?> type) {
+            Field[] fields = getAllFields(type);
+            if (fields != null && fields.length > 0) {
+                Map<String, Field> map = new HashMap<>();
+                for (Field field : fields) {
+                    map.put(field.getName(), field);
+                }
+                return Collections.unmodifiableMap(map);
+            }
+            return null;
+        }
+    };
+    private static final ClassValue<Map<Field, FieldSetter>> __setters = new ClassValue<>() {
+        @Override
+        protected Map<Field, FieldSetter> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    /**
+     * Cached setter: the compiled accessor (null if the method could not be compiled) and the
+     * method, used reflectively for values that need unboxing/widening (e.g. Integer to long).
+     */
+    private record FieldSetter(Method method, Class<?> type, BiConsumer<Object, Object> accessor) {
+        private boolean accepts(Object value) {
+            if (accessor == null) return false;
+            if (value == null) return !method.getParameterTypes()[0].isPrimitive();
+            return type.isInstance(value);
+        }
+    }
 
     public static ClassUtils classUtils() {
         return CLASS_UTILS;
@@ -170,11 +211,16 @@ public class ReflectionHelper {
 
     /**
      * Recursively get all the declared fields for a type.
+     * The field array is computed once per type and shared, callers must not modify it.
      *
      * @param type - Type to fetch fields for.
      * @return - Array of all defined fields.
      */
     public static Field[] getAllFields(@NonNull Class<?> type) {
+        return __fields.get(type);
+    }
+
+    private static Field[] findAllFields(Class<?> type) {
         Field[] pfs = null;
         if (hasSuperClass(type)) {
             pfs = getAllFields(type.getSuperclass());
@@ -186,11 +232,7 @@ public class ReflectionHelper {
         pfs = type.getDeclaredFields();
         fields.addAll(Arrays.asList(pfs));
         if (!fields.isEmpty()) {
-            Field[] fa = new Field[fields.size()];
-            for (int ii = 0; ii < fields.size(); ii++) {
-                fa[ii] = fields.get(ii);
-            }
-            return fa;
+            return fields.toArray(new Field[0]);
         }
         return null;
     }
@@ -202,16 +244,14 @@ public class ReflectionHelper {
         return !clazz.getSuperclass().equals(Object.class);
     }
 
+    /**
+     * Get the fields of the type mapped by name, the returned map is cached and unmodifiable.
+     *
+     * @param type - Type to fetch fields for.
+     * @return - Map of fields (or null if no fields)
+     */
     public static Map<String, Field> getFieldsMap(@NonNull Class<?> type) {
-        Field[] fields = getAllFields(type);
-        if (fields != null && fields.length > 0) {
-            Map<String, Field> map = new HashMap<>();
-            for (Field field : fields) {
-                map.put(field.getName(), field);
-            }
-            return map;
-        }
-        return null;
+        return __fieldsMap.get(type);
     }
 
     /**
@@ -845,15 +885,33 @@ public class ReflectionHelper {
                                       @NonNull Field f,
                                       Object value)
             throws Exception {
-
-        Method m = getSetter(o.getClass(), f);
-
-        if (m == null)
-            throw new Exception("No accessable method found for field. [field="
-                    + f.getName() + "][class=" +
-                    o.getClass().getCanonicalName()
-                    + "]");
-        MethodUtils.invokeMethod(o, m.getName(), value);
+        Map<Field, FieldSetter> setters = __setters.get(o.getClass());
+        FieldSetter setter = setters.get(f);
+        if (setter == null) {
+            Method m = getSetter(o.getClass(), f);
+
+            if (m == null)
+                throw new Exception("No accessable method found for field. [field="
+                        + f.getName() + "][class=" +
+                        o.getClass().getCanonicalName()
+                        + "]");
+            BiConsumer<Object, Object> accessor = null;
+            try {
+                accessor = MethodAccessors.setter(m);
+            } catch (IllegalAccessException ex) {
+                DefaultLogger.debug(String.format("Using reflective setter. [class=%s][method=%s]",
+                        o.getClass().getCanonicalName(), m.getName()));
+            }
+            setter = new FieldSetter(m,
+                    org.apache.commons.lang3.ClassUtils.primitiveToWrapper(m.getParameterTypes()[0]),
+                    accessor);
+            setters.put(f, setter);
+        }
+        if (setter.accepts(value)) {
+            setter.accessor().accept(o, value);
+        } else {
+            MethodUtils.invokeMethod(o, setter.method().getName(), value);
+        }
     }
 
 
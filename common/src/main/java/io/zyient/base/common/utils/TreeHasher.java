@@ -0,0 +1,320 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.base.common.utils;
+
+import com.google.common.base.Preconditions;
+import lombok.NonNull;
+
+import java.io.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * Streaming SHA-256 tree hash.
+ * <p>
+ * Data is accumulated into fixed size chunks ({@link #CHUNK_SIZE}) and each completed chunk is hashed on
+ * the supplied executor while the caller keeps feeding data. At most {@code parallelism} chunks are hashed
+ * concurrently; the chunk buffers are recycled, so memory is bounded by {@code parallelism + 1} chunks.
+ * Without an executor chunks are hashed on the calling thread.
+ * <p>
+ * The hasher can be fed directly, or by wrapping the stream being uploaded/written
+ * ({@link #wrap(InputStream)}, {@link #wrap(OutputStream)}) so the data is read only once.
+ * Instances are not thread-safe.
+ */
+public class TreeHasher {
+    public static final int CHUNK_SIZE = 1024 * 1024;
+    private static final String HASH_ALGO = "SHA-256";
+
+    private static final ThreadLocal<MessageDigest> DIGEST = ThreadLocal.withInitial(TreeHasher::newDigest);
+
+    private final Executor executor;
+    private final BlockingQueue<byte[]> buffers;
+    private final int maxBuffers;
+    private int allocated = 0;
+    private final List<CompletableFuture<byte[]>> chunks = new ArrayList<>();
+    private byte[] current;
+    private int position = 0;
+    private long length = 0;
+    private byte[][] hashes = null;
+
+    /**
+     * Hash chunks on the calling thread.
+     */
+    public TreeHasher() {
+        this.executor = null;
+        this.buffers = null;
+        this.maxBuffers = 1;
+    }
+
+    /**
+     * Hash chunks on the passed executor, with at most parallelism chunks in flight.
+     *
+     * @param executor    - Executor to hash chunks on.
+     * @param parallelism - Max. chunks being hashed concurrently.
+     */
+    public TreeHasher(@NonNull Executor executor, int parallelism) {
+        Preconditions.checkArgument(parallelism > 0);
+        this.executor = executor;
+        this.maxBuffers = parallelism + 1;
+        this.buffers = new ArrayBlockingQueue<>(maxBuffers);
+    }
+
+    public long length() {
+        return length;
+    }
+
+    public TreeHasher update(int b) throws IOException {
+        checkOpen();
+        buffer()[position++] = (byte) b;
+        length++;
+        if (position == CHUNK_SIZE) {
+            dispatch();
+        }
+        return this;
+    }
+
+    public TreeHasher update(@NonNull byte[] data) throws IOException {
+        return update(data, 0, data.length);
+    }
+
+    public TreeHasher update(@NonNull byte[] data, int offset, int size) throws IOException {
+        Preconditions.checkPositionIndexes(offset, offset + size, data.length);
+        checkOpen();
+        while (size > 0) {
+            int len = Math.min(size, CHUNK_SIZE - position);
+            System.arraycopy(data, offset, buffer(), position, len);
+            position += len;
+            offset += len;
+            size -= len;
+            length += len;
+            if (position == CHUNK_SIZE) {
+                dispatch();
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Read the stream to the end, hashing its content.
+     *
+     * @param stream - Input stream (not closed).
+     * @return - Self
+     * @throws IOException - Read or hash error.
+     */
+    public TreeHasher update(@NonNull InputStream stream) throws IOException {
+        checkOpen();
+        while (true) {
+            int r = stream.read(buffer(), position, CHUNK_SIZE - position);
+            if (r < 0) break;
+            position += r;
+            length += r;
+            if (position == CHUNK_SIZE) {
+                dispatch();
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Complete hashing and return the SHA-256 of each chunk, including the trailing partial chunk.
+     * Empty input yields a single hash of the empty chunk.
+     *
+     * @return - Chunk hashes, in order.
+     * @throws IOException - Hash error.
+     */
+    public byte[][] chunkHashes() throws IOException {
+        if (hashes == null) {
+            if (position > 0 || chunks.isEmpty()) {
+                dispatch();
+            }
+            byte[][] result = new byte[chunks.size()][];
+            try {
+                for (int ii = 0; ii < result.length; ii++) {
+                    result[ii] = chunks.get(ii).get();
+                }
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted waiting for chunk hashes.");
+            } catch (ExecutionException ex) {
+                throw new IOException(ex.getCause());
+            }
+            hashes = result;
+            chunks.clear();
+            current = null;
+        }
+        return hashes;
+    }
+
+    /**
+     * Complete hashing and return the SHA-256 tree hash.
+     *
+     * @return - Tree hash
+     * @throws IOException - Hash error.
+     */
+    public byte[] digest() throws IOException {
+        return treeHash(chunkHashes());
+    }
+
+    public InputStream wrap(@NonNull InputStream stream) {
+        return new FilterInputStream(stream) {
+            @Override
+            public int read() throws IOException {
+                int b = super.read();
+                if (b >= 0) {
+                    update(b);
+                }
+                return b;
+            }
+
+            @Override
+            public int read(@NonNull byte[] b, int off, int len) throws IOException {
+                int r = super.read(b, off, len);
+                if (r > 0) {
+                    update(b, off, r);
+                }
+                return r;
+            }
+
+            @Override
+            public long skip(long n) throws IOException {
+                if (n <= 0) return 0;
+                byte[] b = new byte[(int) Math.min(n, 8192)];
+                long remaining = n;
+                while (remaining > 0) {
+                    int r = read(b, 0, (int) Math.min(b.length, remaining));
+                    if (r < 0) break;
+                    remaining -= r;
+                }
+                return n - remaining;
+            }
+
+            @Override
+            public boolean markSupported() {
+                return false;
+            }
+        };
+    }
+
+    public OutputStream wrap(@NonNull OutputStream stream) {
+        return new FilterOutputStream(stream) {
+            @Override
+            public void write(int b) throws IOException {
+                out.write(b);
+                update(b);
+            }
+
+            @Override
+            public void write(@NonNull byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+                update(b, off, len);
+            }
+        };
+    }
+
+    private void checkOpen() {
+        Preconditions.checkState(hashes == null, "Tree hash already computed.");
+    }
+
+    private byte[] buffer() throws IOException {
+        if (current == null) {
+            current = nextBuffer();
+        }
+        return current;
+    }
+
+    private void dispatch() throws IOException {
+        final byte[] data = (current == null ? new byte[0] : current);
+        final int size = position;
+        position = 0;
+        if (executor == null) {
+            chunks.add(CompletableFuture.completedFuture(hash(data, size)));
+            return;
+        }
+        current = null;
+        chunks.add(CompletableFuture.supplyAsync(() -> {
+            try {
+                return hash(data, size);
+            } finally {
+                if (data.length == CHUNK_SIZE) {
+                    buffers.offer(data);
+                }
+            }
+        }, executor));
+    }
+
+    private byte[] nextBuffer() throws IOException {
+        if (buffers == null || allocated < maxBuffers) {
+            byte[] buffer = (buffers == null ? null : buffers.poll());
+            if (buffer == null) {
+                allocated++;
+                buffer = new byte[CHUNK_SIZE];
+            }
+            return buffer;
+        }
+        try {
+            return buffers.take();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting for chunk buffer.");
+        }
+    }
+
+    private static byte[] hash(byte[] data, int size) {
+        MessageDigest md = DIGEST.get();
+        md.reset();
+        md.update(data, 0, size);
+        return md.digest();
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(HASH_ALGO);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Computes the SHA-256 tree hash for the passed chunk hashes.
+     *
+     * @param chunkHashes - Chunk hashes, in order.
+     * @return - Tree hash
+     */
+    public static byte[] treeHash(@NonNull byte[][] chunkHashes) {
+        Preconditions.checkArgument(chunkHashes.length > 0);
+        MessageDigest md = DIGEST.get();
+        byte[][] level = chunkHashes;
+        while (level.length > 1) {
+            byte[][] next = new byte[(level.length + 1) / 2][];
+            for (int ii = 0, jj = 0; ii < level.length; ii += 2, jj++) {
+                if (ii + 1 < level.length) {
+                    md.reset();
+                    md.update(level[ii]);
+                    md.update(level[ii + 1]);
+                    next[jj] = md.digest();
+                } else {
+                    next[jj] = level[ii];
+                }
+            }
+            level = next;
+        }
+        return level[0];
+    }
+}
@@ -20,6 +20,7 @@ import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
 import io.zyient.base.common.model.entity.PropertyBag;
 import io.zyient.base.common.utils.ReflectionHelper;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.Setter;
@@ -31,6 +32,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Getter
 @Setter
@@ -44,6 +46,9 @@ public class ClassDef {
     private List<Method> methods;
     private List<Constructor<?>> constructors;
     private Constructor<?> emptyConstructor;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final Map<String, PropertyDef> resolved = new ConcurrentHashMap<>();
 
     public PropertyDef get(@NonNull String name) {
         if (properties != null) {
@@ -53,6 +58,17 @@ public class ClassDef {
     }
 
     public PropertyDef findField(@NonNull String name) {
+        PropertyDef property = resolved.get(name);
+        if (property == null) {
+            property = resolveField(name);
+            if (property != null) {
+                resolved.put(name, property);
+            }
+        }
+        return property;
+    }
+
+    private PropertyDef resolveField(String name) {
         if (name.contains(".")) {
             String[] parts = name.split("\\.");
             if (properties.containsKey(parts[0])) {
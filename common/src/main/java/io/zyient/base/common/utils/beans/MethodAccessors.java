@@ -0,0 +1,171 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.base.common.utils.beans;
+
+import lombok.NonNull;
+import org.apache.commons.lang3.ClassUtils;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Compiles reflective getters, setters and constructors into functional accessors.
+ * <p>
+ * Accessors are generated using {@link LambdaMetafactory} (direct, JIT inlinable calls). Where a
+ * lambda cannot be spun for the target (e.g. no private lookup is available on the declaring class)
+ * the accessor falls back to a type-adapted {@link MethodHandle}.
+ */
+public final class MethodAccessors {
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final ClassValue<Supplier<Object>> __constructors = new ClassValue<>() {
+        @Override
+        protected Supplier<Object> computeValue(Class<?> type) {
+            try {
+                return constructor(type.getDeclaredConstructor());
+            } catch (Exception ex) {
+                return () -> {
+                    throw new IllegalStateException(
+                            String.format("No default constructor. [type=%s]", type.getCanonicalName()), ex);
+                };
+            }
+        }
+    };
+
+    private MethodAccessors() {
+    }
+
+    @SuppressWarnings("unchecked")
+    public static Function<Object, Object> getter(@NonNull Method method) throws Exception {
+        Class<?> owner = method.getDeclaringClass();
+        MethodHandles.Lookup lookup = lookup(owner);
+        MethodHandle handle = lookup.unreflect(method);
+        if (lookup != LOOKUP) {
+            try {
+                CallSite site = LambdaMetafactory.metafactory(lookup,
+                        "apply",
+                        MethodType.methodType(Function.class),
+                        MethodType.methodType(Object.class, Object.class),
+                        handle,
+                        MethodType.methodType(ClassUtils.primitiveToWrapper(method.getReturnType()), owner));
+                return (Function<Object, Object>) site.getTarget().invokeExact();
+            } catch (Throwable t) {
+                // Fall through to the method handle accessor.
+            }
+        }
+        MethodHandle generic = handle.asType(MethodType.methodType(Object.class, Object.class));
+        return (target) -> {
+            try {
+                return generic.invokeExact(target);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    public static BiConsumer<Object, Object> setter(@NonNull Method method) throws Exception {
+        Class<?> owner = method.getDeclaringClass();
+        MethodHandles.Lookup lookup = lookup(owner);
+        MethodHandle handle = lookup.unreflect(method);
+        if (lookup != LOOKUP) {
+            try {
+                CallSite site = LambdaMetafactory.metafactory(lookup,
+                        "accept",
+                        MethodType.methodType(BiConsumer.class),
+                        MethodType.methodType(void.class, Object.class, Object.class),
+                        handle,
+                        MethodType.methodType(void.class,
+                                owner,
+                                ClassUtils.primitiveToWrapper(method.getParameterTypes()[0])));
+                return (BiConsumer<Object, Object>) site.getTarget().invokeExact();
+            } catch (Throwable t) {
+                // Fall through to the method handle accessor.
+            }
+        }
+        MethodHandle generic = handle.asType(MethodType.methodType(void.class, Object.class, Object.class));
+        return (target, value) -> {
+            try {
+                generic.invokeExact(target, value);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    public static Supplier<Object> constructor(@NonNull Constructor<?> constructor) throws Exception {
+        Class<?> owner = constructor.getDeclaringClass();
+        MethodHandles.Lookup lookup = lookup(owner);
+        MethodHandle handle = lookup.unreflectConstructor(constructor);
+        if (lookup != LOOKUP) {
+            try {
+                CallSite site = LambdaMetafactory.metafactory(lookup,
+                        "get",
+                        MethodType.methodType(Supplier.class),
+                        MethodType.methodType(Object.class),
+                        handle,
+                        MethodType.methodType(owner));
+                return (Supplier<Object>) site.getTarget().invokeExact();
+            } catch (Throwable t) {
+                // Fall through to the method handle accessor.
+            }
+        }
+        MethodHandle generic = handle.asType(MethodType.methodType(Object.class));
+        return () -> {
+            try {
+                return generic.invokeExact();
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        };
+    }
+
+    /**
+     * Get a (cached) accessor for the default constructor of the specified type.
+     *
+     * @param type - Type to instantiate
+     * @return - Constructor accessor
+     */
+    public static Supplier<Object> constructor(@NonNull Class<?> type) {
+        return __constructors.get(type);
+    }
+
+    private static MethodHandles.Lookup lookup(Class<?> owner) {
+        try {
+            return MethodHandles.privateLookupIn(owner, LOOKUP);
+        } catch (IllegalAccessException | SecurityException ex) {
+            return LOOKUP;
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable t) {
+        if (t instanceof RuntimeException) {
+            return (RuntimeException) t;
+        } else if (t instanceof Error) {
+            throw (Error) t;
+        }
+        return new RuntimeException(t);
+    }
+}
@@ -0,0 +1,391 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.base.common.utils.beans;
+
+import com.google.common.base.Strings;
+import io.zyient.base.common.utils.ReflectionHelper;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.experimental.Accessors;
+import org.apache.commons.lang3.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Compiled accessor for a (dotted) property path, supports nested, list-indexed ("name[index]")
+ * and map ("name(key)") paths.
+ * <p>
+ * The path is parsed once per (Class, path) pair. Each path element binds the getter/setter
+ * chain of the runtime type it is applied to on first use, the bindings are cached (per class)
+ * as {@link MethodAccessors} compiled lambdas.
+ */
+@Getter
+@Accessors(fluent = true)
+public final class PropertyAccessor {
+    private static final ClassValue<Map<String, PropertyAccessor>> __accessors = new ClassValue<>() {
+        @Override
+        protected Map<String, PropertyAccessor> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private final Class<?> type;
+    private final String path;
+    @Getter(AccessLevel.NONE)
+    private final Step[] steps;
+
+    private PropertyAccessor(Class<?> type, String path) {
+        this.type = type;
+        this.path = path;
+        BeanUtils.FieldBuilder builder = new BeanUtils.FieldBuilder(path);
+        List<Step> steps = new ArrayList<>();
+        while (builder.hasNext()) {
+            steps.add(new Step(builder.next()));
+        }
+        this.steps = steps.toArray(new Step[0]);
+    }
+
+    /**
+     * Get the compiled accessor for the property path on the specified type.
+     *
+     * @param type - Root type
+     * @param path - Property path
+     * @return - Compiled accessor
+     */
+    public static PropertyAccessor get(@NonNull Class<?> type, @NonNull String path) {
+        Map<String, PropertyAccessor> accessors = __accessors.get(type);
+        PropertyAccessor accessor = accessors.get(path);
+        if (accessor == null) {
+            accessor = new PropertyAccessor(type, path);
+            PropertyAccessor current = accessors.putIfAbsent(path, accessor);
+            if (current != null) {
+                accessor = current;
+            }
+        }
+        return accessor;
+    }
+
+    public Object getValue(@NonNull Object source) throws Exception {
+        Object value = source;
+        for (Step step : steps) {
+            value = step.bind(value.getClass()).getValue(value, step);
+            if (value == null) {
+                return null;
+            }
+        }
+        return value;
+    }
+
+    public void setValue(@NonNull Object target, Object value) throws Exception {
+        Object current = target;
+        int last = steps.length - 1;
+        for (int ii = 0; ii < last; ii++) {
+            current = steps[ii].bind(current.getClass()).setValue(current, steps[ii], null);
+        }
+        steps[last].bind(current.getClass()).setValue(current, steps[last], value);
+    }
+
+    public Object setValueFromString(@NonNull Object target, @NonNull String value) throws Exception {
+        Object current = target;
+        int last = steps.length - 1;
+        for (int ii = 0; ii < last; ii++) {
+            current = steps[ii].bind(current.getClass()).setValue(current, steps[ii], null);
+        }
+        Binding binding = steps[last].bind(current.getClass());
+        Object v = ReflectionHelper.parseStringValue(binding.property.type(), value);
+        binding.setValue(current, steps[last], v);
+        return v;
+    }
+
+    private static final class Step {
+        private final BeanUtils.FieldDef field;
+        private final Integer index;
+        private volatile Binding binding;
+
+        private Step(BeanUtils.FieldDef field) {
+            this.field = field;
+            if (field.type() == BeanUtils.FieldType.List && !Strings.isNullOrEmpty(field.index())) {
+                index = Integer.parseInt(field.index());
+            } else {
+                index = null;
+            }
+        }
+
+        private Binding bind(Class<?> type) throws Exception {
+            Binding b = binding;
+            if (b == null || b.owner != type) {
+                b = Binding.get(type, field.name());
+                binding = b;
+            }
+            return b;
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static final class Binding {
+        private static final ClassValue<Map<String, Binding>> __bindings = new ClassValue<>() {
+            @Override
+            protected Map<String, Binding> computeValue(Class<?> type) {
+                return new ConcurrentHashMap<>();
+            }
+        };
+
+        private final Class<?> owner;
+        private final PropertyDef property;
+        private final Function<Object, Object> getter;
+        private final BiConsumer<Object, Object> setter;
+        private final Class<?> setterType;
+
+        private Binding(Class<?> owner, PropertyDef property) throws Exception {
+            this.owner = owner;
+            this.property = property;
+            this.getter = getter(property.getter());
+            this.setter = setter(property.setter());
+            this.setterType = (property.setter() != null
+                    ? ClassUtils.primitiveToWrapper(property.setter().getParameterTypes()[0]) : null);
+        }
+
+        private static Binding get(Class<?> type, String name) throws Exception {
+            Map<String, Binding> bindings = __bindings.get(type);
+            Binding binding = bindings.get(name);
+            if (binding == null) {
+                ClassDef def = BeanUtils.get(type);
+                PropertyDef property = def.get(name);
+                if (property == null) {
+                    throw new Exception(String.format("Property not found. [type=%s][property=%s]",
+                            def.type().getCanonicalName(), name));
+                }
+                binding = new Binding(type, property);
+                bindings.put(name, binding);
+            }
+            return binding;
+        }
+
+        private static Function<Object, Object> getter(Method method) throws Exception {
+            if (method == null) return null;
+            try {
+                return MethodAccessors.getter(method);
+            } catch (IllegalAccessException ex) {
+                return (target) -> {
+                    try {
+                        return method.invoke(target);
+                    } catch (Exception e) {
+                        throw new RuntimeException(e);
+                    }
+                };
+            }
+        }
+
+        private static BiConsumer<Object, Object> setter(Method method) throws Exception {
+            if (method == null) return null;
+            try {
+                return MethodAccessors.setter(method);
+            } catch (IllegalAccessException ex) {
+                return (target, value) -> {
+                    try {
+                        method.invoke(target, value);
+                    } catch (Exception e) {
+                        throw new RuntimeException(e);
+                    }
+                };
+            }
+        }
+
+        /**
+         * Invoke the setter: the compiled accessor if it accepts the value, else reflectively
+         * (Method.invoke unboxes and widens, e.g. an Integer for a long or double setter).
+         */
+        private void set(Object target, Object value) throws Exception {
+            boolean accepts = (value == null
+                    ? !property.setter().getParameterTypes()[0].isPrimitive()
+                    : setterType.isInstance(value));
+            if (accepts) {
+                setter.accept(target, value);
+            } else {
+                property.setter().invoke(target, value);
+            }
+        }
+
+        private Object getValue(Object source, Step step) throws Exception {
+            if (getter == null) {
+                throw new Exception(String.format("No valid getter for property. [type=%s][property=%s]",
+                        source.getClass().getCanonicalName(), property.name()));
+            }
+            BeanUtils.FieldDef fd = step.field;
+            if (fd.type() == BeanUtils.FieldType.Field) {
+                return getter.apply(source);
+            } else if (fd.type() == BeanUtils.FieldType.List) {
+                if (!(property instanceof ListPropertyDef)) {
+                    throw new Exception(String.format("Expected list property. [type=%s]",
+                            property.getClass().getCanonicalName()));
+                }
+                PropertyDef ipd = ((ListPropertyDef) property).innerType();
+                if (ipd.getter() == null) {
+                    throw new Exception(String.format("No getter defined. [field=%s]", property.name()));
+                }
+                List<?> values = (List<?>) getter.apply(source);
+                if (values != null) {
+                    int index = listIndex(step);
+                    if (index < values.size()) {
+                        return values.get(index);
+                    }
+                }
+            } else if (fd.type() == BeanUtils.FieldType.Map) {
+                if (!(property instanceof MapPropertyDef)) {
+                    throw new Exception(String.format("Expected map property. [type=%s]",
+                            property.getClass().getCanonicalName()));
+                }
+                MapPropertyDef mpd = (MapPropertyDef) property;
+                if (mpd.valueType().getter() == null) {
+                    throw new Exception(String.format("No getter defined. [field=%s]", property.name()));
+                }
+                Map<?, ?> map = (Map<?, ?>) getter.apply(source);
+                if (map != null) {
+                    if (!ReflectionHelper.isPrimitiveTypeOrString(mpd.keyType().type())) {
+                        throw new Exception(String.format("Key type not supported. [type=%s]",
+                                mpd.keyType().type().getCanonicalName()));
+                    }
+                    Object key = ReflectionHelper.parseStringValue(mpd.keyType().type(), fd.index());
+                    return map.get(key);
+                }
+            }
+            return null;
+        }
+
+        private Object setValue(Object target, Step step, Object value) throws Exception {
+            if (setter == null) {
+                throw new Exception(String.format("No valid setter for property. [type=%s][property=%s]",
+                        target.getClass().getCanonicalName(), property.name()));
+            }
+            BeanUtils.FieldDef fd = step.field;
+            if (fd.type() == BeanUtils.FieldType.Field) {
+                if (value == null) {
+                    value = getValue(target, step);
+                    if (value == null) {
+                        if (property.canInitialize()) {
+                            value = MethodAccessors.constructor(property.type()).get();
+                        } else {
+                            throw new Exception(String.format("Cannot auto-initialize value of type. [type=%s]",
+                                    property.type().getCanonicalName()));
+                        }
+                    } else {
+                        return value;
+                    }
+                }
+                set(target, value);
+            } else if (fd.type() == BeanUtils.FieldType.List) {
+                if (!(property instanceof ListPropertyDef)) {
+                    throw new Exception(String.format("Expected list property. [type=%s]",
+                            property.getClass().getCanonicalName()));
+                }
+                ListPropertyDef lpd = (ListPropertyDef) property;
+                if (value instanceof List<?>) {
+                    set(target, value);
+                    return value;
+                }
+                List values = initList(lpd, target);
+                if (value == null) {
+                    if (step.index == null) {
+                        throw new Exception("List index not specified...");
+                    }
+                    int index = step.index;
+                    if (index < 0 || index > values.size()) {
+                        throw new ArrayIndexOutOfBoundsException(index);
+                    }
+                    if (index < values.size()) {
+                        value = values.get(index);
+                    } else {
+                        value = MethodAccessors.constructor(lpd.innerType().type()).get();
+                        values.add(value);
+                    }
+                } else {
+                    values.add(value);
+                }
+            } else if (fd.type() == BeanUtils.FieldType.Map) {
+                if (!(property instanceof MapPropertyDef)) {
+                    throw new Exception(String.format("Expected map property. [type=%s]",
+                            property.getClass().getCanonicalName()));
+                }
+                MapPropertyDef mpd = (MapPropertyDef) property;
+                if (value instanceof Map<?, ?>) {
+                    set(target, value);
+                } else {
+                    Map map = initMap(mpd, target);
+                    if (Strings.isNullOrEmpty(fd.index())) {
+                        throw new Exception("Map key not specified...");
+                    }
+                    Object key = ReflectionHelper.as(mpd.keyType().type(), fd.index());
+                    if (key == null) {
+                        throw new Exception("Map key cannot be null...");
+                    }
+                    if (value == null) {
+                        value = map.get(key);
+                        if (value == null) {
+                            value = MethodAccessors.constructor(mpd.valueType().type()).get();
+                            map.put(key, value);
+                        }
+                    } else {
+                        map.put(key, value);
+                    }
+                }
+            }
+            return value;
+        }
+
+        private int listIndex(Step step) {
+            if (step.index == null) {
+                throw new NumberFormatException(String.format("Invalid list index. [field=%s]", property.name()));
+            }
+            return step.index;
+        }
+
+        private List<?> initList(ListPropertyDef pd, Object target) throws Exception {
+            List<?> values = (List<?>) getter.apply(target);
+            if (values == null) {
+                if (pd.canInitialize()) {
+                    values = (List<?>) MethodAccessors.constructor(pd.initType()).get();
+                    set(target, values);
+                } else {
+                    throw new Exception(String.format("Cannot auto-initialize value of type. [type=%s]",
+                            pd.innerType().type().getCanonicalName()));
+                }
+            }
+            return values;
+        }
+
+        private Map<?, ?> initMap(MapPropertyDef pd, Object target) throws Exception {
+            Map<?, ?> map = (Map<?, ?>) getter.apply(target);
+            if (map == null) {
+                if (pd.canInitialize()) {
+                    map = (Map<?, ?>) MethodAccessors.constructor(pd.initType()).get();
+                    set(target, map);
+                } else {
+                    throw new Exception(String.format("Cannot auto-initialize value of type. [key=%s][value=%s]",
+                            pd.keyType().type().getCanonicalName(), pd.valueType().type().getCanonicalName()));
+                }
+            }
+            return map;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.base.common.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TinyLfuCacheTest {
+
+    @Test
+    void putAndGet() {
+        TinyLfuCache<String, Integer> cache = new TinyLfuCache<>(16);
+        for (int ii = 0; ii < 10; ii++) {
+            cache.put(String.valueOf(ii), ii);
+        }
+        assertEquals(10, cache.size());
+        for (int ii = 0; ii < 10; ii++) {
+            Optional<Integer> v = cache.get(String.valueOf(ii));
+            assertTrue(v.isPresent());
+            assertEquals(ii, v.get());
+        }
+        assertTrue(cache.remove("1"));
+        assertFalse(cache.containsKey("1"));
+        assertFalse(cache.remove("1"));
+        cache.clear();
+        assertTrue(cache.isEmpty());
+    }
+
+    @Test
+    void evictsByWeight() {
+        AtomicInteger evicted = new AtomicInteger();
+        TinyLfuCache<Integer, byte[]> cache = new TinyLfuCache<Integer, byte[]>(1024)
+                .withWeigher((k, v) -> v.length)
+                .withEvictionCallback((k, v) -> evicted.incrementAndGet());
+        for (int ii = 0; ii < 100; ii++) {
+            cache.put(ii, new byte[100]);
+            assertTrue(cache.weightedSize() <= 1024);
+        }
+        assertEquals(100 - cache.size(), evicted.get());
+        assertTrue(cache.size() <= 10);
+    }
+
+    @Test
+    void retainsFrequentKeys() {
+        TinyLfuCache<Integer, Integer> cache = new TinyLfuCache<>(100);
+        for (int ii = 0; ii < 50; ii++) {
+            cache.put(ii, ii);
+        }
+        for (int r = 0; r < 10; r++) {
+            for (int ii = 0; ii < 50; ii++) {
+                assertTrue(cache.get(ii).isPresent());
+            }
+            cache.cleanUp();
+        }
+        for (int ii = 1000; ii < 10000; ii++) {
+            cache.put(ii, ii);
+        }
+        cache.cleanUp();
+        assertEquals(100, cache.size());
+        int hits = 0;
+        for (int ii = 0; ii < 50; ii++) {
+            if (cache.containsKey(ii)) hits++;
+        }
+        assertTrue(hits >= 45, String.format("Expected hot keys to survive a scan. [hits=%d]", hits));
+    }
+
+    @Test
+    void expiresAfterWrite() throws Exception {
+        TinyLfuCache<String, String> cache = new TinyLfuCache<String, String>(16)
+                .withExpireAfterWrite(50, TimeUnit.MILLISECONDS);
+        cache.put("key", "value");
+        assertTrue(cache.get("key").isPresent());
+        Thread.sleep(100);
+        assertFalse(cache.get("key").isPresent());
+        cache.cleanUp();
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void expiresAfterAccess() throws Exception {
+        TinyLfuCache<String, String> cache = new TinyLfuCache<String, String>(16)
+                .withExpireAfterAccess(200, TimeUnit.MILLISECONDS);
+        cache.put("key", "value");
+        for (int ii = 0; ii < 5; ii++) {
+            Thread.sleep(50);
+            assertTrue(cache.get("key").isPresent());
+        }
+        Thread.sleep(300);
+        assertFalse(cache.get("key").isPresent());
+    }
+
+    @Test
+    void concurrentAccess() throws Exception {
+        TinyLfuCache<Integer, Integer> cache = new TinyLfuCache<>(500);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int ii = 0; ii < 50000; ii++) {
+                        int key = random.nextInt(2000);
+                        Optional<Integer> v = cache.get(key);
+                        if (v.isPresent()) {
+                            assertEquals(key, v.get());
+                        } else {
+                            cache.put(key, key);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        cache.cleanUp();
+        assertTrue(cache.size() <= 500);
+        assertEquals(cache.size(), cache.weightedSize());
+    }
+}
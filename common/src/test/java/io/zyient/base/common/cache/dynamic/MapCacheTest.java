@@ -0,0 +1,338 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.base.common.cache.dynamic;
+
+import io.zyient.base.common.config.units.TimeUnitValue;
+import io.zyient.base.common.model.Context;
+import io.zyient.base.common.model.entity.IKey;
+import io.zyient.base.common.model.entity.IKeyed;
+import io.zyient.base.common.threads.ManagedThread;
+import io.zyient.base.common.threads.ThreadManager;
+import lombok.NonNull;
+import org.apache.commons.configuration2.BaseHierarchicalConfiguration;
+import org.apache.commons.configuration2.HierarchicalConfiguration;
+import org.apache.commons.configuration2.tree.ImmutableNode;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MapCacheTest {
+    private static final int RECORDS = 100;
+
+    @Test
+    void deltaUpsertsAndRemoves() throws Exception {
+        MapCache<TestKey, TestRecord> cache = create(RECORDS, TimeUnit.HOURS.toMillis(1), TimeUnit.HOURS.toMillis(24));
+        try {
+            TestLoader loader = (TestLoader) cache.loader();
+            assertEquals(RECORDS, cache.size());
+
+            MapCacheDelta<TestKey, TestRecord> delta = loader.delta();
+            for (int ii = 0; ii < 5; ii++) {
+                delta.update(new TestRecord(ii, "updated-" + ii));
+            }
+            for (int ii = RECORDS; ii < RECORDS + 3; ii++) {
+                delta.update(new TestRecord(ii, "added-" + ii));
+            }
+            for (int ii = 10; ii < 14; ii++) {
+                delta.delete(new TestKey(ii));
+            }
+            // Deleting a key that is not cached does not change the size.
+            delta.delete(new TestKey(RECORDS * 2));
+            loader.publish(delta);
+            cache.runDelta();
+
+            assertEquals(loader.version(), cache.highWaterMark());
+            assertEquals(RECORDS + 3 - 4, cache.size());
+            for (int ii = 0; ii < 5; ii++) {
+                assertEquals("updated-" + ii, cache.get(new TestKey(ii)).name());
+            }
+            for (int ii = RECORDS; ii < RECORDS + 3; ii++) {
+                assertEquals("added-" + ii, cache.get(new TestKey(ii)).name());
+            }
+            for (int ii = 10; ii < 14; ii++) {
+                assertNull(cache.get(new TestKey(ii)));
+            }
+            assertEquals("name-20", cache.get(new TestKey(20)).name());
+            Set<TestKey> keys = cache.keySet();
+            assertEquals(cache.size(), keys.size());
+            assertFalse(keys.contains(new TestKey(10)));
+            assertTrue(keys.contains(new TestKey(RECORDS)));
+            assertEquals(cache.size(), cache.values().size());
+
+            // Re-add a deleted key and remove an added one, on top of the previous overlay.
+            delta = loader.delta();
+            delta.update(new TestRecord(10, "restored-10"));
+            delta.delete(new TestKey(RECORDS));
+            loader.publish(delta);
+            cache.runDelta();
+            assertEquals(RECORDS + 3 - 4, cache.size());
+            assertEquals("restored-10", cache.get(new TestKey(10)).name());
+            assertNull(cache.get(new TestKey(RECORDS)));
+            assertEquals(2, cache.metrics().lastDeltaSize().get());
+
+            // Large delta: the overlay is compacted into the base map.
+            delta = loader.delta();
+            for (int ii = 0; ii < 2000; ii++) {
+                delta.update(new TestRecord(RECORDS * 10 + ii, "bulk-" + ii));
+            }
+            delta.delete(new TestKey(0));
+            loader.publish(delta);
+            cache.runDelta();
+            assertEquals(RECORDS + 3 - 4 + 2000 - 1, cache.size());
+            assertEquals(cache.size(), cache.keySet().size());
+            assertNull(cache.get(new TestKey(0)));
+            assertEquals("bulk-1999", cache.get(new TestKey(RECORDS * 10 + 1999)).name());
+            assertEquals("restored-10", cache.get(new TestKey(10)).name());
+            assertEquals(1, cache.metrics().fullRefreshCount().get());
+        } finally {
+            cache.close();
+        }
+    }
+
+    @Test
+    void emptyDelta() throws Exception {
+        MapCache<TestKey, TestRecord> cache = create(RECORDS, TimeUnit.HOURS.toMillis(1), TimeUnit.HOURS.toMillis(24));
+        try {
+            TestLoader loader = (TestLoader) cache.loader();
+            long refreshed = cache.metrics().lastRefreshTime().get();
+            long deltas = cache.metrics().deltaRefreshCount().get();
+            long hwm = cache.highWaterMark();
+            Thread.sleep(20);
+
+            // No changes, the source high-water mark moved (e.g. changes to rows outside the cache).
+            loader.publish(loader.delta());
+            cache.runDelta();
+            assertTrue(cache.highWaterMark() > hwm);
+            assertEquals(loader.version(), cache.highWaterMark());
+            assertTrue(cache.metrics().lastRefreshTime().get() > refreshed);
+            assertEquals(deltas + 1, cache.metrics().deltaRefreshCount().get());
+            assertEquals(0, cache.metrics().lastDeltaSize().get());
+            assertEquals(RECORDS, cache.size());
+            assertEquals(1, loader.reads().get());
+        } finally {
+            cache.close();
+        }
+    }
+
+    @Test
+    void fullRefreshFallback() throws Exception {
+        MapCache<TestKey, TestRecord> cache = create(RECORDS, 20, 200);
+        try {
+            TestLoader loader = (TestLoader) cache.loader();
+            // Changes the deltas do not report are only picked up by the periodic full reload.
+            loader.replace(RECORDS / 2);
+            awaitTrue(() -> loader.reads().get() > 1);
+            awaitTrue(() -> cache.size() == RECORDS / 2);
+            assertNull(cache.get(new TestKey(RECORDS - 1)));
+            assertTrue(cache.metrics().deltaRefreshCount().get() > 0);
+            assertTrue(cache.metrics().fullRefreshCount().get() > 1);
+        } finally {
+            cache.close();
+        }
+    }
+
+    @Test
+    void emptyFullLoad() throws Exception {
+        MapCache<TestKey, TestRecord> cache = create(0, 20, TimeUnit.HOURS.toMillis(24));
+        try {
+            TestLoader loader = (TestLoader) cache.loader();
+            assertTrue(cache.isEmpty());
+            // An empty full load is still a full refresh: the next cycles run deltas.
+            awaitTrue(() -> cache.metrics().deltaRefreshCount().get() > 2);
+            assertEquals(1, loader.reads().get());
+
+            MapCacheDelta<TestKey, TestRecord> delta = loader.delta();
+            delta.update(new TestRecord(1, "added-1"));
+            loader.publish(delta);
+            awaitTrue(() -> cache.size() == 1);
+            assertEquals("added-1", cache.get(new TestKey(1)).name());
+        } finally {
+            cache.close();
+        }
+    }
+
+    private MapCache<TestKey, TestRecord> create(int records, long refresh, long fullRefresh) throws Exception {
+        TestLoader.initial = records;
+        MapCacheSettings settings = new MapCacheSettings();
+        settings.setName("test-cache-" + System.nanoTime());
+        settings.setLoaderClass(TestLoader.class);
+        settings.setIncremental(true);
+        settings.setRefreshInterval(new TimeUnitValue(refresh, TimeUnit.MILLISECONDS));
+        settings.setFullRefreshInterval(new TimeUnitValue(fullRefresh, TimeUnit.MILLISECONDS));
+        BaseHierarchicalConfiguration config = new BaseHierarchicalConfiguration();
+        config.addProperty("cache-loader.name", "test");
+        MapCache<TestKey, TestRecord> cache = new MapCache<>(TestRecord.class, new TestThreadManager());
+        cache.configure(settings, config);
+        // The refresh thread runs a first delta as soon as it starts.
+        awaitTrue(() -> cache.metrics().deltaRefreshCount().get() > 0);
+        return cache;
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long timeout = System.currentTimeMillis() + 10000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > timeout) {
+                fail("Timed out waiting for the cache refresh...");
+            }
+            Thread.sleep(5);
+        }
+    }
+
+    private record TestKey(long id) implements IKey {
+        @Override
+        public String stringKey() {
+            return String.valueOf(id);
+        }
+
+        @Override
+        public int compareTo(IKey key) {
+            return Long.compare(id, ((TestKey) key).id);
+        }
+
+        @Override
+        public IKey fromString(@NonNull String value) {
+            return new TestKey(Long.parseLong(value));
+        }
+    }
+
+    private record TestRecord(TestKey key, String name) implements IKeyed<TestKey> {
+        private TestRecord(long id, String name) {
+            this(new TestKey(id), name);
+        }
+
+        @Override
+        public TestKey entityKey() {
+            return key;
+        }
+    }
+
+    /**
+     * In-memory source: full reads return the current records, deltas return the changes
+     * published since the last read.
+     */
+    public static class TestLoader implements DeltaMapCacheLoader<TestKey, TestRecord> {
+        private static int initial;
+
+        private final Map<TestKey, TestRecord> records = new HashMap<>();
+        private final List<MapCacheDelta<TestKey, TestRecord>> pending = new ArrayList<>();
+        private final AtomicInteger reads = new AtomicInteger();
+        private long version = 0;
+
+        private synchronized long version() {
+            return version;
+        }
+
+        private AtomicInteger reads() {
+            return reads;
+        }
+
+        private synchronized MapCacheDelta<TestKey, TestRecord> delta() {
+            return new MapCacheDelta<>(++version);
+        }
+
+        private synchronized void publish(MapCacheDelta<TestKey, TestRecord> delta) {
+            for (TestRecord record : delta.updated()) {
+                records.put(record.entityKey(), record);
+            }
+            for (TestKey key : delta.deleted()) {
+                records.remove(key);
+            }
+            pending.add(delta);
+        }
+
+        /**
+         * Replace the source records without publishing the changes.
+         */
+        private synchronized void replace(int count) {
+            records.clear();
+            for (int ii = 0; ii < count; ii++) {
+                records.put(new TestKey(ii), new TestRecord(ii, "name-" + ii));
+            }
+            version++;
+        }
+
+        @Override
+        public boolean needsReload() {
+            return true;
+        }
+
+        @Override
+        public synchronized Collection<TestRecord> read(Context context) {
+            reads.incrementAndGet();
+            return new ArrayList<>(records.values());
+        }
+
+        @Override
+        public synchronized long highWaterMark() {
+            return version;
+        }
+
+        @Override
+        public synchronized MapCacheDelta<TestKey, TestRecord> readDelta(Context context, long since) {
+            MapCacheDelta<TestKey, TestRecord> delta = new MapCacheDelta<>(Math.max(since, version));
+            for (MapCacheDelta<TestKey, TestRecord> changes : pending) {
+                if (changes.highWaterMark() > since) {
+                    delta.updated().addAll(changes.updated());
+                    delta.deleted().addAll(changes.deleted());
+                }
+            }
+            pending.clear();
+            return delta;
+        }
+
+        @Override
+        public MapCacheLoader<TestKey, TestRecord> init(@NonNull HierarchicalConfiguration<ImmutableNode> config,
+                                                        @NonNull String path) {
+            replace(initial);
+            return this;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static class TestThreadManager implements ThreadManager {
+        private final Map<String, ManagedThread> threads = new HashMap<>();
+
+        @Override
+        public ThreadManager addThread(@NonNull String name, @NonNull ManagedThread thread) {
+            threads.put(name, thread);
+            return this;
+        }
+
+        @Override
+        public ManagedThread getThread(@NonNull String name) {
+            return threads.get(name);
+        }
+
+        @Override
+        public ManagedThread removeThread(@NonNull String name) {
+            return threads.remove(name);
+        }
+    }
+}
@@ -24,6 +24,7 @@ import lombok.Getter;
 import lombok.Setter;
 import org.junit.jupiter.api.Test;
 
+import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -141,4 +142,28 @@ class ReflectionHelperTest {
             fail(ex);
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    void setObjectValueWidening() {
+        try {
+            TestObject te = new TestObject();
+            Field field = ReflectionHelper.getFieldsMap(TestObject.class).get("id");
+            assertNotNull(field);
+            ReflectionHelper.setObjectValue(te, field, 42L);
+            assertEquals(42L, te.getId());
+            ReflectionHelper.setObjectValue(te, field, 7);
+            assertEquals(7L, te.getId());
+            ReflectionHelper.setObjectValue(te, field, 9L);
+            assertEquals(9L, te.getId());
+
+            NestedObject no = new NestedObject(1);
+            field = ReflectionHelper.getFieldsMap(NestedObject.class).get("index");
+            assertNotNull(field);
+            ReflectionHelper.setObjectValue(no, field, null);
+            assertNull(no.getIndex());
+        } catch (Exception ex) {
+            ex.printStackTrace();
+            fail(ex);
+        }
+    }
+}
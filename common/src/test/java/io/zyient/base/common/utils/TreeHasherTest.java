@@ -0,0 +1,134 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.base.common.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TreeHasherTest {
+    private static final int[] SIZES = {0, 1, TreeHasher.CHUNK_SIZE, 3 * TreeHasher.CHUNK_SIZE + 4097};
+
+    @TempDir
+    File dir;
+
+    @Test
+    void matchesSequential() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (int size : SIZES) {
+                byte[] data = data(size);
+                byte[][] expected = sequential(data);
+                byte[][] actual = new TreeHasher(executor, 4)
+                        .update(data)
+                        .chunkHashes();
+                assertEquals(expected.length, actual.length);
+                for (int ii = 0; ii < expected.length; ii++) {
+                    assertArrayEquals(expected[ii], actual[ii]);
+                }
+                assertArrayEquals(TreeHasher.treeHash(expected),
+                        new TreeHasher().update(new ByteArrayInputStream(data)).digest());
+
+                File file = new File(dir, String.format("data-%d.bin", size));
+                Files.write(file.toPath(), data);
+                assertArrayEquals(TreeHasher.treeHash(expected),
+                        ChecksumUtils.computeSHA256TreeHash(file, executor, 2));
+                assertArrayEquals(TreeHasher.treeHash(expected), ChecksumUtils.computeSHA256TreeHash(file));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void streams() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            byte[] data = data(2 * TreeHasher.CHUNK_SIZE + 17);
+            byte[] expected = TreeHasher.treeHash(sequential(data));
+
+            TreeHasher writer = new TreeHasher(executor, 2);
+            ByteArrayOutputStream sink = new ByteArrayOutputStream();
+            try (OutputStream out = writer.wrap(sink)) {
+                out.write(data, 0, 100);
+                out.write(data[100]);
+                out.write(data, 101, data.length - 101);
+            }
+            assertArrayEquals(data, sink.toByteArray());
+            assertArrayEquals(expected, writer.digest());
+            assertEquals(data.length, writer.length());
+
+            TreeHasher reader = new TreeHasher(executor, 2);
+            try (InputStream in = reader.wrap(new ByteArrayInputStream(data))) {
+                assertEquals(data.length, in.skip(10) + in.readAllBytes().length);
+            }
+            assertArrayEquals(expected, reader.digest());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void verifyChunks() throws Exception {
+        byte[] data = data(4 * TreeHasher.CHUNK_SIZE + 100);
+        File file = new File(dir, "verify.bin");
+        Files.write(file.toPath(), data);
+        byte[][] hashes = ChecksumUtils.getChunkSHA256Hashes(file);
+        assertEquals(5, hashes.length);
+        assertEquals(-1, ChecksumUtils.verifyChunks(file, hashes, 0, hashes.length));
+
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.seek(2L * TreeHasher.CHUNK_SIZE + 5);
+            raf.write(data[2 * TreeHasher.CHUNK_SIZE + 5] + 1);
+        }
+        assertEquals(-1, ChecksumUtils.verifyChunks(file, hashes, 0, 2));
+        assertEquals(-1, ChecksumUtils.verifyChunks(file, hashes, 3, 5));
+        assertEquals(2, ChecksumUtils.verifyChunks(file, hashes, 1, 4));
+    }
+
+    private static byte[] data(int size) {
+        byte[] data = new byte[size];
+        new Random(size).nextBytes(data);
+        return data;
+    }
+
+    private static byte[][] sequential(byte[] data) throws Exception {
+        MessageDigest md = MessageDigest.getInstance("SHA-256");
+        int chunks = Math.max(1, (data.length + TreeHasher.CHUNK_SIZE - 1) / TreeHasher.CHUNK_SIZE);
+        byte[][] hashes = new byte[chunks][];
+        for (int ii = 0; ii < chunks; ii++) {
+            md.reset();
+            int offset = ii * TreeHasher.CHUNK_SIZE;
+            md.update(data, offset, Math.min(TreeHasher.CHUNK_SIZE, data.length - offset));
+            hashes[ii] = md.digest();
+        }
+        return hashes;
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.base.common.utils.beans;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PropertyAccessorTest {
+    @Getter
+    @Setter
+    @Accessors(fluent = true)
+    public static class Item {
+        private String name;
+        private int count;
+    }
+
+    @Getter
+    @Setter
+    public static class Order {
+        private long id;
+        private double amount;
+        private Long reference;
+        private Item primary;
+        @TypeRef(type = Item.class)
+        private List<Item> items;
+        @TypeRefs(refs = {
+                @TypeRef(value = MapPropertyDef.REF_NAME_KEY, type = String.class),
+                @TypeRef(value = MapPropertyDef.REF_NAME_VALUE, type = Item.class)
+        })
+        private Map<String, Item> index;
+    }
+
+    @Test
+    void fieldAccess() throws Exception {
+        Order order = new Order();
+        PropertyAccessor accessor = PropertyAccessor.get(Order.class, "id");
+        assertSame(accessor, PropertyAccessor.get(Order.class, "id"));
+        accessor.setValue(order, 42L);
+        assertEquals(42L, order.getId());
+        assertEquals(42L, accessor.getValue(order));
+        assertEquals(7L, PropertyAccessor.get(Order.class, "id").setValueFromString(order, "7"));
+        assertEquals(7L, order.getId());
+    }
+
+    @Test
+    void widening() throws Exception {
+        Order order = new Order();
+        BeanUtils.setValue(order, "id", 42);
+        assertEquals(42L, order.getId());
+        BeanUtils.setValue(order, "amount", 3);
+        assertEquals(3.0, order.getAmount());
+        BeanUtils.setValue(order, "amount", 2.5f);
+        assertEquals(2.5, order.getAmount());
+        // The compiled setter is still used for values of the parameter type.
+        BeanUtils.setValue(order, "id", 43L);
+        assertEquals(43L, order.getId());
+        BeanUtils.setValue(order, "primary.count", (short) 5);
+        assertEquals(5, order.getPrimary().count());
+
+        BeanUtils.setValue(order, "reference", 9L);
+        assertEquals(9L, order.getReference());
+        // Null only initializes a missing value, the current value is kept.
+        BeanUtils.setValue(order, "reference", null);
+        assertEquals(9L, order.getReference());
+        PropertyAccessor.get(Order.class, "reference").setValue(order, null);
+        assertEquals(9L, order.getReference());
+    }
+
+    @Test
+    void nestedAccess() throws Exception {
+        Order order = new Order();
+        PropertyAccessor accessor = PropertyAccessor.get(Order.class, "primary.count");
+        assertNull(accessor.getValue(order));
+        accessor.setValue(order, 3);
+        assertNotNull(order.getPrimary());
+        assertEquals(3, order.getPrimary().count());
+        assertEquals(3, accessor.getValue(order));
+    }
+
+    @Test
+    void collectionAccess() throws Exception {
+        Order order = new Order();
+        for (int ii = 0; ii < 5; ii++) {
+            PropertyAccessor.get(Order.class, String.format("items[%d].name", ii))
+                    .setValue(order, "item-" + ii);
+            PropertyAccessor.get(Order.class, String.format("index(key-%d).count", ii))
+                    .setValue(order, ii);
+        }
+        assertEquals(5, order.getItems().size());
+        assertEquals(5, order.getIndex().size());
+        for (int ii = 0; ii < 5; ii++) {
+            assertEquals("item-" + ii, BeanUtils.getValue(order, String.format("items[%d].name", ii)));
+            assertEquals(ii, BeanUtils.getValue(order, String.format("index(key-%d).count", ii)));
+        }
+        assertNull(BeanUtils.getValue(order, "items[10].name"));
+        order.setItems(new ArrayList<>());
+        assertThrows(ArrayIndexOutOfBoundsException.class,
+                () -> BeanUtils.setValue(order, "items[2].name", "invalid"));
+        assertThrows(Exception.class, () -> BeanUtils.getValue(order, "missing"));
+    }
+}
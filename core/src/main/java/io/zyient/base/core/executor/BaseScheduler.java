@@ -31,12 +31,26 @@ import org.apache.commons.configuration2.ex.ConfigurationException;
 import org.apache.commons.configuration2.tree.ImmutableNode;
 
 import java.io.Closeable;
-import java.util.ArrayList;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.List;
-import java.util.Queue;
+import java.util.Map;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * Scheduler for recurring tasks.
+ * <p>
+ * Task completion is signalled through the {@link CompletableFuture} the task is executed with:
+ * completed tasks are pushed back on the event queue, which wakes the scheduler thread immediately.
+ * Waiting tasks are otherwise re-evaluated (via {@link #schedule(BaseTask)}) every {@code pollInterval}.
+ * Concurrency is capped globally and optionally per task type; waiting tasks are rotated so
+ * that every type gets a turn when capacity frees up.
+ *
+ * @param <T> - Task result type
+ */
 @Getter
 @Setter
 @Accessors(fluent = true)
@@ -45,16 +59,19 @@ public abstract class BaseScheduler<T> implements Closeable, Runnable, Completio
     @Getter(AccessLevel.NONE)
     @Setter(AccessLevel.NONE)
     private ReentrantLock __lock = new ReentrantLock();
-    private final List<BaseTask<T>> tasks = new ArrayList<>();
+    private final List<BaseTask<T>> tasks = new CopyOnWriteArrayList<>();
     @Getter(AccessLevel.NONE)
     @Setter(AccessLevel.NONE)
-    private final Queue<BaseTask<T>> taskQueue = new LinkedBlockingQueue<>();
+    private final BlockingQueue<BaseTask<T>> events = new LinkedBlockingQueue<>();
+    /**
+     * Tasks waiting to be dispatched, only accessed by the scheduler thread.
+     */
     @Getter(AccessLevel.NONE)
     @Setter(AccessLevel.NONE)
-    private final Queue<Future<?>> responseQueue = new LinkedBlockingQueue<>();
+    private final Deque<BaseTask<T>> pending = new ArrayDeque<>();
     @Getter(AccessLevel.NONE)
     @Setter(AccessLevel.NONE)
-    private ThreadPoolExecutor executorService;
+    private ExecutorService executorService;
     @Setter(AccessLevel.NONE)
     private SchedulerSettings settings;
     @Getter(AccessLevel.NONE)
@@ -64,10 +81,13 @@ public abstract class BaseScheduler<T> implements Closeable, Runnable, Completio
     private BaseEnv<?> env;
     @Getter(AccessLevel.NONE)
     @Setter(AccessLevel.NONE)
-    private int maxExecutorQueueSize;
+    private int maxInFlight;
     @Getter(AccessLevel.NONE)
     @Setter(AccessLevel.NONE)
-    private Thread futures;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final Map<String, AtomicInteger> inFlightByType = new ConcurrentHashMap<>();
     @Getter(AccessLevel.NONE)
     @Setter(AccessLevel.NONE)
     private ThreadGroup group;
@@ -75,19 +95,44 @@ public abstract class BaseScheduler<T> implements Closeable, Runnable, Completio
     public BaseScheduler<T> init(@NonNull HierarchicalConfiguration<ImmutableNode> xmlConfig,
                                  @NonNull BaseEnv<?> env) throws ConfigurationException {
         try {
-            this.env = env;
             ConfigReader reader = new ConfigReader(xmlConfig, SchedulerSettings.__CONFIG_PATH, SchedulerSettings.class);
             reader.read();
-            settings = (SchedulerSettings) reader.settings();
+            return init((SchedulerSettings) reader.settings(), env);
+        } catch (ConfigurationException ex) {
+            state.error(ex);
+            throw ex;
+        } catch (Exception ex) {
+            state.error(ex);
+            throw new ConfigurationException(ex);
+        }
+    }
 
-            maxExecutorQueueSize = settings.getMaxPoolSize() * 4;
-            executorService = new ThreadPoolExecutor(
-                    settings.getCorePoolSize(),
-                    settings.getMaxPoolSize(),
-                    settings.getKeepAliveTime(),
-                    TimeUnit.MILLISECONDS,
-                    new LinkedBlockingQueue<>(maxExecutorQueueSize)
-            );
+    public BaseScheduler<T> init(@NonNull SchedulerSettings settings,
+                                 @NonNull BaseEnv<?> env) throws ConfigurationException {
+        try {
+            this.env = env;
+            this.settings = settings;
+            Preconditions.checkArgument(settings.getMaxPoolSize() > 0);
+            Preconditions.checkArgument(settings.getPollInterval() > 0);
+            if (settings.isVirtualThreads()) {
+                executorService = virtualThreadExecutor();
+                if (executorService == null) {
+                    DefaultLogger.warn("Virtual threads not supported by the JVM, using a platform thread pool.");
+                }
+            }
+            if (executorService != null) {
+                maxInFlight = settings.getMaxPoolSize();
+            } else {
+                int queueSize = settings.getMaxPoolSize() * 4;
+                executorService = new ThreadPoolExecutor(
+                        Math.min(settings.getCorePoolSize(), settings.getMaxPoolSize()),
+                        settings.getMaxPoolSize(),
+                        settings.getKeepAliveTime(),
+                        TimeUnit.MILLISECONDS,
+                        new LinkedBlockingQueue<>(queueSize)
+                );
+                maxInFlight = settings.getMaxPoolSize() + queueSize;
+            }
             state.setState(ProcessorState.EProcessorState.Initialized);
             return this;
         } catch (Exception ex) {
@@ -96,6 +141,18 @@ public abstract class BaseScheduler<T> implements Closeable, Runnable, Completio
         }
     }
 
+    private static ExecutorService virtualThreadExecutor() {
+        try {
+            Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) method.invoke(null);
+        } catch (NoSuchMethodException ex) {
+            return null;
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            return null;
+        }
+    }
+
     public void start() throws Exception {
         if (state.isRunning()) return;
         if (!state.isInitialized()) {
@@ -110,33 +167,6 @@ public abstract class BaseScheduler<T> implements Closeable, Runnable, Completio
             group = new ThreadGroup("SCHEDULER");
             scheduler = new Thread(group, this, "MAIN");
             scheduler.start();
-            futures = new Thread(group, () -> {
-                while (state.isRunning()) {
-                    while (true) {
-                        try {
-                            Future<?> response = responseQueue.poll();
-                            if (response == null) break;
-                            Object o = response.get();
-                            if (o != null) {
-                                DefaultLogger.warn(
-                                        String.format("Response is not null. [type=%s]", o.getClass().getCanonicalName()));
-                            }
-                        } catch (Exception ex) {
-                            DefaultLogger.stacktrace(ex);
-                            DefaultLogger.error(ex.getLocalizedMessage());
-                        }
-                    }
-                    synchronized (responseQueue) {
-                        try {
-                            responseQueue.wait(50);
-                        } catch (InterruptedException e) {
-                            Thread.currentThread().interrupt();
-                            System.err.println("Thread Interrupted");
-                        }
-                    }
-                }
-            }, "FUTURES");
-            futures.start();
         } finally {
             __lock.unlock();
         }
@@ -148,6 +178,9 @@ public abstract class BaseScheduler<T> implements Closeable, Runnable, Completio
             if (state.isRunning()) {
                 state.setState(ProcessorState.EProcessorState.Stopped);
             }
+            if (scheduler != null && scheduler != Thread.currentThread()) {
+                scheduler.join();
+            }
             if (executorService != null) {
                 try {
                     executorService.shutdown();
@@ -161,8 +194,6 @@ public abstract class BaseScheduler<T> implements Closeable, Runnable, Completio
                 }
                 executorService = null;
             }
-            scheduler.join();
-            futures.join();
         } catch (Exception ex) {
             DefaultLogger.stacktrace(ex);
             DefaultLogger.error(ex.getLocalizedMessage());
@@ -185,34 +216,18 @@ public abstract class BaseScheduler<T> implements Closeable, Runnable, Completio
 
     private void queue(BaseTask<T> task, ETaskState taskState) {
         if (!state.isRunning()) return;
-        while (true) {
-            task.state().setState(taskState);
-            if (!taskQueue.offer(task)) {
-                synchronized (taskQueue) {
-                    try {
-                        taskQueue.wait(100);
-                    } catch (InterruptedException e) {
-                        Thread.currentThread().interrupt();
-                        System.err.println("Thread Interrupted");
-                    }
-                }
-            } else {
-                synchronized (taskQueue) {
-                    taskQueue.notifyAll();
-                }
-                break;
-            }
-        }
+        task.state().setState(taskState);
+        events.add(task);
     }
 
     /**
+     * Invoked by the task on successful completion. The task is re-queued once it
+     * has returned from execution (see {@link #completed(BaseTask, Throwable)}).
+     *
      * @param task
      */
     @Override
     public void finished(@NonNull BaseTask<T> task, @NonNull TaskResponse<T> response) {
-        // DefaultLogger.LOGGER.debug(String.format("Finished task: [id=%s]", task.id()));
-        queue(task, ETaskState.WAITING);
-        notifyFinished();
     }
 
     /**
@@ -221,26 +236,35 @@ public abstract class BaseScheduler<T> implements Closeable, Runnable, Completio
      */
     @Override
     public void error(@NonNull BaseTask<T> task, @NonNull Throwable error, TaskResponse<T> response) {
-        //DefaultLogger.LOGGER.debug(String.format("Finished task with error: [id=%s]", task.id()));
         if (error instanceof FatalError) {
-            try {
-                stop();
-            } catch (Exception ex) {
-                DefaultLogger.stacktrace(ex);
-                DefaultLogger.error(ex.getLocalizedMessage());
-            }
+            state.error(error);
+            // Cannot wait for the executor to terminate on one of its own threads.
+            CompletableFuture.runAsync(() -> {
+                try {
+                    stop();
+                } catch (Exception ex) {
+                    DefaultLogger.stacktrace(ex);
+                    DefaultLogger.error(ex.getLocalizedMessage());
+                }
+            });
         } else {
             task.state().error(error);
-            notifyFinished();
         }
     }
 
-    private void notifyFinished() {
-        synchronized (taskQueue) {
-            taskQueue.notifyAll();
+    private void completed(BaseTask<T> task, Throwable error) {
+        release(task);
+        if (error != null) {
+            DefaultLogger.stacktrace(error);
+            DefaultLogger.error(error.getLocalizedMessage());
+            task.state().error(error);
+            return;
         }
-        synchronized (responseQueue) {
-            responseQueue.notifyAll();
+        ETaskState taskState = task.state().getState();
+        if (taskState == ETaskState.DONE) {
+            queue(task, ETaskState.WAITING);
+        } else if (taskState == ETaskState.STOPPED) {
+            tasks.remove(task);
         }
     }
 
@@ -250,49 +274,18 @@ public abstract class BaseScheduler<T> implements Closeable, Runnable, Completio
     @Override
     public void run() {
         try {
+            long interval = settings.getPollInterval();
             while (state.isRunning()) {
-                int size = maxExecutorQueueSize - executorService.getQueue().size();
-                while (size > 0) {
-                    BaseTask<T> task = taskQueue.poll();
-                    if (task == null) break;
-                    synchronized (taskQueue) {
-                        taskQueue.notifyAll();
-                    }
-                    boolean execute = false;
-                    ETaskState taskState = ETaskState.UNKNOWN;
-                    if (task.state().getState() == ETaskState.INITIALIZED) {
-                        taskState = ETaskState.INITIALIZED;
-                        execute = true;
-                    } else if (task.state().getState() == ETaskState.ERROR) {
-                        continue;
-                    } else if (task.state().getState() == ETaskState.STOPPED) {
-                        tasks.remove(task);
-                        continue;
-                    } else {
-                        if (schedule(task)) {
-                            execute = true;
-                        } else {
-                            queue(task, ETaskState.WAITING);
-                        }
-                    }
-                    if (execute) {
-                        size--;
-                        //DefaultLogger.LOGGER.debug(String.format("Scheduling task. [id=%s]", task.id()));
-                        if (!submit(task)) {
-                            queue(task, taskState);
-                            break;
-                        }
-                    }
-                }
-                synchronized (taskQueue) {
-                    try {
-                        taskQueue.wait(50);
-                    } catch (InterruptedException e) {
-                        Thread.currentThread().interrupt();
-                        System.err.println("Thread Interrupted");
-                    }
+                BaseTask<T> task = events.poll(interval, TimeUnit.MILLISECONDS);
+                if (task != null) {
+                    pending.add(task);
+                    events.drainTo(pending);
                 }
+                dispatch();
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            DefaultLogger.error("Scheduler thread interrupted");
         } catch (Exception ex) {
             state.error(ex);
             DefaultLogger.stacktrace(ex);
@@ -307,14 +300,61 @@ public abstract class BaseScheduler<T> implements Closeable, Runnable, Completio
         }
     }
 
+    private void dispatch() {
+        int count = pending.size();
+        while (count-- > 0 && inFlight.get() < maxInFlight) {
+            BaseTask<T> task = pending.poll();
+            if (task == null) break;
+            ETaskState taskState = task.state().getState();
+            boolean execute;
+            if (taskState == ETaskState.INITIALIZED) {
+                execute = true;
+            } else if (taskState == ETaskState.ERROR) {
+                continue;
+            } else if (taskState == ETaskState.STOPPED) {
+                tasks.remove(task);
+                continue;
+            } else {
+                execute = schedule(task);
+            }
+            // Tasks that cannot run now go to the back, so other types get the next slot.
+            if (!execute || !acquire(task)) {
+                pending.add(task);
+                continue;
+            }
+            if (!submit(task, taskState)) {
+                pending.add(task);
+                break;
+            }
+        }
+    }
+
+    private boolean acquire(BaseTask<T> task) {
+        int limit = settings.taskTypeLimit(task.type());
+        AtomicInteger counter = inFlightByType.computeIfAbsent(task.type(), t -> new AtomicInteger());
+        if (limit > 0 && counter.get() >= limit) {
+            return false;
+        }
+        counter.incrementAndGet();
+        inFlight.incrementAndGet();
+        return true;
+    }
+
+    private void release(BaseTask<T> task) {
+        inFlightByType.get(task.type()).decrementAndGet();
+        inFlight.decrementAndGet();
+    }
+
     public abstract boolean schedule(@NonNull BaseTask<T> task);
 
-    private boolean submit(BaseTask<T> task) {
+    private boolean submit(BaseTask<T> task, ETaskState taskState) {
         try {
             task.state().setState(ETaskState.QUEUED);
-            Future<?> response = executorService.submit(task);
-            responseQueue.add(response);
+            CompletableFuture.runAsync(task, executorService)
+                    .whenComplete((r, error) -> completed(task, error));
         } catch (RejectedExecutionException re) {
+            release(task);
+            task.state().setState(taskState);
             return false;
         }
         return true;
@@ -17,6 +17,11 @@
 package io.zyient.base.core.executor;
 
 import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import io.zyient.base.common.config.ConfigReader;
 import io.zyient.base.common.utils.DefaultLogger;
 import io.zyient.base.core.BaseEnv;
@@ -32,27 +37,40 @@ import org.apache.commons.configuration2.tree.ImmutableNode;
 
 import java.io.Closeable;
 import java.io.IOException;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Queue;
 import java.util.concurrent.*;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+/**
+ * Executor that routes tasks to a fixed number of shards, executing the tasks of a shard
+ * strictly in submission order.
+ * <p>
+ * Each shard owns a bounded FIFO queue which is drained by at most one thread at a time
+ * (a worker from the shared pool, or the submitting thread under {@link EBackpressurePolicy#CallerRuns}).
+ * Submission does not take any executor-wide lock, a full shard only stalls producers of
+ * that shard, and completion is signalled through the returned {@link CompletableFuture}.
+ *
+ * @param <T> - Task result type
+ */
 @Getter
 @Accessors(fluent = true)
 public abstract class BaseShardedExecutor<T> implements Closeable, CompletionCallback<T> {
+    public static final String METRIC_QUEUE_DEPTH = "sharded_executor_queue_depth";
+    public static final String METRIC_REJECTED = "sharded_executor_rejected";
+    public static final String TAG_EXECUTOR = "executor";
+    public static final String TAG_SHARD = "shard";
+
+    private static final long BLOCK_WAIT_MS = 50;
+
     private final ProcessorState state = new ProcessorState();
     @Getter(AccessLevel.NONE)
-    private final ReentrantLock __lock = new ReentrantLock();
+    private Shard[] shards;
     @Getter(AccessLevel.NONE)
-    private final Map<Integer, ThreadPoolExecutor> executors = new HashMap<>();
+    private volatile ExecutorService workers;
     @Setter(AccessLevel.NONE)
     private BaseEnv<?> env;
     private ShardedExecutorSettings settings;
     @Getter(AccessLevel.NONE)
-    private final Queue<Future<?>> responseQueue = new LinkedBlockingQueue<>();
-    @Getter(AccessLevel.NONE)
-    private Thread futures;
+    private Counter rejected;
 
     public BaseShardedExecutor<T> init(@NonNull HierarchicalConfiguration<ImmutableNode> xmlConfig,
                                        @NonNull BaseEnv<?> env) throws ConfigurationException {
@@ -61,44 +79,20 @@ public abstract class BaseShardedExecutor<T> implements Closeable, CompletionCal
             ConfigReader reader = new ConfigReader(xmlConfig, SchedulerSettings.__CONFIG_PATH, ShardedExecutorSettings.class);
             reader.read();
             settings = (ShardedExecutorSettings) reader.settings();
-            for (int ii = 0; ii < settings().getShards(); ii++) {
-                ThreadPoolExecutor executor = new ThreadPoolExecutor(
-                        1,
-                        1,
-                        0L,
-                        TimeUnit.MILLISECONDS,
-                        new LinkedBlockingQueue<>(settings.getQueueSize())
-                );
-                executors.put(ii, executor);
+            Preconditions.checkArgument(settings.getShards() > 0);
+            Preconditions.checkArgument(settings.getQueueSize() > 0);
+            Preconditions.checkArgument(settings.getDrainBatchSize() > 0);
+            workers = Executors.newFixedThreadPool(settings.getShards(),
+                    new ThreadFactoryBuilder()
+                            .setNameFormat(String.format("SHARDED-EXECUTOR-%s-%%d", getClass().getSimpleName()))
+                            .setDaemon(true)
+                            .build());
+            shards = newShards(settings.getShards());
+            for (int ii = 0; ii < shards.length; ii++) {
+                shards[ii] = new Shard(ii, settings.getQueueSize());
             }
-            ThreadGroup group = new ThreadGroup("SHARDED-EXECUTOR");
-            futures = new Thread(group, () -> {
-                while (state.isRunning()) {
-                    while (true) {
-                        try {
-                            Future<?> response = responseQueue.poll();
-                            if (response == null) break;
-                            Object o = response.get();
-                            if (o != null) {
-                                DefaultLogger.warn(
-                                        String.format("Response is not null. [type=%s]", o.getClass().getCanonicalName()));
-                            }
-                        } catch (Exception ex) {
-                            DefaultLogger.stacktrace(ex);
-                            DefaultLogger.error(ex.getLocalizedMessage());
-                        }
-                    }
-                    synchronized (responseQueue) {
-                        try {
-                            responseQueue.wait(50);
-                        } catch (InterruptedException e) {
-                            Thread.currentThread().interrupt();
-                            System.err.println("Thread Interrupted");
-                        }
-                    }
-                }
-            }, "FUTURES");
-            futures.start();
+            MeterRegistry registry = BaseEnv.registry();
+            registerMetrics(registry != null ? registry : Metrics.globalRegistry);
             state.setState(ProcessorState.EProcessorState.Running);
             return this;
         } catch (Throwable t) {
@@ -107,104 +101,258 @@ public abstract class BaseShardedExecutor<T> implements Closeable, CompletionCal
         }
     }
 
+    @SuppressWarnings("unchecked")
+    private Shard[] newShards(int count) {
+        return (Shard[]) new BaseShardedExecutor<?>.Shard[count];
+    }
+
+    private void registerMetrics(MeterRegistry registry) {
+        String name = String.format("%s::%s", env.name(), getClass().getSimpleName());
+        for (Shard shard : shards) {
+            Gauge.builder(METRIC_QUEUE_DEPTH, shard, Shard::depth)
+                    .tag(TAG_EXECUTOR, name)
+                    .tag(TAG_SHARD, String.valueOf(shard.id))
+                    .register(registry);
+        }
+        rejected = Counter.builder(METRIC_REJECTED)
+                .tag(TAG_EXECUTOR, name)
+                .register(registry);
+    }
+
+    /**
+     * Stop accepting tasks, wait for the already queued tasks to complete and release the workers.
+     *
+     * @throws IOException
+     */
     @Override
     public void close() throws IOException {
         try {
             if (state.isRunning()) {
                 state.setState(ProcessorState.EProcessorState.Stopped);
             }
-            if (!executors.isEmpty()) {
-                for (ThreadPoolExecutor executorService : executors.values()) {
-                    try {
-                        executorService.shutdown();
-                        while (!executorService.awaitTermination(5, TimeUnit.SECONDS)) {
-                            DefaultLogger.info("Waiting another 5 seconds for the embedded engine to shut down");
+            if (shards != null) {
+                long start = System.currentTimeMillis();
+                for (Shard shard : shards) {
+                    while (!shard.isIdle()) {
+                        Thread.sleep(10);
+                        if (System.currentTimeMillis() - start > 5000) {
+                            DefaultLogger.info("Waiting another 5 seconds for the shard queues to drain");
+                            start = System.currentTimeMillis();
                         }
-                    } catch (InterruptedException e) {
-                        Thread.currentThread().interrupt();
-                        DefaultLogger.error(
-                                String.format("Error terminating executors: [%s]", e.getLocalizedMessage()));
                     }
                 }
-                executors.clear();
             }
+            if (workers != null) {
+                workers.shutdown();
+                while (!workers.awaitTermination(5, TimeUnit.SECONDS)) {
+                    DefaultLogger.info("Waiting another 5 seconds for the embedded engine to shut down");
+                }
+                workers = null;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            DefaultLogger.error(
+                    String.format("Error terminating executors: [%s]", e.getLocalizedMessage()));
         } catch (Exception ex) {
             DefaultLogger.stacktrace(ex);
             DefaultLogger.error(ex.getLocalizedMessage());
         }
     }
 
-    public void submit(@NonNull BaseTask<T> task) throws Exception {
+    /**
+     * Submit a task to the shard selected by {@link #getShard(BaseTask, int)}.
+     * <p>
+     * Tasks mapped to the same shard are executed in submission order. When the shard queue
+     * is full the configured {@link EBackpressurePolicy} is applied.
+     *
+     * @param task - Task to execute
+     * @return - Future completed with the task response, or exceptionally if the task failed
+     * @throws Exception
+     */
+    public CompletableFuture<TaskResponse<T>> submit(@NonNull BaseTask<T> task) throws Exception {
         Preconditions.checkArgument(state.isRunning());
-        __lock.lock();
-        try {
-            task.withCallback(this);
-            int shard = 0;
-            if (settings.getShards() > 1) {
-                shard = getShard(task, settings.getShards());
-            }
-            task.shardId(shard);
-            ThreadPoolExecutor executor = executors.get(shard);
-            if (executor == null) {
-                throw new Exception(String.format("Failed to find executor. [shard=%d]", shard));
-            }
-            final BlockingQueue<?> queue = executor.getQueue();
-            while (true) {
-                if (queue.size() >= settings.getQueueSize()) {
-                    synchronized (queue) {
-                        try {
-                            queue.wait(100);
-                        } catch (InterruptedException e) {
-                            Thread.currentThread().interrupt();
-                            System.err.println("Thread Interrupted");
-                        }
-                    }
-                    continue;
-                }
-                Future<?> future = executor.submit(task);
-                responseQueue.add(future);
-                break;
-            }
-        } finally {
-            __lock.unlock();
+        task.withCallback(this);
+        int shard = 0;
+        if (shards.length > 1) {
+            shard = getShard(task, shards.length);
+        }
+        if (shard < 0 || shard >= shards.length) {
+            throw new Exception(String.format("Failed to find executor. [shard=%d]", shard));
         }
+        task.shardId(shard);
+        Entry<T> entry = new Entry<>(task);
+        shards[shard].submit(entry);
+        return entry.future;
     }
 
     @Override
     public void finished(@NonNull BaseTask<T> task, @NonNull TaskResponse<T> response) {
-        ThreadPoolExecutor executor = executors.get(task.shardId());
-        if (executor == null) {
-            DefaultLogger.error(String.format("Failed to find executor. [shard=%d]", task.shardId()));
-        } else {
-            final BlockingQueue<?> queue = executor.getQueue();
-            synchronized (queue) {
-                queue.notifyAll();
-            }
-        }
     }
 
     @Override
     public void error(@NonNull BaseTask<T> task, @NonNull Throwable error, TaskResponse<T> response) {
-        ThreadPoolExecutor executor = executors.get(task.shardId());
-        if (executor == null) {
-            DefaultLogger.error(String.format("Failed to find executor. [shard=%d]", task.shardId()));
-        } else {
-            if (error instanceof FatalError) {
+        if (error instanceof FatalError) {
+            state.error(error);
+            // Cannot wait for the shards to drain on a worker thread.
+            CompletableFuture.runAsync(() -> {
                 try {
                     close();
                 } catch (Exception ex) {
                     DefaultLogger.stacktrace(ex);
                     DefaultLogger.error(ex.getLocalizedMessage());
                 }
-            } else {
-                task.state().error(error);
-                final BlockingQueue<?> queue = executor.getQueue();
-                synchronized (queue) {
-                    queue.notifyAll();
+            });
+        } else {
+            task.state().error(error);
+        }
+    }
+
+    public abstract int getShard(@NonNull BaseTask<T> task, int shardCount);
+
+    private static final class Entry<T> {
+        private final BaseTask<T> task;
+        private final CompletableFuture<TaskResponse<T>> future = new CompletableFuture<>();
+
+        private Entry(BaseTask<T> task) {
+            this.task = task;
+        }
+
+        private void execute() {
+            try {
+                task.run();
+                TaskResponse<T> response = task.response();
+                if (response == null) {
+                    Throwable error = task.state().getError();
+                    future.completeExceptionally(error != null ? error :
+                            new Exception(String.format("Task returned no response. [task=%s]", task.id())));
+                } else if (response.hasError()) {
+                    future.completeExceptionally(response.error());
+                } else {
+                    future.complete(response);
                 }
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
             }
         }
     }
 
-    public abstract int getShard(@NonNull BaseTask<T> task, int shardCount);
+    /**
+     * Bounded FIFO queue with a single-owner drain: whoever wins the {@code owned} flag
+     * is the only thread executing tasks of this shard until it releases the flag.
+     */
+    private final class Shard implements Runnable {
+        private final int id;
+        private final BlockingQueue<Entry<T>> queue;
+        private final AtomicBoolean owned = new AtomicBoolean(false);
+
+        private Shard(int id, int capacity) {
+            this.id = id;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+
+        private void submit(Entry<T> entry) throws Exception {
+            if (!queue.offer(entry)) {
+                switch (settings.getBackpressure()) {
+                    case Reject:
+                        rejected.increment();
+                        throw new RejectedExecutionException(
+                                String.format("Shard queue full. [shard=%d][size=%d]", id, queue.size()));
+                    case CallerRuns:
+                        while (true) {
+                            if (owned.compareAndSet(false, true)) {
+                                try {
+                                    drain();
+                                } finally {
+                                    release();
+                                }
+                            }
+                            // Another thread owns the shard: park until it frees a slot.
+                            if (queue.offer(entry, BLOCK_WAIT_MS, TimeUnit.MILLISECONDS)) break;
+                            await(entry);
+                        }
+                        break;
+                    default:
+                        await(entry);
+                        while (!queue.offer(entry, BLOCK_WAIT_MS, TimeUnit.MILLISECONDS)) {
+                            await(entry);
+                        }
+                }
+            }
+            try {
+                schedule();
+            } catch (RejectedExecutionException ex) {
+                if (queue.remove(entry)) {
+                    rejected.increment();
+                    throw ex;
+                }
+            }
+        }
+
+        private void await(Entry<T> entry) throws Exception {
+            if (!state.isRunning()) {
+                throw new RejectedExecutionException(
+                        String.format("Executor not running. [task=%s][state=%s]",
+                                entry.task.id(), state.getState().name()));
+            }
+            if (Thread.interrupted()) {
+                throw new InterruptedException(String.format("Interrupted while waiting. [shard=%d]", id));
+            }
+        }
+
+        private void schedule() {
+            if (!queue.isEmpty() && owned.compareAndSet(false, true)) {
+                try {
+                    ExecutorService pool = workers;
+                    if (pool == null || pool.isShutdown()) {
+                        throw new RejectedExecutionException(
+                                String.format("Executor shut down. [shard=%d][queued=%d]", id, queue.size()));
+                    }
+                    pool.execute(this);
+                } catch (RejectedExecutionException ex) {
+                    owned.set(false);
+                    throw ex;
+                }
+            }
+        }
+
+        private void release() {
+            owned.set(false);
+            // Re-check: a producer may have enqueued after the last poll but before the release.
+            try {
+                schedule();
+            } catch (RejectedExecutionException ex) {
+                // Workers are gone, nothing will drain the queue any more: fail what is left.
+                Entry<T> entry;
+                while ((entry = queue.poll()) != null) {
+                    entry.future.completeExceptionally(ex);
+                }
+            }
+        }
+
+        private void drain() {
+            for (int ii = 0; ii < settings.getDrainBatchSize(); ii++) {
+                Entry<T> entry = queue.poll();
+                if (entry == null) break;
+                entry.execute();
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                drain();
+            } finally {
+                // Yield the worker after a batch so busy shards cannot starve the others.
+                release();
+            }
+        }
+
+        private int depth() {
+            return queue.size();
+        }
+
+        private boolean isIdle() {
+            return queue.isEmpty() && !owned.get();
+        }
+    }
 }
@@ -0,0 +1,36 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.base.core.executor;
+
+/**
+ * Action taken by a sharded executor when the target shard queue is full.
+ */
+public enum EBackpressurePolicy {
+    /**
+     * Block the submitting thread until the shard has capacity.
+     */
+    Block,
+    /**
+     * Fail the submission with a {@link java.util.concurrent.RejectedExecutionException}.
+     */
+    Reject,
+    /**
+     * Let the submitting thread drain the shard queue itself (if no worker currently owns it),
+     * which preserves the per-shard ordering while throttling the producer.
+     */
+    CallerRuns
+}
@@ -20,8 +20,11 @@ import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import io.zyient.base.common.config.Config;
 import io.zyient.base.common.config.Settings;
 import lombok.Getter;
+import lombok.NonNull;
 import lombok.Setter;
 
+import java.util.Map;
+
 @Getter
 @Setter
 @JsonTypeInfo(use = JsonTypeInfo.Id.CLASS, include = JsonTypeInfo.As.PROPERTY,
@@ -33,6 +36,10 @@ public  class SchedulerSettings extends Settings {
         public static final String CONFIG_CORE_POOL_SIZE = "corePoolSize";
         public static final String CONFIG_MAX_POOL_SIZE = "maxPoolSize";
         public static final String CONFIG_KEEP_ALIVE_TIME = "keepAliveTime";
+        public static final String CONFIG_VIRTUAL_THREADS = "virtualThreads";
+        public static final String CONFIG_MAX_PER_TYPE = "maxTasksPerType";
+        public static final String CONFIG_TYPE_LIMITS = "taskTypeLimits";
+        public static final String CONFIG_POLL_INTERVAL = "pollInterval";
     }
 
     @Config(name = Constants.CONFIG_CORE_POOL_SIZE, required = false, type = Integer.class)
@@ -41,4 +48,34 @@ public  class SchedulerSettings extends Settings {
     private int maxPoolSize = corePoolSize;
     @Config(name = Constants.CONFIG_KEEP_ALIVE_TIME, required = false, type = Long.class)
     private long keepAliveTime = 30000;
+    /**
+     * Run tasks on virtual threads (requires a JVM that supports them, ignored otherwise).
+     */
+    @Config(name = Constants.CONFIG_VIRTUAL_THREADS, required = false, type = Boolean.class)
+    private boolean virtualThreads = false;
+    /**
+     * Default limit on concurrently executing tasks of the same type (0 = unlimited).
+     */
+    @Config(name = Constants.CONFIG_MAX_PER_TYPE, required = false, type = Integer.class)
+    private int maxTasksPerType = 0;
+    /**
+     * Per task-type overrides of the concurrency limit. [type -> limit]
+     */
+    @Config(name = Constants.CONFIG_TYPE_LIMITS, required = false, type = Map.class)
+    private Map<String, String> taskTypeLimits;
+    /**
+     * Interval (in milliseconds) to re-evaluate waiting tasks when no completion events arrive.
+     */
+    @Config(name = Constants.CONFIG_POLL_INTERVAL, required = false, type = Long.class)
+    private long pollInterval = 50;
+
+    public int taskTypeLimit(@NonNull String type) {
+        if (taskTypeLimits != null) {
+            Object value = taskTypeLimits.get(type);
+            if (value != null) {
+                return Integer.parseInt(String.valueOf(value));
+            }
+        }
+        return maxTasksPerType;
+    }
 }
\ No newline at end of file
@@ -31,10 +31,16 @@ public class ShardedExecutorSettings extends SchedulerSettings {
     public static class Constants {
         public static final String CONFIG_SHARDS = "shards";
         public static final String CONFIG_QUEUE_SIZE = "queueSize";
+        public static final String CONFIG_BACKPRESSURE = "backpressure";
+        public static final String CONFIG_DRAIN_BATCH = "drainBatchSize";
     }
 
     @Config(name = Constants.CONFIG_SHARDS, required = false, type = Integer.class)
     private int shards = 1;
     @Config(name = Constants.CONFIG_QUEUE_SIZE, required = false, type = Integer.class)
     private int queueSize = 128;
+    @Config(name = Constants.CONFIG_BACKPRESSURE, required = false, type = EBackpressurePolicy.class)
+    private EBackpressurePolicy backpressure = EBackpressurePolicy.Block;
+    @Config(name = Constants.CONFIG_DRAIN_BATCH, required = false, type = Integer.class)
+    private int drainBatchSize = 64;
 }
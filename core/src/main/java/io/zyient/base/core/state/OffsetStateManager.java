@@ -18,7 +18,9 @@ package io.zyient.base.core.state;
 
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.zyient.base.common.config.ConfigReader;
+import io.zyient.base.common.utils.DefaultLogger;
 import io.zyient.base.common.utils.JSONUtils;
 import io.zyient.base.common.utils.PathUtils;
 import io.zyient.base.core.BaseEnv;
@@ -32,10 +34,45 @@ import lombok.experimental.Accessors;
 import org.apache.commons.configuration2.HierarchicalConfiguration;
 import org.apache.commons.configuration2.tree.ImmutableNode;
 import org.apache.curator.framework.CuratorFramework;
+import org.apache.zookeeper.KeeperException;
+import org.apache.zookeeper.data.Stat;
 
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Persists offset states in ZooKeeper.
+ * <p>
+ * Updates are written with a versioned {@code setData} (compare-and-set against the last version this
+ * instance read or wrote), so a steady-state update is a single ZooKeeper round trip. A version conflict
+ * means another writer touched the node: the remote state is re-read and the update either retried or
+ * rejected as stale. With a non-zero flush interval updates are coalesced per offset and written behind
+ * by a background flusher; {@link #flush()} and {@link #close()} make the last state durable.
+ * Setting {@code locking.exclusive} restores the distributed-lock based update.
+ */
 @Getter
 @Accessors(fluent = true)
-public abstract class OffsetStateManager<T extends Offset> {
+public abstract class OffsetStateManager<T extends Offset> implements Closeable {
+    private static final class OffsetEntry {
+        private final Class<?> type;
+        private int version = -1;
+        private long flushed;
+        private long timeUpdated;
+        private byte[] pending;
+        private boolean fenced = false;
+
+        private OffsetEntry(Class<?> type, long timeUpdated) {
+            this.type = type;
+            this.flushed = timeUpdated;
+            this.timeUpdated = timeUpdated;
+        }
+    }
+
     private final ProcessorState state = new ProcessorState();
     private ZookeeperConnection connection;
     private OffsetStateManagerSettings settings;
@@ -44,6 +81,10 @@ public abstract class OffsetStateManager<T extends Offset> {
     @Getter(AccessLevel.NONE)
     protected DistributedLock stateLock;
     protected BaseStateManager stateManager;
+    @Getter(AccessLevel.NONE)
+    private final Map<String, OffsetEntry> entries = new ConcurrentHashMap<>();
+    @Getter(AccessLevel.NONE)
+    private ScheduledExecutorService flusher;
 
     public OffsetStateManager<T> withStateManager(@NonNull BaseStateManager stateManager) {
         this.stateManager = stateManager;
@@ -93,6 +134,14 @@ public abstract class OffsetStateManager<T extends Offset> {
         }
 
         stateLock = getStateLock(client);
+        long interval = settings.getFlushInterval().normalized();
+        if (interval > 0 && !settings.isExclusiveLocking()) {
+            flusher = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+                    .setNameFormat(String.format("OFFSET-FLUSH-%s", settings.getName()))
+                    .setDaemon(true)
+                    .build());
+            flusher.scheduleWithFixedDelay(this::flushQuietly, interval, interval, TimeUnit.MILLISECONDS);
+        }
 
         state.setState(ProcessorState.EProcessorState.Running);
     }
@@ -168,7 +217,34 @@ public abstract class OffsetStateManager<T extends Offset> {
                     .withPath(type)
                     .withPath(name)
                     .build();
-            return JSONUtils.read(client, path, offsetType);
+            OffsetEntry entry = entries.get(path);
+            if (entry != null) {
+                synchronized (entry) {
+                    if (entry.pending != null) {
+                        try {
+                            write(client, path, entry);
+                        } catch (StateManagerError se) {
+                            DefaultLogger.warn(se.getLocalizedMessage());
+                        }
+                    }
+                }
+            }
+            Stat stat = new Stat();
+            byte[] data;
+            try {
+                data = client.getData().storingStatIn(stat).forPath(path);
+            } catch (KeeperException.NoNodeException nn) {
+                entries.remove(path);
+                return null;
+            }
+            if (data == null || data.length == 0) {
+                return null;
+            }
+            R current = JSONUtils.read(data, offsetType);
+            if (current != null) {
+                resync(path, current, stat.getVersion());
+            }
+            return current;
         } catch (Exception ex) {
             throw new StateManagerError(ex);
         }
@@ -204,6 +280,7 @@ public abstract class OffsetStateManager<T extends Offset> {
                         client.create().creatingParentContainersIfNeeded().forPath(zp);
                     }
                     client.setData().forPath(zp, JSONUtils.asBytes(current));
+                    entries.remove(zp);
 
                     return current;
                 } finally {
@@ -215,8 +292,146 @@ public abstract class OffsetStateManager<T extends Offset> {
         }
     }
 
+    public <R extends OffsetState<?, T>> R update(@NonNull R offset) throws StateManagerError {
+        Preconditions.checkState(state.isAvailable());
+        if (settings.isExclusiveLocking()) {
+            return updateLocked(offset);
+        }
+        String zp = new PathUtils.ZkPathBuilder(zkPath)
+                .withPath(offset.getType())
+                .withPath(offset.getName())
+                .build();
+        OffsetEntry entry = entries.computeIfAbsent(zp,
+                k -> new OffsetEntry(offset.getClass(), offset.getTimeUpdated()));
+        try {
+            synchronized (entry) {
+                if (entry.fenced || entry.timeUpdated > offset.getTimeUpdated()) {
+                    throw new StateManagerError(
+                            String.format("Offset is stale. [type=%s][name=%s]",
+                                    offset.getType(), offset.getName()));
+                }
+                offset.setTimeUpdated(System.currentTimeMillis());
+                offset.setLastUpdatedBy(env.moduleInstance());
+                offset.getOffset().setTimeUpdated(System.currentTimeMillis());
+                entry.timeUpdated = offset.getTimeUpdated();
+                entry.pending = JSONUtils.asBytes(offset);
+                if (flusher == null) {
+                    write(connection.client(), zp, entry);
+                }
+            }
+            return offset;
+        } catch (StateManagerError se) {
+            throw se;
+        } catch (Exception ex) {
+            throw new StateManagerError(ex);
+        }
+    }
+
+    /**
+     * Re-base the cached entry on the state just read, so the next update compares against the read
+     * version instead of being fenced by a write from another instance. Skipped while a local write is
+     * pending or if a newer version has already been written here.
+     */
+    private void resync(String path, OffsetState<?, ?> current, int version) {
+        OffsetEntry entry = entries.computeIfAbsent(path,
+                k -> new OffsetEntry(current.getClass(), current.getTimeUpdated()));
+        synchronized (entry) {
+            if (entry.pending != null || entry.version > version) {
+                return;
+            }
+            entry.version = version;
+            entry.flushed = current.getTimeUpdated();
+            entry.timeUpdated = current.getTimeUpdated();
+            entry.fenced = false;
+        }
+    }
+
+    /**
+     * Compare-and-set write of the entry's pending state. Must be called holding the entry monitor.
+     * If another writer has updated the offset since it was last read or written here, the entry is
+     * fenced: its pending state is dropped and further updates fail as stale until the offset is re-read.
+     */
+    @SuppressWarnings("unchecked")
+    private void write(CuratorFramework client,
+                       String path,
+                       OffsetEntry entry) throws Exception {
+        int retries = 0;
+        while (true) {
+            if (entry.version < 0) {
+                Stat stat = new Stat();
+                byte[] data;
+                try {
+                    data = client.getData().storingStatIn(stat).forPath(path);
+                } catch (KeeperException.NoNodeException nn) {
+                    entry.pending = null;
+                    entries.remove(path);
+                    throw new StateManagerError(String.format("Offset not found. [path=%s]", path));
+                }
+                OffsetState<?, ?> current = (data == null || data.length == 0 ? null :
+                        JSONUtils.read(data, (Class<? extends OffsetState<?, ?>>) entry.type));
+                if (current != null && current.getTimeUpdated() > entry.flushed) {
+                    entry.pending = null;
+                    entry.fenced = true;
+                    throw new StateManagerError(
+                            String.format("Offset is stale, updated by [%s]. [path=%s]",
+                                    current.getLastUpdatedBy(), path));
+                }
+                entry.version = stat.getVersion();
+            }
+            try {
+                Stat stat = client.setData().withVersion(entry.version).forPath(path, entry.pending);
+                entry.version = stat.getVersion();
+                entry.flushed = entry.timeUpdated;
+                entry.pending = null;
+                return;
+            } catch (KeeperException.BadVersionException bv) {
+                entry.version = -1;
+                if (retries++ >= settings.getLockRetryCount()) {
+                    throw new StateManagerError(
+                            String.format("Offset update conflict, retries exhausted. [path=%s][retries=%d]",
+                                    path, retries));
+                }
+            }
+        }
+    }
+
+    /**
+     * Write all coalesced offset updates to ZooKeeper.
+     *
+     * @throws StateManagerError - First write error, after attempting all pending offsets.
+     */
+    public void flush() throws StateManagerError {
+        if (entries.isEmpty()) return;
+        CuratorFramework client = connection.client();
+        StateManagerError error = null;
+        for (Map.Entry<String, OffsetEntry> e : entries.entrySet()) {
+            OffsetEntry entry = e.getValue();
+            synchronized (entry) {
+                if (entry.pending == null) continue;
+                try {
+                    write(client, e.getKey(), entry);
+                } catch (StateManagerError se) {
+                    if (error == null) error = se;
+                } catch (Exception ex) {
+                    if (error == null) error = new StateManagerError(ex);
+                }
+            }
+        }
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Throwable t) {
+            DefaultLogger.error(String.format("[%s] Offset flush failed.", settings.getName()), t);
+        }
+    }
+
     @SuppressWarnings("unchecked")
-    public  <R extends OffsetState<?, T>> R update(@NonNull R offset) throws StateManagerError {
+    private <R extends OffsetState<?, T>> R updateLocked(@NonNull R offset) throws StateManagerError {
         Preconditions.checkState(state.isAvailable());
         try {
             CuratorFramework client = connection.client();
@@ -277,6 +492,7 @@ public abstract class OffsetStateManager<T extends Offset> {
                             .withPath(name)
                             .build();
                     client.delete().deletingChildrenIfNeeded().forPath(zp);
+                    entries.remove(zp);
                     return true;
                 } finally {
                     lock.unlock();
@@ -291,6 +507,30 @@ public abstract class OffsetStateManager<T extends Offset> {
         return settings.getName();
     }
 
+    @Override
+    public void close() throws IOException {
+        if (flusher != null) {
+            flusher.shutdown();
+            try {
+                flusher.awaitTermination(settings.getLockTimeout().normalized(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+            } catch (Exception ex) {
+                DefaultLogger.stacktrace(ex);
+            }
+            flusher = null;
+        }
+        if (state.isAvailable()) {
+            try {
+                flush();
+            } catch (StateManagerError ex) {
+                throw new IOException(ex);
+            } finally {
+                state.setState(ProcessorState.EProcessorState.Stopped);
+            }
+        }
+    }
+
     @SuppressWarnings("unchecked")
     public static Class<? extends OffsetStateManager<?>> parseManagerType(
             @NonNull HierarchicalConfiguration<ImmutableNode> xmlConfig) throws Exception {
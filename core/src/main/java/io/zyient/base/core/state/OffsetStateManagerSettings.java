@@ -41,7 +41,12 @@ import java.util.concurrent.TimeUnit;
  *             -- optional
  *             <retry>[Retry count]</retry>
  *             <timeout>Lock acquire timeout</timeout>
+ *             <exclusive>[Serialize updates with a distributed lock, default false]</exclusive>
  *         </locking>
+ *         <flush>
+ *             -- optional
+ *             <interval>[Write-behind flush interval, 0 = write-through, default 0]</interval>
+ *         </flush>
  *     </offsetManager>
  * </pre>
  */
@@ -55,6 +60,7 @@ public abstract class OffsetStateManagerSettings extends Settings {
     public static final class Constants {
         public static final short LOCK_RETRY_COUNT = 4;
         public static final long LOCK_TIMEOUT = 10000;
+        public static final long FLUSH_INTERVAL = 0;
 
         public static final String CONFIG_NAME = "name";
         public static final String CONFIG_TYPE = "type";
@@ -62,6 +68,8 @@ public abstract class OffsetStateManagerSettings extends Settings {
         public static final String CONFIG_ZK_CONNECTION = "connection";
         public static final String CONFIG_LOCK_RETRY = "locking.retry";
         public static final String CONFIG_LOCK_TIMEOUT = "locking.timeout";
+        public static final String CONFIG_LOCK_EXCLUSIVE = "locking.exclusive";
+        public static final String CONFIG_FLUSH_INTERVAL = "flush.interval";
     }
 
     @Config(name = Constants.CONFIG_NAME)
@@ -76,6 +84,10 @@ public abstract class OffsetStateManagerSettings extends Settings {
     private short lockRetryCount = Constants.LOCK_RETRY_COUNT;
     @Config(name = Constants.CONFIG_LOCK_TIMEOUT, required = false, parser = TimeValueParser.class)
     private TimeUnitValue lockTimeout = new TimeUnitValue(Constants.LOCK_TIMEOUT, TimeUnit.MILLISECONDS);
+    @Config(name = Constants.CONFIG_LOCK_EXCLUSIVE, required = false, type = Boolean.class)
+    private boolean exclusiveLocking = false;
+    @Config(name = Constants.CONFIG_FLUSH_INTERVAL, required = false, parser = TimeValueParser.class)
+    private TimeUnitValue flushInterval = new TimeUnitValue(Constants.FLUSH_INTERVAL, TimeUnit.MILLISECONDS);
     @JsonIgnore
     private ESettingsSource source;
 
@@ -92,6 +104,8 @@ public abstract class OffsetStateManagerSettings extends Settings {
         this.zkConnection = ((OffsetStateManagerSettings) source).zkConnection;
         this.lockTimeout = ((OffsetStateManagerSettings) source).lockTimeout;
         this.lockRetryCount = ((OffsetStateManagerSettings) source).lockRetryCount;
+        this.exclusiveLocking = ((OffsetStateManagerSettings) source).exclusiveLocking;
+        this.flushInterval = ((OffsetStateManagerSettings) source).flushInterval;
         this.source = ((OffsetStateManagerSettings) source).source;
     }
 }
\ No newline at end of file
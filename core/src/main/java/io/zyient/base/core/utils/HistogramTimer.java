@@ -0,0 +1,241 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.base.core.utils;
+
+import io.micrometer.core.instrument.*;
+import io.micrometer.core.instrument.distribution.CountAtBucket;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.NonNull;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.SingleWriterRecorder;
+
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link DistributionSummary} backed by per-thread HdrHistogram {@link SingleWriterRecorder}s.
+ * <p>
+ * Recording is wait-free and allocation-free once the calling thread has its recorder: no monitor,
+ * no shared atomic. The per-thread recorders are drained when the registry reads the meter
+ * (at most once a second); count and total are cumulative as of that read, percentiles and SLO
+ * bucket counts cover a sliding window of one to two {@code window} lengths. Percentiles are
+ * published as {@code <name>.percentile{phi=..}} gauges and SLO buckets as {@code <name>.slo{le=..}} gauges.
+ */
+public class HistogramTimer implements DistributionSummary {
+    public static final String SUFFIX_PERCENTILE = ".percentile";
+    public static final String SUFFIX_SLO = ".slo";
+    public static final String TAG_PERCENTILE = "phi";
+    public static final String TAG_SLO = "le";
+    public static final long DEFAULT_WINDOW_MS = 60 * 1000;
+
+    private static final int SIGNIFICANT_DIGITS = 2;
+    private static final int PURGE_INTERVAL = 64;
+    private static final long REFRESH_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private static final class Stripe {
+        private final WeakReference<Thread> owner = new WeakReference<>(Thread.currentThread());
+        private final SingleWriterRecorder recorder = new SingleWriterRecorder(SIGNIFICANT_DIGITS);
+        // Bits of the running total (double): written by the owner only, read by refresh().
+        private final AtomicLong total = new AtomicLong(Double.doubleToRawLongBits(0));
+        private Histogram interval;
+
+        private void add(double amount) {
+            // Single writer: no CAS needed, the ordered store publishes the value to readers.
+            total.lazySet(Double.doubleToRawLongBits(Double.longBitsToDouble(total.get()) + amount));
+        }
+
+        private double total() {
+            return Double.longBitsToDouble(total.get());
+        }
+
+        private boolean isAlive() {
+            Thread thread = owner.get();
+            return (thread != null && thread.isAlive());
+        }
+    }
+
+    private static final Map<MeterRegistry, Map<Meter.Id, HistogramTimer>> __registered = new WeakHashMap<>();
+
+    private final List<Stripe> stripes = new CopyOnWriteArrayList<>();
+    private final ThreadLocal<Stripe> local = ThreadLocal.withInitial(this::newStripe);
+    private final double[] percentiles;
+    private final double[] slos;
+    private final long windowNanos;
+    private Meter.Id id;
+    // Guarded by this
+    private Histogram current = new Histogram(SIGNIFICANT_DIGITS);
+    private Histogram previous = new Histogram(SIGNIFICANT_DIGITS);
+    private Histogram merged;
+    private long rotated = System.nanoTime();
+    private long refreshed;
+    private long count;
+    private double total;
+    private double retiredTotal;
+
+    private HistogramTimer(double[] percentiles, double[] slos, long windowMs) {
+        this.percentiles = (percentiles != null ? percentiles : new double[0]);
+        this.slos = (slos != null ? slos : new double[0]);
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMs);
+    }
+
+    /**
+     * Register a timer with the registry, or return the timer already registered with the same name and tags.
+     */
+    public static synchronized HistogramTimer register(@NonNull String name,
+                                                       String description,
+                                                       @NonNull String[] tags,
+                                                       double[] percentiles,
+                                                       double[] slos,
+                                                       long windowMs,
+                                                       @NonNull MeterRegistry registry) {
+        Map<Meter.Id, HistogramTimer> registered = __registered.computeIfAbsent(registry, r -> new HashMap<>());
+        Meter.Id key = new Meter.Id(name, Tags.of(tags), null, description, Meter.Type.DISTRIBUTION_SUMMARY);
+        HistogramTimer timer = registered.get(key);
+        if (timer != null) {
+            return timer;
+        }
+        timer = new HistogramTimer(percentiles, slos, windowMs);
+        HistogramTimer self = timer;
+        Meter meter = Meter.builder(name, Meter.Type.DISTRIBUTION_SUMMARY, List.of(
+                        new Measurement(() -> (double) self.count(), Statistic.COUNT),
+                        new Measurement(self::totalAmount, Statistic.TOTAL),
+                        new Measurement(self::max, Statistic.MAX)))
+                .description(description)
+                .tags(tags)
+                .register(registry);
+        timer.id = meter.getId();
+        for (double percentile : timer.percentiles) {
+            Gauge.builder(name + SUFFIX_PERCENTILE, timer, t -> t.valueAtPercentile(percentile))
+                    .tags(tags)
+                    .tag(TAG_PERCENTILE, String.valueOf(percentile))
+                    .register(registry);
+        }
+        for (double slo : timer.slos) {
+            Gauge.builder(name + SUFFIX_SLO, timer, t -> t.countAtValue(slo))
+                    .tags(tags)
+                    .tag(TAG_SLO, String.valueOf(slo))
+                    .register(registry);
+        }
+        registered.put(key, timer);
+        return timer;
+    }
+
+    private Stripe newStripe() {
+        Stripe stripe = new Stripe();
+        stripes.add(stripe);
+        if (stripes.size() % PURGE_INTERVAL == 0) {
+            // Drain and drop the recorders of terminated threads.
+            refresh(true);
+        }
+        return stripe;
+    }
+
+    @Override
+    public Id getId() {
+        return id;
+    }
+
+    @Override
+    public void record(double amount) {
+        if (amount < 0) return;
+        Stripe stripe = local.get();
+        stripe.add(amount);
+        stripe.recorder.recordValue((long) amount);
+    }
+
+    @Override
+    public synchronized long count() {
+        refresh(false);
+        return count;
+    }
+
+    @Override
+    public synchronized double totalAmount() {
+        refresh(false);
+        return total;
+    }
+
+    @Override
+    public synchronized double max() {
+        return refresh(false).getMaxValue();
+    }
+
+    public synchronized double valueAtPercentile(double percentile) {
+        Histogram histogram = refresh(false);
+        if (histogram.getTotalCount() == 0) return 0;
+        return histogram.getValueAtPercentile(percentile * 100);
+    }
+
+    public synchronized double countAtValue(double value) {
+        return refresh(false).getCountBetweenValues(0, (long) value);
+    }
+
+    @Override
+    public synchronized HistogramSnapshot takeSnapshot() {
+        Histogram histogram = refresh(false);
+        ValueAtPercentile[] values = new ValueAtPercentile[percentiles.length];
+        for (int ii = 0; ii < percentiles.length; ii++) {
+            double value = (histogram.getTotalCount() == 0 ? 0 : histogram.getValueAtPercentile(percentiles[ii] * 100));
+            values[ii] = new ValueAtPercentile(percentiles[ii], value);
+        }
+        CountAtBucket[] buckets = new CountAtBucket[slos.length];
+        for (int ii = 0; ii < slos.length; ii++) {
+            buckets[ii] = new CountAtBucket(slos[ii], histogram.getCountBetweenValues(0, (long) slos[ii]));
+        }
+        return new HistogramSnapshot(count, total, histogram.getMaxValue(), values, buckets, null);
+    }
+
+    /**
+     * Drain the per-thread recorders and return the histogram for the current window.
+     * Refreshed at most once a second (unless forced) so one scrape shares a single merge.
+     */
+    private synchronized Histogram refresh(boolean force) {
+        long now = System.nanoTime();
+        if (force || merged == null || now - refreshed >= REFRESH_NANOS) {
+            double sum = retiredTotal;
+            for (Stripe stripe : stripes) {
+                boolean alive = stripe.isAlive();
+                stripe.interval = stripe.recorder.getIntervalHistogram(stripe.interval);
+                current.add(stripe.interval);
+                count += stripe.interval.getTotalCount();
+                double value = stripe.total();
+                sum += value;
+                if (!alive) {
+                    retiredTotal += value;
+                    stripes.remove(stripe);
+                }
+            }
+            total = sum;
+            if (now - rotated >= windowNanos) {
+                previous = current;
+                current = new Histogram(SIGNIFICANT_DIGITS);
+                rotated = now;
+            }
+            merged = previous.copy();
+            merged.add(current);
+            refreshed = now;
+        }
+        return merged;
+    }
+}
@@ -28,6 +28,8 @@ import lombok.experimental.Accessors;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Getter
 @Setter
@@ -39,9 +41,14 @@ public class MetricsBase {
     public static final String TAG_INSTANCE_NAME = "PIPELINE";
     public static final String METRICS_TIMER = "timer";
     public static final String METRICS_COUNTER = "counter";
+    /**
+     * Percentiles published for every timer (see {@link HistogramTimer}).
+     */
+    public static final double[] TIMER_PERCENTILES = {0.5, 0.9, 0.99, 0.999};
+
     private final BaseEnv<?> env;
-    private final Map<String, Counter> counters = new HashMap<>();
-    private final Map<String, DistributionSummary> timers = new HashMap<>();
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> timers = new ConcurrentHashMap<>();
     private final String engine;
     private final String name;
     private final String sourceType;
@@ -56,58 +63,70 @@ public class MetricsBase {
         this.sourceType = sourceType;
     }
 
-    public synchronized Counter addCounter(@NonNull String name,
+    public Counter addCounter(@NonNull String name,
                               Map<String, String> tags) {
         Preconditions.checkArgument(!Strings.isNullOrEmpty(name));
-        if (counters.containsKey(name)) {
-            return counters.get(name);
-        }
-        name = metricsName(METRICS_COUNTER, name);
-        tags = metricsTags(env, engine, sourceType, this.name, tags);
-        String[] tgs = tags(tags);
-        Counter counter = Counter
-                .builder(name)
-                .description(String.format("[%s.%s] Timed metric for [%s]",
-                        env.name(),
-                        this.name,
-                        name))
-                .tags(tgs)
-                .register(BaseEnv.registry());
-        counters.put(name, counter);
-        return counter;
+        return counters.computeIfAbsent(key(name, tags), key -> {
+            String metric = metricsName(METRICS_COUNTER, name);
+            String[] tgs = tags(metricsTags(env, engine, sourceType, this.name, tags));
+            return Counter
+                    .builder(metric)
+                    .description(String.format("[%s.%s] Timed metric for [%s]",
+                            env.name(),
+                            this.name,
+                            metric))
+                    .tags(tgs)
+                    .register(BaseEnv.registry());
+        });
     }
 
-    public Counter getCounter(String name) {
-        name = metricsName(METRICS_COUNTER, name);
+    public Counter getCounter(@NonNull String name) {
         return counters.get(name);
     }
 
-
-    public synchronized DistributionSummary addTimer(@NonNull String name,
+    public DistributionSummary addTimer(@NonNull String name,
                                         Map<String, String> tags) {
+        return addTimer(name, tags, (double[]) null);
+    }
+
+    /**
+     * Register a timer (values recorded in nanoseconds) publishing {@link #TIMER_PERCENTILES}.
+     *
+     * @param name - Timer name
+     * @param tags - Additional tags
+     * @param slos - SLO boundaries (in nanoseconds) exported as bucket counts, can be null
+     * @return - Registered timer
+     */
+    public DistributionSummary addTimer(@NonNull String name,
+                                        Map<String, String> tags,
+                                        double... slos) {
         Preconditions.checkArgument(!Strings.isNullOrEmpty(name));
-        if (timers.containsKey(name)) {
-            return timers.get(name);
-        }
-        name = metricsName(METRICS_TIMER, name);
-        tags = metricsTags(env, engine, sourceType, this.name, tags);
-        String[] tgs = tags(tags);
-        DistributionSummary timer = DistributionSummary.builder(name)
-                .description(String.format("[%s.%s] Timed metric for [%s]",
-                        env.name(),
-                        this.name,
-                        name))
-                .tags(tgs)
-                .register(BaseEnv.registry());
-        timers.put(name, timer);
-        return timer;
+        return timers.computeIfAbsent(key(name, tags), key -> {
+            String metric = metricsName(METRICS_TIMER, name);
+            String[] tgs = tags(metricsTags(env, engine, sourceType, this.name, tags));
+            return HistogramTimer.register(metric,
+                    String.format("[%s.%s] Timed metric for [%s]",
+                            env.name(),
+                            this.name,
+                            metric),
+                    tgs,
+                    TIMER_PERCENTILES,
+                    slos,
+                    HistogramTimer.DEFAULT_WINDOW_MS,
+                    BaseEnv.registry());
+        });
     }
 
-    public DistributionSummary getTimer(String name) {
-        name = metricsName(METRICS_TIMER, name);
+    public DistributionSummary getTimer(@NonNull String name) {
         return timers.get(name);
     }
 
+    private static String key(String name, Map<String, String> tags) {
+        if (tags == null || tags.isEmpty()) {
+            return name;
+        }
+        return name + new TreeMap<>(tags);
+    }
 
     private String[] tags(Map<String, String> map) {
         String[] tags = new String[map.size() * 2];
@@ -24,6 +24,16 @@ import lombok.experimental.Accessors;
 import java.io.Closeable;
 import java.io.IOException;
 
+/**
+ * Scoped timer recording elapsed nanoseconds into a {@link DistributionSummary}.
+ * <p>
+ * On per-record hot paths use the allocation-free form instead:
+ * <pre>
+ *     long start = Timer.start();
+ *     ...
+ *     Timer.record(summary, start);
+ * </pre>
+ */
 @Getter
 @Accessors(fluent = true)
 public class Timer implements Closeable {
@@ -39,4 +49,14 @@ public class Timer implements Closeable {
     public void close() throws IOException {
         summary.record(System.nanoTime() - startTime);
     }
+
+    public static long start() {
+        return System.nanoTime();
+    }
+
+    public static long record(@NonNull DistributionSummary summary, long startTime) {
+        long elapsed = System.nanoTime() - startTime;
+        summary.record(elapsed);
+        return elapsed;
+    }
 }
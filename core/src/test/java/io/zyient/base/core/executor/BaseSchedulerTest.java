@@ -0,0 +1,198 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.base.core.executor;
+
+import io.zyient.base.core.BaseEnv;
+import io.zyient.base.core.DemoEnv;
+import io.zyient.base.core.model.Heartbeat;
+import io.zyient.base.core.state.BaseStateManager;
+import lombok.NonNull;
+import org.apache.commons.configuration2.HierarchicalConfiguration;
+import org.apache.commons.configuration2.tree.ImmutableNode;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BaseSchedulerTest {
+    private static final String TYPE_SHORT = "short";
+    private static final String TYPE_LONG = "long";
+
+    @Test
+    void oneShotTasks() throws Exception {
+        TestScheduler scheduler = start(settings(4, 50));
+        try {
+            int count = 500;
+            CountDownLatch latch = new CountDownLatch(count);
+            for (int ii = 0; ii < count; ii++) {
+                scheduler.add(new TestTask(TYPE_SHORT, false, 0, latch, null));
+            }
+            assertTrue(latch.await(30, TimeUnit.SECONDS));
+            long timeout = System.currentTimeMillis() + 10000;
+            while (!scheduler.tasks().isEmpty() && System.currentTimeMillis() < timeout) {
+                Thread.sleep(10);
+            }
+            assertTrue(scheduler.tasks().isEmpty());
+        } finally {
+            scheduler.stop();
+        }
+    }
+
+    @Test
+    void completionWakesScheduler() throws Exception {
+        // Poll interval far longer than the test: re-runs must be driven by completion events.
+        TestScheduler scheduler = start(settings(2, 5000));
+        try {
+            CountDownLatch latch = new CountDownLatch(20);
+            scheduler.add(new TestTask(TYPE_SHORT, true, 0, latch, null));
+            assertTrue(latch.await(2, TimeUnit.SECONDS));
+        } finally {
+            scheduler.stop();
+        }
+    }
+
+    @Test
+    void taskTypeLimit() throws Exception {
+        SchedulerSettings settings = settings(8, 10);
+        settings.setTaskTypeLimits(Map.of(TYPE_LONG, "2"));
+        TestScheduler scheduler = start(settings);
+        try {
+            Concurrency concurrency = new Concurrency();
+            CountDownLatch longs = new CountDownLatch(8);
+            for (int ii = 0; ii < 8; ii++) {
+                scheduler.add(new TestTask(TYPE_LONG, false, 50, longs, concurrency));
+            }
+            // Other types are not held back by the capped type.
+            CountDownLatch shorts = new CountDownLatch(1);
+            scheduler.add(new TestTask(TYPE_SHORT, false, 0, shorts, null));
+            assertTrue(shorts.await(5, TimeUnit.SECONDS));
+            assertTrue(longs.getCount() > 0);
+            assertTrue(longs.await(30, TimeUnit.SECONDS));
+            assertEquals(2, concurrency.max.get());
+        } finally {
+            scheduler.stop();
+        }
+    }
+
+    private static SchedulerSettings settings(int poolSize, long pollInterval) {
+        SchedulerSettings settings = new SchedulerSettings();
+        settings.setCorePoolSize(poolSize);
+        settings.setMaxPoolSize(poolSize);
+        settings.setPollInterval(pollInterval);
+        return settings;
+    }
+
+    private static TestScheduler start(SchedulerSettings settings) throws Exception {
+        TestScheduler scheduler = new TestScheduler();
+        scheduler.init(settings, new DemoEnv());
+        scheduler.start();
+        return scheduler;
+    }
+
+    private static final class Concurrency {
+        private final AtomicInteger current = new AtomicInteger();
+        private final AtomicInteger max = new AtomicInteger();
+
+        private void enter() {
+            int value = current.incrementAndGet();
+            max.accumulateAndGet(value, Math::max);
+        }
+
+        private void exit() {
+            current.decrementAndGet();
+        }
+    }
+
+    private static final class TestTask extends BaseTask<Long> {
+        private static final TestStateManager STATE_MANAGER = new TestStateManager();
+        private final boolean recurring;
+        private final long sleep;
+        private final CountDownLatch latch;
+        private final Concurrency concurrency;
+
+        private TestTask(String type,
+                         boolean recurring,
+                         long sleep,
+                         CountDownLatch latch,
+                         Concurrency concurrency) {
+            super(STATE_MANAGER, type);
+            this.recurring = recurring;
+            this.sleep = sleep;
+            this.latch = latch;
+            this.concurrency = concurrency;
+        }
+
+        @Override
+        public TaskResponse<Long> initResponse() {
+            return new TaskResponse<>();
+        }
+
+        @Override
+        public Long execute() throws Exception {
+            if (concurrency != null) {
+                concurrency.enter();
+            }
+            try {
+                if (sleep > 0) {
+                    Thread.sleep(sleep);
+                }
+            } finally {
+                if (concurrency != null) {
+                    concurrency.exit();
+                }
+            }
+            latch.countDown();
+            return System.nanoTime();
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static final class TestScheduler extends BaseScheduler<Long> {
+        @Override
+        public boolean schedule(@NonNull BaseTask<Long> task) {
+            if (((TestTask) task).recurring) {
+                return true;
+            }
+            task.stop();
+            return false;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static final class TestStateManager extends BaseStateManager {
+        @Override
+        public BaseStateManager init(@NonNull HierarchicalConfiguration<ImmutableNode> xmlConfig,
+                                     @NonNull BaseEnv<?> env) {
+            return this;
+        }
+
+        @Override
+        public Heartbeat heartbeat(@NonNull String instance) {
+            return null;
+        }
+    }
+}
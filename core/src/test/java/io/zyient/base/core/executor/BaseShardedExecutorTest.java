@@ -0,0 +1,227 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.base.core.executor;
+
+import io.zyient.base.core.BaseEnv;
+import io.zyient.base.core.DemoEnv;
+import io.zyient.base.core.model.Heartbeat;
+import io.zyient.base.core.state.BaseStateManager;
+import lombok.NonNull;
+import org.apache.commons.configuration2.HierarchicalConfiguration;
+import org.apache.commons.configuration2.XMLConfiguration;
+import org.apache.commons.configuration2.tree.ImmutableNode;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BaseShardedExecutorTest {
+    private static final int KEYS = 16;
+
+    @Test
+    void perKeyOrdering() throws Exception {
+        TestExecutor executor = create(4, 8, EBackpressurePolicy.Block);
+        try {
+            Map<Integer, List<Integer>> executed = new ConcurrentHashMap<>();
+            int producers = 4;
+            int count = 2000;
+            ExecutorService pool = Executors.newFixedThreadPool(producers);
+            List<Future<List<CompletableFuture<TaskResponse<Integer>>>>> results = new ArrayList<>();
+            for (int pp = 0; pp < producers; pp++) {
+                int producer = pp;
+                results.add(pool.submit(() -> {
+                    List<CompletableFuture<TaskResponse<Integer>>> futures = new ArrayList<>();
+                    for (int ii = 0; ii < count; ii++) {
+                        // Each key is owned by one producer, so submission order per key is well-defined.
+                        int key = producer + producers * (ii % (KEYS / producers));
+                        futures.add(executor.submit(new TestTask(key, ii, executed, null)));
+                    }
+                    return futures;
+                }));
+            }
+            for (Future<List<CompletableFuture<TaskResponse<Integer>>>> result : results) {
+                for (CompletableFuture<TaskResponse<Integer>> future : result.get(30, TimeUnit.SECONDS)) {
+                    future.get(30, TimeUnit.SECONDS);
+                }
+            }
+            pool.shutdown();
+            assertEquals(KEYS, executed.size());
+            for (List<Integer> sequence : executed.values()) {
+                for (int ii = 1; ii < sequence.size(); ii++) {
+                    assertTrue(sequence.get(ii - 1) < sequence.get(ii));
+                }
+            }
+        } finally {
+            executor.close();
+        }
+    }
+
+    @Test
+    void rejectWhenFull() throws Exception {
+        TestExecutor executor = create(1, 2, EBackpressurePolicy.Reject);
+        try {
+            CountDownLatch gate = new CountDownLatch(1);
+            List<CompletableFuture<TaskResponse<Integer>>> accepted = new ArrayList<>();
+            accepted.add(executor.submit(new TestTask(0, 0, null, gate)));
+            boolean rejected = false;
+            for (int ii = 1; ii < 10; ii++) {
+                try {
+                    accepted.add(executor.submit(new TestTask(0, ii, null, null)));
+                } catch (RejectedExecutionException ex) {
+                    rejected = true;
+                    break;
+                }
+            }
+            assertTrue(rejected);
+            // The running task plus a full queue.
+            assertTrue(accepted.size() <= 3);
+            gate.countDown();
+            for (CompletableFuture<TaskResponse<Integer>> future : accepted) {
+                assertNotNull(future.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.close();
+        }
+    }
+
+    @Test
+    void blockUntilCapacity() throws Exception {
+        checkStalledProducer(EBackpressurePolicy.Block);
+    }
+
+    @Test
+    void callerRunsWaitsForOwner() throws Exception {
+        checkStalledProducer(EBackpressurePolicy.CallerRuns);
+    }
+
+    /**
+     * The shard is owned by a worker stuck in a task: a producer of a full shard must wait
+     * (without failing or running out of order) and complete once the worker moves on.
+     */
+    private void checkStalledProducer(EBackpressurePolicy policy) throws Exception {
+        TestExecutor executor = create(1, 1, policy);
+        try {
+            Map<Integer, List<Integer>> executed = new ConcurrentHashMap<>();
+            CountDownLatch gate = new CountDownLatch(1);
+            CountDownLatch started = new CountDownLatch(1);
+            CompletableFuture<TaskResponse<Integer>> first = executor.submit(new TestTask(0, 0, executed, gate)
+                    .withStarted(started));
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+            executor.submit(new TestTask(0, 1, executed, null));
+            CompletableFuture<CompletableFuture<TaskResponse<Integer>>> stalled = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return executor.submit(new TestTask(0, 2, executed, null));
+                } catch (Exception ex) {
+                    throw new CompletionException(ex);
+                }
+            });
+            Thread.sleep(200);
+            assertFalse(stalled.isDone());
+            gate.countDown();
+            stalled.get(10, TimeUnit.SECONDS).get(10, TimeUnit.SECONDS);
+            first.get(10, TimeUnit.SECONDS);
+            assertEquals(List.of(0, 1, 2), executed.get(0));
+        } finally {
+            executor.close();
+        }
+    }
+
+    private static TestExecutor create(int shards, int queueSize, EBackpressurePolicy policy) throws Exception {
+        XMLConfiguration config = new XMLConfiguration();
+        config.addProperty(String.format("%s.%s", SchedulerSettings.__CONFIG_PATH,
+                ShardedExecutorSettings.Constants.CONFIG_SHARDS), shards);
+        config.addProperty(String.format("%s.%s", SchedulerSettings.__CONFIG_PATH,
+                ShardedExecutorSettings.Constants.CONFIG_QUEUE_SIZE), queueSize);
+        config.addProperty(String.format("%s.%s", SchedulerSettings.__CONFIG_PATH,
+                ShardedExecutorSettings.Constants.CONFIG_BACKPRESSURE), policy.name());
+        TestExecutor executor = new TestExecutor();
+        executor.init(config, new DemoEnv());
+        return executor;
+    }
+
+    private static final class TestExecutor extends BaseShardedExecutor<Integer> {
+        @Override
+        public int getShard(@NonNull BaseTask<Integer> task, int shardCount) {
+            return ((TestTask) task).key % shardCount;
+        }
+    }
+
+    private static final class TestTask extends BaseTask<Integer> {
+        private static final TestStateManager STATE_MANAGER = new TestStateManager();
+        private final int key;
+        private final int sequence;
+        private final Map<Integer, List<Integer>> executed;
+        private final CountDownLatch gate;
+        private CountDownLatch started;
+
+        private TestTask(int key,
+                         int sequence,
+                         Map<Integer, List<Integer>> executed,
+                         CountDownLatch gate) {
+            super(STATE_MANAGER, "test");
+            this.key = key;
+            this.sequence = sequence;
+            this.executed = executed;
+            this.gate = gate;
+        }
+
+        private TestTask withStarted(CountDownLatch started) {
+            this.started = started;
+            return this;
+        }
+
+        @Override
+        public TaskResponse<Integer> initResponse() {
+            return new TaskResponse<>();
+        }
+
+        @Override
+        public Integer execute() throws Exception {
+            if (started != null) {
+                started.countDown();
+            }
+            if (gate != null) {
+                assertTrue(gate.await(30, TimeUnit.SECONDS));
+            }
+            if (executed != null) {
+                executed.computeIfAbsent(key, k -> new CopyOnWriteArrayList<>()).add(sequence);
+            }
+            return sequence;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static final class TestStateManager extends BaseStateManager {
+        @Override
+        public BaseStateManager init(@NonNull HierarchicalConfiguration<ImmutableNode> xmlConfig,
+                                     @NonNull BaseEnv<?> env) {
+            return this;
+        }
+
+        @Override
+        public Heartbeat heartbeat(@NonNull String instance) {
+            return null;
+        }
+    }
+}
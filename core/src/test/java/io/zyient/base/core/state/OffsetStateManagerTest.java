@@ -0,0 +1,234 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.zyient.base.core.state;
+
+import io.zyient.base.core.BaseEnv;
+import io.zyient.base.core.DemoEnv;
+import io.zyient.base.core.connections.ConnectionManager;
+import io.zyient.base.core.connections.common.ZookeeperConnection;
+import io.zyient.base.core.connections.settings.common.ZookeeperSettings;
+import io.zyient.base.core.model.Heartbeat;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+import org.apache.commons.configuration2.HierarchicalConfiguration;
+import org.apache.commons.configuration2.tree.ImmutableNode;
+import org.apache.curator.test.TestingServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffsetStateManagerTest {
+    private static final String __CONNECTION_NAME = "test-zk";
+
+    private static TestingServer server;
+    private static ZookeeperConnection connection;
+    private static ZkEnv env;
+
+    @BeforeAll
+    public static void setup() throws Exception {
+        server = new TestingServer(true);
+        ZookeeperSettings settings = new ZookeeperSettings();
+        settings.setName(__CONNECTION_NAME);
+        settings.setConnectionString(server.getConnectString());
+        settings.setRetryEnabled(true);
+        connection = new ZookeeperConnection();
+        connection.setup(settings, new DemoEnv());
+        connection.connect();
+        ConnectionManager connections = new ConnectionManager();
+        connections.addConnection(__CONNECTION_NAME, connection);
+        env = new ZkEnv(connections);
+    }
+
+    @AfterAll
+    public static void stop() throws Exception {
+        connection.close();
+        server.close();
+    }
+
+    @Test
+    void fencedUntilReread() throws Exception {
+        try (TestOffsetStateManager first = manager("fenced");
+             TestOffsetStateManager second = manager("fenced")) {
+            TestOffsetState a = first.create("partition-0");
+            TestOffsetState b = second.read("partition-0");
+            assertNotNull(b);
+
+            b.getOffset().setValue(10);
+            b = second.update(advance(b));
+
+            a.getOffset().setValue(5);
+            TestOffsetState stale = advance(a);
+            assertThrows(StateManagerError.class, () -> first.update(stale));
+            assertThrows(StateManagerError.class, () -> first.update(stale));
+            assertEquals(10, second.read("partition-0").getOffset().getValue());
+
+            a = first.read("partition-0");
+            assertEquals(10, a.getOffset().getValue());
+            a.getOffset().setValue(11);
+            first.update(advance(a));
+            assertEquals(11, second.read("partition-0").getOffset().getValue());
+        }
+    }
+
+    @Test
+    void rereadAfterOwnWrites() throws Exception {
+        try (TestOffsetStateManager first = manager("reread");
+             TestOffsetStateManager second = manager("reread")) {
+            TestOffsetState a = first.create("partition-0");
+            for (int ii = 1; ii <= 5; ii++) {
+                a.getOffset().setValue(ii);
+                a = first.update(advance(a));
+            }
+            TestOffsetState b = second.read("partition-0");
+            assertEquals(5, b.getOffset().getValue());
+            for (int ii = 6; ii <= 10; ii++) {
+                b.getOffset().setValue(ii);
+                b = second.update(advance(b));
+            }
+            a = first.read("partition-0");
+            assertEquals(10, a.getOffset().getValue());
+            a.getOffset().setValue(11);
+            first.update(advance(a));
+            assertEquals(11, first.read("partition-0").getOffset().getValue());
+        }
+    }
+
+    private static TestOffsetStateManager manager(String name) throws Exception {
+        TestOffsetSettings settings = new TestOffsetSettings();
+        settings.setName(name);
+        settings.setZkConnection(__CONNECTION_NAME);
+        return (TestOffsetStateManager) new TestOffsetStateManager()
+                .withStateManager(new TestStateManager())
+                .init(settings, env);
+    }
+
+    /**
+     * Staleness is decided on update timestamps, keep consecutive writers at least a tick apart.
+     */
+    private static TestOffsetState advance(TestOffsetState state) throws Exception {
+        Thread.sleep(5);
+        return state;
+    }
+
+    public static class ZkEnv extends DemoEnv {
+        private final ConnectionManager connections;
+
+        public ZkEnv(@NonNull ConnectionManager connections) {
+            this.connections = connections;
+        }
+
+        @Override
+        public ConnectionManager connectionManager() {
+            return connections;
+        }
+    }
+
+    public static class TestStateManager extends BaseStateManager {
+        @Override
+        public String getOffsetPath(@NonNull String name) {
+            return String.format("/test/core/offsets/%s", name);
+        }
+
+        @Override
+        public BaseStateManager init(@NonNull HierarchicalConfiguration<ImmutableNode> xmlConfig,
+                                     @NonNull BaseEnv<?> env) {
+            return this;
+        }
+
+        @Override
+        public Heartbeat heartbeat(@NonNull String instance) {
+            return null;
+        }
+    }
+
+    public static class TestOffsetSettings extends OffsetStateManagerSettings {
+    }
+
+    @Getter
+    @Setter
+    public static class TestOffset extends Offset {
+        private long value;
+
+        @Override
+        public String asString() {
+            return String.valueOf(value);
+        }
+
+        @Override
+        public Offset fromString(@NonNull String source) {
+            value = Long.parseLong(source);
+            return this;
+        }
+
+        @Override
+        public int compareTo(Offset offset) {
+            return Long.compare(value, ((TestOffset) offset).value);
+        }
+    }
+
+    public enum ETestState {
+        Unknown, Running, Error
+    }
+
+    public static class TestOffsetState extends OffsetState<ETestState, TestOffset> {
+        public static final String OFFSET_TYPE = "test";
+
+        public TestOffsetState() {
+            super(ETestState.Error, ETestState.Unknown, OFFSET_TYPE);
+        }
+    }
+
+    public static class TestOffsetStateManager extends OffsetStateManager<TestOffset> {
+        @Override
+        public OffsetStateManager<TestOffset> init(@NonNull HierarchicalConfiguration<ImmutableNode> xmlConfig,
+                                                   @NonNull BaseEnv<?> env) throws StateManagerError {
+            try {
+                super.init(xmlConfig, env, TestOffsetSettings.class);
+                return this;
+            } catch (Exception ex) {
+                throw new StateManagerError(ex);
+            }
+        }
+
+        @Override
+        public OffsetStateManager<TestOffset> init(@NonNull OffsetStateManagerSettings settings,
+                                                   @NonNull BaseEnv<?> env) throws StateManagerError {
+            try {
+                setup(settings, env);
+                return this;
+            } catch (Exception ex) {
+                throw new StateManagerError(ex);
+            }
+        }
+
+        public TestOffsetState create(@NonNull String name) throws StateManagerError {
+            TestOffsetState state = create(TestOffsetState.OFFSET_TYPE, name, TestOffsetState.class);
+            if (state.getOffset() == null) {
+                state.setOffset(new TestOffset());
+            }
+            return update(state);
+        }
+
+        public TestOffsetState read(@NonNull String name) throws StateManagerError {
+            return get(TestOffsetState.OFFSET_TYPE, name, TestOffsetState.class);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.base.core.utils;
+
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HistogramTimerTest {
+
+    @Test
+    void record() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        HistogramTimer timer = HistogramTimer.register("timer_test", "test",
+                new String[]{"TAG", "one"},
+                new double[]{0.5, 0.99},
+                new double[]{100},
+                HistogramTimer.DEFAULT_WINDOW_MS,
+                registry);
+        Thread thread = new Thread(() -> {
+            for (int ii = 1; ii <= 1000; ii++) {
+                timer.record(ii);
+            }
+        });
+        thread.start();
+        thread.join();
+        timer.record(1000);
+
+        assertEquals(1001, timer.count());
+        assertEquals(501500, timer.totalAmount());
+        HistogramSnapshot snapshot = timer.takeSnapshot();
+        assertEquals(500, snapshot.percentileValues()[0].value(), 5);
+        assertEquals(990, snapshot.percentileValues()[1].value(), 10);
+        assertEquals(100, snapshot.histogramCounts()[0].count());
+        assertNotNull(registry.find("timer_test.percentile").tag(HistogramTimer.TAG_PERCENTILE, "0.99").gauge());
+    }
+
+    @Test
+    void registerExisting() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        HistogramTimer one = HistogramTimer.register("timer_test", "test",
+                new String[]{"TAG", "one"}, null, null, HistogramTimer.DEFAULT_WINDOW_MS, registry);
+        HistogramTimer same = HistogramTimer.register("timer_test", "test",
+                new String[]{"TAG", "one"}, null, null, HistogramTimer.DEFAULT_WINDOW_MS, registry);
+        HistogramTimer other = HistogramTimer.register("timer_test", "test",
+                new String[]{"TAG", "two"}, null, null, HistogramTimer.DEFAULT_WINDOW_MS, registry);
+        assertSame(one, same);
+        assertNotSame(one, other);
+    }
+}
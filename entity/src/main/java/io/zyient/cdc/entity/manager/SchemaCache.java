@@ -16,8 +16,7 @@
 
 package io.zyient.cdc.entity.manager;
 
-import io.zyient.base.common.cache.Expireable;
-import io.zyient.base.common.cache.LRUCache;
+import io.zyient.base.common.cache.TinyLfuCache;
 import io.zyient.cdc.entity.schema.EntitySchema;
 import io.zyient.cdc.entity.schema.SchemaEntity;
 import io.zyient.cdc.entity.schema.SchemaVersion;
@@ -25,18 +24,19 @@ import lombok.NonNull;
 
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 public class SchemaCache {
 
-    private final LRUCache<String, Expireable<EntitySchema>> schemaCache;
+    private final TinyLfuCache<String, EntitySchema> schemaCache;
     private final Map<String, SchemaVersion> versionCache = new HashMap<>();
-    private final long cacheTimeout;
 
     public SchemaCache(int size,
                        long cacheTimeout) {
-        schemaCache = new LRUCache<>(size);
-        this.cacheTimeout = cacheTimeout;
+        schemaCache = new TinyLfuCache<>(size);
+        if (cacheTimeout > 0) {
+            schemaCache.withExpireAfterWrite(cacheTimeout, TimeUnit.MILLISECONDS);
+        }
     }
 
     public synchronized SchemaVersion checkAndAdd(@NonNull SchemaEntity entity,
@@ -64,17 +64,14 @@ public class SchemaCache {
     public synchronized void addSchema(@NonNull SchemaEntity entity,
                                        @NonNull EntitySchema schema) {
         checkAndAdd(entity, schema.getVersion());
-        Expireable<EntitySchema> ce = new Expireable<>(schema);
         String key = schemaCacheKey(entity, schema.getVersion());
-        schemaCache.put(key, ce);
+        schemaCache.put(key, schema);
     }
 
     public synchronized void removeSchema(@NonNull SchemaEntity entity,
                                           @NonNull SchemaVersion version) {
         String key = schemaCacheKey(entity, version);
-        if (schemaCache.containsKey(key)) {
-            schemaCache.remove(key);
-        }
+        schemaCache.remove(key);
         key = schemaVersionCacheKey(entity);
         if (versionCache.containsKey(key)) {
             SchemaVersion current = versionCache.get(key);
@@ -90,18 +87,7 @@ public class SchemaCache {
             return get(entity);
         }
         String key = schemaCacheKey(entity, version);
-        if (schemaCache.containsKey(key)) {
-            Optional<Expireable<EntitySchema>> o = schemaCache.get(key);
-            if (o.isPresent()) {
-                Expireable<EntitySchema> ce = o.get();
-                if (!ce.expired(cacheTimeout)) {
-                    return ce.element();
-                } else {
-                    schemaCache.remove(key);
-                }
-            }
-        }
-        return null;
+        return schemaCache.get(key).orElse(null);
     }
 
     public EntitySchema get(@NonNull SchemaEntity entity) {
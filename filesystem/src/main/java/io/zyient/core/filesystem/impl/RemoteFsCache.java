@@ -17,7 +17,7 @@
 package io.zyient.core.filesystem.impl;
 
 import io.zyient.base.common.cache.EvictionCallback;
-import io.zyient.base.common.cache.LRUCache;
+import io.zyient.base.common.cache.TinyLfuCache;
 import io.zyient.base.common.config.ConfigReader;
 import io.zyient.base.common.utils.DefaultLogger;
 import io.zyient.core.filesystem.model.FileInode;
@@ -33,7 +33,6 @@ import java.io.File;
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Optional;
 
 @Getter
 @Accessors(fluent = true)
@@ -49,7 +48,7 @@ public class RemoteFsCache implements EvictionCallback<String, RemoteFsCache.FsC
         private long updatedTime;
     }
 
-    private final Map<String, LRUCache<String, FsCacheEntry>> cache = new HashMap<>();
+    private final Map<String, TinyLfuCache<String, FsCacheEntry>> cache = new HashMap<>();
     private final RemoteFileSystem fs;
     private FsCacheSettings settings;
 
@@ -85,14 +84,8 @@ public class RemoteFsCache implements EvictionCallback<String, RemoteFsCache.FsC
 
     public File get(@NonNull FileInode inode) throws Exception {
         synchronized (cache) {
-            LRUCache<String, FsCacheEntry> cache = getDomainCache(inode.getDomain());
-            FsCacheEntry entry = null;
-            if (cache.containsKey(inode.getUuid())) {
-                Optional<FsCacheEntry> op = cache.get(inode.getUuid());
-                if (op.isPresent()) {
-                    entry = op.get();
-                }
-            }
+            TinyLfuCache<String, FsCacheEntry> cache = getDomainCache(inode.getDomain());
+            FsCacheEntry entry = cache.get(inode.getUuid()).orElse(null);
             boolean fetch = false;
             if (entry == null) {
                 fetch = true;
@@ -120,14 +113,8 @@ public class RemoteFsCache implements EvictionCallback<String, RemoteFsCache.FsC
     public File put(@NonNull FileInode inode,
                     @NonNull File path) throws Exception {
         synchronized (cache) {
-            LRUCache<String, FsCacheEntry> cache = getDomainCache(inode.getDomain());
-            FsCacheEntry entry = null;
-            if (cache.containsKey(inode.getUuid())) {
-                Optional<FsCacheEntry> op = cache.get(inode.getUuid());
-                if (op.isPresent()) {
-                    entry = op.get();
-                }
-            }
+            TinyLfuCache<String, FsCacheEntry> cache = getDomainCache(inode.getDomain());
+            FsCacheEntry entry = cache.get(inode.getUuid()).orElse(null);
             if (entry == null) {
                 entry = new FsCacheEntry();
                 entry.key = inode.getUuid();
@@ -141,10 +128,10 @@ public class RemoteFsCache implements EvictionCallback<String, RemoteFsCache.FsC
         }
     }
 
-    private LRUCache<String, FsCacheEntry> getDomainCache(String domain) {
-        LRUCache<String, FsCacheEntry> cache = this.cache.get(domain);
+    private TinyLfuCache<String, FsCacheEntry> getDomainCache(String domain) {
+        TinyLfuCache<String, FsCacheEntry> cache = this.cache.get(domain);
         if (cache == null) {
-            cache = new LRUCache<String, FsCacheEntry>(settings.getCacheSize())
+            cache = new TinyLfuCache<String, FsCacheEntry>(settings.getCacheSize())
                     .withEvictionCallback(this);
             this.cache.put(domain, cache);
         }
@@ -24,12 +24,15 @@ import io.zyient.base.core.BaseEnv;
 import io.zyient.base.core.connections.ConnectionManager;
 import io.zyient.base.core.processing.ProcessorState;
 import io.zyient.core.mapping.model.InputContentInfo;
+import io.zyient.core.mapping.pipeline.PartitionedPipelineSource;
 import io.zyient.core.mapping.pipeline.Pipeline;
 import io.zyient.core.mapping.pipeline.PipelineBuilder;
 import io.zyient.core.mapping.pipeline.PipelineHandle;
 import io.zyient.core.mapping.pipeline.PipelineSource;
 import io.zyient.core.mapping.readers.InputReader;
+import io.zyient.core.mapping.readers.InputSplit;
 import io.zyient.core.mapping.readers.ReadResponse;
+import io.zyient.core.mapping.readers.SplittableReader;
 import io.zyient.core.persistence.DataStoreManager;
 import io.zyient.core.persistence.env.DataStoreEnv;
 import lombok.AccessLevel;
@@ -41,8 +44,12 @@ import org.apache.commons.configuration2.ex.ConfigurationException;
 import org.apache.commons.configuration2.tree.ImmutableNode;
 
 import java.io.Closeable;
+import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
@@ -57,6 +64,7 @@ public class MappingExecutor implements Closeable {
     private PipelineBuilder builder;
     private MappingExecutorSettings settings;
     private ExecutorService executorService;
+    private ExecutorService partitionService;
     private DataStoreManager dataStoreManager;
     private ConnectionManager connectionManager;
     private DataStoreEnv<?> env;
@@ -81,6 +89,11 @@ public class MappingExecutor implements Closeable {
                     settings.getNumThreads(),
                     0L, TimeUnit.MILLISECONDS,
                     new LinkedBlockingQueue<>(settings.getTaskQueueSize()));
+            if (settings.getPartitions() > 1) {
+                // Partition workers of an ordered read wait on the writer, all of them must be
+                // able to run at once.
+                partitionService = Executors.newCachedThreadPool();
+            }
             state.setState(ProcessorState.EProcessorState.Running);
 
             builder = new PipelineBuilder()
@@ -116,10 +129,51 @@ public class MappingExecutor implements Closeable {
         }
         Reader reader = new Reader(handle.pipeline(),
                 handle.reader(),
-                contentInfo);
+                contentInfo,
+                partition(handle, contentInfo),
+                partitionService,
+                settings.isPartitionOrdered());
         executorService.submit(reader);
     }
 
+    /**
+     * Split the input into partitions, if partitioned reads are enabled and supported by the
+     * pipeline and the reader.
+     *
+     * @return Readers for the partitions or null if the input is read as a whole.
+     */
+    private List<InputReader> partition(PipelineHandle handle,
+                                        InputContentInfo contentInfo) throws Exception {
+        if (settings.getPartitions() <= 1
+                || !(handle.pipeline() instanceof PartitionedPipelineSource)
+                || !(handle.reader() instanceof SplittableReader)
+                || !((SplittableReader) handle.reader()).splittable()) {
+            return null;
+        }
+        File file = contentInfo.path();
+        if (file == null || !file.isFile()) {
+            return null;
+        }
+        List<InputSplit> splits = InputSplit.plan(file.length(),
+                settings.getPartitions(),
+                settings.getPartitionMinSize());
+        if (splits.size() < 2) {
+            return null;
+        }
+        InputReader reader = handle.reader();
+        List<InputReader> readers = new ArrayList<>(splits.size());
+        for (InputSplit split : splits) {
+            readers.add(reader.getClass()
+                    .getDeclaredConstructor()
+                    .newInstance()
+                    .settings(reader.settings())
+                    .input(reader.input())
+                    .contentInfo(reader.contentInfo())
+                    .split(split));
+        }
+        return readers;
+    }
+
     @Override
     public void close() throws IOException {
         if (state.isRunning() || state.isAvailable()) {
@@ -136,6 +190,10 @@ public class MappingExecutor implements Closeable {
             }
             executorService = null;
         }
+        if (partitionService != null) {
+            partitionService.shutdownNow();
+            partitionService = null;
+        }
         __instance = null;
     }
 
@@ -156,7 +214,10 @@ public class MappingExecutor implements Closeable {
 
     private record Reader(Pipeline pipeline,
                           InputReader reader,
-                          InputContentInfo contentInfo) implements Runnable {
+                          InputContentInfo contentInfo,
+                          List<InputReader> partitions,
+                          ExecutorService partitionService,
+                          boolean ordered) implements Runnable {
 
         @Override
         public void run() {
@@ -168,7 +229,15 @@ public class MappingExecutor implements Closeable {
                 DefaultLogger.info(String.format("Starting pipeline. [name=%s]", pipeline.name()));
                 DefaultLogger.trace(pipeline.name(), contentInfo);
 
-                ReadResponse response = ((PipelineSource) pipeline).read(reader, contentInfo);
+                ReadResponse response;
+                if (partitions != null) {
+                    response = ((PartitionedPipelineSource) pipeline).read(partitions,
+                            contentInfo,
+                            partitionService,
+                            ordered);
+                } else {
+                    response = ((PipelineSource) pipeline).read(reader, contentInfo);
+                }
                 if (contentInfo.callback() != null) {
                     contentInfo.callback().onSuccess(contentInfo, response);
                 }
@@ -32,4 +32,19 @@ public class MappingExecutorSettings extends Settings {
     private int numThreads = 8;
     @Config(name = "taskQueueSize", required = false, type = Integer.class)
     private int taskQueueSize = 128;
+    /**
+     * Number of partitions a splittable input is read in, in parallel. 1 reads inputs on a single thread.
+     */
+    @Config(name = "partitions.count", required = false, type = Integer.class)
+    private int partitions = 1;
+    /**
+     * Minimum size (bytes) of a partition, smaller inputs are read in fewer partitions.
+     */
+    @Config(name = "partitions.minSize", required = false, type = Long.class)
+    private long partitionMinSize = 64 * 1024 * 1024;
+    /**
+     * Write the records of a partitioned read in input order.
+     */
+    @Config(name = "partitions.ordered", required = false, type = Boolean.class)
+    private boolean partitionOrdered = true;
 }
@@ -18,6 +18,7 @@ import lombok.experimental.Accessors;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Getter
 @Accessors(fluent = true)
@@ -38,7 +39,8 @@ public class MapTransformer<T> {
     private final Class<? extends T> type;
     private final MappingSettings settings;
     private final Map<String, MapNode> mapper = new HashMap<>();
-    private final Map<String, Transformer<?>> transformers = new HashMap<>();
+    // Transformers of conditional mappings are created on first use, possibly by concurrent reads.
+    private final Map<String, Transformer<?>> transformers = new ConcurrentHashMap<>();
 
     public MapTransformer(@NonNull Class<? extends T> type, @NonNull MappingSettings settings) {
         this.type = type;
@@ -59,7 +61,7 @@ public class MapTransformer<T> {
         return this;
     }
 
-    private Transformer<?> findTransformer(MappedElement elem, boolean create) throws Exception {
+    Transformer<?> findTransformer(MappedElement elem, boolean create) throws Exception {
         if (elem instanceof CustomMappedElement element) {
             if (transformers.containsKey(element.getTransformer())) {
                 Transformer<?> transformer = transformers.get(element.getTransformer());
@@ -72,8 +74,8 @@ public class MapTransformer<T> {
                 Transformer<?> transformer = element.getTransformerClass().getDeclaredConstructor()
                         .newInstance()
                         .configure(settings);
-                transformers.put(transformer.name(), transformer);
-                return transformer;
+                Transformer<?> current = transformers.putIfAbsent(transformer.name(), transformer);
+                return (current != null ? current : transformer);
             }
         } else if (elem instanceof RegexMappedElement element) {
             if (transformers.containsKey(element.getName())) {
@@ -85,8 +87,8 @@ public class MapTransformer<T> {
                         .format(element.getFormat())
                         .replace(element.getReplace())
                         .configure(settings);
-                transformers.put(element.getName(), transformer);
-                return transformer;
+                Transformer<?> current = transformers.putIfAbsent(element.getName(), transformer);
+                return (current != null ? current : transformer);
             }
         }
         return null;
@@ -47,10 +47,8 @@ import org.apache.commons.configuration2.ex.ConfigurationException;
 import org.apache.commons.configuration2.tree.ImmutableNode;
 
 import java.io.File;
-import java.util.Date;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Getter
 @Accessors(fluent = true)
@@ -64,7 +62,7 @@ public abstract class Mapping<T> {
     private File contentDir;
     private final Map<Integer, Mapped> sourceIndex = new HashMap<>();
     private MappingSettings settings;
-    private final Map<String, DeSerializer<?>> deSerializers = new HashMap<>();
+    private final Map<String, DeSerializer<?>> deSerializers = new ConcurrentHashMap<>();
     private RulesExecutor<MappedResponse<T>> rulesExecutor;
     private MappingContextProvider contextProvider;
     private RulesCache<MappedResponse<T>> rulesCache;
@@ -75,6 +73,7 @@ public abstract class Mapping<T> {
     private StringTransformer stringTransformer;
     private EvaluationTree<Map<String, Object>, ConditionalMappedElement> evaluationTree;
     private BaseEnv<?> env;
+    private MappingPlan<T> plan;
 
     protected Mapping(@NonNull Class<? extends T> entityType,
                       @NonNull Class<? extends MappedResponse<T>> responseType) {
@@ -135,6 +134,9 @@ public abstract class Mapping<T> {
                 }
                 mapper.registerModule(module);
             }
+            if (settings.isCompilePlan()) {
+                compilePlan();
+            }
             checkAndLoadFilters(config);
             checkAndLoadRules(config);
             return this;
@@ -143,6 +145,22 @@ public abstract class Mapping<T> {
         }
     }
 
+    private void compilePlan() throws Exception {
+        List<MappedElement> elements = new ArrayList<>(sourceIndex.size());
+        List<Integer> sequences = new ArrayList<>(sourceIndex.keySet());
+        Collections.sort(sequences);
+        for (Integer sequence : sequences) {
+            if (sourceIndex.get(sequence) instanceof MappedElement me) {
+                elements.add(me);
+            }
+        }
+        plan = MappingPlan.compile(entityType, elements, mapTransformer, deSerializers, mapper);
+        if (plan == null) {
+            DefaultLogger.info(String.format("Mapping plan not compiled, using transformed map. [mapping=%s]",
+                    name()));
+        }
+    }
+
     private void checkAndLoadFilters(HierarchicalConfiguration<ImmutableNode> xmlConfig) throws Exception {
         if (ConfigReader.checkIfNodeExists(xmlConfig, FilterChain.__CONFIG_PATH)) {
             HierarchicalConfiguration<ImmutableNode> config = xmlConfig.configurationAt(FilterChain.__CONFIG_PATH);
@@ -228,6 +246,9 @@ public abstract class Mapping<T> {
                     if (me.getMappingType() == MappingType.Field
                             || me.getMappingType() == MappingType.ConstField) {
                         mapTransformer.add(me);
+                    } else {
+                        // Created up front, records can be read concurrently (partitioned reads).
+                        mapTransformer.findTransformer(me, true);
                     }
                 }
             }
@@ -262,8 +283,13 @@ public abstract class Mapping<T> {
                 return response;
             }
         }
-        Map<String, Object> converted = mapTransformer.transform(source, entityType);
-        T entity = mapper.convertValue(converted, entityType);
+        T entity;
+        if (plan != null) {
+            entity = plan.read(source);
+        } else {
+            Map<String, Object> converted = mapTransformer.transform(source, entityType);
+            entity = mapper.convertValue(converted, entityType);
+        }
         response.setEntity(entity);
 
         for (Integer index : sourceIndex.keySet()) {
@@ -437,7 +463,7 @@ public abstract class Mapping<T> {
             } else {
                 Object o = node.get(key);
                 if (o instanceof Map<?, ?>) {
-                    findSourceValue((Map<String, Object>) o, parts, index + 1);
+                    return findSourceValue((Map<String, Object>) o, parts, index + 1);
                 }
             }
         }
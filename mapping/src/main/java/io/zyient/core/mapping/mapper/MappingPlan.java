@@ -0,0 +1,243 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.core.mapping.mapper;
+
+import com.fasterxml.jackson.annotation.JacksonAnnotation;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.primitives.Primitives;
+import io.zyient.base.common.utils.DefaultLogger;
+import io.zyient.base.common.utils.ReflectionHelper;
+import io.zyient.base.common.utils.beans.MethodAccessors;
+import io.zyient.base.common.utils.beans.PropertyAccessor;
+import io.zyient.base.common.utils.beans.PropertyDef;
+import io.zyient.core.mapping.model.mapping.MappedElement;
+import io.zyient.core.mapping.model.mapping.MappingType;
+import io.zyient.core.mapping.transformers.DeSerializer;
+import io.zyient.core.mapping.transformers.Transformer;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.experimental.Accessors;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Execution plan of the field mappings (Field/ConstField) of a {@link Mapping}, compiled once from
+ * the mapping definition: source paths are pre-split, target properties are bound to compiled
+ * accessors and the value converter of each target type is resolved up front. Records are written
+ * straight into a new entity instead of a transformed {@link Map} converted by Jackson.
+ * <p>
+ * The plan is immutable and can be shared across threads.
+ */
+@Getter
+@Accessors(fluent = true)
+public final class MappingPlan<T> {
+    @FunctionalInterface
+    private interface Converter {
+        Object convert(Object value) throws Exception;
+    }
+
+    private record Step(String[] source,
+                        Object constant,
+                        String target,
+                        PropertyAccessor accessor,
+                        Transformer<?> transformer,
+                        Converter converter,
+                        boolean nullable) {
+    }
+
+    private final Class<? extends T> entityType;
+    @Getter(AccessLevel.NONE)
+    private final Supplier<Object> constructor;
+    @Getter(AccessLevel.NONE)
+    private final Step[] steps;
+
+    private MappingPlan(Class<? extends T> entityType, Supplier<Object> constructor, Step[] steps) {
+        this.entityType = entityType;
+        this.constructor = constructor;
+        this.steps = steps;
+    }
+
+    public int size() {
+        return steps.length;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T read(@NonNull Map<String, Object> source) throws Exception {
+        T entity = (T) constructor.get();
+        for (Step step : steps) {
+            Object value = step.constant;
+            if (value == null) {
+                value = findValue(source, step.source);
+            }
+            if (value == null) {
+                if (!step.nullable) {
+                    throw new Exception(String.format("Field is not nullable. [field=%s]", step.target));
+                }
+                continue;
+            }
+            if (step.transformer != null) {
+                value = step.transformer.read(value);
+            }
+            value = step.converter.convert(value);
+            if (value != null) {
+                step.accessor.setValue(entity, value);
+            }
+        }
+        return entity;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object findValue(Map<String, Object> source, String[] path) throws Exception {
+        Object value = source.get(path[0]);
+        for (int ii = 1; ii < path.length && value != null; ii++) {
+            if (!(value instanceof Map<?, ?>)) {
+                throw new Exception(String.format("Invalid node type: Expected Map<String, Object> [type=%s]",
+                        value.getClass().getCanonicalName()));
+            }
+            value = ((Map<String, Object>) value).get(path[ii]);
+        }
+        return value;
+    }
+
+    /**
+     * Compile the field mappings of a mapping definition.
+     *
+     * @param entityType    - Target entity type
+     * @param elements      - Mapped elements, in sequence order (non-field mappings are skipped)
+     * @param transformer   - Map transformer holding the custom/regex transformers
+     * @param deSerializers - Registered value de-serializers (by type name)
+     * @param mapper        - Object mapper, converts the values of types without a de-serializer
+     * @return - Compiled plan or NULL if the definition can only be executed through the transformed Map
+     */
+    public static <T> MappingPlan<T> compile(@NonNull Class<? extends T> entityType,
+                                             @NonNull List<MappedElement> elements,
+                                             @NonNull MapTransformer<T> transformer,
+                                             @NonNull Map<String, DeSerializer<?>> deSerializers,
+                                             @NonNull ObjectMapper mapper) throws Exception {
+        if (entityType.isInterface() || Modifier.isAbstract(entityType.getModifiers())) {
+            return null;
+        }
+        try {
+            entityType.getDeclaredConstructor();
+        } catch (NoSuchMethodException ex) {
+            return null;
+        }
+        List<Step> steps = new ArrayList<>(elements.size());
+        Set<String> sources = new HashSet<>();
+        for (MappedElement element : elements) {
+            if (element.getMappingType() != MappingType.Field
+                    && element.getMappingType() != MappingType.ConstField) {
+                continue;
+            }
+            String target = element.getTargetPath();
+            if (target.indexOf('[') >= 0 || target.indexOf('(') >= 0) {
+                // Keyed targets are resolved differently by the transformed Map.
+                DefaultLogger.debug(String.format("Mapping not compiled, keyed target. [target=%s]", target));
+                return null;
+            }
+            // Same as the transformed Map: the first mapping of a source wins.
+            if (!sources.add(element.getSourcePath())) {
+                continue;
+            }
+            PropertyDef property = ReflectionHelper.findProperty(entityType, target);
+            if (property == null || property.type() == null) {
+                throw new Exception(String.format("Target field not found. [class=%s][field=%s]",
+                        entityType.getCanonicalName(), target));
+            }
+            if (annotated(entityType, target)) {
+                // Jackson annotated properties (renamed, ignored, custom de-serializers) are only
+                // honoured when the transformed Map is converted by the object mapper.
+                DefaultLogger.debug(String.format("Mapping not compiled, annotated target. [target=%s]", target));
+                return null;
+            }
+            boolean constant = (element.getMappingType() == MappingType.ConstField);
+            steps.add(new Step(constant ? null : element.getSourcePath().split("\\."),
+                    constant ? element.getSourcePath() : null,
+                    target,
+                    PropertyAccessor.get(entityType, target),
+                    transformer.findTransformer(element, true),
+                    converter(Primitives.wrap(property.type()), deSerializers, mapper),
+                    element.isNullable()));
+        }
+        return new MappingPlan<>(entityType,
+                MethodAccessors.constructor(entityType),
+                steps.toArray(new Step[0]));
+    }
+
+    private static boolean annotated(Class<?> entityType, String target) throws Exception {
+        String[] parts = target.split("\\.");
+        StringBuilder path = new StringBuilder();
+        for (String part : parts) {
+            if (!path.isEmpty()) {
+                path.append(".");
+            }
+            path.append(part);
+            PropertyDef property = ReflectionHelper.findProperty(entityType, path.toString());
+            if (property != null
+                    && (annotated(property.field()) || annotated(property.getter()) || annotated(property.setter()))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean annotated(AnnotatedElement element) {
+        if (element == null) {
+            return false;
+        }
+        for (Annotation annotation : element.getAnnotations()) {
+            if (annotation.annotationType().isAnnotationPresent(JacksonAnnotation.class)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Converter converter(Class<?> type,
+                                       Map<String, DeSerializer<?>> deSerializers,
+                                       ObjectMapper mapper) {
+        DeSerializer<?> deSerializer = deSerializers.get(type.getCanonicalName());
+        if (deSerializer != null && type.equals(deSerializer.type())) {
+            // De-serializers read the value text, as they do when registered with the object mapper.
+            return (value) -> {
+                if (type.isInstance(value)) {
+                    return value;
+                }
+                String text = (value instanceof String ? (String) value : String.valueOf(value));
+                if (text.isEmpty()) {
+                    return null;
+                }
+                return deSerializer.transform(text);
+            };
+        }
+        return (value) -> {
+            if (type.isInstance(value)) {
+                return value;
+            }
+            return mapper.convertValue(value, type);
+        };
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.core.mapping.pipeline;
+
+import io.zyient.base.common.model.Context;
+import io.zyient.base.common.model.ValidationExceptions;
+import io.zyient.base.common.model.entity.IEntity;
+import io.zyient.base.common.model.entity.IKey;
+import io.zyient.base.common.utils.DefaultLogger;
+import io.zyient.core.mapping.model.RecordResponse;
+import io.zyient.core.mapping.readers.ReadResponse;
+import io.zyient.core.persistence.BatchResult;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.experimental.Accessors;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes the records of a persistence pipeline in commit chunks: entities are queued and written
+ * with one bulk create per chunk. The data store commits the bulk write itself and reports the
+ * entities it could not write, those records are reported as record errors while the rest of the
+ * chunk stays committed. Only a chunk the store rejects as a whole (nothing reported as written)
+ * is retried in halves, so that a failing record is isolated in O(log(chunk)) writes.
+ * <p>
+ * Validation errors of the written entities are saved in one pipeline transaction per chunk, if that
+ * fails they are saved one record at a time and the records whose errors can't be saved are reported
+ * as record errors (their entities stay written). Records are reported to the read response once the
+ * outcome of their chunk is known, together with the batch and commit counts.
+ */
+@Getter
+@Accessors(fluent = true)
+public class ChunkCommitter<K extends IKey, E extends IEntity<K>> {
+    private record Pending<E>(RecordResponse response, E entity, ValidationExceptions errors) {
+    }
+
+    private final PersistencePipeline<K, E> pipeline;
+    private final int chunkSize;
+    private final ReadResponse response;
+    private final Context context;
+    private final List<Pending<E>> pending;
+    private long commits = 0;
+    private long retries = 0;
+
+    public ChunkCommitter(@NonNull PersistencePipeline<K, E> pipeline,
+                          int chunkSize,
+                          @NonNull ReadResponse response,
+                          Context context) {
+        this.pipeline = pipeline;
+        this.chunkSize = Math.max(chunkSize, 1);
+        this.response = response;
+        this.context = context;
+        this.pending = new ArrayList<>(this.chunkSize);
+    }
+
+    /**
+     * Queue the record entity, the chunk is written once full.
+     */
+    public void add(@NonNull RecordResponse record,
+                    @NonNull E entity,
+                    ValidationExceptions errors) throws Exception {
+        pending.add(new Pending<>(record, entity, errors));
+        if (pending.size() >= chunkSize) {
+            flush();
+        }
+    }
+
+    /**
+     * Report a record that is not written (ignored by the mapping).
+     */
+    public void skip(@NonNull RecordResponse record) throws Exception {
+        response.add(record);
+    }
+
+    /**
+     * Write the queued records.
+     */
+    public void flush() throws Exception {
+        if (pending.isEmpty()) {
+            return;
+        }
+        try {
+            write(pending);
+        } finally {
+            pending.clear();
+        }
+    }
+
+    private void write(List<Pending<E>> chunk) throws Exception {
+        List<E> entities = new ArrayList<>(chunk.size());
+        for (Pending<E> p : chunk) {
+            entities.add(p.entity());
+        }
+        BatchResult<E> result;
+        try {
+            result = pipeline.dataStore().createAll(entities, pipeline.entityType(), context);
+        } catch (Throwable t) {
+            if (chunk.size() == 1) {
+                failed(chunk.get(0), t);
+                response.add(chunk.get(0).response());
+                return;
+            }
+            retries++;
+            DefaultLogger.debug(String.format("[%s] Chunk write failed, retrying halves. [size=%d][error=%s]",
+                    pipeline.name(), chunk.size(), t.getLocalizedMessage()));
+            int mid = chunk.size() / 2;
+            write(chunk.subList(0, mid));
+            write(chunk.subList(mid, chunk.size()));
+            return;
+        }
+        commits++;
+        response.incrementBatchCount();
+        boolean[] failed = new boolean[chunk.size()];
+        for (BatchResult.Failure<E> failure : result.failures()) {
+            failed[failure.index()] = true;
+            failed(chunk.get(failure.index()), failure.error());
+        }
+        List<Pending<E>> errors = new ArrayList<>();
+        for (int ii = 0; ii < chunk.size(); ii++) {
+            Pending<E> p = chunk.get(ii);
+            if (!failed[ii]) {
+                response.incrementCommitCount();
+                if (p.errors() != null) {
+                    errors.add(p);
+                }
+            }
+        }
+        if (!errors.isEmpty()) {
+            saveErrors(errors);
+        }
+        for (Pending<E> p : chunk) {
+            response.add(p.response());
+        }
+    }
+
+    private void saveErrors(List<Pending<E>> records) throws Exception {
+        Throwable error = save(records);
+        if (error == null) {
+            return;
+        }
+        if (records.size() == 1) {
+            failed(records.get(0), error);
+            return;
+        }
+        DefaultLogger.debug(String.format("[%s] Validation errors not saved, saving per record. [size=%d][error=%s]",
+                pipeline.name(), records.size(), error.getLocalizedMessage()));
+        for (Pending<E> p : records) {
+            error = save(List.of(p));
+            if (error != null) {
+                failed(p, error);
+            }
+        }
+    }
+
+    private Throwable save(List<Pending<E>> records) throws Exception {
+        pipeline.beingTransaction();
+        try {
+            for (Pending<E> p : records) {
+                pipeline.save(p.entity(), p.errors(), context);
+            }
+            pipeline.commit();
+            return null;
+        } catch (Throwable t) {
+            pipeline.rollback();
+            return t;
+        }
+    }
+
+    private void failed(Pending<E> record, Throwable error) {
+        String mesg = String.format("[%s] Record write failed: %s", pipeline.name(), error.getLocalizedMessage());
+        DefaultLogger.warn(mesg);
+        Exception ex = (error instanceof Exception ? (Exception) error : new Exception(error));
+        pipeline.errorResponse(record.response(), null, ex);
+    }
+}
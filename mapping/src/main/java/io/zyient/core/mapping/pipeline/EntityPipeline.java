@@ -68,6 +68,27 @@ public class EntityPipeline<K extends IKey, E extends IEntity<K>> extends Persis
 
     @Override
     public RecordResponse execute(@NonNull SourceMap data, Context context) throws Exception {
+        return write(map(data, context), context);
+    }
+
+    /**
+     * Map the record and queue its entity on the committer, the entity is written with the chunk.
+     * The record response is reported to the read response by the committer, once the outcome of
+     * the write is known.
+     */
+    public RecordResponse process(@NonNull SourceMap data,
+                                  Context context,
+                                  @NonNull ChunkCommitter<K, E> committer) throws Exception {
+        checkState();
+        RecordResponse response = map(data, context);
+        write(response, committer);
+        return response;
+    }
+
+    /**
+     * Map the record (and run the post-processor), nothing is written.
+     */
+    protected RecordResponse map(@NonNull SourceMap data, Context context) throws Exception {
         RecordResponse response = new RecordResponse();
         response.setSource(data);
         MappedResponse<E> r = mapping().read(data, context);
@@ -77,10 +98,18 @@ public class EntityPipeline<K extends IKey, E extends IEntity<K>> extends Persis
             EvaluationStatus ret = postProcessor().evaluate(r);
             response.setStatus(ret);
         }
+        return response;
+    }
+
+    /**
+     * Write the entity of a mapped record in its own transaction.
+     */
+    @SuppressWarnings("unchecked")
+    protected RecordResponse write(@NonNull RecordResponse response, Context context) throws Exception {
         if (response.getStatus().getStatus() != StatusCode.IgnoreRecord) {
             beingTransaction();
             try {
-                E entity = save(r.getEntity(), context);
+                E entity = save((E) response.getEntity(), context);
                 ValidationExceptions errors = response.getStatus().getErrors();
                 if (errors != null) {
                     if (settings().isTerminateOnValidationError()) {
@@ -97,8 +126,28 @@ public class EntityPipeline<K extends IKey, E extends IEntity<K>> extends Persis
                 throw new Exception(t);
             }
         } else if (DefaultLogger.isTraceEnabled()) {
-            DefaultLogger.trace("RECORD IGNORED", data);
+            DefaultLogger.trace("RECORD IGNORED", response.getSource());
         }
         return response;
     }
+
+    /**
+     * Queue the entity of a mapped record on the committer.
+     */
+    @SuppressWarnings("unchecked")
+    protected void write(@NonNull RecordResponse response,
+                         @NonNull ChunkCommitter<K, E> committer) throws Exception {
+        if (response.getStatus().getStatus() != StatusCode.IgnoreRecord) {
+            ValidationExceptions errors = response.getStatus().getErrors();
+            if (errors != null && settings().isTerminateOnValidationError()) {
+                throw errors;
+            }
+            committer.add(response, (E) response.getEntity(), errors);
+        } else {
+            if (DefaultLogger.isTraceEnabled()) {
+                DefaultLogger.trace("RECORD IGNORED", response.getSource());
+            }
+            committer.skip(response);
+        }
+    }
 }
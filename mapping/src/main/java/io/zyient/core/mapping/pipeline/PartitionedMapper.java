@@ -0,0 +1,213 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.core.mapping.pipeline;
+
+import io.zyient.base.common.utils.DefaultLogger;
+import io.zyient.core.mapping.model.RecordResponse;
+import io.zyient.core.mapping.model.mapping.SourceMap;
+import io.zyient.core.mapping.readers.InputReader;
+import io.zyient.core.mapping.readers.ReadCursor;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.experimental.Accessors;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * Reads and maps the partitions of an input in parallel, one worker per partition, and hands the
+ * mapped records to a single consumer ({@link #next()}).
+ * <p>
+ * Workers pass mapped records in batches through bounded queues, so memory stays bounded by
+ * {@code queueSize} batches per partition. In ordered mode every partition has its own queue and the
+ * queues are drained in partition order, so records are returned in input order; a worker that gets
+ * {@code queueSize} batches ahead of the consumer waits. In unordered mode all workers share one
+ * queue and records are returned as they are mapped.
+ * <p>
+ * The record mapper is called concurrently by the workers and must be thread safe.
+ */
+@Getter
+@Accessors(fluent = true)
+public class PartitionedMapper implements Closeable {
+    public static final int DEFAULT_QUEUE_SIZE = 4;
+
+    @FunctionalInterface
+    public interface RecordMapper {
+        RecordResponse map(@NonNull SourceMap data) throws Exception;
+    }
+
+    private record Batch(int partition, List<RecordResponse> records, Throwable error, boolean last) {
+    }
+
+    private final List<InputReader> partitions;
+    private final RecordMapper mapper;
+    private final boolean ordered;
+    private final int batchSize;
+    private final List<BlockingQueue<Batch>> queues;
+    private final List<Future<?>> workers = new ArrayList<>();
+    private volatile boolean closed = false;
+    private Iterator<RecordResponse> current = null;
+    private int partition = 0;
+    private int finished = 0;
+
+    public PartitionedMapper(@NonNull List<InputReader> partitions,
+                             @NonNull RecordMapper mapper,
+                             boolean ordered,
+                             int batchSize,
+                             int queueSize) {
+        this.partitions = partitions;
+        this.mapper = mapper;
+        this.ordered = ordered;
+        this.batchSize = Math.max(batchSize, 1);
+        queueSize = Math.max(queueSize, 1);
+        queues = new ArrayList<>(partitions.size());
+        if (ordered) {
+            for (int ii = 0; ii < partitions.size(); ii++) {
+                queues.add(new ArrayBlockingQueue<>(queueSize));
+            }
+        } else {
+            BlockingQueue<Batch> queue = new ArrayBlockingQueue<>(queueSize * partitions.size());
+            for (int ii = 0; ii < partitions.size(); ii++) {
+                queues.add(queue);
+            }
+        }
+    }
+
+    /**
+     * Start a worker per partition on the executor. The executor must be able to run all the
+     * partition workers at once (e.g. a cached thread pool), as in ordered mode a queued worker
+     * would block the consumer.
+     */
+    public PartitionedMapper start(@NonNull ExecutorService executor) {
+        for (int ii = 0; ii < partitions.size(); ii++) {
+            final int index = ii;
+            workers.add(executor.submit(() -> run(index)));
+        }
+        return this;
+    }
+
+    /**
+     * Get the next mapped record.
+     *
+     * @return Mapped record or null once all the partitions have been read.
+     * @throws Exception Error raised by a partition worker (InterruptedException if it was interrupted).
+     */
+    public RecordResponse next() throws Exception {
+        while (current == null || !current.hasNext()) {
+            current = null;
+            if (finished >= partitions.size()) {
+                return null;
+            }
+            Batch batch = queues.get(ordered ? partition : 0).take();
+            if (batch.error() != null) {
+                if (batch.error() instanceof Exception) {
+                    throw (Exception) batch.error();
+                }
+                throw new Exception(batch.error());
+            }
+            if (batch.last()) {
+                finished++;
+                if (ordered) {
+                    partition++;
+                }
+                continue;
+            }
+            current = batch.records().iterator();
+        }
+        return current.next();
+    }
+
+    private void run(int index) {
+        InputReader reader = partitions.get(index);
+        try (ReadCursor cursor = reader.open()) {
+            List<RecordResponse> records = new ArrayList<>(batchSize);
+            while (!closed) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedException(String.format("Partition read interrupted. [partition=%s]",
+                            reader.split()));
+                }
+                SourceMap data = cursor.next();
+                if (data == null) break;
+                records.add(mapper.map(data));
+                if (records.size() >= batchSize) {
+                    put(index, new Batch(index, records, null, false));
+                    records = new ArrayList<>(batchSize);
+                }
+            }
+            if (!records.isEmpty()) {
+                put(index, new Batch(index, records, null, false));
+            }
+        } catch (Throwable t) {
+            DefaultLogger.error(String.format("Partition read failed. [partition=%s][error=%s]",
+                    reader.split(), t.getLocalizedMessage()));
+            put(index, new Batch(index, null, t, false));
+        } finally {
+            put(index, new Batch(index, null, null, true));
+        }
+    }
+
+    /**
+     * Queue the batch, waiting for the consumer until the mapper is closed. An interrupted worker still
+     * queues its batch (the consumer waits for the last batch of every partition), the interrupt is
+     * restored once queued.
+     */
+    private void put(int index, Batch batch) {
+        BlockingQueue<Batch> queue = queues.get(index);
+        boolean interrupted = false;
+        try {
+            while (!closed) {
+                try {
+                    if (queue.offer(batch, 100, TimeUnit.MILLISECONDS)) {
+                        return;
+                    }
+                } catch (InterruptedException ex) {
+                    interrupted = true;
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Stop the workers and wait for them to release their readers.
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        for (BlockingQueue<Batch> queue : queues) {
+            queue.clear();
+        }
+        for (Future<?> worker : workers) {
+            try {
+                worker.get();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException ex) {
+                DefaultLogger.stacktrace(ex);
+            }
+        }
+        workers.clear();
+    }
+}
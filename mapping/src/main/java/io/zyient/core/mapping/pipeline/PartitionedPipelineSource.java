@@ -0,0 +1,40 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.core.mapping.pipeline;
+
+import io.zyient.core.mapping.model.InputContentInfo;
+import io.zyient.core.mapping.readers.InputReader;
+import io.zyient.core.mapping.readers.ReadResponse;
+import lombok.NonNull;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Pipeline sources that can read the partitions (splits) of an input in parallel.
+ */
+public interface PartitionedPipelineSource extends PipelineSource {
+    /**
+     * Read the partitions of an input: each partition is read and mapped by a worker on the
+     * executor, the mapped records are written by the calling thread. If ordered, records are written
+     * in input order, else in the order they are mapped.
+     */
+    ReadResponse read(@NonNull List<InputReader> partitions,
+                      @NonNull InputContentInfo context,
+                      @NonNull ExecutorService executor,
+                      boolean ordered) throws Exception;
+}
@@ -26,11 +26,14 @@ import io.zyient.base.core.BaseEnv;
 import io.zyient.base.core.processing.ProcessorState;
 import io.zyient.core.mapping.mapper.MapperFactory;
 import io.zyient.core.mapping.model.EvaluationStatus;
+import io.zyient.core.mapping.model.InputContentInfo;
 import io.zyient.core.mapping.model.RecordResponse;
 import io.zyient.core.mapping.model.StatusCode;
 import io.zyient.core.mapping.model.mapping.SourceMap;
 import io.zyient.core.mapping.pipeline.settings.PipelineSettings;
 import io.zyient.core.mapping.readers.MappingContextProvider;
+import io.zyient.core.mapping.readers.ReadResponse;
+import io.zyient.core.mapping.readers.RecordSink;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.Setter;
@@ -93,6 +96,31 @@ public abstract class Pipeline implements Closeable {
         return response;
     }
 
+    /**
+     * Create the response of a read, with the record sinks configured for the pipeline opened
+     * for the input.
+     */
+    @SuppressWarnings("unchecked")
+    protected ReadResponse createResponse(@NonNull InputContentInfo contentInfo) throws Exception {
+        ReadResponse response = new ReadResponse();
+        response.setErrorSampleSize(settings.getErrorSamples());
+        if (settings.getSinks() != null) {
+            try {
+                for (String type : settings.getSinks()) {
+                    Class<? extends RecordSink> cls = (Class<? extends RecordSink>) Class.forName(type);
+                    RecordSink sink = cls.getDeclaredConstructor()
+                            .newInstance()
+                            .open(contentInfo);
+                    response.withSink(sink);
+                }
+            } catch (Exception ex) {
+                response.close();
+                throw ex;
+            }
+        }
+        return response;
+    }
+
     protected void checkState() throws StateException {
         if (!state.isAvailable()) {
             throw new StateException(String.format("[%s] Pipeline not available. [state=%s]",
@@ -19,10 +19,14 @@ package io.zyient.core.mapping.pipeline.settings;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import io.zyient.base.common.config.Config;
 import io.zyient.base.common.config.Settings;
+import io.zyient.base.common.config.lists.StringListParser;
 import io.zyient.core.mapping.model.mapping.MappedResponse;
+import io.zyient.core.mapping.readers.ReadResponse;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.util.List;
+
 @Getter
 @Setter
 @JsonTypeInfo(use = JsonTypeInfo.Id.CLASS, include = JsonTypeInfo.As.PROPERTY,
@@ -36,4 +40,8 @@ public class PipelineSettings extends Settings {
     private boolean terminateOnValidationError = true;
     @Config(name = "saveValidationErrors", required = false, type = Boolean.class)
     private boolean saveValidationErrors = false;
+    @Config(name = "response.errorSamples", required = false, type = Integer.class)
+    private int errorSamples = ReadResponse.DEFAULT_ERROR_SAMPLE_SIZE;
+    @Config(name = "response.sinks", required = false, parser = StringListParser.class)
+    private List<String> sinks;
 }
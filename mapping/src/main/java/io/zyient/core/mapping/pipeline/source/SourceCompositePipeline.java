@@ -39,33 +39,37 @@ public abstract class SourceCompositePipeline extends CompositePipeline implemen
         CompositePipelineSettings settings = (CompositePipelineSettings) settings();
         Preconditions.checkNotNull(settings);
         DefaultLogger.info(String.format("Running pipeline for entity. [name=%s]", name()));
-        ReadResponse response = new ReadResponse();
-        ReadCursor cursor = reader.open();
-        while (true) {
-            RecordResponse r = new RecordResponse();
-            try {
-                SourceMap data = cursor.next();
-                if (data == null) break;
-                r.setSource(data);
-                response.incrementCount();
-                r = process(data, context);
-                response.add(r);
-            } catch (ValidationException | ValidationExceptions ex) {
-                String mesg = String.format("[file=%s][record=%d] Validation Failed: %s",
-                        reader.input().getAbsolutePath(), response.getRecordCount(), ex.getLocalizedMessage());
-                if (settings().isTerminateOnValidationError()) {
-                    DefaultLogger.stacktrace(ex);
-                    throw ex;
-                } else {
-                    DefaultLogger.warn(mesg);
-                    r = errorResponse(r, null, ex);
+        ReadResponse response = createResponse(context);
+        try {
+            ReadCursor cursor = reader.open();
+            while (true) {
+                RecordResponse r = new RecordResponse();
+                try {
+                    SourceMap data = cursor.next();
+                    if (data == null) break;
+                    r.setSource(data);
+                    response.incrementCount();
+                    r = process(data, context);
                     response.add(r);
+                } catch (ValidationException | ValidationExceptions ex) {
+                    String mesg = String.format("[file=%s][record=%d] Validation Failed: %s",
+                            reader.input().getAbsolutePath(), response.getRecordCount(), ex.getLocalizedMessage());
+                    if (settings().isTerminateOnValidationError()) {
+                        DefaultLogger.stacktrace(ex);
+                        throw ex;
+                    } else {
+                        DefaultLogger.warn(mesg);
+                        r = errorResponse(r, null, ex);
+                        response.add(r);
+                    }
+                } catch (Exception e) {
+                    DefaultLogger.stacktrace(e);
+                    DefaultLogger.error(e.getLocalizedMessage());
+                    throw e;
                 }
-            } catch (Exception e) {
-                DefaultLogger.stacktrace(e);
-                DefaultLogger.error(e.getLocalizedMessage());
-                throw e;
             }
+        } finally {
+            response.close();
         }
         DefaultLogger.info(String.format("Processed [%d] records for entity. [name=%s]",
                 response.getRecordCount(), name()));
@@ -25,16 +25,22 @@ import io.zyient.base.common.utils.DefaultLogger;
 import io.zyient.core.mapping.model.InputContentInfo;
 import io.zyient.core.mapping.model.RecordResponse;
 import io.zyient.core.mapping.model.mapping.SourceMap;
+import io.zyient.core.mapping.pipeline.ChunkCommitter;
+import io.zyient.core.mapping.model.StatusCode;
 import io.zyient.core.mapping.pipeline.EntityPipeline;
-import io.zyient.core.mapping.pipeline.PipelineSource;
+import io.zyient.core.mapping.pipeline.PartitionedMapper;
+import io.zyient.core.mapping.pipeline.PartitionedPipelineSource;
 import io.zyient.core.mapping.pipeline.settings.PersistedEntityPipelineSettings;
 import io.zyient.core.mapping.readers.InputReader;
 import io.zyient.core.mapping.readers.ReadCursor;
 import io.zyient.core.mapping.readers.ReadResponse;
 import lombok.NonNull;
 
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
 public class SourceEntityPipeline<K extends IKey, E extends IEntity<K>> extends EntityPipeline<K, E>
-        implements PipelineSource {
+        implements PartitionedPipelineSource {
 
     @Override
     @SuppressWarnings(("unchecked"))
@@ -43,40 +49,145 @@ public class SourceEntityPipeline<K extends IKey, E extends IEntity<K>> extends
         PersistedEntityPipelineSettings settings = (PersistedEntityPipelineSettings) settings();
         Preconditions.checkNotNull(settings);
         DefaultLogger.info(String.format("Running pipeline for entity. [type=%s]", entityType().getCanonicalName()));
-        ReadResponse response = new ReadResponse();
-        ReadCursor cursor = reader.open();
-        while (true) {
-            RecordResponse r = new RecordResponse();
-            try {
-                SourceMap data = cursor.next();
-                if (data == null) break;
-                r.setSource(data);
-                response.incrementCount();
-                r = process(data, context);
-                response.add(r);
-                response.incrementCommitCount();
-            } catch (ValidationException | ValidationExceptions ex) {
-                String mesg = String.format("[file=%s][record=%d] Validation Failed: %s",
-                        reader.input().getAbsolutePath(), response.getRecordCount(), ex.getLocalizedMessage());
-                ValidationExceptions ve = ValidationExceptions.add(new ValidationException(mesg), null);
-                if (settings().isTerminateOnValidationError()) {
-                    DefaultLogger.stacktrace(ex);
-                    throw ve;
-                } else {
+        ReadResponse response = createResponse(context);
+        try {
+            long start = System.currentTimeMillis();
+            ChunkCommitter<K, E> committer = null;
+            if (settings.getCommitBatchSize() > 1) {
+                committer = new ChunkCommitter<>(this, settings.getCommitBatchSize(), response, context);
+            }
+            ReadCursor cursor = reader.open();
+            while (true) {
+                RecordResponse r = new RecordResponse();
+                try {
+                    SourceMap data = cursor.next();
+                    if (data == null) break;
+                    r.setSource(data);
                     response.incrementCount();
-                    DefaultLogger.warn(mesg);
-                    r = errorResponse(r, null, ex);
+                    if (committer != null) {
+                        process(data, context, committer);
+                    } else {
+                        r = process(data, context);
+                        response.add(r);
+                        response.incrementCommitCount();
+                        response.incrementBatchCount();
+                    }
+                } catch (ValidationException | ValidationExceptions ex) {
+                    String mesg = String.format("[file=%s][record=%d] Validation Failed: %s",
+                            reader.input().getAbsolutePath(), response.getRecordCount(), ex.getLocalizedMessage());
+                    ValidationExceptions ve = ValidationExceptions.add(new ValidationException(mesg), null);
+                    if (settings().isTerminateOnValidationError()) {
+                        DefaultLogger.stacktrace(ex);
+                        throw ve;
+                    } else {
+                        response.incrementCount();
+                        DefaultLogger.warn(mesg);
+                        r = errorResponse(r, null, ex);
+                        response.add(r);
+                    }
+                } catch (Exception e) {
+                    rollback();
+                    DefaultLogger.stacktrace(e);
+                    DefaultLogger.error(e.getLocalizedMessage());
+                    throw e;
+                }
+            }
+            if (committer != null) {
+                committer.flush();
+            }
+            response.setElapsedTime(System.currentTimeMillis() - start);
+        } finally {
+            response.close();
+        }
+        DefaultLogger.info(String.format("Processed [%d] records for entity. [type=%s][errors=%d][committed=%d][batches=%d][records/sec=%.1f]",
+                response.getRecordCount(), entityType().getCanonicalName(), response.getErrorCount(),
+                response.getCommitCount(), response.getBatchCount(), response.recordsPerSecond()));
+        return response;
+    }
+
+    @Override
+    public ReadResponse read(@NonNull List<InputReader> partitions,
+                             @NonNull InputContentInfo context,
+                             @NonNull ExecutorService executor,
+                             boolean ordered) throws Exception {
+        checkState();
+        PersistedEntityPipelineSettings settings = (PersistedEntityPipelineSettings) settings();
+        Preconditions.checkNotNull(settings);
+        Preconditions.checkArgument(!partitions.isEmpty());
+        DefaultLogger.info(String.format("Running partitioned pipeline for entity. [type=%s][partitions=%d][ordered=%s]",
+                entityType().getCanonicalName(), partitions.size(), ordered));
+        ReadResponse response = createResponse(context);
+        PartitionedMapper mapper = new PartitionedMapper(partitions,
+                data -> mapRecord(data, context),
+                ordered,
+                partitions.get(0).settings().getReadBatchSize(),
+                PartitionedMapper.DEFAULT_QUEUE_SIZE);
+        try {
+            long start = System.currentTimeMillis();
+            ChunkCommitter<K, E> committer = null;
+            if (settings.getCommitBatchSize() > 1) {
+                committer = new ChunkCommitter<>(this, settings.getCommitBatchSize(), response, context);
+            }
+            mapper.start(executor);
+            while (true) {
+                RecordResponse r = mapper.next();
+                if (r == null) break;
+                response.incrementCount();
+                if (r.getEntity() == null && r.getStatus().getStatus() == StatusCode.ValidationFailed) {
+                    // Mapping failed.
                     response.add(r);
+                    continue;
+                }
+                try {
+                    if (committer != null) {
+                        write(r, committer);
+                    } else {
+                        r = write(r, context);
+                        response.add(r);
+                        response.incrementCommitCount();
+                        response.incrementBatchCount();
+                    }
+                } catch (ValidationException | ValidationExceptions ex) {
+                    String mesg = String.format("[file=%s][record=%d] Validation Failed: %s",
+                            context.path(), response.getRecordCount(), ex.getLocalizedMessage());
+                    if (settings().isTerminateOnValidationError()) {
+                        DefaultLogger.stacktrace(ex);
+                        throw ValidationExceptions.add(new ValidationException(mesg), null);
+                    }
+                    DefaultLogger.warn(mesg);
+                    response.add(errorResponse(r, null, ex));
+                } catch (Exception e) {
+                    rollback();
+                    DefaultLogger.stacktrace(e);
+                    DefaultLogger.error(e.getLocalizedMessage());
+                    throw e;
                 }
-            } catch (Exception e) {
-                rollback();
-                DefaultLogger.stacktrace(e);
-                DefaultLogger.error(e.getLocalizedMessage());
-                throw e;
             }
+            if (committer != null) {
+                committer.flush();
+            }
+            response.setElapsedTime(System.currentTimeMillis() - start);
+        } finally {
+            mapper.close();
+            response.close();
         }
-        DefaultLogger.info(String.format("Processed [%d] records for entity. [type=%s]",
-                response.getRecordCount(), entityType().getCanonicalName()));
+        DefaultLogger.info(String.format("Processed [%d] records for entity. [type=%s][partitions=%d][errors=%d][committed=%d][batches=%d][records/sec=%.1f]",
+                response.getRecordCount(), entityType().getCanonicalName(), partitions.size(),
+                response.getErrorCount(), response.getCommitCount(), response.getBatchCount(),
+                response.recordsPerSecond()));
         return response;
     }
+
+    private RecordResponse mapRecord(SourceMap data, InputContentInfo context) throws Exception {
+        try {
+            return map(data, context);
+        } catch (ValidationException | ValidationExceptions ex) {
+            if (settings().isTerminateOnValidationError()) {
+                throw ex;
+            }
+            DefaultLogger.warn(String.format("[file=%s] Validation Failed: %s",
+                    context.path(), ex.getLocalizedMessage()));
+            return errorResponse(null, data, ex);
+        }
+    }
 }
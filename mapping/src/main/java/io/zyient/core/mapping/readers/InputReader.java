@@ -35,6 +35,11 @@ public abstract class InputReader implements Closeable {
     private ReaderSettings settings;
     private File input;
     private InputContentInfo contentInfo;
+    /**
+     * Byte range of the input to read, the whole input if not set. Only read by
+     * {@link SplittableReader}s.
+     */
+    private InputSplit split;
 
     public abstract ReadCursor open() throws IOException;
 
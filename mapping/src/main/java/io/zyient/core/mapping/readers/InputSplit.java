@@ -0,0 +1,73 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.core.mapping.readers;
+
+import lombok.Getter;
+import lombok.experimental.Accessors;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Byte range {@code [start, end)} of an input file. A split reads the records that start inside its
+ * range: a record that crosses the end of the range belongs to the split it starts in, so splits can
+ * be cut at any byte offset and are aligned on record boundaries by the reader.
+ */
+@Getter
+@Accessors(fluent = true)
+public class InputSplit {
+    private final int index;
+    private final int count;
+    private final long start;
+    private final long end;
+
+    public InputSplit(int index, int count, long start, long end) {
+        this.index = index;
+        this.count = count;
+        this.start = start;
+        this.end = end;
+    }
+
+    public boolean isFirst() {
+        return start == 0;
+    }
+
+    public long length() {
+        return end - start;
+    }
+
+    /**
+     * Split an input of {@code length} bytes into (at most) {@code count} equal ranges, none smaller
+     * than {@code minSize} bytes.
+     */
+    public static List<InputSplit> plan(long length, int count, long minSize) {
+        int splits = (int) Math.max(1, Math.min(count, length / Math.max(minSize, 1)));
+        List<InputSplit> ranges = new ArrayList<>(splits);
+        long size = length / splits;
+        for (int ii = 0; ii < splits; ii++) {
+            long start = ii * size;
+            long end = (ii == splits - 1 ? length : start + size);
+            ranges.add(new InputSplit(ii, splits, start, end));
+        }
+        return ranges;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("[index=%d/%d][start=%d][end=%d]", index, count, start, end);
+    }
+}
@@ -16,30 +16,71 @@
 
 package io.zyient.core.mapping.readers;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import io.zyient.base.common.utils.DefaultLogger;
 import io.zyient.core.mapping.model.RecordResponse;
+import io.zyient.core.mapping.model.StatusCode;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.Setter;
 
+import java.io.Closeable;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Aggregate result of a read. Per-record outcomes are not retained: they are counted, the first
+ * {@code errorSampleSize} failed records are kept as a sample, and every record is passed on to
+ * the registered {@link RecordSink}s.
+ */
 @Getter
 @Setter
 @JsonTypeInfo(use = JsonTypeInfo.Id.CLASS, include = JsonTypeInfo.As.PROPERTY,
         property = "@class")
-public class ReadResponse {
+public class ReadResponse implements Closeable {
+    public static final int DEFAULT_ERROR_SAMPLE_SIZE = 100;
+
     private int recordCount = 0;
     private int errorCount = 0;
+    private int ignoredCount = 0;
     private int commitCount = 0;
-    private List<RecordResponse> records;
+    private int batchCount = 0;
+    private long elapsedTime = 0;
+    private int errorSampleSize = DEFAULT_ERROR_SAMPLE_SIZE;
+    private List<RecordResponse> errors;
+    @JsonIgnore
+    private List<RecordSink> sinks;
+
+    public ReadResponse withSink(@NonNull RecordSink sink) {
+        if (sinks == null) {
+            sinks = new ArrayList<>();
+        }
+        sinks.add(sink);
+        return this;
+    }
 
-    public void add(@NonNull RecordResponse record) {
-        if (records == null) {
-            records = new ArrayList<>();
+    public void add(@NonNull RecordResponse record) throws IOException {
+        if (record.getStatus() != null) {
+            StatusCode status = record.getStatus().getStatus();
+            if (status == StatusCode.Failed || status == StatusCode.ValidationFailed) {
+                errorCount++;
+                if (errors == null) {
+                    errors = new ArrayList<>();
+                }
+                if (errors.size() < errorSampleSize) {
+                    errors.add(record);
+                }
+            } else if (status == StatusCode.IgnoreRecord) {
+                ignoredCount++;
+            }
+        }
+        if (sinks != null) {
+            for (RecordSink sink : sinks) {
+                sink.accept(record);
+            }
         }
-        records.add(record);
     }
 
     public ReadResponse incrementCount() {
@@ -56,4 +97,36 @@ public class ReadResponse {
         commitCount++;
         return this;
     }
+
+    /**
+     * Count a bulk write of a chunk of records (committed by the data store).
+     */
+    public ReadResponse incrementBatchCount() {
+        batchCount++;
+        return this;
+    }
+
+    /**
+     * Read throughput over the elapsed time of the run.
+     */
+    public double recordsPerSecond() {
+        if (elapsedTime <= 0) {
+            return 0;
+        }
+        return (recordCount * 1000.0) / elapsedTime;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (sinks != null) {
+            for (RecordSink sink : sinks) {
+                try {
+                    sink.close();
+                } catch (IOException ex) {
+                    DefaultLogger.error(String.format("Failed to close record sink. [type=%s][error=%s]",
+                            sink.getClass().getCanonicalName(), ex.getLocalizedMessage()));
+                }
+            }
+        }
+    }
 }
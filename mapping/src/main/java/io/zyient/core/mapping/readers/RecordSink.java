@@ -0,0 +1,35 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.core.mapping.readers;
+
+import io.zyient.core.mapping.model.InputContentInfo;
+import io.zyient.core.mapping.model.RecordResponse;
+import lombok.NonNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Receives the per-record outcomes of a read as they are produced, so that the {@link ReadResponse}
+ * only has to keep aggregate statistics. Sinks are created per read and must have a public
+ * no-argument constructor.
+ */
+public interface RecordSink extends Closeable {
+    RecordSink open(@NonNull InputContentInfo contentInfo) throws IOException;
+
+    void accept(@NonNull RecordResponse record) throws IOException;
+}
@@ -0,0 +1,29 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.core.mapping.readers;
+
+/**
+ * Readers of line-oriented inputs that can read a byte range ({@link InputReader#split()}) of the
+ * input, so a single file can be read by several workers in parallel.
+ */
+public interface SplittableReader {
+    /**
+     * Check if the configured input can be split: encrypted inputs and records that can span lines
+     * (e.g. quoted line breaks) cannot.
+     */
+    boolean splittable();
+}
@@ -19,55 +19,132 @@ package io.zyient.core.mapping.readers.impl.excel;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
 import io.zyient.base.common.utils.DefaultLogger;
+import io.zyient.base.common.utils.PathUtils;
 import io.zyient.core.mapping.model.ExcelColumn;
 import io.zyient.core.mapping.model.mapping.SourceMap;
 import io.zyient.core.mapping.readers.InputReader;
 import io.zyient.core.mapping.readers.ReadCursor;
 import io.zyient.core.mapping.readers.settings.ExcelReaderSettings;
-import org.apache.poi.ss.usermodel.Cell;
-import org.apache.poi.ss.usermodel.Row;
-import org.apache.poi.ss.usermodel.Sheet;
-import org.apache.poi.ss.usermodel.Workbook;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
-import org.apache.poi.xssf.usermodel.XSSFWorkbookFactory;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.apache.poi.poifs.crypt.Decryptor;
+import org.apache.poi.poifs.crypt.EncryptionInfo;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFRelation;
 
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import java.io.BufferedReader;
-import java.io.FileInputStream;
+import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
+/**
+ * Streaming reader for XLSX workbooks: sheets are pulled row by row from the package
+ * (XSSF event model), so only the current batch, the styles and the recently used shared strings
+ * are held in memory.
+ */
 public class ExcelInputReader extends InputReader {
-    private FileInputStream stream;
-    private Workbook workbook;
+    private static final String NS_RELATIONSHIPS = "relationships";
+
+    private record SheetRef(String name, String relationId) {
+    }
+
+    private OPCPackage pkg;
+    private File decrypted;
+    private XSSFReader xssf;
+    private StylesTable styles;
+    private ExcelSharedStrings strings;
+    private List<SheetRef> sheets;
+    private boolean date1904 = false;
     private int sheetIndex = 0;
-    private int rowIndex = 0;
     private boolean EOF = false;
-    private Sheet current = null;
+    private ExcelSheetReader current = null;
+    private int rowIndex = 0;
+    private boolean sheetDone = false;
 
     @Override
     public ReadCursor open() throws IOException {
         try {
-            stream = new FileInputStream(contentInfo().path());
-            if(settings().isProtected()) {
+            File file = contentInfo().path();
+            if (settings().isProtected()) {
                 String password = fetchPassword(settings().getDecryptionSecretName());
-                XSSFWorkbookFactory xssfWorkbookFactory = new XSSFWorkbookFactory();
-                workbook = xssfWorkbookFactory.create(stream, password);
-            } else {
-                workbook = new XSSFWorkbook(stream);
+                file = decrypt(file, password);
             }
+            pkg = OPCPackage.open(file, PackageAccess.READ);
+            xssf = new XSSFReader(pkg);
+            styles = xssf.getStylesTable();
+            readWorkbook();
+            List<PackagePart> parts = pkg.getPartsByContentType(XSSFRelation.SHARED_STRINGS.getContentType());
+            strings = new ExcelSharedStrings(parts.isEmpty() ? null : parts.get(0).getInputStream());
             return new ExcelReadCursor(this, settings().getReadBatchSize());
         } catch (Exception ex) {
             DefaultLogger.stacktrace(ex);
+            close();
             throw new IOException(ex);
         }
     }
 
+    private File decrypt(File file, String password) throws Exception {
+        try (POIFSFileSystem fs = new POIFSFileSystem(file, true)) {
+            EncryptionInfo info = new EncryptionInfo(fs);
+            Decryptor decryptor = Decryptor.getInstance(info);
+            if (!decryptor.verifyPassword(password)) {
+                throw new Exception(String.format("Invalid workbook password. [file=%s]",
+                        file.getAbsolutePath()));
+            }
+            decrypted = PathUtils.getTempFile(String.format("workbook-%s", UUID.randomUUID()), "xlsx");
+            try (InputStream data = decryptor.getDataStream(fs)) {
+                Files.copy(data, decrypted.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+            return decrypted;
+        }
+    }
+
+    private void readWorkbook() throws Exception {
+        sheets = new ArrayList<>();
+        try (InputStream stream = xssf.getWorkbookData()) {
+            XMLStreamReader reader = ExcelSheetReader.createFactory().createXMLStreamReader(stream);
+            try {
+                while (reader.hasNext()) {
+                    if (reader.next() != XMLStreamConstants.START_ELEMENT) continue;
+                    String name = reader.getLocalName();
+                    if (name.equals("workbookPr")) {
+                        String value = reader.getAttributeValue(null, "date1904");
+                        date1904 = (value != null && (value.equals("1") || value.equalsIgnoreCase("true")));
+                    } else if (name.equals("sheet")) {
+                        String relationId = null;
+                        for (int ii = 0; ii < reader.getAttributeCount(); ii++) {
+                            String ns = reader.getAttributeNamespace(ii);
+                            if (reader.getAttributeLocalName(ii).equals("id")
+                                    && ns != null && ns.endsWith(NS_RELATIONSHIPS)) {
+                                relationId = reader.getAttributeValue(ii);
+                                break;
+                            }
+                        }
+                        sheets.add(new SheetRef(reader.getAttributeValue(null, "name"), relationId));
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        }
+    }
+
     @Override
     public List<SourceMap> nextBatch() throws IOException {
-        Preconditions.checkState(workbook != null);
+        Preconditions.checkState(xssf != null);
         Preconditions.checkState(settings() instanceof ExcelReaderSettings);
         if (EOF) return null;
         try {
@@ -85,7 +162,6 @@ public class ExcelInputReader extends InputReader {
                 if (remaining <= 0) break;
                 if (sheetIndex < ((ExcelReaderSettings) settings()).getSheets().size() - 1) {
                     sheetIndex++;
-                    rowIndex = 0;
                     checkSheet();
                 } else {
                     EOF = true;
@@ -99,46 +175,69 @@ public class ExcelInputReader extends InputReader {
     }
 
     private void checkSheet() throws Exception {
+        if (current != null) {
+            current.close();
+            current = null;
+        }
         ExcelSheet sheet = ((ExcelReaderSettings) settings()).getSheets().get(sheetIndex);
+        SheetRef ref = null;
         if (!Strings.isNullOrEmpty(sheet.getName())) {
-            current = workbook.getSheet(sheet.getName());
-            if (current == null) {
+            for (SheetRef s : sheets) {
+                if (sheet.getName().equalsIgnoreCase(s.name())) {
+                    ref = s;
+                    break;
+                }
+            }
+            if (ref == null) {
                 throw new Exception(String.format("Sheet not found. [file=%s][sheet=%s]",
                         contentInfo().path().getAbsolutePath(), sheet.getName()));
             }
         } else {
-            current = workbook.getSheetAt(sheet.getIndex());
-            if (current == null) {
+            if (sheet.getIndex() == null || sheet.getIndex() < 0 || sheet.getIndex() >= sheets.size()) {
                 throw new Exception(String.format("Sheet not found. [file=%s][sheet=%d]",
                         contentInfo().path().getAbsolutePath(), sheet.getIndex()));
             }
+            ref = sheets.get(sheet.getIndex());
+        }
+        current = new ExcelSheetReader(xssf.getSheet(ref.relationId()), strings, styles, date1904);
+        rowIndex = 0;
+        sheetDone = false;
+    }
+
+    /**
+     * Read the next row, rows are expected to be contiguous from the first row: the sheet ends at the
+     * first missing row.
+     */
+    private ExcelSheetReader.ExcelRow nextRow() throws IOException {
+        if (sheetDone) return null;
+        ExcelSheetReader.ExcelRow row = current.next();
+        if (row == null || row.index() != rowIndex) {
+            sheetDone = true;
+            return null;
         }
+        return row;
     }
 
     private List<SourceMap> readFromSheet(int count, ExcelReaderSettings settings) throws Exception {
         List<SourceMap> data = new ArrayList<>();
         while (count > 0) {
-            Row row = current.getRow(rowIndex);
+            ExcelSheetReader.ExcelRow row = nextRow();
             if (row == null) break;
             SourceMap record = new SourceMap();
             if (settings.getHeaders() != null) {
                 for (int ii : settings.getHeaders().keySet()) {
                     ExcelColumn column = (ExcelColumn) settings.getHeaders().get(ii);
-                    Cell cell = row.getCell(column.getCellIndex(), Row.MissingCellPolicy.RETURN_BLANK_AS_NULL);
-                    if (cell != null) {
-                        Object value = getCellValue(cell);
-                        if (value != null) {
-                            record.put(column.getName(), value);
-                        }
+                    Object value = cellValue(row, column.getCellIndex());
+                    if (value != null) {
+                        record.put(column.getName(), value);
                     }
                 }
             } else {
                 int ii = 0;
-                for (Cell cell : row) {
+                for (ExcelSheetReader.ExcelCell cell : row.cells()) {
                     String column = String.format("%s%d", settings.getColumnPrefix(), ii);
-                    Object value = getCellValue(cell);
-                    if (value != null) {
-                        record.put(column, value);
+                    if (cell.value() != null) {
+                        record.put(column, cell.value());
                     }
                     ii++;
                 }
@@ -162,34 +261,15 @@ public class ExcelInputReader extends InputReader {
         return data;
     }
 
-    private Object getCellValue(Cell cell) {
-        Object o = null;
-        switch (cell.getCellType()) {
-            case STRING -> o = cell.getStringCellValue().trim();
-            case BOOLEAN -> o = cell.getBooleanCellValue();
-            case NUMERIC -> {
-                if (cell.getCellStyle().getDataFormatString() != null &&
-                        isDateValid(cell.getCellStyle().getDataFormatString())) {
-                    return cell.toString();
-                }
-                o = cell.getNumericCellValue();
-            }
-        }
-
-        return o;
-    }
-
-    private boolean isDateValid(String dateStr) {
-        dateStr = dateStr.replace("\\", "");
-        String[] dateFormats = {
-                "yyyy-MM-dd", "MM/dd/yyyy", "dd-MM-yyyy", "yyyy/MM/dd", "M/dd/yy", "MM/dd/yy", "MM/d/yy", "M/d/yy","M/d/yyyy"
-        };
-        for (String format : dateFormats) {
-            if (format.equalsIgnoreCase(dateStr)) {
-                return true;
+    private Object cellValue(ExcelSheetReader.ExcelRow row, int index) {
+        for (ExcelSheetReader.ExcelCell cell : row.cells()) {
+            if (cell.column() == index) {
+                return cell.value();
+            } else if (cell.column() > index) {
+                break;
             }
         }
-        return false;
+        return null;
     }
 
     private boolean checkHeaderRow(Map<String, Object> record, ExcelReaderSettings settings) {
@@ -207,13 +287,27 @@ public class ExcelInputReader extends InputReader {
 
     @Override
     public void close() throws IOException {
-        if (workbook != null) {
-            workbook.close();
-            workbook = null;
-        }
-        if (stream != null) {
-            stream.close();
-            stream = null;
+        try {
+            if (current != null) {
+                current.close();
+                current = null;
+            }
+            if (strings != null) {
+                strings.close();
+                strings = null;
+            }
+        } finally {
+            xssf = null;
+            if (pkg != null) {
+                pkg.revert();
+                pkg = null;
+            }
+            if (decrypted != null) {
+                if (decrypted.exists() && !decrypted.delete()) {
+                    decrypted.deleteOnExit();
+                }
+                decrypted = null;
+            }
         }
     }
 
@@ -0,0 +1,168 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.core.mapping.readers.impl.excel;
+
+import io.zyient.base.common.utils.PathUtils;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Shared strings table of a workbook, read lazily: the table is only parsed up to the highest index
+ * referenced so far. Parsed strings are spilled to a temp file, only their offsets and the recently
+ * used strings are kept in memory.
+ */
+class ExcelSharedStrings implements Closeable {
+    private static final int CACHE_SIZE = 8192;
+
+    private final InputStream stream;
+    private final XMLStreamReader reader;
+    private final Map<Integer, String> cache = new LinkedHashMap<>(CACHE_SIZE, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, String> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+    private File spill;
+    private RandomAccessFile spillFile;
+    private long spillSize = 0;
+    private long[] offsets = new long[1024];
+    private int count = 0;
+    private boolean EOF = false;
+
+    ExcelSharedStrings(InputStream stream) throws IOException {
+        this.stream = stream;
+        if (stream != null) {
+            try {
+                reader = ExcelSheetReader.createFactory().createXMLStreamReader(stream);
+            } catch (XMLStreamException ex) {
+                throw new IOException(ex);
+            }
+            spill = PathUtils.getTempFile(String.format("shared-strings-%s", UUID.randomUUID()), "tmp");
+            spillFile = new RandomAccessFile(spill, "rw");
+        } else {
+            reader = null;
+            EOF = true;
+        }
+    }
+
+    String get(int index) throws IOException {
+        String value = cache.get(index);
+        if (value != null) {
+            return value;
+        }
+        try {
+            while (count <= index && !EOF) {
+                scan();
+            }
+        } catch (XMLStreamException ex) {
+            throw new IOException(ex);
+        }
+        if (index < 0 || index >= count) {
+            throw new IOException(String.format("Shared string not found. [index=%d][count=%d]", index, count));
+        }
+        value = cache.get(index);
+        if (value == null) {
+            spillFile.seek(offsets[index]);
+            byte[] data = new byte[spillFile.readInt()];
+            spillFile.readFully(data);
+            value = new String(data, StandardCharsets.UTF_8);
+            cache.put(index, value);
+        }
+        return value;
+    }
+
+    /**
+     * Parse the next string item ({@code si}): the text of its runs, without the phonetic runs.
+     */
+    private void scan() throws XMLStreamException, IOException {
+        while (reader.hasNext()) {
+            if (reader.next() == XMLStreamConstants.START_ELEMENT && reader.getLocalName().equals("si")) {
+                StringBuilder builder = new StringBuilder();
+                int phonetic = 0;
+                while (reader.hasNext()) {
+                    int event = reader.next();
+                    if (event == XMLStreamConstants.START_ELEMENT) {
+                        if (reader.getLocalName().equals("rPh")) {
+                            phonetic++;
+                        } else if (reader.getLocalName().equals("t") && phonetic == 0) {
+                            builder.append(reader.getElementText());
+                        }
+                    } else if (event == XMLStreamConstants.END_ELEMENT) {
+                        if (reader.getLocalName().equals("rPh")) {
+                            phonetic--;
+                        } else if (reader.getLocalName().equals("si")) {
+                            break;
+                        }
+                    }
+                }
+                add(builder.toString());
+                return;
+            }
+        }
+        EOF = true;
+    }
+
+    private void add(String value) throws IOException {
+        if (count == offsets.length) {
+            offsets = Arrays.copyOf(offsets, offsets.length * 2);
+        }
+        byte[] data = value.getBytes(StandardCharsets.UTF_8);
+        offsets[count] = spillSize;
+        spillFile.seek(spillSize);
+        spillFile.writeInt(data.length);
+        spillFile.write(data);
+        spillSize += 4 + data.length;
+        cache.put(count, value);
+        count++;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (reader != null) {
+                reader.close();
+            }
+        } catch (XMLStreamException ex) {
+            throw new IOException(ex);
+        } finally {
+            if (stream != null) {
+                stream.close();
+            }
+            if (spillFile != null) {
+                spillFile.close();
+                spillFile = null;
+            }
+            if (spill != null && spill.exists()) {
+                if (!spill.delete()) {
+                    spill.deleteOnExit();
+                }
+            }
+        }
+    }
+}
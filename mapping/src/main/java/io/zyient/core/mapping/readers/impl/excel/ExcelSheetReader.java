@@ -0,0 +1,232 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.core.mapping.readers.impl.excel;
+
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.util.LocaleUtil;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.text.DateFormat;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pull parser over the XML stream of a worksheet, returns one row at a time. Cell values are
+ * converted as the workbook model did: trimmed strings, booleans, doubles and dates (numeric cells
+ * with a date format) as {@code dd-MMM-yyyy} strings; formula, error and blank cells have no value.
+ */
+class ExcelSheetReader implements Closeable {
+    private static final String[] DATE_FORMATS = {
+            "yyyy-MM-dd", "MM/dd/yyyy", "dd-MM-yyyy", "yyyy/MM/dd", "M/dd/yy", "MM/dd/yy", "MM/d/yy", "M/d/yy", "M/d/yyyy"
+    };
+
+    record ExcelCell(int column, Object value) {
+    }
+
+    record ExcelRow(int index, List<ExcelCell> cells) {
+    }
+
+    private final InputStream stream;
+    private final XMLStreamReader reader;
+    private final ExcelSharedStrings strings;
+    private final StylesTable styles;
+    private final boolean date1904;
+    private final Map<Integer, Boolean> dateStyles = new HashMap<>();
+    private final DateFormat dateFormat;
+    private int rowIndex = 0;
+    private boolean EOF = false;
+
+    ExcelSheetReader(InputStream stream,
+                     ExcelSharedStrings strings,
+                     StylesTable styles,
+                     boolean date1904) throws IOException {
+        this.stream = stream;
+        this.strings = strings;
+        this.styles = styles;
+        this.date1904 = date1904;
+        dateFormat = new SimpleDateFormat("dd-MMM-yyyy", LocaleUtil.getUserLocale());
+        dateFormat.setTimeZone(LocaleUtil.getUserTimeZone());
+        try {
+            reader = createFactory().createXMLStreamReader(stream);
+        } catch (XMLStreamException ex) {
+            throw new IOException(ex);
+        }
+    }
+
+    static XMLInputFactory createFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+
+    /**
+     * Read the next row of the sheet.
+     *
+     * @return Row or null at the end of the sheet data.
+     */
+    ExcelRow next() throws IOException {
+        if (EOF) return null;
+        try {
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT && reader.getLocalName().equals("row")) {
+                    return readRow();
+                } else if (event == XMLStreamConstants.END_ELEMENT && reader.getLocalName().equals("sheetData")) {
+                    break;
+                }
+            }
+            EOF = true;
+            return null;
+        } catch (XMLStreamException ex) {
+            throw new IOException(ex);
+        }
+    }
+
+    private ExcelRow readRow() throws XMLStreamException, IOException {
+        String r = reader.getAttributeValue(null, "r");
+        int index = (r != null ? Integer.parseInt(r) - 1 : rowIndex);
+        rowIndex = index + 1;
+        List<ExcelCell> cells = new ArrayList<>();
+        int column = 0;
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT && reader.getLocalName().equals("c")) {
+                String ref = reader.getAttributeValue(null, "r");
+                if (ref != null) {
+                    column = columnIndex(ref);
+                }
+                cells.add(new ExcelCell(column, readCell()));
+                column++;
+            } else if (event == XMLStreamConstants.END_ELEMENT && reader.getLocalName().equals("row")) {
+                break;
+            }
+        }
+        return new ExcelRow(index, cells);
+    }
+
+    private Object readCell() throws XMLStreamException, IOException {
+        String type = reader.getAttributeValue(null, "t");
+        String style = reader.getAttributeValue(null, "s");
+        String value = null;
+        StringBuilder inline = null;
+        boolean formula = false;
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                String name = reader.getLocalName();
+                if (name.equals("f")) {
+                    formula = true;
+                } else if (name.equals("v")) {
+                    value = reader.getElementText();
+                } else if (name.equals("is")) {
+                    inline = new StringBuilder();
+                } else if (name.equals("t") && inline != null) {
+                    inline.append(reader.getElementText());
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT && reader.getLocalName().equals("c")) {
+                break;
+            }
+        }
+        if (formula) {
+            return null;
+        }
+        if (type == null || type.equals("n")) {
+            if (value == null || value.isEmpty()) {
+                return null;
+            }
+            double number = Double.parseDouble(value);
+            if (isDateStyle(style == null ? 0 : Integer.parseInt(style))) {
+                return dateFormat.format(DateUtil.getJavaDate(number, date1904));
+            }
+            return number;
+        }
+        return switch (type) {
+            case "s" -> (value == null ? null : strings.get(Integer.parseInt(value)).trim());
+            case "inlineStr" -> (inline == null ? null : inline.toString().trim());
+            case "b" -> (value == null ? null : value.equals("1") || value.equalsIgnoreCase("true"));
+            case "str", "d" -> (value == null ? null : value.trim());
+            default -> null;
+        };
+    }
+
+    private boolean isDateStyle(int index) {
+        if (styles == null) {
+            return false;
+        }
+        Boolean date = dateStyles.get(index);
+        if (date == null) {
+            date = false;
+            if (index < styles.getNumCellStyles()) {
+                XSSFCellStyle style = styles.getStyleAt(index);
+                if (style != null && style.getDataFormatString() != null) {
+                    date = isDateFormat(style.getDataFormatString());
+                }
+            }
+            dateStyles.put(index, date);
+        }
+        return date;
+    }
+
+    static boolean isDateFormat(String format) {
+        format = format.replace("\\", "");
+        for (String f : DATE_FORMATS) {
+            if (f.equalsIgnoreCase(format)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Column index (0 based) of a cell reference, e.g. {@code AB12} is 27.
+     */
+    static int columnIndex(String ref) {
+        int column = 0;
+        for (int ii = 0; ii < ref.length(); ii++) {
+            char c = ref.charAt(ii);
+            if (c < 'A' || c > 'Z') {
+                break;
+            }
+            column = column * 26 + (c - 'A' + 1);
+        }
+        return column - 1;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            reader.close();
+        } catch (XMLStreamException ex) {
+            throw new IOException(ex);
+        } finally {
+            stream.close();
+        }
+    }
+}
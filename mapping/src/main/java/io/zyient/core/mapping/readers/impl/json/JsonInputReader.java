@@ -20,24 +20,39 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
 import io.zyient.base.common.utils.DefaultLogger;
+import io.zyient.core.mapping.model.mapping.SourceMap;
 import io.zyient.core.mapping.readers.ReadCursor;
+import io.zyient.core.mapping.readers.SplittableReader;
 import io.zyient.core.mapping.readers.impl.JacksonInputReader;
 import io.zyient.core.mapping.readers.settings.JsonReaderSettings;
+import io.zyient.core.mapping.readers.util.SplitLineReader;
 
+import java.io.BufferedReader;
+import java.io.FileReader;
 import java.io.IOException;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
-public class JsonInputReader extends JacksonInputReader {
+public class JsonInputReader extends JacksonInputReader implements SplittableReader {
+    private ObjectMapper mapper;
+    private BufferedReader lines;
 
     @Override
     @SuppressWarnings("unchecked")
     public ReadCursor open() throws IOException {
         Preconditions.checkState(settings() instanceof JsonReaderSettings);
         try {
-            ObjectMapper mapper = ((JsonReaderSettings) settings()).getObjectMapper();
-            if (((JsonReaderSettings) settings()).isArray()) {
+            mapper = ((JsonReaderSettings) settings()).getObjectMapper();
+            if (((JsonReaderSettings) settings()).isLineDelimited()) {
+                if (split() != null) {
+                    Preconditions.checkState(splittable());
+                    lines = new BufferedReader(new SplitLineReader(contentInfo().path(), split(), Charset.defaultCharset()));
+                } else {
+                    lines = new BufferedReader(new FileReader(contentInfo().path()));
+                }
+            } else if (((JsonReaderSettings) settings()).isArray()) {
                 Object obj = mapper.readValue(contentInfo().path(), Object.class);
                 if (obj != null) {
                     Object[] array = (Object[]) obj;
@@ -74,4 +89,41 @@ public class JsonInputReader extends JacksonInputReader {
             throw new IOException(ex);
         }
     }
+
+    @Override
+    public boolean splittable() {
+        return ((JsonReaderSettings) settings()).isLineDelimited() && !settings().isEncrypted();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<SourceMap> nextBatch() throws IOException {
+        if (lines == null) {
+            return super.nextBatch();
+        }
+        List<SourceMap> records = new ArrayList<>();
+        while (records.size() < settings().getReadBatchSize()) {
+            String line = lines.readLine();
+            if (line == null) {
+                break;
+            }
+            if (Strings.isNullOrEmpty(line.trim())) {
+                continue;
+            }
+            records.add(new SourceMap(mapper.readValue(line, Map.class)));
+        }
+        if (records.isEmpty()) {
+            return null;
+        }
+        return records;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (lines != null) {
+            lines.close();
+            lines = null;
+        }
+        super.close();
+    }
 }
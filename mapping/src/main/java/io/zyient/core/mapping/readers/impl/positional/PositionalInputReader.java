@@ -23,15 +23,18 @@ import io.zyient.core.mapping.model.PositionalColumn;
 import io.zyient.core.mapping.model.mapping.SourceMap;
 import io.zyient.core.mapping.readers.InputReader;
 import io.zyient.core.mapping.readers.ReadCursor;
+import io.zyient.core.mapping.readers.SplittableReader;
 import io.zyient.core.mapping.readers.settings.PositionalReaderSettings;
+import io.zyient.core.mapping.readers.util.SplitLineReader;
 
 import java.io.BufferedReader;
 import java.io.FileReader;
 import java.io.IOException;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.List;
 
-public class PositionalInputReader extends InputReader {
+public class PositionalInputReader extends InputReader implements SplittableReader {
     private BufferedReader reader;
     private boolean EOF = false;
 
@@ -39,8 +42,14 @@ public class PositionalInputReader extends InputReader {
     public ReadCursor open() throws IOException {
         Preconditions.checkState(settings() instanceof PositionalReaderSettings);
         try {
-            reader = new BufferedReader(new FileReader(contentInfo().path()));
-            if (((PositionalReaderSettings) settings()).isSkipHeader()) {
+            if (split() != null) {
+                Preconditions.checkState(splittable());
+                reader = new BufferedReader(new SplitLineReader(contentInfo().path(), split(), Charset.defaultCharset()));
+            } else {
+                reader = new BufferedReader(new FileReader(contentInfo().path()));
+            }
+            // Only the first split contains the header line.
+            if (((PositionalReaderSettings) settings()).isSkipHeader() && (split() == null || split().isFirst())) {
                 String line = reader.readLine();
                 if (line == null) {
                     EOF = true;
@@ -84,6 +93,11 @@ public class PositionalInputReader extends InputReader {
         }
     }
 
+    @Override
+    public boolean splittable() {
+        return settings().isSplittable() && !settings().isEncrypted();
+    }
+
     @Override
     public List<SourceMap> nextBatch() throws IOException {
         if (EOF) return null;
@@ -20,19 +20,22 @@ import com.google.common.base.Preconditions;
 import io.zyient.core.mapping.model.mapping.SourceMap;
 import io.zyient.core.mapping.readers.InputReader;
 import io.zyient.core.mapping.readers.ReadCursor;
+import io.zyient.core.mapping.readers.SplittableReader;
 import io.zyient.core.mapping.readers.settings.SeparatedReaderSettings;
 import io.zyient.core.mapping.readers.util.PgpDecryptionUtil;
+import io.zyient.core.mapping.readers.util.SplitLineReader;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVRecord;
 
 import java.io.*;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
-public class SeparatedInputReader extends InputReader {
+public class SeparatedInputReader extends InputReader implements SplittableReader {
     private CSVFormat format = null;
     private CSVParser parser = null;
     private Reader reader;
@@ -51,6 +54,16 @@ public class SeparatedInputReader extends InputReader {
                 PgpDecryptionUtil pgpDecryptionUtil = new PgpDecryptionUtil(privateKeyStream, password);
                 stream = pgpDecryptionUtil.decryptInputStream(stream);
                 reader = new InputStreamReader(stream);
+            } else if (split() != null) {
+                Preconditions.checkState(splittable());
+                if (!split().isFirst() && Boolean.TRUE.equals(((SeparatedReaderSettings) settings()).getHasHeader())) {
+                    // Only the first split contains the header record.
+                    format = format.builder()
+                            .setHeader(readHeader(format))
+                            .setSkipHeaderRecord(false)
+                            .build();
+                }
+                reader = new SplitLineReader(contentInfo().path(), split(), Charset.defaultCharset());
             } else {
                 reader = new FileReader(contentInfo().path());
             }
@@ -62,6 +75,17 @@ public class SeparatedInputReader extends InputReader {
         }
     }
 
+    @Override
+    public boolean splittable() {
+        return settings().isSplittable() && !settings().isEncrypted();
+    }
+
+    private String[] readHeader(CSVFormat format) throws IOException {
+        try (CSVParser header = new CSVParser(new FileReader(contentInfo().path()), format)) {
+            return header.getHeaderNames().toArray(new String[0]);
+        }
+    }
+
     private CSVFormat getReaderFormat(SeparatedReaderTypes type) {
         CSVFormat format = null;
         switch (type) {
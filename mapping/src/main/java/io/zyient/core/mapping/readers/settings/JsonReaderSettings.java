@@ -35,6 +35,11 @@ public class JsonReaderSettings extends ReaderSettings {
     private String basePath;
     @Config(name = "isArray", required = false, type = Boolean.class)
     private boolean array = true;
+    /**
+     * One JSON record per line (JSON lines), read as a stream and splittable.
+     */
+    @Config(name = "lineDelimited", required = false, type = Boolean.class)
+    private boolean lineDelimited = false;
     @Config(name = "dateFormat", required = false)
     private String dateFormat = null;
 
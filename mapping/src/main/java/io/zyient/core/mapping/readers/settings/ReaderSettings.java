@@ -34,6 +34,11 @@ public class ReaderSettings extends Settings {
     private SourceTypes assumeType;
     @Config(name = "readBatchSize", required = false, type = Integer.class)
     private int readBatchSize = 512;
+    /**
+     * Records never span lines, the input can be read in byte-range splits.
+     */
+    @Config(name = "splittable", required = false, type = Boolean.class)
+    private boolean splittable = false;
     @Config(name = "protected", required = false, type = Boolean.class)
     private boolean isProtected = false;
     @Config(name = "encrypted", required = false, type = Boolean.class)
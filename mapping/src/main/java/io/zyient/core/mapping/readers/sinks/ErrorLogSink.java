@@ -0,0 +1,96 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.core.mapping.readers.sinks;
+
+import io.zyient.base.common.model.ValidationException;
+import io.zyient.base.common.utils.JSONUtils;
+import io.zyient.base.common.utils.PathUtils;
+import io.zyient.core.mapping.model.InputContentInfo;
+import io.zyient.core.mapping.model.RecordResponse;
+import io.zyient.core.mapping.model.StatusCode;
+import io.zyient.core.mapping.readers.RecordSink;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.experimental.Accessors;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Spills the failed records of a read to a JSON lines file in the temp directory, one line per
+ * record with its position, source and error messages.
+ */
+@Getter
+@Accessors(fluent = true)
+public class ErrorLogSink implements RecordSink {
+    private File file;
+    private long position = 0;
+    private long count = 0;
+    private BufferedWriter writer;
+
+    @Override
+    public RecordSink open(@NonNull InputContentInfo contentInfo) throws IOException {
+        String name = UUID.randomUUID().toString();
+        if (contentInfo.path() != null) {
+            name = String.format("%s-%s", contentInfo.path().getName(), name);
+        }
+        file = PathUtils.getTempFile(PathUtils.toValidFilename(name), "errors.json");
+        writer = Files.newBufferedWriter(file.toPath());
+        return this;
+    }
+
+    @Override
+    public void accept(@NonNull RecordResponse record) throws IOException {
+        position++;
+        if (record.getStatus() == null) {
+            return;
+        }
+        StatusCode status = record.getStatus().getStatus();
+        if (status != StatusCode.Failed && status != StatusCode.ValidationFailed) {
+            return;
+        }
+        Map<String, Object> line = new HashMap<>();
+        line.put("record", position);
+        line.put("status", status.name());
+        line.put("source", record.getSource());
+        if (record.getStatus().getErrors() != null) {
+            List<String> errors = new ArrayList<>();
+            for (ValidationException error : record.getStatus().getErrors()) {
+                errors.add(error.getLocalizedMessage());
+            }
+            line.put("errors", errors);
+        }
+        writer.write(JSONUtils.asString(line));
+        writer.newLine();
+        count++;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.core.mapping.readers.sinks;
+
+import io.zyient.core.mapping.model.InputContentInfo;
+import io.zyient.core.mapping.model.RecordResponse;
+import io.zyient.core.mapping.readers.RecordSink;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.experimental.Accessors;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Keeps a uniform sample of the records of a read (reservoir sampling), the sample never grows
+ * beyond {@code size} records however large the input.
+ */
+@Getter
+@Accessors(fluent = true)
+public class SampledRecordSink implements RecordSink {
+    public static final int DEFAULT_SAMPLE_SIZE = 100;
+
+    private final int size;
+    private final List<RecordResponse> samples;
+    private long seen = 0;
+
+    public SampledRecordSink() {
+        this(DEFAULT_SAMPLE_SIZE);
+    }
+
+    public SampledRecordSink(int size) {
+        this.size = Math.max(size, 1);
+        this.samples = new ArrayList<>(this.size);
+    }
+
+    @Override
+    public RecordSink open(@NonNull InputContentInfo contentInfo) {
+        return this;
+    }
+
+    @Override
+    public void accept(@NonNull RecordResponse record) {
+        seen++;
+        if (samples.size() < size) {
+            samples.add(record);
+        } else {
+            long index = ThreadLocalRandom.current().nextLong(seen);
+            if (index < size) {
+                samples.set((int) index, record);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.core.mapping.readers.util;
+
+import io.zyient.core.mapping.readers.InputSplit;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.experimental.Accessors;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Reads the lines of a file that start inside a split. If the split does not start at the
+ * beginning of the file the partial line at the start is skipped (it is read by the previous
+ * split), and the line that crosses the end of the split is read to its end.
+ * <p>
+ * The lines are also served as a character stream ({@code '\n'} terminated), so that parsers that
+ * take a {@link Reader} can read a split.
+ */
+public class SplitLineReader extends Reader {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Getter
+    @Accessors(fluent = true)
+    private final InputSplit split;
+    private final Charset charset;
+    private FileChannel channel;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int bufferIndex = 0;
+    private int bufferSize = 0;
+    private byte[] line = new byte[1024];
+    @Getter
+    @Accessors(fluent = true)
+    private long position;
+    private boolean EOF = false;
+    private String current = null;
+    private int currentIndex = 0;
+
+    public SplitLineReader(@NonNull File file,
+                           @NonNull InputSplit split,
+                           @NonNull Charset charset) throws IOException {
+        this.split = split;
+        this.charset = charset;
+        channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        if (split.start() > 0) {
+            position = split.start() - 1;
+            channel.position(position);
+            // Skip to the end of the record that starts before the split, if the split starts on
+            // a record boundary only the previous line break is skipped.
+            readLine(true);
+        } else {
+            position = 0;
+        }
+    }
+
+    /**
+     * Read the next line of the split, without the line terminator.
+     *
+     * @return Line or null if all the lines of the split have been read.
+     */
+    public String readLine() throws IOException {
+        if (position >= split.end()) {
+            return null;
+        }
+        return readLine(false);
+    }
+
+    private String readLine(boolean skip) throws IOException {
+        if (EOF) {
+            return null;
+        }
+        int size = 0;
+        boolean terminated = false;
+        while (!terminated) {
+            if (bufferIndex >= bufferSize && !fill()) {
+                break;
+            }
+            int ii = bufferIndex;
+            while (ii < bufferSize && buffer[ii] != '\n') {
+                ii++;
+            }
+            int length = ii - bufferIndex;
+            if (!skip) {
+                if (size + length > line.length) {
+                    line = Arrays.copyOf(line, Math.max(line.length * 2, size + length));
+                }
+                System.arraycopy(buffer, bufferIndex, line, size, length);
+                size += length;
+            }
+            position += length;
+            bufferIndex = ii;
+            if (ii < bufferSize) {
+                terminated = true;
+                bufferIndex++;
+                position++;
+            }
+        }
+        if (!terminated && size == 0) {
+            EOF = true;
+            return null;
+        }
+        if (skip) {
+            return null;
+        }
+        if (size > 0 && line[size - 1] == '\r') {
+            size--;
+        }
+        return new String(line, 0, size, charset);
+    }
+
+    private boolean fill() throws IOException {
+        int read = channel.read(ByteBuffer.wrap(buffer));
+        if (read <= 0) {
+            EOF = true;
+            return false;
+        }
+        bufferIndex = 0;
+        bufferSize = read;
+        return true;
+    }
+
+    @Override
+    public int read(char[] chars, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        int count = 0;
+        while (count < length) {
+            if (current == null || currentIndex > current.length()) {
+                current = readLine();
+                currentIndex = 0;
+                if (current == null) {
+                    break;
+                }
+            }
+            if (currentIndex == current.length()) {
+                chars[offset + count] = '\n';
+                count++;
+                currentIndex++;
+                continue;
+            }
+            int size = Math.min(length - count, current.length() - currentIndex);
+            current.getChars(currentIndex, currentIndex + size, chars, offset + count);
+            currentIndex += size;
+            count += size;
+        }
+        return (count == 0 ? -1 : count);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+}
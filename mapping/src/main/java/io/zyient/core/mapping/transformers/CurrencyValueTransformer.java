@@ -22,6 +22,7 @@ import io.zyient.base.common.utils.ReflectionHelper;
 import io.zyient.core.mapping.DataException;
 import io.zyient.core.mapping.mapper.MappingSettings;
 import io.zyient.core.mapping.model.CurrencyValue;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.Setter;
@@ -43,12 +44,22 @@ public class CurrencyValueTransformer extends DeSerializer<CurrencyValue> {
     public static final String LOCALE_OVERRIDE = "formatter.currency.locale";
     public static final String CURRENCY_OVERRIDE = "formatter.currency.code";
     public static final String CURRENCY_PARSE_REGEX = "%s\\s*(.*)";
-    private static Pattern CURRENCY_PARSE_CODE;
-    private static Pattern CURRENCY_PARSE_SYMBOL;
 
     private Locale locale;
     private Currency currency;
-    private DecimalFormat format;
+    /**
+     * DecimalFormat is not thread safe and the transformer is shared by the mapping workers,
+     * each thread parses with its own instance.
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private ThreadLocal<DecimalFormat> format;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private Pattern parseCode;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private Pattern parseSymbol;
 
     public CurrencyValueTransformer() {
         super(CurrencyValue.class);
@@ -70,14 +81,14 @@ public class CurrencyValueTransformer extends DeSerializer<CurrencyValue> {
                 throw new ConfigurationException("Locale not specified...");
             }
         }
-        format = (DecimalFormat) DecimalFormat.getInstance(locale);
+        format = formatter(locale);
         currency = Currency.getInstance(locale);
         String c = settings.getCurrencyCode();
         if (!Strings.isNullOrEmpty(c)) {
             currency = Currency.getInstance(c);
         }
-        CURRENCY_PARSE_SYMBOL = Pattern.compile(String.format(CURRENCY_PARSE_REGEX, currency.getSymbol()));
-        CURRENCY_PARSE_CODE = Pattern.compile(String.format(CURRENCY_PARSE_REGEX, currency.getCurrencyCode()));
+        parseSymbol = Pattern.compile(String.format(CURRENCY_PARSE_REGEX, currency.getSymbol()));
+        parseCode = Pattern.compile(String.format(CURRENCY_PARSE_REGEX, currency.getCurrencyCode()));
         return this;
     }
 
@@ -96,17 +107,21 @@ public class CurrencyValueTransformer extends DeSerializer<CurrencyValue> {
                 throw new ConfigurationException("Locale not specified...");
             }
         }
-        format = (DecimalFormat) DecimalFormat.getInstance(locale);
+        format = formatter(locale);
         currency = Currency.getInstance(locale);
         String c = xmlConfig.getString(CURRENCY_OVERRIDE);
         if (!Strings.isNullOrEmpty(c)) {
             currency = Currency.getInstance(c);
         }
-        CURRENCY_PARSE_SYMBOL = Pattern.compile(String.format(CURRENCY_PARSE_REGEX, currency.getSymbol()));
-        CURRENCY_PARSE_CODE = Pattern.compile(String.format(CURRENCY_PARSE_REGEX, currency.getCurrencyCode()));
+        parseSymbol = Pattern.compile(String.format(CURRENCY_PARSE_REGEX, currency.getSymbol()));
+        parseCode = Pattern.compile(String.format(CURRENCY_PARSE_REGEX, currency.getCurrencyCode()));
         return this;
     }
 
+    private static ThreadLocal<DecimalFormat> formatter(Locale locale) {
+        return ThreadLocal.withInitial(() -> (DecimalFormat) DecimalFormat.getInstance(locale));
+    }
+
     @Override
     public CurrencyValue transform(@NonNull Object source) throws DataException {
         if (source instanceof CurrencyValue) {
@@ -116,23 +131,23 @@ public class CurrencyValueTransformer extends DeSerializer<CurrencyValue> {
             return new CurrencyValue(currency, dv);
         } else if (source instanceof String value) {
             try {
-                Matcher m = CURRENCY_PARSE_SYMBOL.matcher(value);
+                Matcher m = parseSymbol.matcher(value);
                 if (m.matches()) {
                     String ds = m.group(1);
                     if (!Strings.isNullOrEmpty(ds)) {
-                        Number number = format.parse(ds);
+                        Number number = format.get().parse(ds);
                         return new CurrencyValue(currency, number.doubleValue());
                     }
                 }
-                m = CURRENCY_PARSE_CODE.matcher(value);
+                m = parseCode.matcher(value);
                 if (m.matches()) {
                     String ds = m.group(1);
                     if (!Strings.isNullOrEmpty(ds)) {
-                        Number number = format.parse(ds);
+                        Number number = format.get().parse(ds);
                         return new CurrencyValue(currency, number.doubleValue());
                     }
                 }
-                Number number = format.parse(value);
+                Number number = format.get().parse(value);
                 return new CurrencyValue(currency, number.doubleValue());
             } catch (Exception ex) {
                 throw new DataException(ex);
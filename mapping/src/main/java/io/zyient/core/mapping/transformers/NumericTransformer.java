@@ -22,6 +22,7 @@ import io.zyient.base.common.utils.CommonUtils;
 import io.zyient.base.common.utils.ReflectionHelper;
 import io.zyient.core.mapping.DataException;
 import io.zyient.core.mapping.mapper.MappingSettings;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.Setter;
@@ -41,7 +42,13 @@ public abstract class NumericTransformer<T> extends DeSerializer<T> {
 
     private final Class<T> type;
     private Locale locale;
-    protected NumberFormat format;
+    /**
+     * NumberFormat is not thread safe and the transformer is shared by the mapping workers,
+     * each thread parses with its own instance.
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private ThreadLocal<NumberFormat> format;
 
     protected NumericTransformer(@NonNull Class<T> type) {
         super(type);
@@ -68,7 +75,7 @@ public abstract class NumericTransformer<T> extends DeSerializer<T> {
                 throw new ConfigurationException("Locale not specified...");
             }
         }
-        format = NumberFormat.getInstance(locale);
+        format = formatter(locale);
         return this;
     }
 
@@ -86,13 +93,17 @@ public abstract class NumericTransformer<T> extends DeSerializer<T> {
                 throw new ConfigurationException("Locale not specified...");
             }
         }
-        format = NumberFormat.getInstance(locale);
+        format = formatter(locale);
         return this;
     }
 
+    private static ThreadLocal<NumberFormat> formatter(Locale locale) {
+        return ThreadLocal.withInitial(() -> NumberFormat.getInstance(locale));
+    }
+
     protected Number parse(@NonNull String value) throws DataException {
         try {
-            return format.parse(value);
+            return format.get().parse(value);
         } catch (Exception ex) {
             throw new DataException(ex);
         }
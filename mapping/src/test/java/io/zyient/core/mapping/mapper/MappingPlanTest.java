@@ -0,0 +1,165 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.core.mapping.mapper;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonSetter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.deser.std.StringDeserializer;
+import io.zyient.base.common.utils.DefaultLogger;
+import io.zyient.base.common.utils.JSONUtils;
+import io.zyient.core.mapping.model.mapping.MappedElement;
+import lombok.Getter;
+import lombok.Setter;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappingPlanTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void read() {
+        try {
+            ObjectMapper mapper = new ObjectMapper();
+            List<MappedElement> elements = List.of(
+                    new MappedElement("id", "sourceId", false, String.class, null),
+                    new MappedElement("nested.date", "created", false, Date.class, null),
+                    new MappedElement("nested.nested.id", "inner.id", false, String.class, null),
+                    new MappedElement("type", "inner.etype", false, Constants.TestEnum.class, null),
+                    new MappedElement("values", "inner.strings", true, List.class, null),
+                    new MappedElement("nested.nested.values", "inner.doubles", true, List.class, null));
+            MapTransformer<Constants.Target> transformer = new MapTransformer<>(Constants.Target.class, new MappingSettings());
+            for (MappedElement element : elements) {
+                transformer.add(element);
+            }
+            MappingPlan<Constants.Target> plan = MappingPlan.compile(Constants.Target.class,
+                    elements, transformer, new HashMap<>(), mapper);
+            assertNotNull(plan);
+            assertEquals(elements.size(), plan.size());
+
+            for (int ii = 0; ii < 8; ii++) {
+                Constants.Source source = new Constants.Source();
+                Map<String, Object> data = (Map<String, Object>) mapper.readValue(JSONUtils.asString(source), Object.class);
+                Constants.Target expected = mapper.convertValue(transformer.transform(data, Constants.Target.class),
+                        Constants.Target.class);
+                Constants.Target target = plan.read(data);
+                assertEquals(expected.getSourceId(), target.getSourceId());
+                assertEquals(expected.getCreated(), target.getCreated());
+                assertNotNull(target.getInner());
+                assertEquals(expected.getInner().getId(), target.getInner().getId());
+                assertEquals(expected.getInner().getEtype(), target.getInner().getEtype());
+                assertEquals(expected.getInner().getStrings(), target.getInner().getStrings());
+                assertEquals(expected.getInner().getDoubles(), target.getInner().getDoubles());
+            }
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+
+    @Test
+    void keyedTarget() {
+        try {
+            List<MappedElement> elements = List.of(
+                    new MappedElement("id", "sourceId", false, String.class, null),
+                    new MappedElement("nested.nested.values", "properties.['doubles']", false, List.class, null));
+            MapTransformer<Constants.Target> transformer = new MapTransformer<>(Constants.Target.class, new MappingSettings());
+            for (MappedElement element : elements) {
+                transformer.add(element);
+            }
+            assertNull(MappingPlan.compile(Constants.Target.class,
+                    elements, transformer, new HashMap<>(), new ObjectMapper()));
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+
+    @Test
+    void annotatedTarget() {
+        try {
+            for (String target : List.of("renamed", "aliased", "deserialized", "ignored")) {
+                List<MappedElement> elements = List.of(
+                        new MappedElement("plain", "plain", false, String.class, null),
+                        new MappedElement("value", target, false, String.class, null));
+                MapTransformer<Annotated> transformer = new MapTransformer<>(Annotated.class, new MappingSettings());
+                for (MappedElement element : elements) {
+                    transformer.add(element);
+                }
+                assertNull(MappingPlan.compile(Annotated.class,
+                        elements, transformer, new HashMap<>(), new ObjectMapper()), target);
+            }
+            List<MappedElement> elements = List.of(new MappedElement("plain", "plain", false, String.class, null));
+            MapTransformer<Annotated> transformer = new MapTransformer<>(Annotated.class, new MappingSettings());
+            transformer.add(elements.get(0));
+            MappingPlan<Annotated> plan = MappingPlan.compile(Annotated.class,
+                    elements, transformer, new HashMap<>(), new ObjectMapper());
+            assertNotNull(plan);
+            assertEquals("value", plan.read(Map.of("plain", "value")).getPlain());
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+
+    @Test
+    void invalidNodeType() {
+        try {
+            List<MappedElement> elements = List.of(
+                    new MappedElement("id", "sourceId", false, String.class, null),
+                    new MappedElement("nested.nested.id", "inner.id", true, String.class, null));
+            MapTransformer<Constants.Target> transformer = new MapTransformer<>(Constants.Target.class, new MappingSettings());
+            for (MappedElement element : elements) {
+                transformer.add(element);
+            }
+            MappingPlan<Constants.Target> plan = MappingPlan.compile(Constants.Target.class,
+                    elements, transformer, new HashMap<>(), new ObjectMapper());
+            assertNotNull(plan);
+            Map<String, Object> data = Map.of("id", "id", "nested", Map.of("nested", "not a node"));
+            Exception expected = assertThrows(Exception.class,
+                    () -> transformer.transform(data, Constants.Target.class));
+            Exception error = assertThrows(Exception.class, () -> plan.read(data));
+            assertTrue(expected.getMessage().startsWith("Invalid node type"));
+            assertEquals(expected.getMessage(), error.getMessage());
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class Annotated {
+        private String plain;
+        @JsonProperty("renamed_value")
+        private String renamed;
+        @JsonSetter("aliased_value")
+        private String aliased;
+        @JsonDeserialize(using = StringDeserializer.class)
+        private String deserialized;
+        @JsonIgnore
+        private String ignored;
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.core.mapping.model;
+
+import io.zyient.base.common.model.Context;
+import io.zyient.base.common.model.CopyException;
+import io.zyient.base.common.model.ValidationExceptions;
+import io.zyient.base.common.model.entity.IEntity;
+import io.zyient.base.core.model.LongKey;
+import io.zyient.core.persistence.annotations.EGeneratedType;
+import io.zyient.core.persistence.annotations.GeneratedId;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Entity
+@Table(name = "load_rows")
+public class LoadRow implements IEntity<LongKey> {
+    public static final int NAME_LENGTH = 32;
+
+    @Id
+    @GeneratedId(type = EGeneratedType.SEQUENCE, sequence = "load_rows")
+    private Long id;
+    @Column(name = "name", length = NAME_LENGTH)
+    private String name;
+    @Column(name = "amount")
+    private long amount;
+
+    @Override
+    public int compare(LongKey key) {
+        return Long.compare(id, key.getKey());
+    }
+
+    @Override
+    public IEntity<LongKey> copyChanges(IEntity<LongKey> source, Context context) throws CopyException {
+        return this;
+    }
+
+    @Override
+    public IEntity<LongKey> clone(Context context) throws CopyException {
+        return this;
+    }
+
+    @Override
+    public LongKey entityKey() {
+        return new LongKey(id);
+    }
+
+    @Override
+    public void validate() throws ValidationExceptions {
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.core.mapping.pipeline;
+
+import io.zyient.base.common.model.Context;
+import io.zyient.base.common.model.ValidationException;
+import io.zyient.base.common.model.ValidationExceptions;
+import io.zyient.base.common.utils.DefaultLogger;
+import io.zyient.base.core.model.LongKey;
+import io.zyient.core.mapping.model.EvaluationStatus;
+import io.zyient.core.mapping.model.LoadRow;
+import io.zyient.core.mapping.model.RecordResponse;
+import io.zyient.core.mapping.model.StatusCode;
+import io.zyient.core.mapping.model.mapping.SourceMap;
+import io.zyient.core.mapping.pipeline.source.SourceEntityPipeline;
+import io.zyient.core.mapping.readers.ReadResponse;
+import lombok.NonNull;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChunkCommitterTest {
+    private static final int ROWS = 1000;
+    private static final int CHUNK = 100;
+    private static final int BAD_ROW = 517;
+
+    @Test
+    void badRow() {
+        try {
+            File dir = Files.createTempDirectory("chunk-committer").toFile();
+            File file = H2LoadPipeline.write(new File(dir, "rows.csv"), ROWS,
+                    ii -> (ii == BAD_ROW ? "x".repeat(LoadRow.NAME_LENGTH + 1) : String.format("row-%d", ii)));
+            try (H2LoadPipeline load = new H2LoadPipeline("chunk-bad-row", CHUNK)) {
+                ReadResponse response = load.load(file);
+                assertEquals(ROWS, response.getRecordCount());
+                assertEquals(1, response.getErrorCount());
+                assertEquals(ROWS - 1, response.getCommitCount());
+                assertEquals(ROWS / CHUNK, response.getBatchCount());
+                long[] counts = load.counts();
+                assertEquals(ROWS - 1, counts[0]);
+                assertEquals(ROWS - 1, counts[1]);
+            } finally {
+                assertTrue(file.delete());
+                assertTrue(dir.delete());
+            }
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+
+    @Test
+    void errorsNotSaved() {
+        try {
+            String failing = String.format("row-%d", BAD_ROW);
+            ErrorsPipeline pipeline = new ErrorsPipeline(failing);
+            try (H2LoadPipeline load = new H2LoadPipeline("jdbc:h2:mem:chunk-errors;DB_CLOSE_DELAY=-1",
+                    "chunk-errors", CHUNK, pipeline)) {
+                ReadResponse response = new ReadResponse();
+                ChunkCommitter<LongKey, LoadRow> committer = new ChunkCommitter<>(pipeline, CHUNK, response, null);
+                for (int ii = 0; ii < ROWS; ii++) {
+                    LoadRow row = new LoadRow();
+                    row.setName(String.format("row-%d", ii));
+                    row.setAmount(ii);
+                    RecordResponse record = new RecordResponse();
+                    record.setSource(new SourceMap());
+                    EvaluationStatus status = new EvaluationStatus();
+                    status.setStatus(StatusCode.Success);
+                    record.setStatus(status);
+                    ValidationExceptions errors = null;
+                    if (ii % 10 == BAD_ROW % 10) {
+                        errors = ValidationExceptions.add(
+                                new ValidationException(String.format("invalid record [%d]", ii)), null);
+                    }
+                    response.incrementCount();
+                    committer.add(record, row, errors);
+                }
+                committer.flush();
+                response.close();
+                // The entities are written by the store, failing to save validation errors doesn't write them again.
+                assertEquals(0, committer.retries());
+                assertEquals(ROWS / CHUNK, committer.commits());
+                assertEquals(ROWS, response.getCommitCount());
+                assertEquals(1, response.getErrorCount());
+                long[] counts = load.counts();
+                assertEquals(ROWS, counts[0]);
+                assertEquals(ROWS, counts[1]);
+            }
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+
+    private static class ErrorsPipeline extends SourceEntityPipeline<LongKey, LoadRow> {
+        private final String failing;
+
+        private ErrorsPipeline(String failing) {
+            this.failing = failing;
+        }
+
+        @Override
+        protected void save(@NonNull LoadRow entity,
+                            @NonNull ValidationExceptions errors,
+                            Context context) throws Exception {
+            if (failing.equals(entity.getName())) {
+                throw new Exception(String.format("Failed to save validation errors. [name=%s]", entity.getName()));
+            }
+        }
+    }
+}
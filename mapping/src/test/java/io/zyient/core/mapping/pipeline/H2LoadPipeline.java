@@ -0,0 +1,238 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.core.mapping.pipeline;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.zyient.base.core.BaseEnv;
+import io.zyient.base.core.connections.Connection;
+import io.zyient.base.core.model.LongKey;
+import io.zyient.base.core.processing.ProcessorState;
+import io.zyient.core.mapping.env.DemoDataStoreEnv;
+import io.zyient.core.mapping.mapper.LoadRowMapping;
+import io.zyient.core.mapping.model.InputContentInfo;
+import io.zyient.core.mapping.model.LoadRow;
+import io.zyient.core.mapping.pipeline.settings.PersistedEntityPipelineSettings;
+import io.zyient.core.mapping.pipeline.source.SourceEntityPipeline;
+import io.zyient.core.mapping.readers.ReadResponse;
+import io.zyient.core.mapping.readers.impl.separated.SeparatedInputReader;
+import io.zyient.core.mapping.readers.settings.SeparatedReaderSettings;
+import io.zyient.core.persistence.AbstractConnection;
+import io.zyient.core.persistence.AbstractDataStore;
+import io.zyient.core.persistence.DataStoreManager;
+import io.zyient.core.persistence.SequenceAllocator;
+import io.zyient.core.persistence.impl.rdbms.HibernateConnection;
+import io.zyient.core.persistence.impl.rdbms.RdbmsDataStore;
+import io.zyient.core.persistence.impl.settings.rdbms.RdbmsStoreSettings;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.experimental.Accessors;
+import org.apache.commons.configuration2.XMLConfiguration;
+import org.apache.commons.configuration2.io.FileHandler;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.cfg.Environment;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+
+/**
+ * {@link SourceEntityPipeline} loading {@link LoadRow} records from CSV files into H2, for tests that
+ * don't need a database server. The database is in memory, or in the specified directory for loads
+ * that don't fit in the heap. Sequences are served from a local counter.
+ */
+@Getter
+@Accessors(fluent = true)
+public class H2LoadPipeline implements Closeable {
+    private static final String[] COLUMNS = {"Name", "Amount"};
+    private static final String[] TARGETS = {"name", "amount"};
+
+    private final HibernateConnection connection;
+    private final RdbmsDataStore dataStore;
+    private final SourceEntityPipeline<LongKey, LoadRow> pipeline;
+
+    public H2LoadPipeline(@NonNull String name, int commitBatchSize) throws Exception {
+        this(String.format("jdbc:h2:mem:%s;DB_CLOSE_DELAY=-1", name), name, commitBatchSize,
+                new SourceEntityPipeline<>());
+    }
+
+    public H2LoadPipeline(@NonNull File dir,
+                          @NonNull String name,
+                          int commitBatchSize,
+                          @NonNull SourceEntityPipeline<LongKey, LoadRow> pipeline) throws Exception {
+        this(String.format("jdbc:h2:file:%s", new File(dir, name).getAbsolutePath()), name, commitBatchSize,
+                pipeline);
+    }
+
+    public H2LoadPipeline(@NonNull String url,
+                          @NonNull String name,
+                          int commitBatchSize,
+                          @NonNull SourceEntityPipeline<LongKey, LoadRow> pipeline) throws Exception {
+        if (BaseEnv.registry() == null) {
+            BaseEnv.registry(new SimpleMeterRegistry());
+        }
+        Properties properties = new Properties();
+        properties.setProperty(Environment.DRIVER, "org.h2.Driver");
+        properties.setProperty(Environment.URL, url);
+        properties.setProperty(Environment.USER, "sa");
+        properties.setProperty(Environment.PASS, "");
+        properties.setProperty(Environment.HBM2DDL_AUTO, "create-drop");
+        SessionFactory sessionFactory = new Configuration()
+                .addProperties(properties)
+                .addAnnotatedClass(LoadRow.class)
+                .buildSessionFactory();
+        connection = new HibernateConnection().withSessionFactory(sessionFactory);
+        connection.state().setState(Connection.EConnectionState.Initialized);
+        connection.connect();
+
+        RdbmsStoreSettings storeSettings = new RdbmsStoreSettings();
+        storeSettings.setName(name);
+        storeSettings.setConnectionName(name);
+        storeSettings.setConnectionType(HibernateConnection.class);
+        storeSettings.setBatchSize(commitBatchSize);
+        DemoDataStoreEnv env = new DemoDataStoreEnv();
+        dataStore = new RdbmsDataStore();
+        dataStore.configure(new H2DataStoreManager(connection), storeSettings, env);
+
+        XMLConfiguration config = new XMLConfiguration();
+        new FileHandler(config).load(new StringReader(config(name)));
+        LoadRowMapping mapping = (LoadRowMapping) new LoadRowMapping()
+                .configure(config.configurationAt("mapping"), env);
+
+        PersistedEntityPipelineSettings settings = new PersistedEntityPipelineSettings();
+        settings.setName(name);
+        settings.setTerminateOnValidationError(false);
+        settings.setCommitBatchSize(commitBatchSize);
+        this.pipeline = pipeline;
+        pipeline.settings(settings);
+        pipeline.mapping(mapping);
+        pipeline.entityType(LoadRow.class);
+        pipeline.keyType(LongKey.class);
+        pipeline.dataStore(dataStore);
+        pipeline.state().setState(ProcessorState.EProcessorState.Running);
+    }
+
+    public ReadResponse load(@NonNull File file) throws Exception {
+        InputContentInfo ci = new InputContentInfo()
+                .path(file)
+                .sourceURI(file.toURI());
+        SeparatedReaderSettings settings = new SeparatedReaderSettings();
+        settings.setHasHeader(true);
+        SeparatedInputReader reader = (SeparatedInputReader) new SeparatedInputReader()
+                .contentInfo(ci)
+                .settings(settings);
+        return pipeline.read(reader, ci);
+    }
+
+    /**
+     * Number of rows in the table.
+     */
+    public long count() throws Exception {
+        try (StatelessSession session = connection.openStatelessSession()) {
+            return session.createNativeQuery("SELECT COUNT(*) FROM load_rows", Long.class)
+                    .getSingleResult();
+        }
+    }
+
+    /**
+     * Number of rows in the table and of distinct names (rows written twice share the name).
+     * The distinct count is computed in memory by H2, use {@link #count()} on large tables.
+     */
+    public long[] counts() throws Exception {
+        try (StatelessSession session = connection.openStatelessSession()) {
+            Object[] counts = session.createNativeQuery("SELECT COUNT(*), COUNT(DISTINCT name) FROM load_rows",
+                            Object[].class)
+                    .getSingleResult();
+            return new long[]{((Number) counts[0]).longValue(), ((Number) counts[1]).longValue()};
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        dataStore.close();
+        connection.close();
+    }
+
+    /**
+     * Write a CSV file of {@code rows} records, named by the specified function.
+     */
+    public static File write(@NonNull File file, int rows, @NonNull IntFunction<String> names) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file.toPath())) {
+            writer.write(String.join(",", COLUMNS));
+            writer.newLine();
+            for (int ii = 0; ii < rows; ii++) {
+                writer.write(String.format("%s,%d", names.apply(ii), ii));
+                writer.newLine();
+            }
+        }
+        return file;
+    }
+
+    private static String config(String name) {
+        StringBuilder builder = new StringBuilder("<configuration>")
+                .append("<mapping entity=\"io.zyient.core.mapping.mapper.LoadRowMappedResponse\"")
+                .append(" type=\"io.zyient.core.mapping.mapper.LoadRowMapping\">")
+                .append("<settings><name>").append(name).append("</name></settings><mappings>");
+        for (int ii = 0; ii < COLUMNS.length; ii++) {
+            builder.append("<map source=\"").append(COLUMNS[ii]).append("\">")
+                    .append("<sequence>").append(ii + 1).append("</sequence>")
+                    .append("<target>").append(TARGETS[ii]).append("</target>")
+                    .append("<nullable>false</nullable>")
+                    .append("<type>Field</type>")
+                    .append("</map>");
+        }
+        return builder.append("</mappings></mapping></configuration>").toString();
+    }
+
+    private static class H2DataStoreManager extends DataStoreManager {
+        private final HibernateConnection connection;
+        private final AtomicLong sequence = new AtomicLong();
+
+        private H2DataStoreManager(HibernateConnection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T extends AbstractConnection<?>> T getConnection(@NonNull String name,
+                                                                 Class<? extends T> type) {
+            return (T) connection;
+        }
+
+        @Override
+        public long nextSequence(String name, String sequenceName) {
+            return sequence.incrementAndGet();
+        }
+
+        @Override
+        public SequenceAllocator.Range nextSequences(String name, String sequenceName, int count) {
+            return new SequenceAllocator.Range(sequence.getAndAdd(count) + 1, count);
+        }
+
+        @Override
+        @SuppressWarnings("rawtypes")
+        public void close(@NonNull AbstractDataStore dataStore) {
+        }
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.core.mapping.pipeline;
+
+import io.zyient.base.common.utils.DefaultLogger;
+import io.zyient.core.mapping.mapper.MappingSettings;
+import io.zyient.core.mapping.model.RecordResponse;
+import io.zyient.core.mapping.model.mapping.SourceMap;
+import io.zyient.core.mapping.readers.InputReader;
+import io.zyient.core.mapping.readers.ReadCursor;
+import io.zyient.core.mapping.transformers.DeSerializer;
+import io.zyient.core.mapping.transformers.DoubleTransformer;
+import io.zyient.core.mapping.transformers.IntegerTransformer;
+import io.zyient.core.mapping.transformers.LongTransformer;
+import lombok.NonNull;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PartitionedMapperTest {
+    private static final int PARTITIONS = 3;
+    private static final int RECORDS = 1000;
+    private static final int BATCH_SIZE = 16;
+    private static final int NUMERIC_PARTITIONS = 8;
+    private static final int NUMERIC_RECORDS = 25000;
+
+    @Test
+    void ordered() {
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try (PartitionedMapper mapper = new PartitionedMapper(readers(),
+                PartitionedMapperTest::map,
+                true,
+                BATCH_SIZE,
+                PartitionedMapper.DEFAULT_QUEUE_SIZE).start(executor)) {
+            int count = 0;
+            RecordResponse record;
+            while ((record = mapper.next()) != null) {
+                assertEquals(count / RECORDS, record.getSource().get("partition"));
+                assertEquals(count % RECORDS, record.getSource().get("index"));
+                count++;
+            }
+            assertEquals(PARTITIONS * RECORDS, count);
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void interruptedWorkers() {
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try (PartitionedMapper mapper = new PartitionedMapper(readers(),
+                PartitionedMapperTest::map,
+                true,
+                1,
+                1).start(executor)) {
+            assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+                assertNotNull(mapper.next());
+                // Workers are blocked on the full queues, the consumer must still see every partition end.
+                executor.shutdownNow();
+                Exception error = assertThrows(Exception.class, () -> {
+                    while (mapper.next() != null) {
+                    }
+                });
+                assertInstanceOf(InterruptedException.class, error);
+            });
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+
+    @Test
+    void numericColumns() {
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            // Shared by all the workers, as the deserializers registered by a mapping.
+            MappingSettings settings = new MappingSettings();
+            DeSerializer<Integer> integers = new IntegerTransformer().locale(Locale.US).configure(settings);
+            DeSerializer<Long> longs = new LongTransformer().locale(Locale.US).configure(settings);
+            DeSerializer<Double> doubles = new DoubleTransformer().locale(Locale.US).configure(settings);
+            PartitionedMapper.RecordMapper parser = data -> {
+                SourceMap values = new SourceMap();
+                values.put("partition", data.get("partition"));
+                values.put("index", data.get("index"));
+                values.put("integer", integers.transform(data.get("integer")));
+                values.put("long", longs.transform(data.get("long")));
+                values.put("double", doubles.transform(data.get("double")));
+                return map(values);
+            };
+            try (PartitionedMapper mapper = new PartitionedMapper(readers(NUMERIC_PARTITIONS, NUMERIC_RECORDS),
+                    parser,
+                    false,
+                    BATCH_SIZE,
+                    PartitionedMapper.DEFAULT_QUEUE_SIZE).start(executor)) {
+                int count = 0;
+                RecordResponse record;
+                while ((record = mapper.next()) != null) {
+                    SourceMap values = record.getSource();
+                    int partition = (int) values.get("partition");
+                    int index = (int) values.get("index");
+                    assertEquals(integerValue(partition, index), values.get("integer"));
+                    assertEquals(longValue(partition, index), values.get("long"));
+                    assertEquals(doubleValue(partition, index), values.get("double"));
+                    count++;
+                }
+                assertEquals(NUMERIC_PARTITIONS * NUMERIC_RECORDS, count);
+            }
+        } catch (Throwable ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static int integerValue(int partition, int index) {
+        return partition * 1_000_000 + index * 37;
+    }
+
+    private static long longValue(int partition, int index) {
+        return partition * 10_000_000_000L + index * 7_919L;
+    }
+
+    private static double doubleValue(int partition, int index) {
+        return partition * 100_000 + index + 0.125;
+    }
+
+    private static RecordResponse map(@NonNull SourceMap data) {
+        RecordResponse response = new RecordResponse();
+        response.setSource(data);
+        return response;
+    }
+
+    private static List<InputReader> readers() {
+        return readers(PARTITIONS, RECORDS);
+    }
+
+    private static List<InputReader> readers(int partitions, int records) {
+        List<InputReader> readers = new ArrayList<>(partitions);
+        for (int ii = 0; ii < partitions; ii++) {
+            readers.add(new GeneratedReader(ii, records));
+        }
+        return readers;
+    }
+
+    private static class GeneratedReader extends InputReader {
+        private final int partition;
+        private final int records;
+        private int index = 0;
+
+        private GeneratedReader(int partition, int records) {
+            this.partition = partition;
+            this.records = records;
+        }
+
+        @Override
+        public ReadCursor open() {
+            return new ReadCursor(this, BATCH_SIZE);
+        }
+
+        @Override
+        public List<SourceMap> nextBatch() {
+            List<SourceMap> batch = new ArrayList<>(BATCH_SIZE);
+            while (index < records && batch.size() < BATCH_SIZE) {
+                SourceMap data = new SourceMap();
+                data.put("partition", partition);
+                data.put("index", index);
+                // Numeric columns as read from a delimited file, with grouping separators.
+                data.put("integer", String.format(Locale.US, "%,d", integerValue(partition, index)));
+                data.put("long", String.format(Locale.US, "%,d", longValue(partition, index)));
+                data.put("double", String.format(Locale.US, "%,.3f", doubleValue(partition, index)));
+                index++;
+                batch.add(data);
+            }
+            return batch;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.core.mapping.readers;
+
+import io.zyient.base.common.utils.DefaultLogger;
+import io.zyient.base.core.model.LongKey;
+import io.zyient.core.mapping.model.InputContentInfo;
+import io.zyient.core.mapping.model.LoadRow;
+import io.zyient.core.mapping.pipeline.H2LoadPipeline;
+import io.zyient.core.mapping.pipeline.source.SourceEntityPipeline;
+import io.zyient.core.mapping.readers.sinks.ErrorLogSink;
+import io.zyient.core.mapping.readers.sinks.SampledRecordSink;
+import lombok.NonNull;
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Loads a generated 10M record CSV file into an H2 file database through
+ * {@link SourceEntityPipeline#read} in commit chunks. Run by the {@code boundedHeapTest} task with a
+ * 256 MB heap, which fails with an OutOfMemoryError if per-record outcomes are retained.
+ */
+@Tag("bounded-heap")
+class ReadResponseTest {
+    private static final int RECORDS = 10_000_000;
+    private static final int ERROR_EVERY = 1000;
+    private static final int CHUNK = 1000;
+
+    @Test
+    void streamRecords() {
+        try {
+            File dir = Files.createTempDirectory("read-response-test").toFile();
+            try {
+                // Names longer than the column are rejected by the database.
+                String invalid = "x".repeat(LoadRow.NAME_LENGTH + 1);
+                File file = H2LoadPipeline.write(new File(dir, "read-response-test.csv"), RECORDS,
+                        ii -> (ii % ERROR_EVERY == 0 ? invalid : String.format("record-%d", ii)));
+                SinkPipeline pipeline = new SinkPipeline();
+                try (H2LoadPipeline load = new H2LoadPipeline(dir, "read-response-test", CHUNK, pipeline)) {
+                    ReadResponse response = load.load(file);
+                    int errors = RECORDS / ERROR_EVERY;
+                    assertEquals(RECORDS, response.getRecordCount());
+                    assertEquals(errors, response.getErrorCount());
+                    assertEquals(RECORDS - errors, response.getCommitCount());
+                    assertEquals(RECORDS / CHUNK, response.getBatchCount());
+                    assertEquals(ReadResponse.DEFAULT_ERROR_SAMPLE_SIZE, response.getErrors().size());
+                    assertEquals(SampledRecordSink.DEFAULT_SAMPLE_SIZE, pipeline.sampled.samples().size());
+                    assertEquals(RECORDS, pipeline.sampled.seen());
+                    assertEquals(errors, pipeline.errorLog.count());
+                    assertTrue(pipeline.errorLog.file().exists());
+                    assertTrue(pipeline.errorLog.file().delete());
+                    assertEquals(RECORDS - errors, load.count());
+                }
+            } finally {
+                FileUtils.deleteDirectory(dir);
+            }
+        } catch (Throwable t) {
+            DefaultLogger.stacktrace(t);
+            fail(t);
+        }
+    }
+
+    private static class SinkPipeline extends SourceEntityPipeline<LongKey, LoadRow> {
+        private final ErrorLogSink errorLog = new ErrorLogSink();
+        private final SampledRecordSink sampled = new SampledRecordSink();
+
+        @Override
+        protected ReadResponse createResponse(@NonNull InputContentInfo contentInfo) throws Exception {
+            return super.createResponse(contentInfo)
+                    .withSink(errorLog.open(contentInfo))
+                    .withSink(sampled.open(contentInfo));
+        }
+    }
+}
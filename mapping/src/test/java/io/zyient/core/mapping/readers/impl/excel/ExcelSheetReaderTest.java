@@ -0,0 +1,344 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.core.mapping.readers.impl.excel;
+
+import io.zyient.base.common.utils.DefaultLogger;
+import io.zyient.base.common.utils.PathUtils;
+import io.zyient.core.mapping.model.InputContentInfo;
+import io.zyient.core.mapping.readers.settings.ExcelReaderSettings;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.apache.poi.poifs.crypt.EncryptionInfo;
+import org.apache.poi.poifs.crypt.EncryptionMode;
+import org.apache.poi.poifs.crypt.Encryptor;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.FormulaError;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.SharedStrings;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFFont;
+import org.apache.poi.xssf.usermodel.XSSFRelation;
+import org.apache.poi.xssf.usermodel.XSSFRichTextString;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Parity of the streaming reader with the workbook model (XSSFWorkbook) it replaced: the expected
+ * records are read from the same workbook with the cell conversion of the model based reader.
+ */
+class ExcelSheetReaderTest {
+    private static final String PASSWORD = "test-password";
+    private static final int ROW_COUNT = 32;
+    private static final int STRING_COUNT = 20000;
+
+    @Test
+    void sharedStrings() {
+        try {
+            File file = tempFile("xlsx");
+            try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+                Sheet sheet = workbook.createSheet("strings");
+                for (int ii = 0; ii < STRING_COUNT; ii++) {
+                    sheet.createRow(ii).createCell(0).setCellValue(String.format(" value-%d ", ii));
+                }
+                XSSFFont bold = workbook.createFont();
+                bold.setBold(true);
+                XSSFRichTextString rich = new XSSFRichTextString("rich-text-value");
+                rich.applyFont(0, 4, bold);
+                sheet.createRow(STRING_COUNT).createCell(0).setCellValue(rich);
+                write(workbook, file);
+            }
+            try (XSSFWorkbook workbook = new XSSFWorkbook(file);
+                 OPCPackage pkg = OPCPackage.open(file, PackageAccess.READ)) {
+                SharedStrings expected = workbook.getSharedStringSource();
+                assertEquals(STRING_COUNT + 1, expected.getCount());
+                List<PackagePart> parts = pkg.getPartsByContentType(XSSFRelation.SHARED_STRINGS.getContentType());
+                assertEquals(1, parts.size());
+                try (ExcelSharedStrings strings = new ExcelSharedStrings(parts.get(0).getInputStream())) {
+                    // Reverse order: parses the whole table first, then reads back from the spill file.
+                    for (int ii = expected.getCount() - 1; ii >= 0; ii--) {
+                        assertEquals(expected.getItemAt(ii).getString(), strings.get(ii));
+                    }
+                    Random random = new Random(31);
+                    for (int ii = 0; ii < 1000; ii++) {
+                        int index = random.nextInt(expected.getCount());
+                        assertEquals(expected.getItemAt(index).getString(), strings.get(index));
+                    }
+                    assertThrows(IOException.class, () -> strings.get(expected.getCount()));
+                }
+            }
+        } catch (Throwable ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+
+    @Test
+    void cellValues() {
+        try {
+            File file = tempFile("xlsx");
+            try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+                createSheet(workbook);
+                write(workbook, file);
+            }
+            List<Map<String, Object>> expected = expected(file, null);
+            assertEquals(ROW_COUNT, expected.size());
+            assertEquals(expected, read(file, null));
+        } catch (Throwable ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+
+    @Test
+    void inlineStrings() {
+        try {
+            File file = tempFile("xlsx");
+            // The streaming workbook writes string cells as inline strings.
+            try (SXSSFWorkbook workbook = new SXSSFWorkbook()) {
+                createSheet(workbook);
+                write(workbook, file);
+                workbook.dispose();
+            }
+            try (OPCPackage pkg = OPCPackage.open(file, PackageAccess.READ);
+                 InputStream stream = new XSSFReader(pkg).getSheetsData().next()) {
+                String xml = new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+                assertTrue(xml.contains("t=\"inlineStr\""));
+            }
+            List<Map<String, Object>> expected = expected(file, null);
+            assertEquals(ROW_COUNT, expected.size());
+            assertEquals(expected, read(file, null));
+        } catch (Throwable ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+
+    @Test
+    void date1904() {
+        try {
+            File file1900 = tempFile("xlsx");
+            try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+                createSheet(workbook);
+                write(workbook, file1900);
+            }
+            File file1904 = tempFile("xlsx");
+            try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+                if (workbook.getCTWorkbook().isSetWorkbookPr()) {
+                    workbook.getCTWorkbook().getWorkbookPr().setDate1904(true);
+                } else {
+                    workbook.getCTWorkbook().addNewWorkbookPr().setDate1904(true);
+                }
+                createSheet(workbook);
+                write(workbook, file1904);
+            }
+            List<Map<String, Object>> expected = expected(file1904, null);
+            List<Map<String, Object>> data = read(file1904, null);
+            assertEquals(expected, data);
+            // Same serial numbers, the dates are 4 years and a day apart.
+            assertNotEquals(read(file1900, null).get(1).get("COLUMN_3"), data.get(1).get("COLUMN_3"));
+        } catch (Throwable ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+
+    @Test
+    void protectedWorkbook() {
+        try {
+            File file = tempFile("xlsx");
+            try (POIFSFileSystem fs = new POIFSFileSystem()) {
+                EncryptionInfo info = new EncryptionInfo(EncryptionMode.agile);
+                Encryptor encryptor = info.getEncryptor();
+                encryptor.confirmPassword(PASSWORD);
+                try (XSSFWorkbook workbook = new XSSFWorkbook();
+                     OutputStream os = encryptor.getDataStream(fs)) {
+                    createSheet(workbook);
+                    workbook.write(os);
+                }
+                try (FileOutputStream fos = new FileOutputStream(file)) {
+                    fs.writeFilesystem(fos);
+                }
+            }
+            File secret = tempFile("txt");
+            Files.writeString(secret.toPath(), PASSWORD, StandardCharsets.UTF_8);
+
+            List<Map<String, Object>> expected = expected(file, PASSWORD);
+            assertEquals(ROW_COUNT, expected.size());
+            assertEquals(expected, read(file, secret));
+
+            Files.writeString(secret.toPath(), "invalid-password", StandardCharsets.UTF_8);
+            assertThrows(IOException.class, () -> read(file, secret));
+        } catch (Throwable ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+
+    /**
+     * Rows 0 to {@link #ROW_COUNT} - 1 with strings (padded), numbers, booleans, date and number
+     * formats, formula, error and blank cells. Row {@link #ROW_COUNT} is missing, the rows after it
+     * should not be read.
+     */
+    private void createSheet(Workbook workbook) {
+        Sheet sheet = workbook.createSheet("data");
+        CellStyle isoDate = workbook.createCellStyle();
+        isoDate.setDataFormat(workbook.createDataFormat().getFormat("yyyy-mm-dd"));
+        CellStyle shortDate = workbook.createCellStyle();
+        shortDate.setDataFormat((short) 14);
+        CellStyle decimal = workbook.createCellStyle();
+        decimal.setDataFormat(workbook.createDataFormat().getFormat("0.00"));
+
+        Row header = sheet.createRow(0);
+        String[] names = {"Name", " Amount ", "Flag", "Date", "Short Date", "Total", "Error", "Blank"};
+        for (int ii = 0; ii < names.length; ii++) {
+            header.createCell(ii).setCellValue(names[ii]);
+        }
+        for (int ii = 1; ii < ROW_COUNT; ii++) {
+            Row row = sheet.createRow(ii);
+            row.createCell(0).setCellValue(String.format("  name-%d\t", ii % 7));
+            Cell amount = row.createCell(1);
+            amount.setCellValue(ii * 10.25);
+            amount.setCellStyle(decimal);
+            row.createCell(2).setCellValue(ii % 2 == 0);
+            Cell date = row.createCell(3);
+            date.setCellValue(45000 + ii);
+            date.setCellStyle(isoDate);
+            Cell shortValue = row.createCell(4);
+            shortValue.setCellValue(40000.5 + ii);
+            shortValue.setCellStyle(shortDate);
+            row.createCell(5).setCellFormula(String.format("B%d*2", ii + 1));
+            row.createCell(6).setCellErrorValue(FormulaError.DIV0.getCode());
+            row.createCell(7).setCellStyle(decimal);
+            if (ii % 5 == 0) {
+                // Sparse row: cells after a gap.
+                row.createCell(10).setCellValue(ii);
+            }
+        }
+        for (int ii = ROW_COUNT + 1; ii < ROW_COUNT + 5; ii++) {
+            sheet.createRow(ii).createCell(0).setCellValue("not-read");
+        }
+    }
+
+    private List<Map<String, Object>> read(File file, File secret) throws Exception {
+        InputContentInfo ci = new InputContentInfo()
+                .path(file)
+                .sourceURI(file.toURI());
+        ExcelReaderSettings settings = new ExcelReaderSettings();
+        settings.setReadBatchSize(7);
+        if (secret != null) {
+            settings.setProtected(true);
+            settings.setDecryptionSecretName(secret.getAbsolutePath());
+        }
+        List<ExcelSheet> sheets = new ArrayList<>();
+        ExcelSheet sheet = new ExcelSheet();
+        sheet.setIndex(0);
+        sheets.add(sheet);
+        settings.setSheets(sheets);
+        ExcelInputReader reader = (ExcelInputReader) new ExcelInputReader()
+                .contentInfo(ci)
+                .settings(settings);
+        List<Map<String, Object>> data = new ArrayList<>();
+        try (ExcelReadCursor cursor = (ExcelReadCursor) reader.open()) {
+            while (true) {
+                Map<String, Object> record = cursor.next();
+                if (record == null) {
+                    break;
+                }
+                data.add(record);
+            }
+        }
+        return data;
+    }
+
+    /**
+     * Records as read by the workbook model: rows until the first missing row, cells converted
+     * as the model based reader did.
+     */
+    private List<Map<String, Object>> expected(File file, String password) throws Exception {
+        List<Map<String, Object>> data = new ArrayList<>();
+        try (Workbook workbook = WorkbookFactory.create(file, password, true)) {
+            Sheet sheet = workbook.getSheetAt(0);
+            for (int index = 0; ; index++) {
+                Row row = sheet.getRow(index);
+                if (row == null) break;
+                Map<String, Object> record = new HashMap<>();
+                int ii = 0;
+                for (Cell cell : row) {
+                    Object value = cellValue(cell);
+                    if (value != null) {
+                        record.put(String.format("COLUMN_%d", ii), value);
+                    }
+                    ii++;
+                }
+                if (!record.isEmpty()) {
+                    data.add(record);
+                }
+            }
+        }
+        return data;
+    }
+
+    private Object cellValue(Cell cell) {
+        return switch (cell.getCellType()) {
+            case STRING -> cell.getStringCellValue().trim();
+            case BOOLEAN -> cell.getBooleanCellValue();
+            case NUMERIC -> {
+                String format = cell.getCellStyle().getDataFormatString();
+                if (format != null && ExcelSheetReader.isDateFormat(format)) {
+                    yield cell.toString();
+                }
+                yield cell.getNumericCellValue();
+            }
+            default -> null;
+        };
+    }
+
+    private File tempFile(String ext) throws IOException {
+        File file = PathUtils.getTempFile(String.format("excel-test-%s", UUID.randomUUID()), ext);
+        file.deleteOnExit();
+        return file;
+    }
+
+    private void write(Workbook workbook, File file) throws IOException {
+        try (FileOutputStream fos = new FileOutputStream(file)) {
+            workbook.write(fos);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.core.mapping.readers.util;
+
+import io.zyient.base.common.utils.DefaultLogger;
+import io.zyient.core.mapping.readers.InputSplit;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.fail;
+
+class SplitLineReaderTest {
+
+    @Test
+    void readSplits() {
+        try {
+            Random random = new Random(17);
+            File file = File.createTempFile("split-lines", ".txt");
+            try {
+                for (int run = 0; run < 64; run++) {
+                    StringBuilder builder = new StringBuilder();
+                    List<String> lines = new ArrayList<>();
+                    int count = random.nextInt(200);
+                    for (int ii = 0; ii < count; ii++) {
+                        String line = String.format("line-%d-%s", ii, "x".repeat(random.nextInt(32)));
+                        lines.add(line);
+                        builder.append(line).append(random.nextBoolean() ? "\n" : "\r\n");
+                    }
+                    Files.writeString(file.toPath(), builder.toString());
+                    int partitions = 1 + random.nextInt(8);
+                    List<String> read = new ArrayList<>();
+                    List<String> chars = new ArrayList<>();
+                    for (InputSplit split : InputSplit.plan(file.length(), partitions, 1)) {
+                        try (SplitLineReader reader = new SplitLineReader(file, split, StandardCharsets.UTF_8)) {
+                            String line;
+                            while ((line = reader.readLine()) != null) {
+                                read.add(line);
+                            }
+                        }
+                        try (BufferedReader reader = new BufferedReader(
+                                new SplitLineReader(file, split, StandardCharsets.UTF_8))) {
+                            String line;
+                            while ((line = reader.readLine()) != null) {
+                                chars.add(line);
+                            }
+                        }
+                    }
+                    assertEquals(lines, read);
+                    assertEquals(lines, chars);
+                }
+            } finally {
+                file.delete();
+            }
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+}
@@ -282,6 +282,13 @@ public abstract class AzureMessageConsumer<M> extends MessageReceiver<String, M>
         if (state().isAvailable()) {
             state().setState(ProcessorState.EProcessorState.Stopped);
         }
+        if (stateManager != null) {
+            try {
+                stateManager.flush();
+            } catch (StateManagerError ex) {
+                DefaultLogger.error("Failed to flush offset state.", ex);
+            }
+        }
         if (cache != null) {
             cache.clear();
             cache = null;
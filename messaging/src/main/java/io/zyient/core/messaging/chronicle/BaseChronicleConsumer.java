@@ -25,6 +25,7 @@ import io.zyient.base.core.connections.chronicle.ChronicleConsumerConnection;
 import io.zyient.base.core.processing.ProcessorState;
 import io.zyient.base.core.state.Offset;
 import io.zyient.base.core.state.OffsetState;
+import io.zyient.base.core.state.StateManagerError;
 import io.zyient.core.messaging.InvalidMessageError;
 import io.zyient.core.messaging.MessageObject;
 import io.zyient.core.messaging.MessageReceiver;
@@ -328,6 +329,13 @@ public abstract class BaseChronicleConsumer<M> extends MessageReceiver<String, M
         if (state().isAvailable()) {
             state().setState(ProcessorState.EProcessorState.Stopped);
         }
+        if (stateManager != null) {
+            try {
+                stateManager.flush();
+            } catch (StateManagerError ex) {
+                DefaultLogger.error("Failed to flush offset state.", ex);
+            }
+        }
         if (cache != null) {
             cache.clear();
             cache = null;
@@ -24,6 +24,7 @@ import io.zyient.base.core.connections.kafka.BasicKafkaConsumerConnection;
 import io.zyient.base.core.processing.ProcessorState;
 import io.zyient.base.core.state.Offset;
 import io.zyient.base.core.state.OffsetState;
+import io.zyient.base.core.state.StateManagerError;
 import io.zyient.core.messaging.MessageObject;
 import io.zyient.core.messaging.MessageReceiver;
 import lombok.NonNull;
@@ -308,6 +309,13 @@ public abstract class BaseKafkaConsumer<M> extends MessageReceiver<String, M> {
         if (state().isAvailable()) {
             state().setState(ProcessorState.EProcessorState.Stopped);
         }
+        if (stateManager != null) {
+            try {
+                stateManager.flush();
+            } catch (StateManagerError ex) {
+                DefaultLogger.error("Failed to flush offset state.", ex);
+            }
+        }
         if (cache != null) {
             cache.clear();
             cache = null;
@@ -18,6 +18,8 @@ package io.zyient.core.messaging.processing;
 
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
 import io.zyient.base.common.utils.DefaultLogger;
 import io.zyient.base.core.BaseEnv;
 import io.zyient.base.core.processing.EventProcessorMetrics;
@@ -196,17 +198,23 @@ public abstract class MessageProcessor<K, M, E extends Enum<?>, O extends Offset
 
     protected void handleBatch(@NonNull List<MessageObject<K, M>> batch,
                                @NonNull MessageProcessorState<E, O, MO> processorState) throws Exception {
+        DistributionSummary timer = metrics.getTimer(EventProcessorMetrics.METRIC_EVENTS_TIME);
+        Counter processed = metrics.getCounter(EventProcessorMetrics.METRIC_EVENTS_PROCESSED);
+        Counter errors = metrics.getCounter(EventProcessorMetrics.METRIC_EVENTS_ERROR);
         for (MessageObject<K, M> message : batch) {
-            try (Timer t = new Timer(metrics.getTimer(EventProcessorMetrics.METRIC_EVENTS_TIME))) {
+            long start = Timer.start();
+            try {
                 process(message, processorState);
-                metrics.getCounter(EventProcessorMetrics.METRIC_EVENTS_PROCESSED).increment();
+                processed.increment();
             } catch (InvalidMessageError | MessageProcessingError me) {
-                metrics.getCounter(EventProcessorMetrics.METRIC_EVENTS_ERROR).increment();
+                errors.increment();
                 DefaultLogger.stacktrace(me);
                 DefaultLogger.warn(LOG, me.getLocalizedMessage());
                 if (errorLogger != null) {
                     errorLogger.send(message);
                 }
+            } finally {
+                Timer.record(timer, start);
             }
         }
     }
@@ -17,11 +17,14 @@
 package io.zyient.core.persistence;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.Iterators;
 import io.zyient.base.common.model.Context;
 import io.zyient.base.common.model.entity.IEntity;
 import io.zyient.base.common.model.entity.IKey;
 import io.zyient.base.core.BaseEnv;
 import io.zyient.base.core.utils.Timer;
+import io.zyient.core.persistence.cache.EntityCache;
+import io.zyient.core.persistence.cache.EntityCacheChannel;
 import io.zyient.core.persistence.model.BaseEntity;
 import lombok.Getter;
 import lombok.NonNull;
@@ -32,7 +35,10 @@ import org.apache.commons.configuration2.ex.ConfigurationException;
 import java.io.Closeable;
 import java.io.IOException;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 @Getter
 @Accessors(fluent = true)
@@ -79,6 +85,7 @@ public abstract class AbstractDataStore<T> implements Closeable {
     protected AbstractDataStoreSettings settings;
     protected BaseEnv<?> env;
     private final Map<String, QueryParser<?, ?>> parsers = new HashMap<>();
+    private EntityCache entityCache;
 
     public String name() {
         Preconditions.checkNotNull(settings);
@@ -114,6 +121,7 @@ public abstract class AbstractDataStore<T> implements Closeable {
             }
             configure();
             setupMonitoring(env);
+            setupCache();
             state.setState(DataStoreState.EDataStoreState.Available);
         } catch (Exception ex) {
             state.error(ex);
@@ -121,11 +129,53 @@ public abstract class AbstractDataStore<T> implements Closeable {
         }
     }
 
+    private void setupCache() throws Exception {
+        if (!settings.isCacheEnabled()) {
+            return;
+        }
+        entityCache = settings.getCacheType().getDeclaredConstructor().newInstance()
+                .configure(settings, metrics);
+        if (settings.isCacheDistributed()) {
+            EntityCacheChannel channel = dataStoreManager.createCacheChannel(settings);
+            if (channel == null) {
+                throw new ConfigurationException(
+                        String.format("Distributed cache requires a ZooKeeper connection. [store=%s]",
+                                settings.getName()));
+            }
+            entityCache.withChannel(channel);
+        }
+    }
+
+    /**
+     * Can the entity cache be used by the current call.
+     */
+    protected boolean useCache() throws DataStoreException {
+        return true;
+    }
+
+    /**
+     * Remove the entity from the cache, if the type is cached.
+     */
+    protected void invalidate(@NonNull Class<?> type, @NonNull Object key) throws DataStoreException {
+        if (entityCache != null && entityCache.isCached(type)) {
+            entityCache.invalidate(type, key);
+        }
+    }
+
+    private void invalidate(Class<?> type, IEntity<?> entity) throws DataStoreException {
+        if (entity != null && entity.entityKey() != null) {
+            invalidate(type, entity.entityKey());
+        }
+    }
+
     @SuppressWarnings("unchecked")
     protected <K extends IKey, E extends IEntity<K>> QueryParser<K, E> getParser(@NonNull Class<? extends E> entityType,
                                                                                  @NonNull Class<? extends K> keyTpe) throws Exception {
         if (!parsers.containsKey(entityType.getCanonicalName())) {
             QueryParser<K, E> parser = createParser(entityType, keyTpe);
+            if (settings.getQueryCacheSize() > 0) {
+                parser.withCache(settings.getQueryCacheSize(), metrics);
+            }
             parsers.put(entityType.getCanonicalName(), parser);
         }
         return (QueryParser<K, E>) parsers.get(entityType.getCanonicalName());
@@ -160,6 +210,63 @@ public abstract class AbstractDataStore<T> implements Closeable {
     public abstract <E extends IEntity<?>> E createEntity(@NonNull E entity, @NonNull Class<? extends E> type, Context context) throws
             DataStoreException;
 
+    /**
+     * Create a set of entities as a bulk write. Entities that fail are reported in the returned
+     * result and do not abort the rest of the batch.
+     */
+    public <E extends IEntity<?>> BatchResult<E> createAll(@NonNull Iterable<E> entities,
+                                                           @NonNull Class<? extends E> type,
+                                                           Context context) throws DataStoreException {
+        return createAll(entities.iterator(), type, context);
+    }
+
+    public <E extends IEntity<?>> BatchResult<E> createAll(@NonNull Stream<E> entities,
+                                                           @NonNull Class<? extends E> type,
+                                                           Context context) throws DataStoreException {
+        return createAll(entities.iterator(), type, context);
+    }
+
+    private <E extends IEntity<?>> BatchResult<E> createAll(Iterator<E> entities,
+                                                            Class<? extends E> type,
+                                                            Context context) throws DataStoreException {
+        state.check(DataStoreState.EDataStoreState.Available);
+        try {
+            BatchResult<E> result = createEntities(Iterators.transform(entities, entity -> {
+                if (entity instanceof BaseEntity<?>) {
+                    ((BaseEntity<?>) entity).setCreatedTime(System.nanoTime());
+                    ((BaseEntity<?>) entity).setUpdatedTime(System.nanoTime());
+                }
+                return entity;
+            }), type, context);
+            metrics.createCounter().increment(result.entities().size());
+            metrics.createCounterError().increment(result.failures().size());
+            return result;
+        } catch (Throwable t) {
+            metrics.createCounterError().increment();
+            throw new DataStoreException(t);
+        }
+    }
+
+    /**
+     * Bulk create, by default one entity at a time. Stores with a native batch write path should override this.
+     */
+    protected <E extends IEntity<?>> BatchResult<E> createEntities(@NonNull Iterator<E> entities,
+                                                                   @NonNull Class<? extends E> type,
+                                                                   Context context) throws DataStoreException {
+        BatchResult<E> result = new BatchResult<>();
+        int index = 0;
+        while (entities.hasNext()) {
+            E entity = entities.next();
+            try {
+                result.add(createEntity(entity, type, context));
+            } catch (Exception ex) {
+                result.error(index, entity, ex);
+            }
+            index++;
+        }
+        return result;
+    }
+
     public <E extends IEntity<?>> E update(@NonNull E entity, @NonNull Class<? extends E> type, Context context) throws
             DataStoreException {
         state.check(DataStoreState.EDataStoreState.Available);
@@ -169,7 +276,9 @@ public abstract class AbstractDataStore<T> implements Closeable {
                 if (entity instanceof BaseEntity<?>) {
                     ((BaseEntity<?>) entity).setUpdatedTime(System.nanoTime());
                 }
-                return updateEntity(entity, type, context);
+                E updated = updateEntity(entity, type, context);
+                invalidate(type, updated);
+                return updated;
             }
         } catch (Throwable t) {
             metrics.updateCounterError().increment();
@@ -182,6 +291,65 @@ public abstract class AbstractDataStore<T> implements Closeable {
                                                           Context context) throws
             DataStoreException;
 
+    /**
+     * Update a set of entities as a bulk write. Entities that fail are reported in the returned
+     * result and do not abort the rest of the batch.
+     */
+    public <E extends IEntity<?>> BatchResult<E> updateAll(@NonNull Iterable<E> entities,
+                                                           @NonNull Class<? extends E> type,
+                                                           Context context) throws DataStoreException {
+        return updateAll(entities.iterator(), type, context);
+    }
+
+    public <E extends IEntity<?>> BatchResult<E> updateAll(@NonNull Stream<E> entities,
+                                                           @NonNull Class<? extends E> type,
+                                                           Context context) throws DataStoreException {
+        return updateAll(entities.iterator(), type, context);
+    }
+
+    private <E extends IEntity<?>> BatchResult<E> updateAll(Iterator<E> entities,
+                                                            Class<? extends E> type,
+                                                            Context context) throws DataStoreException {
+        state.check(DataStoreState.EDataStoreState.Available);
+        try {
+            BatchResult<E> result = updateEntities(Iterators.transform(entities, entity -> {
+                if (entity instanceof BaseEntity<?>) {
+                    ((BaseEntity<?>) entity).setUpdatedTime(System.nanoTime());
+                }
+                return entity;
+            }), type, context);
+            for (E entity : result.entities()) {
+                invalidate(type, entity);
+            }
+            metrics.updateCounter().increment(result.entities().size());
+            metrics.updateCounterError().increment(result.failures().size());
+            return result;
+        } catch (Throwable t) {
+            metrics.updateCounterError().increment();
+            throw new DataStoreException(t);
+        }
+    }
+
+    /**
+     * Bulk update, by default one entity at a time. Stores with a native batch write path should override this.
+     */
+    protected <E extends IEntity<?>> BatchResult<E> updateEntities(@NonNull Iterator<E> entities,
+                                                                   @NonNull Class<? extends E> type,
+                                                                   Context context) throws DataStoreException {
+        BatchResult<E> result = new BatchResult<>();
+        int index = 0;
+        while (entities.hasNext()) {
+            E entity = entities.next();
+            try {
+                result.add(updateEntity(entity, type, context));
+            } catch (Exception ex) {
+                result.error(index, entity, ex);
+            }
+            index++;
+        }
+        return result;
+    }
+
     public <E extends IEntity<?>> E upsert(@NonNull E entity, @NonNull Class<? extends E> type, Context context) throws
             DataStoreException {
         state.check(DataStoreState.EDataStoreState.Available);
@@ -191,7 +359,9 @@ public abstract class AbstractDataStore<T> implements Closeable {
                 if (entity instanceof BaseEntity<?>) {
                     ((BaseEntity<?>) entity).setUpdatedTime(System.nanoTime());
                 }
-                return upsertEntity(entity, type, context);
+                E updated = upsertEntity(entity, type, context);
+                invalidate(type, updated);
+                return updated;
             }
         } catch (Throwable t) {
             metrics.updateCounterError().increment();
@@ -204,6 +374,65 @@ public abstract class AbstractDataStore<T> implements Closeable {
                                                           Context context) throws
             DataStoreException;
 
+    /**
+     * Create or replace a set of entities (keyed on the entity key) as a bulk write. Entities that fail
+     * are reported in the returned result and do not abort the rest of the batch.
+     */
+    public <E extends IEntity<?>> BatchResult<E> upsertAll(@NonNull Iterable<E> entities,
+                                                           @NonNull Class<? extends E> type,
+                                                           Context context) throws DataStoreException {
+        return upsertAll(entities.iterator(), type, context);
+    }
+
+    public <E extends IEntity<?>> BatchResult<E> upsertAll(@NonNull Stream<E> entities,
+                                                           @NonNull Class<? extends E> type,
+                                                           Context context) throws DataStoreException {
+        return upsertAll(entities.iterator(), type, context);
+    }
+
+    private <E extends IEntity<?>> BatchResult<E> upsertAll(Iterator<E> entities,
+                                                            Class<? extends E> type,
+                                                            Context context) throws DataStoreException {
+        state.check(DataStoreState.EDataStoreState.Available);
+        try {
+            BatchResult<E> result = upsertEntities(Iterators.transform(entities, entity -> {
+                if (entity instanceof BaseEntity<?>) {
+                    ((BaseEntity<?>) entity).setUpdatedTime(System.nanoTime());
+                }
+                return entity;
+            }), type, context);
+            for (E entity : result.entities()) {
+                invalidate(type, entity);
+            }
+            metrics.updateCounter().increment(result.entities().size());
+            metrics.updateCounterError().increment(result.failures().size());
+            return result;
+        } catch (Throwable t) {
+            metrics.updateCounterError().increment();
+            throw new DataStoreException(t);
+        }
+    }
+
+    /**
+     * Bulk upsert, by default one entity at a time. Stores with a native batch write path should override this.
+     */
+    protected <E extends IEntity<?>> BatchResult<E> upsertEntities(@NonNull Iterator<E> entities,
+                                                                   @NonNull Class<? extends E> type,
+                                                                   Context context) throws DataStoreException {
+        BatchResult<E> result = new BatchResult<>();
+        int index = 0;
+        while (entities.hasNext()) {
+            E entity = entities.next();
+            try {
+                result.add(upsertEntity(entity, type, context));
+            } catch (Exception ex) {
+                result.error(index, entity, ex);
+            }
+            index++;
+        }
+        return result;
+    }
+
     public <E extends IEntity<?>> boolean delete(@NonNull Object key,
                                                  @NonNull Class<? extends E> type,
                                                  Context context) throws
@@ -212,7 +441,11 @@ public abstract class AbstractDataStore<T> implements Closeable {
         try {
             metrics.deleteCounter().increment();
             try (Timer t = new Timer(metrics.deleteTimer())) {
-                return deleteEntity(key, type, context);
+                boolean deleted = deleteEntity(key, type, context);
+                if (deleted) {
+                    invalidate(type, key);
+                }
+                return deleted;
             }
         } catch (Throwable t) {
             metrics.deleteCounterError().increment();
@@ -233,7 +466,18 @@ public abstract class AbstractDataStore<T> implements Closeable {
         try {
             metrics.readCounter().increment();
             try (Timer t = new Timer(metrics.readTimer())) {
-                return findEntity(key, type, context);
+                boolean cached = entityCache != null && entityCache.isCached(type) && useCache();
+                E entity = null;
+                if (cached && !doRefresh(context)) {
+                    entity = entityCache.get(key, type);
+                }
+                if (entity == null) {
+                    entity = findEntity(key, type, context);
+                    if (cached && entity != null) {
+                        entityCache.put(key, entity, type);
+                    }
+                }
+                return entity;
             }
         } catch (Throwable t) {
             metrics.readCounterError().increment();
@@ -297,10 +541,98 @@ public abstract class AbstractDataStore<T> implements Closeable {
         return search(query, settings.getMaxResults(), keyType, type, context);
     }
 
+    /**
+     * Split the query into (at most) count disjoint partitions that can be scanned in parallel
+     * (see {@link #scan} and {@link PartitionedScan}). Stores that can't split the query return a
+     * single partition covering all the results.
+     */
+    public <K extends IKey, E extends IEntity<K>> List<ScanPartition> partitions(@NonNull Q query,
+                                                                              int count,
+                                                                              @NonNull Class<? extends K> keyType,
+                                                                              @NonNull Class<? extends E> type,
+                                                                              Context context) throws
+            DataStoreException {
+        state.check(DataStoreState.EDataStoreState.Available);
+        if (count > 1) {
+            try {
+                List<ScanPartition> partitions = doPartition(query, count, keyType, type, context);
+                if (partitions != null && !partitions.isEmpty()) {
+                    return partitions;
+                }
+            } catch (Throwable t) {
+                throw new DataStoreException(t);
+            }
+        }
+        return List.of(new ScanPartition(0, 1));
+    }
+
+    /**
+     * Open a cursor on the results of the query within the partition, continuing after the
+     * partition checkpoint if one is set.
+     */
+    @SuppressWarnings("unchecked")
+    public <K extends IKey, E extends IEntity<K>> Cursor<K, E> scan(@NonNull Q query,
+                                                                    @NonNull ScanPartition partition,
+                                                                    int maxResults,
+                                                                    @NonNull Class<? extends K> keyType,
+                                                                    @NonNull Class<? extends E> type,
+                                                                    Context context) throws
+            DataStoreException {
+        state.check(DataStoreState.EDataStoreState.Available);
+        try {
+            if (maxResults <= 0) {
+                maxResults = settings.getMaxResults();
+            }
+            metrics.searchCounter().increment();
+            Cursor<K, E> cursor;
+            try (Timer t = new Timer(metrics.searchTimer())) {
+                cursor = doScan(query, partition, maxResults, keyType, type, context);
+            }
+            if (partition.checkpoint() != null) {
+                if (!(cursor instanceof SeekCursor<?, ?, ?>)) {
+                    cursor.close();
+                    throw new DataStoreException(String.format("Cursor can't be resumed. [type=%s]",
+                            cursor.getClass().getCanonicalName()));
+                }
+                ((SeekCursor<K, E, Object>) cursor).resume(partition.checkpoint());
+            }
+            return cursor;
+        } catch (Throwable t) {
+            metrics.searchCounterError().increment();
+            throw new DataStoreException(t);
+        }
+    }
+
+    protected <K extends IKey, E extends IEntity<K>> List<ScanPartition> doPartition(@NonNull Q query,
+                                                                                  int count,
+                                                                                  @NonNull Class<? extends K> keyType,
+                                                                                  @NonNull Class<? extends E> type,
+                                                                                  Context context) throws
+            Exception {
+        return null;
+    }
+
+    protected <K extends IKey, E extends IEntity<K>> Cursor<K, E> doScan(@NonNull Q query,
+                                                                         @NonNull ScanPartition partition,
+                                                                         int maxResults,
+                                                                         @NonNull Class<? extends K> keyType,
+                                                                         @NonNull Class<? extends E> type,
+                                                                         Context context) throws
+            Exception {
+        if (!partition.isAll()) {
+            throw new DataStoreException(String.format("Partitioned scans not supported. [store=%s]", name()));
+        }
+        return doSearch(query, 0, maxResults, keyType, type, context);
+    }
+
 
     @Override
     public void close() throws IOException {
         try {
+            if (entityCache != null) {
+                entityCache.close();
+                entityCache = null;
+            }
             if (dataStoreManager != null) {
                 dataStoreManager.close(this);
             }
@@ -316,6 +648,11 @@ public abstract class AbstractDataStore<T> implements Closeable {
         return dataStoreManager().nextSequence(name(), name);
     }
 
+    public SequenceAllocator.Range nextSequences(@NonNull String name, int count) throws Exception {
+        state.check(DataStoreState.EDataStoreState.Available);
+        return dataStoreManager().nextSequences(name(), name, count);
+    }
+
     protected boolean checkEntityVersion(Context context) {
         if (context != null && context.containsKey(CONTEXT_KEY_CHECK_UPDATES)) {
             return (boolean) context.get(CONTEXT_KEY_CHECK_UPDATES);
@@ -20,9 +20,15 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import io.zyient.base.common.config.Config;
 import io.zyient.base.common.config.Settings;
+import io.zyient.base.common.config.units.TimeUnitValue;
+import io.zyient.base.common.config.units.TimeValueParser;
+import io.zyient.core.persistence.cache.EntityCache;
+import io.zyient.core.persistence.cache.LocalEntityCache;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.util.concurrent.TimeUnit;
+
 @Getter
 @Setter
 @JsonTypeInfo(use = JsonTypeInfo.Id.CLASS, include = JsonTypeInfo.As.PROPERTY,
@@ -30,6 +36,12 @@ import lombok.Setter;
 public class AbstractDataStoreSettings extends Settings {
     public static final String CONFIG_SETTING_TYPE = "settings.class";
     public static final long SEQUENCE_BLOCK_SIZE = 8;
+    public static final long SEQUENCE_MAX_BLOCK_SIZE = 8192;
+    public static final int SEQUENCE_LOW_WATERMARK = 25;
+    public static final long SEQUENCE_BLOCK_DURATION = 30000;
+    public static final long CACHE_MAX_SIZE = 10000;
+    public static final long CACHE_EXPIRE_AFTER_WRITE = 5 * 60 * 1000;
+    public static final int QUERY_CACHE_SIZE = 1024;
 
     private static final int DEFAULT_MAX_RESULTS = 500;
     @Config(name = "class", type = Class.class)
@@ -51,4 +63,37 @@ public class AbstractDataStoreSettings extends Settings {
     private EDataStoreType type;
     @Config(name = "sequenceBlockSize", required = false, type = Long.class)
     private long sequenceBlockSize = SEQUENCE_BLOCK_SIZE;
+    @Config(name = "sequenceMaxBlockSize", required = false, type = Long.class)
+    private long sequenceMaxBlockSize = SEQUENCE_MAX_BLOCK_SIZE;
+    /**
+     * Percentage of the current block left when the next block is prefetched.
+     */
+    @Config(name = "sequenceLowWatermark", required = false, type = Integer.class)
+    private int sequenceLowWatermark = SEQUENCE_LOW_WATERMARK;
+    /**
+     * Target time for a block to be consumed, used to size blocks from the observed consumption rate.
+     */
+    @Config(name = "sequenceBlockDuration", required = false, parser = TimeValueParser.class)
+    private TimeUnitValue sequenceBlockDuration = new TimeUnitValue(SEQUENCE_BLOCK_DURATION, TimeUnit.MILLISECONDS);
+    /**
+     * Cache entities of the types annotated with {@link io.zyient.core.persistence.annotations.CachedEntity}.
+     */
+    @Config(name = "cache.enabled", required = false, type = Boolean.class)
+    private boolean cacheEnabled = false;
+    @Config(name = "cache.class", required = false, type = Class.class)
+    private Class<? extends EntityCache> cacheType = LocalEntityCache.class;
+    @Config(name = "cache.maxSize", required = false, type = Long.class)
+    private long cacheMaxSize = CACHE_MAX_SIZE;
+    @Config(name = "cache.expireAfterWrite", required = false, parser = TimeValueParser.class)
+    private TimeUnitValue cacheExpireAfterWrite = new TimeUnitValue(CACHE_EXPIRE_AFTER_WRITE, TimeUnit.MILLISECONDS);
+    /**
+     * Publish cache invalidations to the other instances (requires the ZooKeeper connection of the data store manager).
+     */
+    @Config(name = "cache.distributed", required = false, type = Boolean.class)
+    private boolean cacheDistributed = false;
+    /**
+     * Max. number of parsed query shapes cached per entity type (0 disables the query cache).
+     */
+    @Config(name = "query.cacheSize", required = false, type = Integer.class)
+    private int queryCacheSize = QUERY_CACHE_SIZE;
 }
@@ -0,0 +1,75 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.core.persistence;
+
+import io.zyient.base.common.model.entity.IEntity;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.experimental.Accessors;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk write: the entities that were persisted and the ones that failed,
+ * with the position of each failed entity in the submitted sequence.
+ *
+ * @param <E> - Entity type.
+ */
+@Getter
+@Accessors(fluent = true)
+public class BatchResult<E extends IEntity<?>> {
+    @Getter
+    @Accessors(fluent = true)
+    public static class Failure<E> {
+        private final int index;
+        private final E entity;
+        private final Throwable error;
+
+        public Failure(int index, E entity, @NonNull Throwable error) {
+            this.index = index;
+            this.entity = entity;
+            this.error = error;
+        }
+    }
+
+    private final List<E> entities = new ArrayList<>();
+    private final List<Failure<E>> failures = new ArrayList<>();
+
+    public BatchResult<E> add(@NonNull E entity) {
+        entities.add(entity);
+        return this;
+    }
+
+    public BatchResult<E> add(@NonNull List<E> entities) {
+        this.entities.addAll(entities);
+        return this;
+    }
+
+    public BatchResult<E> error(int index, E entity, @NonNull Throwable error) {
+        failures.add(new Failure<>(index, entity, error));
+        return this;
+    }
+
+    public boolean hasErrors() {
+        return !failures.isEmpty();
+    }
+
+    public int count() {
+        return entities.size() + failures.size();
+    }
+}
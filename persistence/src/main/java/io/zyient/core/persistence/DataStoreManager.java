@@ -32,6 +32,8 @@ import io.zyient.base.core.DistributedLock;
 import io.zyient.base.core.connections.ConnectionManager;
 import io.zyient.base.core.connections.common.ZookeeperConnection;
 import io.zyient.base.core.processing.ProcessorState;
+import io.zyient.core.persistence.cache.EntityCacheChannel;
+import io.zyient.core.persistence.cache.ZkEntityCacheChannel;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.experimental.Accessors;
@@ -46,20 +48,18 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Getter
 @Accessors(fluent = true)
 @SuppressWarnings("rawtypes")
 public class DataStoreManager {
-    private static class ZkSequenceBlock {
-        private long next;
-        private long endSequence;
-    }
+    public static final String CACHE_PATH = "cache";
 
     private final ProcessorState state = new ProcessorState();
     private final Map<Class<? extends IEntity<?>>, Map<Class<? extends AbstractDataStore<?>>, AbstractDataStoreSettings>> entityIndex = new HashMap<>();
     private final Map<String, AbstractDataStoreSettings> dataStoreConfigs = new HashMap<>();
-    private final Map<String, ZkSequenceBlock> sequences = new HashMap<>();
+    private final Map<String, SequenceAllocator> sequences = new ConcurrentHashMap<>();
     private final MapThreadCache<String, AbstractDataStore<?>> openedStores = new MapThreadCache<>();
     private final Map<String, AbstractDataStore<?>> safeStores = new HashMap<>();
 
@@ -490,60 +490,68 @@ public class DataStoreManager {
         }
     }
 
+    /**
+     * Create the cache invalidation channel for the data store, NULL if no ZooKeeper connection is configured.
+     */
+    public EntityCacheChannel createCacheChannel(@NonNull AbstractDataStoreSettings settings) {
+        if (zkConnection == null) {
+            return null;
+        }
+        String path = new PathUtils.ZkPathBuilder(zkPath)
+                .withPath(DataStoreManagerSettings.__CONFIG_PATH)
+                .withPath(settings.getType().name())
+                .withPath(settings.getName())
+                .withPath(CACHE_PATH)
+                .build();
+        return new ZkEntityCacheChannel(zkConnection.client(), path);
+    }
+
     public long nextSequence(String name, String sequenceName) throws DataStoreException {
-        synchronized (sequences) {
-            String key = String.format("%s::%s", name, sequenceName);
-            if (sequences.containsKey(key)) {
-                ZkSequenceBlock sq = sequences.get(key);
-                if (sq.next < sq.endSequence) {
-                    return sq.next++;
-                }
+        return allocator(name, sequenceName).next();
+    }
+
+    /**
+     * Reserve up to {@code count} consecutive values of the sequence (capped at the end of the
+     * current sequence block).
+     */
+    public SequenceAllocator.Range nextSequences(String name,
+                                                 String sequenceName,
+                                                 int count) throws DataStoreException {
+        return allocator(name, sequenceName).next(count);
+    }
+
+    private SequenceAllocator allocator(String name, String sequenceName) throws DataStoreException {
+        String key = String.format("%s::%s", name, sequenceName);
+        SequenceAllocator allocator = sequences.get(key);
+        if (allocator == null) {
+            if (zkConnection == null) {
+                throw new DataStoreException("ZK Sequence not supported...");
             }
-            if (zkConnection != null) {
-                AbstractDataStoreSettings settings = dataStoreConfigs.get(name);
-                if (settings == null) {
-                    throw new DataStoreException(String.format("DataStore not found. [name=%s]", name));
-                }
-                updateLock.lock();
-                try {
-                    ConfigPath cp = ZkSequence.class.getAnnotation(ConfigPath.class);
-
-                    CuratorFramework client = zkConnection.client();
-                    String dspath = new PathUtils.ZkPathBuilder(zkPath)
-                            .withPath(DataStoreManagerSettings.__CONFIG_PATH)
-                            .withPath(settings.getType().name())
-                            .withPath(settings.getName())
-                            .withPath(cp.path())
-                            .withPath(sequenceName)
-                            .build();
-                    ZkSequence sequence = null;
-                    if (client.checkExists().forPath(dspath) == null) {
-                        client.create().creatingParentsIfNeeded().forPath(dspath);
-                        sequence = new ZkSequence();
-                    } else {
-                        sequence = JSONUtils.read(client, dspath, ZkSequence.class);
-                        if (sequence == null) {
-                            sequence = new ZkSequence();
-                        }
-                    }
-                    long next = sequence.getNext();
-                    sequence.setNext(sequence.getNext() + settings.getSequenceBlockSize());
-                    sequence.setTimeUpdated(System.currentTimeMillis());
-                    JSONUtils.write(client, dspath, sequence);
-
-                    ZkSequenceBlock block = new ZkSequenceBlock();
-                    block.next = next;
-                    block.endSequence = sequence.getNext();
-                    sequences.put(key, block);
-
-                    return block.next++;
-                } catch (Exception ex) {
-                    throw new DataStoreException(ex);
-                } finally {
-                    updateLock.unlock();
-                }
+            AbstractDataStoreSettings settings = dataStoreConfigs.get(name);
+            if (settings == null) {
+                throw new DataStoreException(String.format("DataStore not found. [name=%s]", name));
+            }
+            ConfigPath cp = ZkSequence.class.getAnnotation(ConfigPath.class);
+            String dspath = new PathUtils.ZkPathBuilder(zkPath)
+                    .withPath(DataStoreManagerSettings.__CONFIG_PATH)
+                    .withPath(settings.getType().name())
+                    .withPath(settings.getName())
+                    .withPath(cp.path())
+                    .withPath(sequenceName)
+                    .build();
+            long duration;
+            try {
+                duration = settings.getSequenceBlockDuration().normalized();
+            } catch (Exception ex) {
+                throw new DataStoreException(ex);
             }
+            allocator = sequences.computeIfAbsent(key, k -> new SequenceAllocator(zkConnection.client(),
+                    dspath,
+                    settings.getSequenceBlockSize(),
+                    Math.max(settings.getSequenceBlockSize(), settings.getSequenceMaxBlockSize()),
+                    settings.getSequenceLowWatermark(),
+                    duration));
         }
-        throw new DataStoreException("ZK Sequence not supported...");
+        return allocator;
     }
 }
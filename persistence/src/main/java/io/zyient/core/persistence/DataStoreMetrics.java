@@ -32,6 +32,7 @@ import java.util.Map;
 @Accessors(fluent = true)
 public class DataStoreMetrics extends MetricsBase {
     public static final String TAG_TYPE = "DataStoreType";
+    public static final String TAG_COLLECTION = "Collection";
 
     public static final String METRIC_TAG_READ = "READ";
     public static final String METRIC_TAG_SEARCH = "SEARCH";
@@ -43,6 +44,13 @@ public class DataStoreMetrics extends MetricsBase {
     public static final String METRIC_TAG_CREATE_ERROR = "CREATE_ERROR";
     public static final String METRIC_TAG_UPDATE_ERROR = "UPDATE_ERROR";
     public static final String METRIC_TAG_DELETE_ERROR = "DELETE_ERROR";
+    public static final String METRIC_TAG_CACHE_HIT = "CACHE_HIT";
+    public static final String METRIC_TAG_CACHE_MISS = "CACHE_MISS";
+    public static final String METRIC_TAG_QUERY_CACHE_HIT = "QUERY_CACHE_HIT";
+    public static final String METRIC_TAG_QUERY_CACHE_MISS = "QUERY_CACHE_MISS";
+    public static final String METRIC_TAG_QUERY_PARSE = "QUERY_PARSE";
+    public static final String METRIC_TAG_BULK_WRITE = "BULK_WRITE";
+    public static final String METRIC_TAG_BULK_WRITE_ERROR = "BULK_WRITE_ERROR";
 
     private Counter readCounter;
     private Counter searchCounter;
@@ -62,13 +70,23 @@ public class DataStoreMetrics extends MetricsBase {
     private Counter updateCounterError;
     private Counter deleteCounterError;
 
+    private Counter cacheHitCounter;
+    private Counter cacheMissCounter;
+
+    private Counter queryCacheHitCounter;
+    private Counter queryCacheMissCounter;
+    private DistributionSummary queryParseTimer;
+
+    private final String storeType;
+
     public DataStoreMetrics(@NonNull String engine,
                             @NonNull String name,
                             @NonNull String sourceType,
                             @NonNull BaseEnv<?> env,
                             @NonNull Class<?> type) {
         super(engine, name, sourceType, env);
-        Map<String, String> tags = Map.of(TAG_TYPE, type.getCanonicalName());
+        storeType = type.getCanonicalName();
+        Map<String, String> tags = Map.of(TAG_TYPE, storeType);
         readCounter = addCounter(METRIC_TAG_READ, tags);
         searchCounter = addCounter(METRIC_TAG_SEARCH, tags);
         createCounter = addCounter(METRIC_TAG_CREATE, tags);
@@ -86,5 +104,30 @@ public class DataStoreMetrics extends MetricsBase {
         createCounterError = addCounter(METRIC_TAG_CREATE_ERROR, tags);
         updateCounterError = addCounter(METRIC_TAG_UPDATE_ERROR, tags);
         deleteCounterError = addCounter(METRIC_TAG_DELETE_ERROR, tags);
+
+        cacheHitCounter = addCounter(METRIC_TAG_CACHE_HIT, tags);
+        cacheMissCounter = addCounter(METRIC_TAG_CACHE_MISS, tags);
+
+        queryCacheHitCounter = addCounter(METRIC_TAG_QUERY_CACHE_HIT, tags);
+        queryCacheMissCounter = addCounter(METRIC_TAG_QUERY_CACHE_MISS, tags);
+        queryParseTimer = addTimer(METRIC_TAG_QUERY_PARSE, tags);
+    }
+
+    /**
+     * Entities written by bulk writes to the collection (throughput).
+     */
+    public Counter bulkWriteCounter(@NonNull String collection) {
+        return addCounter(METRIC_TAG_BULK_WRITE, Map.of(TAG_TYPE, storeType, TAG_COLLECTION, collection));
+    }
+
+    public Counter bulkWriteCounterError(@NonNull String collection) {
+        return addCounter(METRIC_TAG_BULK_WRITE_ERROR, Map.of(TAG_TYPE, storeType, TAG_COLLECTION, collection));
+    }
+
+    /**
+     * Latency of the bulk write requests to the collection.
+     */
+    public DistributionSummary bulkWriteTimer(@NonNull String collection) {
+        return addTimer(METRIC_TAG_BULK_WRITE, Map.of(TAG_TYPE, storeType, TAG_COLLECTION, collection));
     }
 }
@@ -19,69 +19,288 @@ package io.zyient.core.persistence;
 import com.google.common.base.Preconditions;
 import io.zyient.base.common.model.entity.IEntity;
 import io.zyient.base.common.utils.ReflectionHelper;
+import io.zyient.base.common.utils.beans.MethodAccessors;
 import io.zyient.core.persistence.annotations.EGeneratedType;
 import io.zyient.core.persistence.annotations.GeneratedId;
 import jakarta.persistence.EmbeddedId;
 import jakarta.persistence.Id;
+import lombok.Getter;
 import lombok.NonNull;
+import lombok.experimental.Accessors;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.reflect.MethodUtils;
 
 import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
+/**
+ * Assigns generated IDs ({@link GeneratedId} on the {@link Id} field, or on a field of the
+ * {@link EmbeddedId} key) to new entities.
+ * <p>
+ * The ID fields of an entity type are resolved once into an {@link IdPlan} with compiled accessors,
+ * batches take the sequence values of all their entities with a single reservation per sequence.
+ */
 public class IDGenerator {
-    public static void process(@NonNull IEntity<?> entity,
-                               @NonNull AbstractDataStore<?> dataStore) throws DataStoreException {
-        Field[] fields = ReflectionHelper.getAllFields(entity.getClass());
-        if (fields != null) {
-            for (Field field : fields) {
-                if (field.isAnnotationPresent(Id.class) || field.isAnnotationPresent(EmbeddedId.class)) {
-                    process(entity, field, dataStore);
-                    break;
+    @Getter
+    @Accessors(fluent = true)
+    public static final class IdPlan {
+        private static final IdPlan NONE = new IdPlan(null, null, null, null, null, null);
+
+        private final EGeneratedType type;
+        private final String sequence;
+        private final BiConsumer<Object, Object> setter;
+        private final Function<Object, Object> keyGetter;
+        private final BiConsumer<Object, Object> keySetter;
+        private final Supplier<Object> keyConstructor;
+
+        private IdPlan(EGeneratedType type,
+                       String sequence,
+                       BiConsumer<Object, Object> setter,
+                       Function<Object, Object> keyGetter,
+                       BiConsumer<Object, Object> keySetter,
+                       Supplier<Object> keyConstructor) {
+            this.type = type;
+            this.sequence = sequence;
+            this.setter = setter;
+            this.keyGetter = keyGetter;
+            this.keySetter = keySetter;
+            this.keyConstructor = keyConstructor;
+        }
+
+        public boolean generated() {
+            return type != null;
+        }
+
+        public boolean sequenced() {
+            return type == EGeneratedType.SEQUENCE;
+        }
+
+        private void assign(Object entity, Object value) {
+            Object target = entity;
+            if (keyGetter != null) {
+                target = keyGetter.apply(entity);
+                if (target == null) {
+                    target = keyConstructor.get();
+                    keySetter.accept(entity, target);
+                }
+            }
+            setter.accept(target, value);
+        }
+
+        private static IdPlan build(Class<?> type) throws Exception {
+            Field[] fields = ReflectionHelper.getAllFields(type);
+            if (fields != null) {
+                for (Field field : fields) {
+                    if (field.isAnnotationPresent(Id.class) || field.isAnnotationPresent(EmbeddedId.class)) {
+                        return of(type, field);
+                    }
+                }
+            }
+            return NONE;
+        }
+
+        private static IdPlan of(Class<?> type, Field field) throws Exception {
+            if (field.isAnnotationPresent(Id.class)) {
+                if (field.isAnnotationPresent(GeneratedId.class)) {
+                    GeneratedId gi = field.getAnnotation(GeneratedId.class);
+                    return new IdPlan(gi.type(), gi.sequence(), setter(type, field), null, null, null);
+                }
+                return NONE;
+            }
+            Class<?> keyType = field.getType();
+            Field[] fields = ReflectionHelper.getAllFields(keyType);
+            if (fields != null) {
+                for (Field f : fields) {
+                    if (f.isAnnotationPresent(GeneratedId.class)) {
+                        GeneratedId gi = f.getAnnotation(GeneratedId.class);
+                        return new IdPlan(gi.type(),
+                                gi.sequence(),
+                                setter(keyType, f),
+                                getter(type, field),
+                                setter(type, field),
+                                MethodAccessors.constructor(keyType));
+                    }
                 }
             }
+            return NONE;
         }
+
+        private static BiConsumer<Object, Object> setter(Class<?> type, Field field) throws Exception {
+            Method m = ReflectionHelper.getSetter(type, field);
+            if (m == null) {
+                throw new Exception(String.format("No accessable method found for field. [field=%s][class=%s]",
+                        field.getName(), type.getCanonicalName()));
+            }
+            return MethodAccessors.setter(m);
+        }
+
+        private static Function<Object, Object> getter(Class<?> type, Field field) throws Exception {
+            Method m = MethodUtils.getAccessibleMethod(type, "get" + StringUtils.capitalize(field.getName()));
+            if (m != null) {
+                return MethodAccessors.getter(m);
+            }
+            return (entity) -> {
+                try {
+                    return ReflectionHelper.reflectionUtils().getFieldValue(entity, field);
+                } catch (Exception ex) {
+                    throw new RuntimeException(ex);
+                }
+            };
+        }
+    }
+
+    private static final ClassValue<Object> __plans = new ClassValue<>() {
+        @Override
+        protected Object computeValue(Class<?> type) {
+            try {
+                return IdPlan.build(type);
+            } catch (Exception ex) {
+                return ex;
+            }
+        }
+    };
+
+    private static final ClassValue<Map<Field, IdPlan>> __fieldPlans = new ClassValue<>() {
+        @Override
+        protected Map<Field, IdPlan> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    /**
+     * Get the (cached) ID plan of the entity type.
+     */
+    public static IdPlan plan(@NonNull Class<?> type) throws DataStoreException {
+        Object plan = __plans.get(type);
+        if (plan instanceof Exception) {
+            throw new DataStoreException((Exception) plan);
+        }
+        return (IdPlan) plan;
+    }
+
+    /**
+     * Get the (cached) ID plan of the entity type for the specified ID field.
+     */
+    public static IdPlan plan(@NonNull Class<?> type, @NonNull Field field) throws DataStoreException {
+        Preconditions.checkArgument(field.isAnnotationPresent(Id.class) || field.isAnnotationPresent(EmbeddedId.class));
+        Map<Field, IdPlan> plans = __fieldPlans.get(type);
+        IdPlan plan = plans.get(field);
+        if (plan == null) {
+            try {
+                plan = IdPlan.of(type, field);
+            } catch (Exception ex) {
+                throw new DataStoreException(ex);
+            }
+            IdPlan current = plans.putIfAbsent(field, plan);
+            if (current != null) {
+                plan = current;
+            }
+        }
+        return plan;
+    }
+
+    public static void process(@NonNull IEntity<?> entity,
+                               @NonNull AbstractDataStore<?> dataStore) throws DataStoreException {
+        process(entity, plan(entity.getClass()), dataStore);
     }
 
     public static void process(@NonNull IEntity<?> entity,
                                @NonNull Field field,
                                @NonNull AbstractDataStore<?> dataStore) throws DataStoreException {
-        Preconditions.checkArgument(field.isAnnotationPresent(Id.class) || field.isAnnotationPresent(EmbeddedId.class));
+        process(entity, plan(entity.getClass(), field), dataStore);
+    }
+
+    /**
+     * Assign IDs to a batch of entities: sequence values are reserved for all the entities of a
+     * sequence at once.
+     */
+    public static void process(@NonNull List<? extends IEntity<?>> entities,
+                               @NonNull AbstractDataStore<?> dataStore) throws DataStoreException {
+        if (entities.isEmpty()) {
+            return;
+        }
+        IdPlan[] plans = new IdPlan[entities.size()];
+        Map<String, Integer> counts = null;
+        for (int ii = 0; ii < plans.length; ii++) {
+            IdPlan plan = plan(entities.get(ii).getClass());
+            plans[ii] = plan;
+            if (plan.sequenced()) {
+                if (counts == null) {
+                    counts = new HashMap<>();
+                }
+                counts.merge(plan.sequence, 1, Integer::sum);
+            }
+        }
+        Map<String, Sequence> sequences = null;
+        if (counts != null) {
+            sequences = new HashMap<>(counts.size());
+            for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+                sequences.put(entry.getKey(), new Sequence(entry.getKey(), entry.getValue()));
+            }
+        }
         try {
-            if (field.isAnnotationPresent(Id.class)) {
-                if (field.isAnnotationPresent(GeneratedId.class)) {
-                    GeneratedId gi = field.getAnnotation(GeneratedId.class);
-                    if (gi.type() == EGeneratedType.UUID) {
-                        ReflectionHelper.setStringValue(entity, field, UUID.randomUUID().toString());
-                    } else {
-                        Long value = dataStore.nextSequence(gi.sequence());
-                        ReflectionHelper.setLongValue(entity, field, value);
-                    }
+            for (int ii = 0; ii < plans.length; ii++) {
+                IdPlan plan = plans[ii];
+                if (!plan.generated()) {
+                    continue;
                 }
-            } else {
-                Class<?> type = field.getType();
-                Field[] fields = ReflectionHelper.getAllFields(type);
-                if (fields != null) {
-                    for (Field f : fields) {
-                        if (f.isAnnotationPresent(GeneratedId.class)) {
-                            Object fv = ReflectionHelper.reflectionUtils().getFieldValue(entity, field);
-                            if (fv == null) {
-                                fv = ReflectionHelper.createInstance(field.getType());
-                                ReflectionHelper.setValue(fv, entity, field);
-                            }
-                            GeneratedId gi = f.getAnnotation(GeneratedId.class);
-                            if (gi.type() == EGeneratedType.UUID) {
-                                ReflectionHelper.setStringValue(fv, f, UUID.randomUUID().toString());
-                            } else {
-                                Long value = dataStore.nextSequence(gi.sequence());
-                                ReflectionHelper.setLongValue(fv, f, value);
-                            }
-                            break;
-                        }
-                    }
+                if (plan.sequenced()) {
+                    plan.assign(entities.get(ii), sequences.get(plan.sequence).next(dataStore));
+                } else {
+                    plan.assign(entities.get(ii), UUID.randomUUID().toString());
                 }
             }
+        } catch (DataStoreException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            throw new DataStoreException(ex);
+        }
+    }
+
+    private static void process(IEntity<?> entity,
+                                IdPlan plan,
+                                AbstractDataStore<?> dataStore) throws DataStoreException {
+        if (!plan.generated()) {
+            return;
+        }
+        try {
+            if (plan.sequenced()) {
+                plan.assign(entity, dataStore.nextSequence(plan.sequence));
+            } else {
+                plan.assign(entity, UUID.randomUUID().toString());
+            }
         } catch (Exception ex) {
             throw new DataStoreException(ex);
         }
     }
+
+    private static final class Sequence {
+        private final String name;
+        private int remaining;
+        private long next;
+        private long end;
+
+        private Sequence(String name, int count) {
+            this.name = name;
+            this.remaining = count;
+        }
+
+        private long next(AbstractDataStore<?> dataStore) throws Exception {
+            if (next >= end) {
+                SequenceAllocator.Range range = dataStore.nextSequences(name, remaining);
+                next = range.start();
+                end = range.start() + range.size();
+            }
+            remaining--;
+            return next++;
+        }
+    }
 }
@@ -0,0 +1,219 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.core.persistence;
+
+import io.zyient.base.common.model.Context;
+import io.zyient.base.common.model.entity.IEntity;
+import io.zyient.base.common.model.entity.IKey;
+import io.zyient.base.common.utils.DefaultLogger;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.experimental.Accessors;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Parallel scan over the partitions of a query: each partition is read by its own worker into a
+ * bounded queue of pages, so a slow consumer blocks the readers instead of buffering the results.
+ * <p>
+ * Partition checkpoints advance when a page is returned by {@link #next()}, so a scan resumed
+ * from the checkpoints re-reads at most the pages that were consumed but not processed.
+ */
+@Getter
+@Accessors(fluent = true)
+public class PartitionedScan<K extends IKey, E extends IEntity<K>> implements Closeable {
+    private static final long POLL_TIMEOUT = 100;
+
+    private record Page<E>(ScanPartition partition, List<E> entities, Object position) {
+    }
+
+    private final AbstractDataStore<?> dataStore;
+    private final AbstractDataStore.Q query;
+    private final List<ScanPartition> partitions;
+    private final Class<? extends K> keyType;
+    private final Class<? extends E> type;
+    private final int pageSize;
+    @Getter(AccessLevel.NONE)
+    private final BlockingQueue<Page<E>> queue;
+    @Getter(AccessLevel.NONE)
+    private final List<Cursor<K, E>> cursors = new ArrayList<>();
+    @Getter(AccessLevel.NONE)
+    private final AtomicReference<Throwable> error = new AtomicReference<>();
+    @Getter(AccessLevel.NONE)
+    private ExecutorService executor;
+    @Getter(AccessLevel.NONE)
+    private boolean ownsExecutor = false;
+    private int running = 0;
+    private volatile boolean closed = false;
+
+    /**
+     * @param queueSize - Maximum number of pages read ahead of the consumer (all partitions).
+     */
+    public PartitionedScan(@NonNull AbstractDataStore<?> dataStore,
+                           @NonNull AbstractDataStore.Q query,
+                           @NonNull List<ScanPartition> partitions,
+                           int pageSize,
+                           int queueSize,
+                           @NonNull Class<? extends K> keyType,
+                           @NonNull Class<? extends E> type) {
+        this.dataStore = dataStore;
+        this.query = query;
+        this.partitions = partitions;
+        this.pageSize = pageSize;
+        this.keyType = keyType;
+        this.type = type;
+        if (queueSize <= 0) {
+            queueSize = 2 * partitions.size();
+        }
+        this.queue = new ArrayBlockingQueue<>(queueSize);
+    }
+
+    /**
+     * Read the partitions on a pool owned by the scan (one thread per partition).
+     */
+    public PartitionedScan<K, E> start(Context context) throws DataStoreException {
+        ownsExecutor = true;
+        return start(Executors.newFixedThreadPool(partitions.size()), context);
+    }
+
+    public PartitionedScan<K, E> start(@NonNull ExecutorService executor,
+                                       Context context) throws DataStoreException {
+        if (this.executor != null) {
+            throw new DataStoreException("Scan already started...");
+        }
+        this.executor = executor;
+        // Cursors are opened on the calling thread: the query is parsed once, before any reader runs.
+        for (ScanPartition partition : partitions) {
+            if (partition.finished()) {
+                continue;
+            }
+            cursors.add(dataStore.scan(query, partition, pageSize, keyType, type, context));
+        }
+        int index = 0;
+        for (ScanPartition partition : partitions) {
+            if (partition.finished()) {
+                continue;
+            }
+            Cursor<K, E> cursor = cursors.get(index++);
+            running++;
+            executor.submit(() -> read(partition, cursor));
+        }
+        return this;
+    }
+
+    /**
+     * Next page read by any of the partitions, blocks till one is available.
+     *
+     * @return - Page of entities or NULL once all the partitions have been read.
+     */
+    public List<E> next() throws DataStoreException {
+        try {
+            while (running > 0) {
+                Page<E> page = queue.poll(POLL_TIMEOUT, TimeUnit.MILLISECONDS);
+                check();
+                if (page == null) {
+                    continue;
+                }
+                if (page.entities() == null) {
+                    page.partition().finish();
+                    running--;
+                    continue;
+                }
+                page.partition().consumed(page.position(), page.entities().size());
+                return page.entities();
+            }
+            check();
+            return null;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new DataStoreException(ex);
+        }
+    }
+
+    private void check() throws DataStoreException {
+        Throwable t = error.get();
+        if (t != null) {
+            throw new DataStoreException(t);
+        }
+    }
+
+    private void read(ScanPartition partition, Cursor<K, E> cursor) {
+        try {
+            while (!closed) {
+                List<E> entities = cursor.nextPage();
+                if (entities == null || entities.isEmpty()) {
+                    break;
+                }
+                Object position = null;
+                if (cursor instanceof SeekCursor<?, ?, ?>) {
+                    position = ((SeekCursor<?, ?, ?>) cursor).lastPosition();
+                }
+                if (!put(new Page<>(partition, entities, position))) {
+                    break;
+                }
+            }
+        } catch (Throwable t) {
+            DefaultLogger.stacktrace(t);
+            error.compareAndSet(null, t);
+        } finally {
+            put(new Page<>(partition, null, null));
+        }
+    }
+
+    private boolean put(Page<E> page) {
+        try {
+            while (!closed) {
+                if (queue.offer(page, POLL_TIMEOUT, TimeUnit.MILLISECONDS)) {
+                    return true;
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        queue.clear();
+        if (executor != null && ownsExecutor) {
+            executor.shutdown();
+            try {
+                if (!executor.awaitTermination(POLL_TIMEOUT * 10, TimeUnit.MILLISECONDS)) {
+                    executor.shutdownNow();
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        for (Cursor<K, E> cursor : cursors) {
+            cursor.close();
+        }
+        cursors.clear();
+    }
+}
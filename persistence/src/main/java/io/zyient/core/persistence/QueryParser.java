@@ -16,11 +16,14 @@
 
 package io.zyient.core.persistence;
 
+import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
+import io.zyient.base.common.cache.TinyLfuCache;
 import io.zyient.base.common.model.entity.IEntity;
 import io.zyient.base.common.model.entity.IKey;
 import io.zyient.base.common.model.entity.NativeKey;
 import io.zyient.base.common.utils.ReflectionHelper;
+import io.zyient.base.core.utils.Timer;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.Setter;
@@ -30,6 +33,7 @@ import net.sf.jsqlparser.statement.select.Select;
 
 import java.lang.reflect.Field;
 import java.util.Map;
+import java.util.Optional;
 
 @Getter
 @Accessors(fluent = true)
@@ -43,11 +47,19 @@ public abstract class QueryParser<K extends IKey, E extends IEntity<K>> {
         private Field field;
     }
 
+    /**
+     * Parse result of a query shape: the parsed statement and the generated (store) query.
+     */
+    public record Parsed(String statement, String generated) {
+    }
+
     private final Class<? extends K> keyType;
     private final Class<? extends E> entityType;
     private final String entity;
     private final Map<String, QueryField> keyFields;
     private final Map<String, QueryField> entityFields;
+    private TinyLfuCache<String, Parsed> cache;
+    private DataStoreMetrics metrics;
 
     public QueryParser(@NonNull Class<? extends K> keyType,
                        @NonNull Class<? extends E> entityType) throws Exception {
@@ -58,18 +70,48 @@ public abstract class QueryParser<K extends IKey, E extends IEntity<K>> {
         entityFields = extractFields(entityType);
     }
 
+    /**
+     * Cache the parse results of up to {@code size} query shapes. Queries bind their values as
+     * parameters, so the shape (where clause and sort) identifies the generated query.
+     */
+    public QueryParser<K, E> withCache(int size, DataStoreMetrics metrics) {
+        Preconditions.checkArgument(size > 0);
+        cache = new TinyLfuCache<>(size);
+        this.metrics = metrics;
+        return this;
+    }
+
     public String parse(@NonNull AbstractDataStore.Q query) throws Exception {
         if (Strings.isNullOrEmpty(query.where())) {
             throw new Exception("Empty where clause not supported.");
         }
-        StringBuilder builder = new StringBuilder("SELECT * FROM ");
-        if (!Strings.isNullOrEmpty(query.where())) {
-            builder.append(entity)
-                    .append(" WHERE ")
-                    .append(query.where());
-        } else {
-            builder.append(entity);
+        if (cache == null) {
+            return doParse(query);
         }
+        String shape = shape(query);
+        Optional<Parsed> parsed = cache.get(shape);
+        if (parsed.isPresent()) {
+            if (metrics != null) {
+                metrics.queryCacheHitCounter().increment();
+            }
+            query.generatedQuery(parsed.get().generated());
+            return parsed.get().statement();
+        }
+        long start = Timer.start();
+        String statement = doParse(query);
+        cache.put(shape, new Parsed(statement, query.generatedQuery()));
+        if (metrics != null) {
+            metrics.queryCacheMissCounter().increment();
+            Timer.record(metrics.queryParseTimer(), start);
+        }
+        return statement;
+    }
+
+    private String doParse(AbstractDataStore.Q query) throws Exception {
+        StringBuilder builder = new StringBuilder("SELECT * FROM ")
+                .append(entity)
+                .append(" WHERE ")
+                .append(query.where());
         if (query.sort() != null && !query.sort().isEmpty()) {
             builder.append(buildSort(query.sort()));
         }
@@ -78,6 +120,43 @@ public abstract class QueryParser<K extends IKey, E extends IEntity<K>> {
         return stmnt.toString();
     }
 
+    /**
+     * Normalized query shape: where clause with runs of whitespace collapsed, followed by the sort
+     * columns. Quoted spans (single or double quotes) are kept as is.
+     */
+    public static String shape(@NonNull AbstractDataStore.Q query) {
+        String where = query.where();
+        StringBuilder builder = new StringBuilder(where.length() + 16);
+        char quote = 0;
+        boolean space = false;
+        for (int ii = 0; ii < where.length(); ii++) {
+            char c = where.charAt(ii);
+            if (quote == 0 && (c == '\'' || c == '"')) {
+                quote = c;
+            } else if (c == quote) {
+                quote = 0;
+            }
+            if (quote == 0 && Character.isWhitespace(c)) {
+                space = true;
+                continue;
+            }
+            if (space && !builder.isEmpty()) {
+                builder.append(' ');
+            }
+            space = false;
+            builder.append(c);
+        }
+        if (query.sort() != null && !query.sort().isEmpty()) {
+            builder.append(" #");
+            for (Map.Entry<String, Boolean> entry : query.sort().entrySet()) {
+                builder.append(' ')
+                        .append(entry.getKey())
+                        .append(entry.getValue() ? "+" : "-");
+            }
+        }
+        return builder.toString();
+    }
+
     protected boolean isNativeKey(@NonNull Field field) {
         if (ReflectionHelper.isSuperType(NativeKey.class, field.getType())) {
             return true;
@@ -0,0 +1,78 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.core.persistence;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+/**
+ * One of the disjoint slices of a partitioned scan (see {@link AbstractDataStore#partitions}).
+ * <p>
+ * Key range partitions select the rows with {@code lower <= key < upper} (a NULL bound is open),
+ * hash partitions select the rows whose key hashes to {@code index} of {@code count} workers.
+ * The checkpoint is the cursor position after the last page consumed: a scan opened on a
+ * partition with a checkpoint resumes after it.
+ */
+@Getter
+@Accessors(fluent = true)
+public class ScanPartition {
+    private final int index;
+    private final int count;
+    private final Object lower;
+    private final Object upper;
+    @Setter
+    private volatile Object checkpoint;
+    private volatile long read = 0;
+    private volatile boolean finished = false;
+
+    public ScanPartition(int index, int count, Object lower, Object upper) {
+        this.index = index;
+        this.count = count;
+        this.lower = lower;
+        this.upper = upper;
+    }
+
+    public ScanPartition(int index, int count) {
+        this(index, count, null, null);
+    }
+
+    public boolean isRange() {
+        return lower != null || upper != null;
+    }
+
+    public boolean isAll() {
+        return count <= 1 && !isRange();
+    }
+
+    void consumed(Object position, int size) {
+        if (position != null) {
+            checkpoint = position;
+        }
+        read += size;
+    }
+
+    void finish() {
+        finished = true;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("[partition=%d/%d][lower=%s][upper=%s][checkpoint=%s][read=%d]",
+                index, count, lower, upper, checkpoint, read);
+    }
+}
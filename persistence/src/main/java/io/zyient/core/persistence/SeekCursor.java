@@ -0,0 +1,87 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.core.persistence;
+
+import io.zyient.base.common.model.entity.IEntity;
+import io.zyient.base.common.model.entity.IKey;
+import lombok.NonNull;
+
+import java.util.List;
+
+/**
+ * Cursor that pages by seeking past the last row read (keyset/cursor-mark pagination) instead of
+ * skipping an offset, so the cost of a page does not grow with its depth.
+ * <p>
+ * The first page (or a page that is not the successor of the last one read) is positioned with
+ * {@link #fetch(int)}, every following page with {@link #seek(Object)}.
+ *
+ * @param <P> - Type of the position marker.
+ */
+public abstract class SeekCursor<K extends IKey, E extends IEntity<K>, P> extends Cursor<K, E> {
+    private P position = null;
+    private int positionPage = -1;
+
+    protected SeekCursor(int currentPage) {
+        super(currentPage);
+    }
+
+    @Override
+    protected List<E> next(int page) throws DataStoreException {
+        List<E> result;
+        if (position != null && page == positionPage + 1) {
+            result = seek(position);
+        } else {
+            result = fetch(page);
+        }
+        if (result != null && !result.isEmpty()) {
+            position = position(result);
+            positionPage = page;
+        }
+        return result;
+    }
+
+    /**
+     * Position marker after the last page read (NULL if none has been read).
+     */
+    public P lastPosition() {
+        return position;
+    }
+
+    /**
+     * Continue after the specified position: the next page is read by seeking past it.
+     */
+    public SeekCursor<K, E, P> resume(@NonNull P position) {
+        this.position = position;
+        this.positionPage = currentPage() - 1;
+        return this;
+    }
+
+    /**
+     * Read the specified page without a position marker.
+     */
+    protected abstract List<E> fetch(int page) throws DataStoreException;
+
+    /**
+     * Read the page following the specified position.
+     */
+    protected abstract List<E> seek(@NonNull P position) throws DataStoreException;
+
+    /**
+     * Position marker after the page just read.
+     */
+    protected abstract P position(@NonNull List<E> page) throws DataStoreException;
+}
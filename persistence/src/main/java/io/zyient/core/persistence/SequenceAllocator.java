@@ -0,0 +1,223 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.core.persistence;
+
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.zyient.base.common.utils.JSONUtils;
+import lombok.NonNull;
+import org.apache.curator.framework.CuratorFramework;
+import org.apache.zookeeper.KeeperException;
+import org.apache.zookeeper.data.Stat;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Hands out unique sequence values from blocks reserved on a ZooKeeper {@link ZkSequence} node.
+ * <p>
+ * Values are taken from the current block with an atomic increment. When the block drops to its low
+ * watermark the next block is reserved in the background, so callers only wait on ZooKeeper if they
+ * drain a block faster than a reservation completes. Blocks are reserved with a versioned
+ * {@code setData}, so concurrent allocators (in this or other processes) never receive overlapping
+ * ranges. Block size adapts to the observed consumption rate, targeting one reservation per
+ * block duration, bounded by the min/max block sizes.
+ */
+public class SequenceAllocator {
+    private static final int MAX_RESERVE_RETRIES = 64;
+    private static final Executor PREFETCH_EXECUTOR = Executors.newCachedThreadPool(new ThreadFactoryBuilder()
+            .setNameFormat("SEQUENCE-PREFETCH-%d")
+            .setDaemon(true)
+            .build());
+
+    /**
+     * Consecutive sequence values [start, start + size).
+     */
+    public record Range(long start, long size) {
+    }
+
+    private static final class Block {
+        private static final Block EMPTY = new Block(0, 0, 0);
+
+        private final long end;
+        private final long watermark;
+        private final AtomicLong next;
+
+        private Block(long start, long end, int lowWatermark) {
+            this.end = end;
+            this.watermark = end - Math.max(1, (end - start) * lowWatermark / 100);
+            this.next = new AtomicLong(start);
+        }
+    }
+
+    private final CuratorFramework client;
+    private final String path;
+    private final long minBlockSize;
+    private final long maxBlockSize;
+    private final int lowWatermark;
+    private final long blockDuration;
+    private volatile Block current = Block.EMPTY;
+    private final AtomicReference<CompletableFuture<Block>> prefetch = new AtomicReference<>();
+    private final Object reserveLock = new Object();
+    private long blockSize;
+    private long lastReserved = 0;
+
+    /**
+     * @param client        - ZooKeeper client
+     * @param path          - Sequence node path (created if missing)
+     * @param minBlockSize  - Min. (and initial) block size
+     * @param maxBlockSize  - Max. block size
+     * @param lowWatermark  - Percentage of the block left when the next block is prefetched
+     * @param blockDuration - Target time (millis) for a block to be consumed
+     */
+    public SequenceAllocator(@NonNull CuratorFramework client,
+                             @NonNull String path,
+                             long minBlockSize,
+                             long maxBlockSize,
+                             int lowWatermark,
+                             long blockDuration) {
+        Preconditions.checkArgument(minBlockSize > 0);
+        Preconditions.checkArgument(maxBlockSize >= minBlockSize);
+        Preconditions.checkArgument(lowWatermark >= 0 && lowWatermark < 100);
+        this.client = client;
+        this.path = path;
+        this.minBlockSize = minBlockSize;
+        this.maxBlockSize = maxBlockSize;
+        this.lowWatermark = lowWatermark;
+        this.blockDuration = blockDuration;
+        this.blockSize = minBlockSize;
+    }
+
+    public long next() throws DataStoreException {
+        while (true) {
+            Block block = current;
+            long value = block.next.getAndIncrement();
+            if (value < block.end) {
+                if (value >= block.watermark && prefetch.get() == null && current == block) {
+                    prefetch();
+                }
+                return value;
+            }
+            advance(block);
+        }
+    }
+
+    /**
+     * Take up to {@code count} consecutive values with a single increment. The range is capped at the
+     * end of the current block: callers needing more values call again for the rest.
+     */
+    public Range next(int count) throws DataStoreException {
+        Preconditions.checkArgument(count > 0);
+        while (true) {
+            Block block = current;
+            long value = block.next.getAndAdd(count);
+            if (value < block.end) {
+                long size = Math.min(count, block.end - value);
+                if (value + size > block.watermark && prefetch.get() == null && current == block) {
+                    prefetch();
+                }
+                return new Range(value, size);
+            }
+            advance(block);
+        }
+    }
+
+    private void advance(Block exhausted) throws DataStoreException {
+        synchronized (this) {
+            if (current != exhausted) return;
+            CompletableFuture<Block> future = prefetch();
+            try {
+                current = future.join();
+            } catch (CompletionException ex) {
+                throw new DataStoreException(ex.getCause());
+            } finally {
+                prefetch.compareAndSet(future, null);
+            }
+        }
+    }
+
+    private CompletableFuture<Block> prefetch() {
+        CompletableFuture<Block> future = prefetch.get();
+        if (future != null) return future;
+        future = new CompletableFuture<>();
+        if (!prefetch.compareAndSet(null, future)) {
+            return prefetch.get();
+        }
+        final CompletableFuture<Block> f = future;
+        PREFETCH_EXECUTOR.execute(() -> {
+            try {
+                f.complete(reserve());
+            } catch (Throwable t) {
+                f.completeExceptionally(t);
+            }
+        });
+        return future;
+    }
+
+    private Block reserve() throws Exception {
+        synchronized (reserveLock) {
+            long now = System.currentTimeMillis();
+            long size = nextBlockSize(now);
+            for (int ii = 0; ii < MAX_RESERVE_RETRIES; ii++) {
+                Stat stat = new Stat();
+                byte[] data;
+                try {
+                    data = client.getData().storingStatIn(stat).forPath(path);
+                } catch (KeeperException.NoNodeException nn) {
+                    try {
+                        client.create().creatingParentsIfNeeded().forPath(path, JSONUtils.asBytes(new ZkSequence()));
+                    } catch (KeeperException.NodeExistsException ne) {
+                        // Created concurrently.
+                    }
+                    continue;
+                }
+                ZkSequence sequence = null;
+                if (data != null && data.length > 0) {
+                    sequence = JSONUtils.read(data, ZkSequence.class);
+                }
+                if (sequence == null) {
+                    sequence = new ZkSequence();
+                }
+                long start = sequence.getNext();
+                sequence.setNext(start + size);
+                sequence.setTimeUpdated(now);
+                try {
+                    client.setData().withVersion(stat.getVersion()).forPath(path, JSONUtils.asBytes(sequence));
+                } catch (KeeperException.BadVersionException bv) {
+                    continue;
+                }
+                blockSize = size;
+                lastReserved = now;
+                return new Block(start, start + size, lowWatermark);
+            }
+            throw new DataStoreException(
+                    String.format("Failed to reserve sequence block, retries exhausted. [path=%s][retries=%d]",
+                            path, MAX_RESERVE_RETRIES));
+        }
+    }
+
+    private long nextBlockSize(long now) {
+        if (lastReserved <= 0 || blockDuration <= 0) {
+            return blockSize;
+        }
+        long elapsed = Math.max(1, now - lastReserved);
+        long target = (long) ((double) blockSize * blockDuration / elapsed);
+        target = Math.min(Math.max(target, blockSize / 2), blockSize * 2);
+        return Math.min(Math.max(target, minBlockSize), maxBlockSize);
+    }
+}
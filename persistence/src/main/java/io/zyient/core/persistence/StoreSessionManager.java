@@ -17,30 +17,116 @@
 package io.zyient.core.persistence;
 
 import com.google.common.base.Preconditions;
+import io.zyient.base.common.utils.DefaultLogger;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NonNull;
+import lombok.Setter;
 import lombok.experimental.Accessors;
 
+import java.lang.ref.WeakReference;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
+/**
+ * Session/transaction context of a data store.
+ * <p>
+ * The current {@link StoreSession} is held in a thread local (one per platform or virtual thread,
+ * no shared lock on lookup). Work that continues on another thread (async continuations) carries the
+ * {@link StoreSession} returned by {@link #current()} and re-binds it with {@link #bind(StoreSession)}.
+ * <p>
+ * Transactions nest: an inner begin joins the active transaction, the outermost commit/rollback ends it.
+ * A rollback of an inner transaction marks the transaction rollback-only.
+ * <p>
+ * Open sessions are tracked: sessions whose owner thread ended without closing them, idle for longer
+ * than the session timeout and not in a transaction, are logged and closed. Sessions of live threads
+ * are left open (cursors use their session without going through the manager), an expired session is
+ * replaced on the next {@link #session()} call of its thread.
+ *
+ * @param <C> - Session type.
+ * @param <T> - Transaction type.
+ */
 @Getter
 @Accessors(fluent = true)
 public abstract class StoreSessionManager<C, T> {
     @Getter
     @Accessors(fluent = true)
     public static class StoreSession<C, T> {
-        private C session;
+        private final C session;
+        private final String owner;
+        @Getter(AccessLevel.NONE)
+        private final WeakReference<Thread> ownerThread;
+        private final long timeOpened = System.currentTimeMillis();
+        @Getter(AccessLevel.NONE)
+        private final Throwable openedAt;
+        @Getter(AccessLevel.NONE)
+        private final Map<String, Object> attributes = new HashMap<>();
         private T transaction;
-        private long timeLastUsed = System.currentTimeMillis();
+        private int depth = 0;
+        private boolean rollbackOnly = false;
+        private volatile long timeLastUsed = System.currentTimeMillis();
+        private volatile boolean closed = false;
+
+        private StoreSession(C session, boolean trace) {
+            this.session = session;
+            this.owner = Thread.currentThread().getName();
+            this.ownerThread = new WeakReference<>(Thread.currentThread());
+            this.openedAt = (trace ? new Throwable("Session opened here") : null);
+        }
 
         public boolean hasTransaction() {
             return (transaction != null);
         }
+
+        /**
+         * Per session state (confined to the session owner, not thread-safe).
+         */
+        @SuppressWarnings("unchecked")
+        public <V> V attribute(@NonNull String name, @NonNull Supplier<V> initializer) {
+            return (V) attributes.computeIfAbsent(name, k -> initializer.get());
+        }
+
+        private boolean isOwnerAlive() {
+            Thread thread = ownerThread.get();
+            return (thread != null && thread.isAlive());
+        }
+
+        private void touch() {
+            timeLastUsed = System.currentTimeMillis();
+        }
+
+        private void end() {
+            transaction = null;
+            depth = 0;
+            rollbackOnly = false;
+            touch();
+        }
+    }
+
+    /**
+     * Binding of a session to the current thread, restores the previous binding on close.
+     */
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
     }
 
-    private final Map<Long, StoreSession<C, T>> sessions = new HashMap<>();
+    @Getter(AccessLevel.NONE)
+    private final ThreadLocal<StoreSession<C, T>> current = new ThreadLocal<>();
+    @Getter(AccessLevel.NONE)
+    private final Set<StoreSession<C, T>> opened = ConcurrentHashMap.newKeySet();
+    @Getter(AccessLevel.NONE)
+    private final AtomicLong lastLeakCheck = new AtomicLong(System.currentTimeMillis());
     private final long sessionTimeout;
+    /**
+     * Record where sessions are opened, reported when a leaked session is closed.
+     */
+    @Setter
+    private volatile boolean traceLeaks = false;
 
     public StoreSessionManager(long sessionTimeout) {
         Preconditions.checkArgument(sessionTimeout > 0);
@@ -48,140 +134,230 @@ public abstract class StoreSessionManager<C, T> {
     }
 
     public C session() throws DataStoreException {
-        synchronized (sessions) {
-            long tid = Thread.currentThread().getId();
-            if (sessions.containsKey(tid)) {
-                StoreSession<C, T> session = sessions.get(tid);
-                if (session.session != null && isAvailable(session.session)) {
-                    long delta = System.currentTimeMillis() - session.timeLastUsed;
-                    if (delta < sessionTimeout) {
-                        session.timeLastUsed = System.currentTimeMillis();
-                        return session.session();
-                    } else {
-                        close(session.session);
-                    }
+        StoreSession<C, T> session = current.get();
+        if (session != null) {
+            if (!session.closed && isAvailable(session.session)) {
+                long delta = System.currentTimeMillis() - session.timeLastUsed;
+                if (delta < sessionTimeout) {
+                    session.touch();
+                    return session.session;
                 }
             }
-            C session = create();
-            StoreSession<C, T> ss = new StoreSession<>();
-            ss.session = session;
-            sessions.put(tid, ss);
+            current.remove();
+            discard(session);
+        }
+        checkLeaks(false);
+        session = new StoreSession<>(create(), traceLeaks);
+        opened.add(session);
+        current.set(session);
+        return session.session;
+    }
+
+    /**
+     * Session context bound to the current thread, null if none.
+     */
+    public StoreSession<C, T> current() {
+        StoreSession<C, T> session = current.get();
+        if (session != null && !session.closed) {
             return session;
         }
+        return null;
     }
 
-    public C openedSession() {
-        synchronized (sessions) {
-            long tid = Thread.currentThread().getId();
-            if (sessions.containsKey(tid)) {
-                StoreSession<C, T> session = sessions.get(tid);
-                return session.session;
-            }
-            return null;
+    /**
+     * Bind a session context (obtained by {@link #current()} on another thread) to the current thread.
+     */
+    public Scope bind(@NonNull StoreSession<C, T> session) throws DataStoreException {
+        if (session.closed) {
+            throw new DataStoreException(String.format("Session already closed. [owner=%s]", session.owner));
         }
+        StoreSession<C, T> previous = current.get();
+        current.set(session);
+        session.touch();
+        return () -> {
+            if (previous != null) {
+                current.set(previous);
+            } else {
+                current.remove();
+            }
+        };
     }
 
-    public void endSession() throws DataStoreException {
-        C session = openedSession();
+    public C openedSession() {
+        StoreSession<C, T> session = current();
         if (session != null) {
-            close(session);
+            return session.session;
         }
+        return null;
     }
 
+    public void endSession() throws DataStoreException {
+        close();
+    }
+
+    /**
+     * Unbind the session of the current thread, without closing it.
+     */
     public boolean remove() throws DataStoreException {
-        synchronized (sessions) {
-            long tid = Thread.currentThread().getId();
-            if (sessions.containsKey(tid)) {
-                sessions.remove(tid);
-                return true;
-            }
+        StoreSession<C, T> session = current.get();
+        if (session != null) {
+            current.remove();
+            opened.remove(session);
+            return true;
         }
         return false;
     }
 
     public void beingTransaction() throws DataStoreException {
-        long tid = Thread.currentThread().getId();
-        if (sessions.containsKey(tid)) {
-            StoreSession<C, T> session = sessions.get(tid);
-            if (session.hasTransaction()) {
-                if (!isActive(session.transaction)) {
-                    throw new DataStoreException(String.format("[%d] Invalid transaction handle in cache.", tid));
-                }
-            } else {
-                session.transaction = beingTransaction(session.session);
+        StoreSession<C, T> session = active();
+        if (session.hasTransaction()) {
+            if (!isActive(session.transaction)) {
+                throw new DataStoreException(String.format("[%s] Invalid transaction handle in cache.", session.owner));
             }
-            session.timeLastUsed = System.currentTimeMillis();
+            session.depth++;
         } else {
-            throw new DataStoreException(String.format("[%d] No active sessions found.", tid));
+            session.transaction = beingTransaction(session.session);
+            session.depth = 1;
+            session.rollbackOnly = false;
         }
+        session.touch();
     }
 
     public void commit() throws DataStoreException {
-        long tid = Thread.currentThread().getId();
-        if (sessions.containsKey(tid)) {
-            StoreSession<C, T> session = sessions.get(tid);
-            if (session.hasTransaction()) {
-                if (!isActive(session.transaction)) {
-                    throw new DataStoreException(String.format("[%d] Invalid transaction handle in cache.", tid));
-                }
+        StoreSession<C, T> session = transactional();
+        if (session.depth > 1) {
+            session.depth--;
+            session.touch();
+            return;
+        }
+        try {
+            if (session.rollbackOnly) {
+                rollback(session.session, session.transaction);
+                throw new DataStoreException(
+                        String.format("[%s] Transaction rolled back: marked rollback-only by a nested transaction.",
+                                session.owner));
             }
             commit(session.session, session.transaction);
-            session.transaction = null;
-            session.timeLastUsed = System.currentTimeMillis();
-        } else {
-            throw new DataStoreException(String.format("[%d] No active sessions found.", tid));
+        } finally {
+            session.end();
         }
     }
 
     public void rollback() throws DataStoreException {
-        long tid = Thread.currentThread().getId();
-        if (sessions.containsKey(tid)) {
-            StoreSession<C, T> session = sessions.get(tid);
-            if (session.hasTransaction()) {
-                if (!isActive(session.transaction)) {
-                    throw new DataStoreException(String.format("[%d] Invalid transaction handle in cache.", tid));
-                }
-            }
+        StoreSession<C, T> session = transactional();
+        if (session.depth > 1) {
+            session.depth--;
+            session.rollbackOnly = true;
+            session.touch();
+            return;
+        }
+        try {
             rollback(session.session, session.transaction);
-            session.transaction = null;
-            session.timeLastUsed = System.currentTimeMillis();
-        } else {
-            throw new DataStoreException(String.format("[%d] No active sessions found.", tid));
+        } finally {
+            session.end();
         }
     }
 
     public void close() throws DataStoreException {
-        synchronized (sessions) {
-            long tid = Thread.currentThread().getId();
-            if (sessions.containsKey(tid)) {
-                StoreSession<C, T> session = sessions.remove(tid);
-                close(session.session);
-            }
+        StoreSession<C, T> session = current.get();
+        if (session != null) {
+            current.remove();
+            discard(session);
         }
     }
 
     public T transaction() {
-        long tid = Thread.currentThread().getId();
-        if (sessions.containsKey(tid)) {
-            StoreSession<C, T> session = sessions.get(tid);
-            if (session.hasTransaction()) {
-                return session.transaction;
-            }
+        StoreSession<C, T> session = current();
+        if (session != null && session.hasTransaction()) {
+            return session.transaction;
         }
         return null;
     }
 
     public boolean isInTransaction() {
-        long tid = Thread.currentThread().getId();
-        if (sessions.containsKey(tid)) {
-            StoreSession<C, T> session = sessions.get(tid);
+        StoreSession<C, T> session = current();
+        if (session != null && session.hasTransaction()) {
+            return isActive(session.transaction);
+        }
+        return false;
+    }
+
+    /**
+     * Number of sessions opened and not closed.
+     */
+    public int openCount() {
+        return opened.size();
+    }
+
+    /**
+     * Close the sessions of ended threads idle for longer than the session timeout (runs at most once
+     * per timeout period unless forced). Sessions in a transaction are only reported.
+     *
+     * @return - Number of sessions closed.
+     */
+    public int checkLeaks(boolean force) {
+        long now = System.currentTimeMillis();
+        long last = lastLeakCheck.get();
+        if (!force && (now - last < sessionTimeout || !lastLeakCheck.compareAndSet(last, now))) {
+            return 0;
+        }
+        int count = 0;
+        for (StoreSession<C, T> session : opened) {
+            long idle = now - session.timeLastUsed;
+            if (idle < sessionTimeout || session.isOwnerAlive()) {
+                continue;
+            }
+            String mesg = String.format("Leaked session. [owner=%s][idle=%dms][transaction=%s]",
+                    session.owner, idle, session.hasTransaction());
+            if (session.openedAt != null) {
+                DefaultLogger.warn(mesg, session.openedAt);
+            } else {
+                DefaultLogger.warn(mesg);
+            }
             if (session.hasTransaction()) {
-                return isActive(session.transaction);
+                continue;
+            }
+            try {
+                if (discard(session)) {
+                    count++;
+                }
+            } catch (Exception ex) {
+                DefaultLogger.stacktrace(ex);
             }
         }
+        return count;
+    }
+
+    private boolean discard(StoreSession<C, T> session) throws DataStoreException {
+        if (opened.remove(session)) {
+            session.closed = true;
+            close(session.session);
+            return true;
+        }
         return false;
     }
 
+    private StoreSession<C, T> active() throws DataStoreException {
+        StoreSession<C, T> session = current();
+        if (session == null) {
+            throw new DataStoreException(String.format("[%s] No active sessions found.",
+                    Thread.currentThread().getName()));
+        }
+        return session;
+    }
+
+    private StoreSession<C, T> transactional() throws DataStoreException {
+        StoreSession<C, T> session = active();
+        if (!session.hasTransaction()) {
+            throw new DataStoreException(String.format("[%s] No active transaction.", session.owner));
+        }
+        if (!isActive(session.transaction)) {
+            session.end();
+            throw new DataStoreException(String.format("[%s] Invalid transaction handle in cache.", session.owner));
+        }
+        return session;
+    }
+
     protected abstract boolean isActive(@NonNull T transaction);
 
     protected abstract boolean isAvailable(@NonNull C session);
@@ -18,15 +18,22 @@ package io.zyient.core.persistence;
 
 import com.google.common.base.Preconditions;
 import lombok.Getter;
+import lombok.NonNull;
 import lombok.Setter;
 import lombok.experimental.Accessors;
 
 import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
 
 @Getter
 @Setter
 @Accessors(fluent = true)
 public abstract class TransactionDataStore<C, T> extends AbstractDataStore<C> {
+    private static final String ATTR_INVALIDATIONS = "invalidations";
+
     private StoreSessionManager<C, T> sessionManager;
 
 
@@ -60,7 +67,13 @@ public abstract class TransactionDataStore<C, T> extends AbstractDataStore<C> {
     public void commit() throws DataStoreException {
         checkState();
         Preconditions.checkState(isInTransaction());
-        sessionManager.commit();
+        try {
+            sessionManager.commit();
+        } finally {
+            if (!sessionManager.isInTransaction()) {
+                flushInvalidations();
+            }
+        }
     }
 
     public void rollback(boolean raiseError) throws DataStoreException {
@@ -70,7 +83,75 @@ public abstract class TransactionDataStore<C, T> extends AbstractDataStore<C> {
                 return;
             }
         }
-        sessionManager().rollback();
+        try {
+            sessionManager().rollback();
+        } finally {
+            if (!sessionManager.isInTransaction()) {
+                flushInvalidations();
+            }
+        }
+    }
+
+    /**
+     * Reads in a transaction see the uncommitted state of the session, they bypass the entity cache.
+     */
+    @Override
+    protected boolean useCache() throws DataStoreException {
+        return !isInTransaction();
+    }
+
+    /**
+     * Entities written in a transaction are invalidated when the transaction ends: until then
+     * other readers can (correctly) cache the committed state.
+     */
+    @Override
+    protected void invalidate(@NonNull Class<?> type, @NonNull Object key) throws DataStoreException {
+        if (entityCache() == null) {
+            return;
+        }
+        if (isInTransaction()) {
+            invalidations(sessionManager.current()).computeIfAbsent(type, t -> new HashSet<>()).add(key);
+        } else {
+            super.invalidate(type, key);
+        }
+    }
+
+    private Map<Class<?>, Set<Object>> invalidations(StoreSessionManager.StoreSession<C, T> session) {
+        return session.attribute(ATTR_INVALIDATIONS, HashMap::new);
+    }
+
+    private void flushInvalidations() throws DataStoreException {
+        StoreSessionManager.StoreSession<C, T> session = sessionManager.current();
+        if (session == null) {
+            return;
+        }
+        Map<Class<?>, Set<Object>> pending = invalidations(session);
+        if (pending.isEmpty()) {
+            return;
+        }
+        try {
+            for (Map.Entry<Class<?>, Set<Object>> entry : pending.entrySet()) {
+                for (Object key : entry.getValue()) {
+                    super.invalidate(entry.getKey(), key);
+                }
+            }
+        } finally {
+            pending.clear();
+        }
+    }
+
+    /**
+     * Session context of the current thread, to be re-bound ({@link #bind(StoreSessionManager.StoreSession)})
+     * by work continuing on another thread.
+     */
+    public StoreSessionManager.StoreSession<C, T> currentSession() throws DataStoreException {
+        checkState();
+        return sessionManager.current();
+    }
+
+    public StoreSessionManager.Scope bind(@NonNull StoreSessionManager.StoreSession<C, T> session) throws DataStoreException {
+        checkState();
+        return sessionManager.bind(session);
     }
 
     public void endSession() throws DataStoreException {
@@ -0,0 +1,37 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.core.persistence.annotations;
+
+import java.lang.annotation.*;
+
+/**
+ * Marks an entity type as cacheable by the data store entity cache. Only annotated types are cached.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+@Inherited
+public @interface CachedEntity {
+    /**
+     * Maximum number of cached entities of this type, uses the data store default if not set (<= 0).
+     */
+    long maxSize() default -1;
+
+    /**
+     * Time (in milliseconds) an entity is cached after being read, uses the data store default if not set (<= 0).
+     */
+    long expireAfterWrite() default -1;
+}
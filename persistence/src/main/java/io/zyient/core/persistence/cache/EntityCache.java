@@ -0,0 +1,161 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.core.persistence.cache;
+
+import io.zyient.base.common.model.entity.EEntityState;
+import io.zyient.base.common.model.entity.IEntity;
+import io.zyient.base.common.model.entity.IKey;
+import io.zyient.base.common.utils.DefaultLogger;
+import io.zyient.base.common.utils.JSONUtils;
+import io.zyient.core.persistence.AbstractDataStoreSettings;
+import io.zyient.core.persistence.DataStoreMetrics;
+import io.zyient.core.persistence.annotations.CachedEntity;
+import io.zyient.core.persistence.model.BaseEntity;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.experimental.Accessors;
+import org.apache.commons.configuration2.ex.ConfigurationException;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Read-through, write-invalidate entity cache used by the data stores for types annotated with
+ * {@link CachedEntity}.
+ * <p>
+ * Entities are cached in their serialized (JSON) form, every read returns a new instance so
+ * callers never share (or mutate) a cached entity. Invalidations are optionally published to
+ * the other instances through an {@link EntityCacheChannel}.
+ */
+@Getter
+@Accessors(fluent = true)
+public abstract class EntityCache implements Closeable, EntityCacheChannel.Listener {
+    private AbstractDataStoreSettings settings;
+    private DataStoreMetrics metrics;
+    private EntityCacheChannel channel;
+
+    public EntityCache configure(@NonNull AbstractDataStoreSettings settings,
+                                 @NonNull DataStoreMetrics metrics) throws ConfigurationException {
+        this.settings = settings;
+        this.metrics = metrics;
+        configure();
+        return this;
+    }
+
+    public EntityCache withChannel(@NonNull EntityCacheChannel channel) throws ConfigurationException {
+        try {
+            channel.start(this);
+            this.channel = channel;
+            return this;
+        } catch (Exception ex) {
+            throw new ConfigurationException(ex);
+        }
+    }
+
+    public boolean isCached(@NonNull Class<?> type) {
+        return type.isAnnotationPresent(CachedEntity.class);
+    }
+
+    public <E extends IEntity<?>> E get(@NonNull Object key,
+                                        @NonNull Class<? extends E> type) throws Exception {
+        byte[] data = read(type, key(key));
+        if (data == null) {
+            metrics.cacheMissCounter().increment();
+            return null;
+        }
+        metrics.cacheHitCounter().increment();
+        E entity = JSONUtils.read(data, type);
+        if (entity instanceof BaseEntity<?>) {
+            ((BaseEntity<?>) entity).getState().setState(EEntityState.Synced);
+        }
+        return entity;
+    }
+
+    public <E extends IEntity<?>> void put(@NonNull Object key,
+                                           @NonNull E entity,
+                                           @NonNull Class<? extends E> type) {
+        try {
+            write(type, key(key), JSONUtils.asBytes(entity));
+        } catch (Exception ex) {
+            DefaultLogger.warn(String.format("Failed to cache entity. [type=%s][key=%s][error=%s]",
+                    type.getCanonicalName(), key(key), ex.getLocalizedMessage()));
+        }
+    }
+
+    public void invalidate(@NonNull Class<?> type, @NonNull Object key) {
+        String k = key(key);
+        remove(type.getCanonicalName(), k);
+        if (channel != null) {
+            try {
+                channel.publish(type.getCanonicalName(), k);
+            } catch (Exception ex) {
+                DefaultLogger.error(String.format("Failed to publish cache invalidation. [type=%s][key=%s]",
+                        type.getCanonicalName(), k), ex);
+            }
+        }
+    }
+
+    @Override
+    public void invalidated(@NonNull String type, String key) {
+        if (key == null) {
+            removeAll(type);
+        } else {
+            remove(type, key);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    protected long maxSize(@NonNull Class<?> type) {
+        CachedEntity ce = type.getAnnotation(CachedEntity.class);
+        if (ce != null && ce.maxSize() > 0) {
+            return ce.maxSize();
+        }
+        return settings.getCacheMaxSize();
+    }
+
+    protected long expireAfterWrite(@NonNull Class<?> type) throws Exception {
+        CachedEntity ce = type.getAnnotation(CachedEntity.class);
+        if (ce != null && ce.expireAfterWrite() > 0) {
+            return ce.expireAfterWrite();
+        }
+        return settings.getCacheExpireAfterWrite().normalized();
+    }
+
+    public static String key(@NonNull Object key) {
+        if (key instanceof IKey) {
+            return ((IKey) key).stringKey();
+        }
+        return String.valueOf(key);
+    }
+
+    protected abstract void configure() throws ConfigurationException;
+
+    protected abstract byte[] read(@NonNull Class<?> type, @NonNull String key) throws Exception;
+
+    protected abstract void write(@NonNull Class<?> type, @NonNull String key, @NonNull byte[] data) throws Exception;
+
+    protected abstract void remove(@NonNull String type, @NonNull String key);
+
+    protected abstract void removeAll(@NonNull String type);
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.core.persistence.cache;
+
+import lombok.NonNull;
+
+import java.io.Closeable;
+
+/**
+ * Channel used to propagate entity cache invalidations to the other instances sharing a data store.
+ */
+public interface EntityCacheChannel extends Closeable {
+    interface Listener {
+        /**
+         * Invalidation received from another instance.
+         *
+         * @param type - Entity type (canonical class name)
+         * @param key  - Entity key
+         */
+        void invalidated(@NonNull String type, String key);
+    }
+
+    void start(@NonNull Listener listener) throws Exception;
+
+    void publish(@NonNull String type, @NonNull String key) throws Exception;
+}
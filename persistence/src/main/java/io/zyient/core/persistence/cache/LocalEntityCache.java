@@ -0,0 +1,85 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.core.persistence.cache;
+
+import io.zyient.base.common.cache.TinyLfuCache;
+import lombok.NonNull;
+import org.apache.commons.configuration2.ex.ConfigurationException;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-process entity cache, one size bounded (W-TinyLFU) cache per entity type with the
+ * type's expiry. Requires no external services.
+ */
+public class LocalEntityCache extends EntityCache {
+    private final Map<String, TinyLfuCache<String, byte[]>> caches = new ConcurrentHashMap<>();
+
+    @Override
+    protected void configure() throws ConfigurationException {
+    }
+
+    @Override
+    protected byte[] read(@NonNull Class<?> type, @NonNull String key) throws Exception {
+        TinyLfuCache<String, byte[]> cache = caches.get(type.getCanonicalName());
+        if (cache != null) {
+            Optional<byte[]> data = cache.get(key);
+            if (data.isPresent()) {
+                return data.get();
+            }
+        }
+        return null;
+    }
+
+    @Override
+    protected void write(@NonNull Class<?> type, @NonNull String key, @NonNull byte[] data) throws Exception {
+        TinyLfuCache<String, byte[]> cache = caches.get(type.getCanonicalName());
+        if (cache == null) {
+            long expiry = expireAfterWrite(type);
+            cache = caches.computeIfAbsent(type.getCanonicalName(),
+                    t -> new TinyLfuCache<String, byte[]>(maxSize(type))
+                            .withExpireAfterWrite(expiry, TimeUnit.MILLISECONDS));
+        }
+        cache.put(key, data);
+    }
+
+    @Override
+    protected void remove(@NonNull String type, @NonNull String key) {
+        TinyLfuCache<String, byte[]> cache = caches.get(type);
+        if (cache != null) {
+            cache.remove(key);
+        }
+    }
+
+    @Override
+    protected void removeAll(@NonNull String type) {
+        TinyLfuCache<String, byte[]> cache = caches.get(type);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        super.close();
+        caches.clear();
+    }
+}
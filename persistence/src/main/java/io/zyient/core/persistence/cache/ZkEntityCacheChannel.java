@@ -0,0 +1,120 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.core.persistence.cache;
+
+import io.zyient.base.common.utils.DefaultLogger;
+import io.zyient.base.common.utils.JSONUtils;
+import io.zyient.base.common.utils.PathUtils;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+import org.apache.curator.framework.CuratorFramework;
+import org.apache.curator.framework.recipes.cache.ChildData;
+import org.apache.curator.framework.recipes.cache.CuratorCache;
+import org.apache.curator.framework.recipes.cache.CuratorCacheListener;
+import org.apache.zookeeper.KeeperException;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Cache invalidation channel over ZooKeeper: every entity type has a node under the channel path,
+ * an invalidation updates the node data and all the instances watching the path are notified.
+ * <p>
+ * ZooKeeper watches can coalesce successive updates of a node, so an invalidation clears all the
+ * cached entities of the type rather than only the key received. For the same reason the payloads
+ * published by this instance are applied too: the notification for an own write can hide the update
+ * of another instance made in between.
+ */
+@Getter
+@Accessors(fluent = true)
+public class ZkEntityCacheChannel implements EntityCacheChannel {
+    @Getter
+    @Setter
+    @Accessors(fluent = false)
+    public static class Invalidation {
+        private String instance;
+        private String key;
+        private long timestamp;
+    }
+
+    private final String instance = UUID.randomUUID().toString();
+    private final CuratorFramework client;
+    private final String path;
+    private CuratorCache cache;
+
+    public ZkEntityCacheChannel(@NonNull CuratorFramework client,
+                                @NonNull String path) {
+        this.client = client;
+        this.path = path;
+    }
+
+    @Override
+    public void start(@NonNull Listener listener) throws Exception {
+        if (client.checkExists().forPath(path) == null) {
+            client.create().creatingParentsIfNeeded().forPath(path);
+        }
+        cache = CuratorCache.build(client, path);
+        cache.listenable().addListener(CuratorCacheListener.builder()
+                .forCreates(node -> received(node, listener))
+                .forChanges((previous, node) -> received(node, listener))
+                .build());
+        cache.start();
+    }
+
+    private void received(ChildData node, Listener listener) {
+        if (node.getPath().equals(path) || node.getData() == null || node.getData().length == 0) {
+            return;
+        }
+        try {
+            String type = node.getPath().substring(node.getPath().lastIndexOf('/') + 1);
+            listener.invalidated(type, null);
+        } catch (Exception ex) {
+            DefaultLogger.error(String.format("Failed to apply cache invalidation. [path=%s]", node.getPath()), ex);
+        }
+    }
+
+    @Override
+    public void publish(@NonNull String type, @NonNull String key) throws Exception {
+        String tp = new PathUtils.ZkPathBuilder(path)
+                .withPath(type)
+                .build();
+        Invalidation invalidation = new Invalidation();
+        invalidation.instance = instance;
+        invalidation.key = key;
+        invalidation.timestamp = System.currentTimeMillis();
+        byte[] data = JSONUtils.asBytes(invalidation);
+        try {
+            client.setData().forPath(tp, data);
+        } catch (KeeperException.NoNodeException ne) {
+            try {
+                client.create().creatingParentsIfNeeded().forPath(tp, data);
+            } catch (KeeperException.NodeExistsException ee) {
+                client.setData().forPath(tp, data);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (cache != null) {
+            cache.close();
+            cache = null;
+        }
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.core.persistence.impl.mongo;
+
+import com.google.common.base.Preconditions;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoException;
+import com.mongodb.WriteConcern;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.InsertOneModel;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.WriteModel;
+import com.mongodb.client.result.UpdateResult;
+import io.zyient.base.common.model.entity.IEntity;
+import io.zyient.base.common.utils.DefaultLogger;
+import io.zyient.base.core.utils.Timer;
+import io.zyient.core.persistence.BatchResult;
+import io.zyient.core.persistence.DataStoreException;
+import io.zyient.core.persistence.DataStoreMetrics;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.experimental.Accessors;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Bulk write engine: entities are converted to write models and sent as unordered
+ * {@code bulkWrite} requests of {@code batchSize} models. When a request partially fails only the
+ * failed models are retried (up to {@code retries} times), duplicate key errors are not retried.
+ * <p>
+ * A request that fails as a whole (network, timeout...) is replayed: inserts already applied by the
+ * failed request then fail with a duplicate key, on a replay these are counted as written.
+ * Replacements without upsert that match no document are reported as failures.
+ */
+@Getter
+@Accessors(fluent = true)
+public class MongoBulkWriter {
+    public interface ModelBuilder<E, T> {
+        WriteModel<T> build(@NonNull E entity) throws Exception;
+    }
+
+    private record Item<E, T>(int index, E entity, WriteModel<T> model) {
+    }
+
+    private final int batchSize;
+    private final WriteConcern writeConcern;
+    private final int retries;
+    private final DataStoreMetrics metrics;
+
+    public MongoBulkWriter(int batchSize,
+                           @NonNull WriteConcern writeConcern,
+                           int retries,
+                           @NonNull DataStoreMetrics metrics) {
+        Preconditions.checkArgument(batchSize > 0);
+        Preconditions.checkArgument(retries >= 0);
+        this.batchSize = batchSize;
+        this.writeConcern = writeConcern;
+        this.retries = retries;
+        this.metrics = metrics;
+    }
+
+    public <E extends IEntity<?>, T> BatchResult<E> write(@NonNull MongoCollection<T> collection,
+                                                          @NonNull Iterator<E> entities,
+                                                          @NonNull ModelBuilder<E, T> builder) {
+        MongoCollection<T> target = collection.withWriteConcern(writeConcern);
+        String name = collection.getNamespace().getCollectionName();
+        BatchResult<E> result = new BatchResult<>();
+        List<Item<E, T>> batch = new ArrayList<>(batchSize);
+        int index = 0;
+        while (entities.hasNext()) {
+            E entity = entities.next();
+            try {
+                batch.add(new Item<>(index, entity, builder.build(entity)));
+            } catch (Exception ex) {
+                result.error(index, entity, ex);
+                metrics.bulkWriteCounterError(name).increment();
+            }
+            index++;
+            if (batch.size() >= batchSize) {
+                execute(target, name, batch, result);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            execute(target, name, batch, result);
+        }
+        return result;
+    }
+
+    private <E extends IEntity<?>, T> void execute(MongoCollection<T> collection,
+                                                   String name,
+                                                   List<Item<E, T>> batch,
+                                                   BatchResult<E> result) {
+        List<Item<E, T>> pending = batch;
+        boolean replay = false;
+        for (int attempt = 0; !pending.isEmpty(); attempt++) {
+            List<WriteModel<T>> models = new ArrayList<>(pending.size());
+            for (Item<E, T> item : pending) {
+                models.add(item.model());
+            }
+            long start = Timer.start();
+            try {
+                BulkWriteResult response = collection.bulkWrite(models, new BulkWriteOptions().ordered(false));
+                Timer.record(metrics.bulkWriteTimer(name), start);
+                succeeded(name, matched(collection, name, pending, response, result), result);
+                return;
+            } catch (MongoBulkWriteException ex) {
+                Timer.record(metrics.bulkWriteTimer(name), start);
+                if (ex.getWriteConcernError() != null) {
+                    DefaultLogger.warn(String.format("Bulk write concern error. [collection=%s][error=%s]",
+                            name, ex.getWriteConcernError().getMessage()));
+                }
+                boolean[] failed = new boolean[pending.size()];
+                List<Item<E, T>> retry = new ArrayList<>();
+                for (BulkWriteError error : ex.getWriteErrors()) {
+                    Item<E, T> item = pending.get(error.getIndex());
+                    boolean duplicate = ErrorCategory.fromErrorCode(error.getCode()) == ErrorCategory.DUPLICATE_KEY;
+                    if (duplicate && replay && item.model() instanceof InsertOneModel<?>) {
+                        // Inserted by the request that failed.
+                        continue;
+                    }
+                    failed[error.getIndex()] = true;
+                    if (attempt < retries && !duplicate) {
+                        retry.add(item);
+                    } else {
+                        failed(name, item, new DataStoreException(String.format("Bulk write failed. [code=%d][error=%s]",
+                                error.getCode(), error.getMessage())), result);
+                    }
+                }
+                List<Item<E, T>> written = new ArrayList<>(pending.size());
+                for (int ii = 0; ii < pending.size(); ii++) {
+                    if (!failed[ii]) {
+                        written.add(pending.get(ii));
+                    }
+                }
+                succeeded(name, matched(collection, name, written, ex.getWriteResult(), result), result);
+                pending = retry;
+                replay = false;
+            } catch (MongoException ex) {
+                // Request level failure (network, timeout...): the request may have been applied in part, replay it.
+                Timer.record(metrics.bulkWriteTimer(name), start);
+                if (attempt >= retries) {
+                    for (Item<E, T> item : pending) {
+                        failed(name, item, ex, result);
+                    }
+                    return;
+                }
+                replay = true;
+                DefaultLogger.debug(String.format("Bulk write failed, retrying. [collection=%s][attempt=%d][error=%s]",
+                        name, attempt, ex.getLocalizedMessage()));
+            }
+        }
+    }
+
+    /**
+     * Remove the replacements (without upsert) that did not match a document from the written items,
+     * reporting them as failures. The bulk response only has the total matched count: when it is short,
+     * the replacements are re-applied one at a time (replacing a document is idempotent) to find the misses.
+     */
+    @SuppressWarnings("unchecked")
+    private <E extends IEntity<?>, T> List<Item<E, T>> matched(MongoCollection<T> collection,
+                                                               String name,
+                                                               List<Item<E, T>> written,
+                                                               BulkWriteResult response,
+                                                               BatchResult<E> result) {
+        if (!response.wasAcknowledged()) {
+            return written;
+        }
+        int expected = 0;
+        for (Item<E, T> item : written) {
+            if (item.model() instanceof ReplaceOneModel<?>) {
+                expected++;
+            }
+        }
+        expected -= response.getUpserts().size();
+        if (response.getMatchedCount() >= expected) {
+            return written;
+        }
+        List<Item<E, T>> matched = new ArrayList<>(written.size());
+        for (Item<E, T> item : written) {
+            if (!(item.model() instanceof ReplaceOneModel<?>)
+                    || ((ReplaceOneModel<T>) item.model()).getReplaceOptions().isUpsert()) {
+                matched.add(item);
+                continue;
+            }
+            ReplaceOneModel<T> model = (ReplaceOneModel<T>) item.model();
+            try {
+                UpdateResult ur = collection.replaceOne(model.getFilter(),
+                        model.getReplacement(),
+                        model.getReplaceOptions());
+                if (ur.getMatchedCount() > 0) {
+                    matched.add(item);
+                } else {
+                    failed(name, item, new DataStoreException(String.format("Entity not found. [collection=%s][filter=%s]",
+                            name, model.getFilter())), result);
+                }
+            } catch (MongoException ex) {
+                failed(name, item, ex, result);
+            }
+        }
+        return matched;
+    }
+
+    private <E extends IEntity<?>, T> void succeeded(String name,
+                                                     List<Item<E, T>> items,
+                                                     BatchResult<E> result) {
+        for (Item<E, T> item : items) {
+            result.add(item.entity());
+        }
+        metrics.bulkWriteCounter(name).increment(items.size());
+    }
+
+    private <E extends IEntity<?>, T> void failed(String name,
+                                                  Item<E, T> item,
+                                                  Throwable error,
+                                                  BatchResult<E> result) {
+        result.error(item.index(), item.entity(), error);
+        metrics.bulkWriteCounterError(name).increment();
+    }
+}
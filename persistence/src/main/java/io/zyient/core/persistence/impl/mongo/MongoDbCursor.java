@@ -18,29 +18,47 @@ package io.zyient.core.persistence.impl.mongo;
 
 import io.zyient.base.common.model.entity.IEntity;
 import io.zyient.base.common.model.entity.IKey;
-import io.zyient.core.persistence.Cursor;
+import io.zyient.base.common.utils.ReflectionHelper;
 import io.zyient.core.persistence.DataStoreException;
+import io.zyient.core.persistence.SeekCursor;
+import lombok.Getter;
 import lombok.NonNull;
+import lombok.experimental.Accessors;
+import org.bson.Document;
 
 import java.io.IOException;
 import java.util.List;
 
-public class MongoDbCursor<K extends IKey, E extends IEntity<K>> extends Cursor<K, E> {
+@Getter
+@Accessors(fluent = true)
+public class MongoDbCursor<K extends IKey, E extends IEntity<K>> extends SeekCursor<K, E, String> {
     private final Class<? extends K> keyType;
     private final Class<? extends E> entityType;
     private final MongoDbDataStore dataStore;
     private final String query;
+    private final boolean seekable;
+    private Document range;
 
     public MongoDbCursor(@NonNull Class<? extends K> keyType,
                          @NonNull Class<? extends E> entityType,
                          @NonNull MongoDbDataStore dataStore,
                          @NonNull String query,
                          int currentPage) {
+        this(keyType, entityType, dataStore, query, currentPage, false);
+    }
+
+    public MongoDbCursor(@NonNull Class<? extends K> keyType,
+                         @NonNull Class<? extends E> entityType,
+                         @NonNull MongoDbDataStore dataStore,
+                         @NonNull String query,
+                         int currentPage,
+                         boolean seekable) {
         super(currentPage);
         this.keyType = keyType;
         this.entityType = entityType;
         this.dataStore = dataStore;
         this.query = query;
+        this.seekable = seekable && ReflectionHelper.isSuperType(MongoEntity.class, entityType);
     }
 
     public MongoDbCursor(@NonNull MongoDbCursor<K, E> cursor) {
@@ -49,12 +67,37 @@ public class MongoDbCursor<K extends IKey, E extends IEntity<K>> extends Cursor<
         this.entityType = cursor.entityType;
         this.dataStore = cursor.dataStore;
         this.query = cursor.query;
+        this.seekable = cursor.seekable;
+        this.range = cursor.range;
+    }
+
+    /**
+     * Restrict the cursor to an _id range, see {@link MongoDbDataStore#range(Object, Object)}.
+     */
+    public MongoDbCursor<K, E> range(Document range) {
+        this.range = range;
+        return this;
     }
 
     @Override
-    protected List<E> next(int page) throws DataStoreException {
+    protected List<E> fetch(int page) throws DataStoreException {
         int offset = page * pageSize();
-        return dataStore.executeSearch(query, offset, pageSize(), keyType, entityType, null);
+        return dataStore.executeSearch(query, offset, null, range, pageSize(), keyType, entityType, null);
+    }
+
+    @Override
+    protected List<E> seek(@NonNull String position) throws DataStoreException {
+        return dataStore.executeSearch(query, 0, position, range, pageSize(), keyType, entityType, null);
+    }
+
+    @Override
+    protected String position(@NonNull List<E> page) {
+        // Only unsorted queries on Mongo entities are read in _id order, others keep paging by offset.
+        if (seekable) {
+            E last = page.get(page.size() - 1);
+            return ((MongoEntity<?>) last).getEntityId();
+        }
+        return null;
     }
 
     @Override
@@ -30,6 +30,10 @@ import com.mongodb.client.FindIterable;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoCursor;
 import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.InsertOneModel;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.WriteModel;
 import com.mongodb.client.result.DeleteResult;
 import com.mongodb.client.result.InsertOneResult;
 import com.mongodb.client.result.UpdateResult;
@@ -48,6 +52,7 @@ import io.zyient.base.common.model.entity.IKey;
 import io.zyient.base.common.utils.DefaultLogger;
 import io.zyient.base.common.utils.JSONUtils;
 import io.zyient.base.common.utils.ReflectionHelper;
+import io.zyient.base.core.BaseEnv;
 import io.zyient.core.persistence.*;
 import io.zyient.core.persistence.impl.settings.mongo.MongoDbSettings;
 import io.zyient.core.persistence.model.BaseEntity;
@@ -59,9 +64,15 @@ import org.bson.conversions.Bson;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 
 public class MongoDbDataStore extends TransactionDataStore<MorphiaSession, MongoTransaction> {
+    private interface WriteModelFactory {
+        <T> WriteModel<T> build(@NonNull T document, @NonNull String id);
+    }
+
+    private MongoBulkWriter writer;
 
     @Override
     public void configure() throws ConfigurationException {
@@ -78,6 +89,16 @@ public class MongoDbDataStore extends TransactionDataStore<MorphiaSession, Mongo
         }
     }
 
+    @Override
+    protected void setupMonitoring(@NonNull BaseEnv<?> env) {
+        super.setupMonitoring(env);
+        MongoDbSettings settings = (MongoDbSettings) this.settings;
+        writer = new MongoBulkWriter(settings.getBulkBatchSize(),
+                WriteConcern.valueOf(settings.getBulkWriteConcern()),
+                settings.getBulkRetries(),
+                metrics);
+    }
+
     public static TransactionOptions getTransactionOptions() {
         return TransactionOptions.builder()
                 .readPreference(ReadPreference.primary())
@@ -101,19 +122,7 @@ public class MongoDbDataStore extends TransactionDataStore<MorphiaSession, Mongo
                 ((MongoEntity<?>) entity).getState().setState(EEntityState.Synced);
                 entity = session.save(entity);
             } else {
-                if (entity instanceof BaseEntity<?>) {
-                    ((BaseEntity<?>) entity).setCreatedTime(System.nanoTime());
-                    ((BaseEntity<?>) entity).setUpdatedTime(System.nanoTime());
-                    ((BaseEntity<?>) entity).getState().setState(EEntityState.Synced);
-                }
-                String json = JSONUtils.asString(entity);
-                Document doc = Document.parse(json);
-                doc.put(JsonFieldConstants.FIELD_DOC_ID, entity.entityKey().stringKey());
-                doc.put(JsonFieldConstants.FIELD_DOC_TYPE, type.getCanonicalName());
-                if (!(entity instanceof BaseEntity<?>)) {
-                    doc.put(JsonFieldConstants.FIELD_DOC_CREATED, System.nanoTime());
-                    doc.put(JsonFieldConstants.FIELD_DOC_LAST_UPDATED, System.nanoTime());
-                }
+                Document doc = toDocument(entity, type);
                 String cname = getCollection(type);
                 MongoDatabase db = session.getDatabase();
                 InsertOneResult ir = db.getCollection(cname)
@@ -222,19 +231,7 @@ public class MongoDbDataStore extends TransactionDataStore<MorphiaSession, Mongo
                     entity = session.save(entity);
                 }
             } else {
-                if (entity instanceof BaseEntity<?>) {
-                    ((BaseEntity<?>) entity).setCreatedTime(System.nanoTime());
-                    ((BaseEntity<?>) entity).setUpdatedTime(System.nanoTime());
-                    ((BaseEntity<?>) entity).getState().setState(EEntityState.Synced);
-                }
-                String json = JSONUtils.asString(entity);
-                Document doc = Document.parse(json);
-                doc.put(JsonFieldConstants.FIELD_DOC_ID, entity.entityKey().stringKey());
-                doc.put(JsonFieldConstants.FIELD_DOC_TYPE, type.getCanonicalName());
-                if (!(entity instanceof BaseEntity<?>)) {
-                    doc.put(JsonFieldConstants.FIELD_DOC_CREATED, System.nanoTime());
-                    doc.put(JsonFieldConstants.FIELD_DOC_LAST_UPDATED, System.nanoTime());
-                }
+                Document doc = toDocument(entity, type);
                 String cname = getCollection(type);
                 MongoDatabase db = session.getDatabase();
                 Bson filter = com.mongodb.client.model.Filters.eq(JsonFieldConstants.FIELD_DOC_ID,
@@ -270,6 +267,101 @@ public class MongoDbDataStore extends TransactionDataStore<MorphiaSession, Mongo
         return updateEntity(entity, type, context);
     }
 
+    /**
+     * Bulk inserts are sent as unordered bulkWrite requests directly to the collection, outside the
+     * session transaction: @Reference fields are not cascaded (referenced entities must already exist).
+     */
+    @Override
+    protected <E extends IEntity<?>> BatchResult<E> createEntities(@NonNull Iterator<E> entities,
+                                                                   @NonNull Class<? extends E> type,
+                                                                   Context context) throws DataStoreException {
+        checkState();
+        return bulkWrite(entities, type, new WriteModelFactory() {
+            @Override
+            public <T> WriteModel<T> build(@NonNull T document, @NonNull String id) {
+                return new InsertOneModel<>(document);
+            }
+        });
+    }
+
+    /**
+     * Bulk replace of existing entities, see {@link #createEntities(Iterator, Class, Context)}. Entities
+     * not found are reported as failures, versions are not checked.
+     */
+    @Override
+    protected <E extends IEntity<?>> BatchResult<E> updateEntities(@NonNull Iterator<E> entities,
+                                                                   @NonNull Class<? extends E> type,
+                                                                   Context context) throws DataStoreException {
+        checkState();
+        return bulkWrite(entities, type, new WriteModelFactory() {
+            @Override
+            public <T> WriteModel<T> build(@NonNull T document, @NonNull String id) {
+                return new ReplaceOneModel<>(com.mongodb.client.model.Filters.eq(JsonFieldConstants.FIELD_DOC_ID, id),
+                        document);
+            }
+        });
+    }
+
+    /**
+     * Bulk keyed upsert: each entity replaces the document with the same key or is inserted.
+     */
+    @Override
+    protected <E extends IEntity<?>> BatchResult<E> upsertEntities(@NonNull Iterator<E> entities,
+                                                                   @NonNull Class<? extends E> type,
+                                                                   Context context) throws DataStoreException {
+        checkState();
+        return bulkWrite(entities, type, new WriteModelFactory() {
+            @Override
+            public <T> WriteModel<T> build(@NonNull T document, @NonNull String id) {
+                return new ReplaceOneModel<>(com.mongodb.client.model.Filters.eq(JsonFieldConstants.FIELD_DOC_ID, id),
+                        document,
+                        new ReplaceOptions().upsert(true));
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private <E extends IEntity<?>> BatchResult<E> bulkWrite(Iterator<E> entities,
+                                                            Class<? extends E> type,
+                                                            WriteModelFactory factory) {
+        Datastore ds = ((MongoSessionManager) sessionManager()).connection().datastore();
+        if (ReflectionHelper.isSuperType(MongoEntity.class, type)) {
+            MongoCollection<E> collection = (MongoCollection<E>) ds.getCollection(type);
+            MongoBulkWriter.ModelBuilder<E, E> builder = entity -> {
+                entity.validate();
+                ((MongoEntity<?>) entity).preSave();
+                ((MongoEntity<?>) entity).getState().setState(EEntityState.Synced);
+                return factory.build(entity, ((MongoEntity<?>) entity).getEntityId());
+            };
+            return writer.write(collection, entities, builder);
+        } else {
+            MongoCollection<Document> collection = ds.getDatabase().getCollection(getCollection(type));
+            MongoBulkWriter.ModelBuilder<E, Document> builder = entity -> {
+                entity.validate();
+                Document doc = toDocument(entity, type);
+                return factory.build(doc, entity.entityKey().stringKey());
+            };
+            return writer.write(collection, entities, builder);
+        }
+    }
+
+    private Document toDocument(IEntity<?> entity, Class<?> type) throws Exception {
+        if (entity instanceof BaseEntity<?>) {
+            ((BaseEntity<?>) entity).setCreatedTime(System.nanoTime());
+            ((BaseEntity<?>) entity).setUpdatedTime(System.nanoTime());
+            ((BaseEntity<?>) entity).getState().setState(EEntityState.Synced);
+        }
+        String json = JSONUtils.asString(entity);
+        Document doc = Document.parse(json);
+        doc.put(JsonFieldConstants.FIELD_DOC_ID, entity.entityKey().stringKey());
+        doc.put(JsonFieldConstants.FIELD_DOC_TYPE, type.getCanonicalName());
+        if (!(entity instanceof BaseEntity<?>)) {
+            doc.put(JsonFieldConstants.FIELD_DOC_CREATED, System.nanoTime());
+            doc.put(JsonFieldConstants.FIELD_DOC_LAST_UPDATED, System.nanoTime());
+        }
+        return doc;
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public <E extends IEntity<?>> boolean deleteEntity(@NonNull Object key,
@@ -388,7 +480,8 @@ public class MongoDbDataStore extends TransactionDataStore<MorphiaSession, Mongo
             MongoQueryParser<K, E> parser = (MongoQueryParser<K, E>) getParser(type, keyType);
             parser.parse(query);
             String sql = query.generatedQuery();
-            return new MongoDbCursor<K, E>(keyType, type, this, sql, currentPage)
+            boolean seekable = (query.sort() == null || query.sort().isEmpty());
+            return new MongoDbCursor<K, E>(keyType, type, this, sql, currentPage, seekable)
                     .pageSize(maxResults);
         } catch (Exception ex) {
             throw new DataStoreException(ex);
@@ -401,33 +494,152 @@ public class MongoDbDataStore extends TransactionDataStore<MorphiaSession, Mongo
                                                                         @NonNull Class<? extends K> keyType,
                                                                         @NonNull Class<? extends E> type,
                                                                         Context context) throws DataStoreException {
+        return executeSearch(query, offset, null, maxResults, keyType, type, context);
+    }
+
+    /**
+     * Unsorted queries on Mongo entities are split into _id ranges holding about the same number of
+     * documents, the split points are read off the _id index.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    protected <K extends IKey, E extends IEntity<K>> List<ScanPartition> doPartition(@NonNull Q query,
+                                                                                  int count,
+                                                                                  @NonNull Class<? extends K> keyType,
+                                                                                  @NonNull Class<? extends E> type,
+                                                                                  Context context) throws Exception {
+        checkState();
+        if (!ReflectionHelper.isSuperType(MongoEntity.class, type)
+                || (query.sort() != null && !query.sort().isEmpty())) {
+            return null;
+        }
+        MongoQueryParser<K, E> parser = (MongoQueryParser<K, E>) getParser(type, keyType);
+        parser.parse(query);
+        MongoQueryParser.FilterTemplate template = parser.filter(query.generatedQuery());
+        checkCollection(getCollection(type), template.collection());
+        Datastore ds = ((MongoSessionManager) sessionManager()).connection().datastore();
+        MongoCollection<? extends E> collection = ds.getCollection(type);
+        long total = collection.countDocuments(template.query());
+        if (total < count) {
+            return null;
+        }
+        List<Object> splits = new ArrayList<>(count - 1);
+        for (int ii = 1; ii < count; ii++) {
+            Document split = collection.find(template.query(), Document.class)
+                    .projection(new Document("_id", 1))
+                    .sort(new Document("_id", 1))
+                    .skip((int) (total * ii / count))
+                    .limit(1)
+                    .first();
+            if (split == null) {
+                break;
+            }
+            splits.add(split.get("_id"));
+        }
+        List<ScanPartition> partitions = new ArrayList<>(splits.size() + 1);
+        for (int ii = 0; ii <= splits.size(); ii++) {
+            Object lower = (ii == 0 ? null : splits.get(ii - 1));
+            Object upper = (ii == splits.size() ? null : splits.get(ii));
+            partitions.add(new ScanPartition(ii, splits.size() + 1, lower, upper));
+        }
+        return partitions;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected <K extends IKey, E extends IEntity<K>> Cursor<K, E> doScan(@NonNull Q query,
+                                                                         @NonNull ScanPartition partition,
+                                                                         int maxResults,
+                                                                         @NonNull Class<? extends K> keyType,
+                                                                         @NonNull Class<? extends E> type,
+                                                                         Context context) throws Exception {
+        if (partition.isAll()) {
+            return doSearch(query, 0, maxResults, keyType, type, context);
+        }
+        if (!partition.isRange()) {
+            throw new DataStoreException(String.format("Partition type not supported. [partition=%s]",
+                    partition));
+        }
+        MongoDbCursor<K, E> cursor = (MongoDbCursor<K, E>) doSearch(query, 0, maxResults, keyType, type, context);
+        if (!cursor.seekable()) {
+            throw new DataStoreException("Sorted queries can't be partitioned...");
+        }
+        return cursor.range(range(partition.lower(), partition.upper()));
+    }
+
+    /**
+     * Filter selecting the documents with an _id in [lower, upper), a NULL bound is open.
+     */
+    public static Document range(Object lower, Object upper) {
+        Document bounds = new Document();
+        if (lower != null) {
+            bounds.append("$gte", lower);
+        }
+        if (upper != null) {
+            bounds.append("$lt", upper);
+        }
+        return new Document("_id", bounds);
+    }
+
+    /**
+     * Execute the search, reading the page following the entity id (after) when specified.
+     * Unsorted queries on Mongo entities are ordered by _id, so pages can be read by seeking past
+     * the last id instead of skipping an offset.
+     */
+    public <K extends IKey, E extends IEntity<K>> List<E> executeSearch(@NonNull String query,
+                                                                        int offset,
+                                                                        String after,
+                                                                        int maxResults,
+                                                                        @NonNull Class<? extends K> keyType,
+                                                                        @NonNull Class<? extends E> type,
+                                                                        Context context) throws DataStoreException {
+        return executeSearch(query, offset, after, null, maxResults, keyType, type, context);
+    }
+
+    /**
+     * Execute the search, restricted to the _id range (see {@link #range(Object, Object)}) when specified.
+     */
+    @SuppressWarnings("unchecked")
+    public <K extends IKey, E extends IEntity<K>> List<E> executeSearch(@NonNull String query,
+                                                                        int offset,
+                                                                        String after,
+                                                                        Document range,
+                                                                        int maxResults,
+                                                                        @NonNull Class<? extends K> keyType,
+                                                                        @NonNull Class<? extends E> type,
+                                                                        Context context) throws DataStoreException {
         checkState();
         try {
             MorphiaSession session = sessionManager().session();
             String cname = getCollection(type);
-            QueryConverter queryConverter = new QueryConverter.Builder().sqlString(query).build();
-            MongoDBQueryHolder mongoDBQueryHolder = queryConverter.getMongoQuery();
-            if (Strings.isNullOrEmpty(cname) || cname.compareTo(mongoDBQueryHolder.getCollection()) != 0) {
-                throw new DataStoreException(
-                        String.format("Query does not match entity collection. [expected=%s][query=%s]",
-                                cname, mongoDBQueryHolder.getCollection()));
-            }
-            mongoDBQueryHolder.setOffset(offset);
-            mongoDBQueryHolder.setLimit(maxResults);
-
             List<E> entities = new ArrayList<>();
             if (ReflectionHelper.isSuperType(MongoEntity.class, type)) {
-                Document qdoc = mongoDBQueryHolder.getQuery();
-                Document qsort = mongoDBQueryHolder.getSort();
+                MongoQueryParser<K, E> parser = (MongoQueryParser<K, E>) getParser(type, keyType);
+                MongoQueryParser.FilterTemplate template = parser.filter(query);
+                checkCollection(cname, template.collection());
+                Document qdoc = template.query();
+                Document qsort = template.sort();
 
                 Datastore ds = ((MongoSessionManager) sessionManager()).connection().datastore();
                 FindIterable<? extends E> result = null;
                 if (qsort == null) {
+                    List<Document> filters = new ArrayList<>(3);
+                    filters.add(qdoc);
+                    if (range != null) {
+                        filters.add(range);
+                    }
+                    if (after != null) {
+                        filters.add(new Document("_id", new Document("$gt", after)));
+                        offset = 0;
+                    }
+                    Document filter = (filters.size() == 1 ? qdoc : new Document("$and", filters));
                     result = ds.getCollection(type)
-                            .find(qdoc)
+                            .find(filter)
+                            .sort(new Document("_id", 1))
                             .skip(offset)
                             .limit(maxResults);
                 } else {
+                    Preconditions.checkArgument(range == null);
                     result = ds.getCollection(type)
                             .find(qdoc)
                             .sort(qsort)
@@ -443,6 +655,11 @@ public class MongoDbDataStore extends TransactionDataStore<MorphiaSession, Mongo
                     }
                 }
             } else {
+                QueryConverter queryConverter = new QueryConverter.Builder().sqlString(query).build();
+                MongoDBQueryHolder mongoDBQueryHolder = queryConverter.getMongoQuery();
+                checkCollection(cname, mongoDBQueryHolder.getCollection());
+                mongoDBQueryHolder.setOffset(offset);
+                mongoDBQueryHolder.setLimit(maxResults);
                 try (QueryResultIterator<Document> distinctIterable = queryConverter.run(session.getDatabase())) {
                     List<Document> documents = Lists.newArrayList(distinctIterable);
                     for (Document document : documents) {
@@ -464,6 +681,14 @@ public class MongoDbDataStore extends TransactionDataStore<MorphiaSession, Mongo
         }
     }
 
+    private void checkCollection(String expected, String collection) throws DataStoreException {
+        if (Strings.isNullOrEmpty(expected) || expected.compareTo(collection) != 0) {
+            throw new DataStoreException(
+                    String.format("Query does not match entity collection. [expected=%s][query=%s]",
+                            expected, collection));
+        }
+    }
+
     @Override
     public boolean isThreadSafe() {
         return true;
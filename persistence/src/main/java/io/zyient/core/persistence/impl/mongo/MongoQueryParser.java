@@ -17,16 +17,20 @@
 package io.zyient.core.persistence.impl.mongo;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.github.vincentrussell.query.mongodb.sql.converter.MongoDBQueryHolder;
+import com.github.vincentrussell.query.mongodb.sql.converter.QueryConverter;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
 import dev.morphia.annotations.Entity;
 import dev.morphia.annotations.Id;
 import dev.morphia.annotations.Property;
 import dev.morphia.annotations.Transient;
+import io.zyient.base.common.cache.TinyLfuCache;
 import io.zyient.base.common.model.entity.IEntity;
 import io.zyient.base.common.model.entity.IKey;
 import io.zyient.base.common.utils.ReflectionHelper;
 import io.zyient.core.persistence.AbstractDataStore;
+import io.zyient.core.persistence.DataStoreMetrics;
 import io.zyient.core.persistence.QueryParser;
 import lombok.NonNull;
 import net.sf.jsqlparser.expression.BinaryExpression;
@@ -35,19 +39,54 @@ import net.sf.jsqlparser.schema.Column;
 import net.sf.jsqlparser.schema.Table;
 import net.sf.jsqlparser.statement.select.PlainSelect;
 import net.sf.jsqlparser.statement.select.Select;
+import org.bson.Document;
 import org.bson.types.ObjectId;
 
 import java.lang.reflect.Field;
 import java.sql.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 
 public class MongoQueryParser<K extends IKey, E extends IEntity<K>> extends QueryParser<K, E> {
+    /**
+     * Filter and sort documents converted from a generated query. Shared between searches,
+     * must not be modified.
+     */
+    public record FilterTemplate(String collection, Document query, Document sort) {
+    }
+
+    private TinyLfuCache<String, FilterTemplate> filters;
+
     public MongoQueryParser(@NonNull Class<? extends K> keyType,
                             @NonNull Class<? extends E> entityType) throws Exception {
         super(keyType, entityType);
     }
 
+    @Override
+    public QueryParser<K, E> withCache(int size, DataStoreMetrics metrics) {
+        filters = new TinyLfuCache<>(size);
+        return super.withCache(size, metrics);
+    }
+
+    /**
+     * Convert the generated query to its Mongo filter/sort (cached per generated query).
+     */
+    public FilterTemplate filter(@NonNull String sql) throws Exception {
+        if (filters != null) {
+            Optional<FilterTemplate> template = filters.get(sql);
+            if (template.isPresent()) {
+                return template.get();
+            }
+        }
+        MongoDBQueryHolder holder = new QueryConverter.Builder().sqlString(sql).build().getMongoQuery();
+        FilterTemplate template = new FilterTemplate(holder.getCollection(), holder.getQuery(), holder.getSort());
+        if (filters != null) {
+            filters.put(sql, template);
+        }
+        return template;
+    }
+
     @Override
     protected String buildSort(@NonNull Map<String, Boolean> sort) {
         StringBuilder builder = new StringBuilder(" ORDER BY ");
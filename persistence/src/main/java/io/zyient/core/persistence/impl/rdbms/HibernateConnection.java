@@ -38,6 +38,7 @@ import lombok.experimental.Accessors;
 import org.apache.commons.configuration2.ex.ConfigurationException;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
 import org.hibernate.Transaction;
 import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
 import org.hibernate.cfg.Configuration;
@@ -112,6 +113,32 @@ public class HibernateConnection extends AbstractConnection<Session> {
         }
     }
 
+    /**
+     * Open a session not bound to the calling thread (see {@link #getConnection()}), used by the
+     * store session manager. The caller owns the returned session and must close it.
+     */
+    public Session openSession() throws ConnectionError {
+        state().check(EConnectionState.Connected);
+        try {
+            return sessionFactory.openSession();
+        } catch (Throwable t) {
+            throw new ConnectionError(t);
+        }
+    }
+
+    /**
+     * Open a session without a persistence context, used for bulk writes.
+     * The caller owns the returned session and must close it.
+     */
+    public StatelessSession openStatelessSession() throws ConnectionError {
+        state().check(EConnectionState.Connected);
+        try {
+            return sessionFactory.openStatelessSession();
+        } catch (Throwable t) {
+            throw new ConnectionError(t);
+        }
+    }
+
     /**
      * Configure this type instance.
      *
@@ -132,6 +159,12 @@ public class HibernateConnection extends AbstractConnection<Session> {
             properties.setProperty(Environment.PASS, passwd);
             properties.setProperty(Environment.DIALECT, settings.getDialect());
             properties.setProperty(Environment.AUTO_CLOSE_SESSION, "false");
+            if (settings.getBatchSize() > 0) {
+                properties.setProperty(Environment.STATEMENT_BATCH_SIZE, String.valueOf(settings.getBatchSize()));
+                properties.setProperty(Environment.ORDER_INSERTS, "true");
+                properties.setProperty(Environment.ORDER_UPDATES, "true");
+                properties.setProperty(Environment.BATCH_VERSIONED_DATA, "true");
+            }
             if (DefaultLogger.isTraceEnabled() || DefaultLogger.isDebugEnabled()) {
                 properties.setProperty(Environment.SHOW_SQL, "true");
             }
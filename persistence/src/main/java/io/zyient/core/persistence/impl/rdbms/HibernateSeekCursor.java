@@ -0,0 +1,155 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.core.persistence.impl.rdbms;
+
+import io.zyient.base.common.model.entity.EEntityState;
+import io.zyient.base.common.model.entity.IEntity;
+import io.zyient.base.common.model.entity.IKey;
+import io.zyient.core.persistence.AbstractDataStore;
+import io.zyient.core.persistence.DataStoreException;
+import io.zyient.core.persistence.SeekCursor;
+import io.zyient.core.persistence.model.BaseEntity;
+import lombok.NonNull;
+import org.hibernate.Session;
+import org.hibernate.query.Query;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Keyset cursor: pages are read in primary key order, each page selecting the rows with a key
+ * greater than the last key of the previous page ({@code WHERE (...) AND id > :last ORDER BY id}).
+ */
+public class HibernateSeekCursor<K extends IKey, E extends IEntity<K>> extends SeekCursor<K, E, Object[]> {
+    private final Session session;
+    private final SqlQueryParser<K, E> parser;
+    private final AbstractDataStore.Q query;
+    private final Class<? extends E> type;
+    private Object lower;
+    private Object upper;
+    private String range = "";
+    private boolean ownsSession = false;
+
+    public HibernateSeekCursor(@NonNull Session session,
+                               @NonNull SqlQueryParser<K, E> parser,
+                               @NonNull AbstractDataStore.Q query,
+                               @NonNull Class<? extends E> type,
+                               int currentPage) {
+        super(currentPage);
+        this.session = session;
+        this.parser = parser;
+        this.query = query;
+        this.type = type;
+    }
+
+    /**
+     * Restrict the cursor to the keys in [lower, upper), a NULL bound is open.
+     */
+    public HibernateSeekCursor<K, E> range(Object lower, Object upper) {
+        this.lower = lower;
+        this.upper = upper;
+        if (lower != null || upper != null) {
+            range = String.format(" AND (%s)", parser.rangePredicate(lower, upper));
+        } else {
+            range = "";
+        }
+        return this;
+    }
+
+    /**
+     * The session is owned by the cursor and closed with it.
+     */
+    public HibernateSeekCursor<K, E> ownsSession() {
+        ownsSession = true;
+        return this;
+    }
+
+    @Override
+    protected List<E> fetch(int page) throws DataStoreException {
+        try {
+            Query<? extends E> qq = createQuery(query.generatedQuery() + range + parser.seekOrder());
+            qq.setFirstResult(page * pageSize());
+            return read(qq);
+        } catch (Exception ex) {
+            throw new DataStoreException(ex);
+        }
+    }
+
+    @Override
+    protected List<E> seek(@NonNull Object[] position) throws DataStoreException {
+        try {
+            String hql = String.format("%s%s AND (%s)%s",
+                    query.generatedQuery(), range, parser.seekPredicate(), parser.seekOrder());
+            Query<? extends E> qq = createQuery(hql);
+            for (int ii = 0; ii < position.length; ii++) {
+                qq.setParameter(SqlQueryParser.SEEK_PARAM_PREFIX + ii, position[ii]);
+            }
+            return read(qq);
+        } catch (Exception ex) {
+            throw new DataStoreException(ex);
+        }
+    }
+
+    @Override
+    protected Object[] position(@NonNull List<E> page) throws DataStoreException {
+        try {
+            return parser.seekValues(page.get(page.size() - 1));
+        } catch (Exception ex) {
+            throw new DataStoreException(ex);
+        }
+    }
+
+    private Query<? extends E> createQuery(String hql) {
+        Query<? extends E> qq = session.createQuery(hql, type).setCacheable(false);
+        if (query.hasParameters()) {
+            for (String key : query.parameters().keySet())
+                qq.setParameter(key, query.parameters().get(key));
+        }
+        if (lower != null) {
+            qq.setParameter(SqlQueryParser.RANGE_LOWER_PARAM, lower);
+        }
+        if (upper != null) {
+            qq.setParameter(SqlQueryParser.RANGE_UPPER_PARAM, upper);
+        }
+        return qq.setMaxResults(pageSize());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<E> read(Query<? extends E> qq) {
+        if (ownsSession) {
+            // Pages handed out are not tracked: keep the persistence context from growing with the scan.
+            session.clear();
+        }
+        List<E> batch = (List<E>) qq.list();
+        if (batch.isEmpty()) {
+            return null;
+        }
+        for (E entity : batch) {
+            if (entity instanceof BaseEntity<?>) {
+                ((BaseEntity<?>) entity).getState().setState(EEntityState.Synced);
+            }
+        }
+        return batch;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (ownsSession && session.isOpen()) {
+            session.close();
+        }
+    }
+}
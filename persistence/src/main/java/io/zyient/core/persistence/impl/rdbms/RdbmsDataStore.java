@@ -31,6 +31,10 @@ import org.apache.commons.configuration2.ex.ConfigurationException;
 import org.hibernate.*;
 import org.hibernate.query.Query;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
 public class RdbmsDataStore extends TransactionDataStore<Session, Transaction> {
     public void flush() throws DataStoreException {
         checkState();
@@ -58,6 +62,134 @@ public class RdbmsDataStore extends TransactionDataStore<Session, Transaction> {
         return entity;
     }
 
+    /**
+     * Bulk insert through a stateless session: IDs are assigned up front, rows are sent in
+     * JDBC batches and committed every {@code batchSize} entities. A chunk that fails is
+     * rolled back and retried in halves, so only the failing entities are reported and a single
+     * bad row costs O(log(batchSize)) extra commits instead of one commit per entity.
+     * Bulk writes run in their own transactions, independent of the session transaction.
+     * <p>
+     * The stateless session (used here and by {@link #updateEntities}) skips cascades, interceptors,
+     * event listeners and the first-level cache: only the entity's own row is written, associated
+     * entities are not persisted with it, and entities already loaded in the session are not refreshed.
+     * Use {@link #createEntity} / {@link #updateEntity} for entities that rely on cascading.
+     */
+    @Override
+    protected <E extends IEntity<?>> BatchResult<E> createEntities(@NonNull Iterator<E> entities,
+                                                                   @NonNull Class<? extends E> type,
+                                                                   Context context) throws DataStoreException {
+        return writeBatch(entities, true);
+    }
+
+    @Override
+    protected <E extends IEntity<?>> BatchResult<E> updateEntities(@NonNull Iterator<E> entities,
+                                                                   @NonNull Class<? extends E> type,
+                                                                   Context context) throws DataStoreException {
+        return writeBatch(entities, false);
+    }
+
+    private <E extends IEntity<?>> BatchResult<E> writeBatch(Iterator<E> entities,
+                                                             boolean insert) throws DataStoreException {
+        checkState();
+        int batchSize = Math.max(((RdbmsStoreSettings) settings).getBatchSize(), 1);
+        BatchResult<E> result = new BatchResult<>();
+        try (StatelessSession session = ((HibernateConnection) connection()).openStatelessSession()) {
+            session.setJdbcBatchSize(batchSize);
+            List<E> chunk = new ArrayList<>(batchSize);
+            List<Integer> indexes = new ArrayList<>(batchSize);
+            int index = 0;
+            while (entities.hasNext()) {
+                chunk.add(entities.next());
+                indexes.add(index);
+                index++;
+                if (chunk.size() >= batchSize) {
+                    if (insert) {
+                        assignIds(chunk, indexes, result);
+                    }
+                    writeChunk(session, chunk, indexes, insert, result);
+                    chunk.clear();
+                    indexes.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                if (insert) {
+                    assignIds(chunk, indexes, result);
+                }
+                writeChunk(session, chunk, indexes, insert, result);
+            }
+            return result;
+        } catch (Exception ex) {
+            throw new DataStoreException(ex);
+        }
+    }
+
+    /**
+     * Assign the IDs of a chunk with one sequence reservation. If that fails IDs are assigned one
+     * entity at a time, and the entities that fail are removed from the chunk.
+     */
+    private <E extends IEntity<?>> void assignIds(List<E> chunk,
+                                                  List<Integer> indexes,
+                                                  BatchResult<E> result) {
+        try {
+            IDGenerator.process(chunk, this);
+            return;
+        } catch (Exception ex) {
+            DefaultLogger.debug(String.format("Batch ID assignment failed, assigning per entity. [error=%s]",
+                    ex.getLocalizedMessage()));
+        }
+        for (int ii = chunk.size() - 1; ii >= 0; ii--) {
+            try {
+                IDGenerator.process(chunk.get(ii), this);
+            } catch (Exception ex) {
+                result.error(indexes.get(ii), chunk.get(ii), ex);
+                chunk.remove(ii);
+                indexes.remove(ii);
+            }
+        }
+    }
+
+    private <E extends IEntity<?>> void writeChunk(StatelessSession session,
+                                                   List<E> chunk,
+                                                   List<Integer> indexes,
+                                                   boolean insert,
+                                                   BatchResult<E> result) {
+        Transaction tx = session.beginTransaction();
+        try {
+            for (E entity : chunk) {
+                if (insert) {
+                    session.insert(entity);
+                } else {
+                    session.update(entity);
+                }
+            }
+            tx.commit();
+            for (E entity : chunk) {
+                if (entity instanceof BaseEntity) {
+                    ((BaseEntity<?>) entity).getState().setState(EEntityState.Synced);
+                }
+                result.add(entity);
+            }
+        } catch (Exception ex) {
+            if (tx.isActive()) {
+                try {
+                    tx.rollback();
+                } catch (Exception re) {
+                    DefaultLogger.error(String.format("Rollback failed. [error=%s]", re.getLocalizedMessage()));
+                }
+            }
+            if (chunk.size() == 1) {
+                result.error(indexes.get(0), chunk.get(0), ex);
+                return;
+            }
+            DefaultLogger.debug(String.format("Batch write failed, retrying halves. [size=%d][error=%s]",
+                    chunk.size(), ex.getLocalizedMessage()));
+            int mid = chunk.size() / 2;
+            writeChunk(session, chunk.subList(0, mid), indexes.subList(0, mid), insert, result);
+            writeChunk(session, chunk.subList(mid, chunk.size()), indexes.subList(mid, indexes.size()),
+                    insert, result);
+        }
+    }
+
     @Override
     public void configure() throws ConfigurationException {
         Preconditions.checkState(settings instanceof RdbmsStoreSettings);
@@ -125,10 +257,9 @@ public class RdbmsDataStore extends TransactionDataStore<Session, Transaction> {
         Session session = sessionManager.session();
         session.setCacheMode(CacheMode.IGNORE);
         E entity = session.find(type, key);
-        if (doRefresh(context)) {
-            session.evict(entity);
+        if (entity != null && doRefresh(context)) {
+            session.refresh(entity);
         }
-        entity = session.find(type, key);
         if (entity instanceof BaseEntity) {
             ((BaseEntity<?>) entity).getState().setState(EEntityState.Synced);
         }
@@ -152,6 +283,11 @@ public class RdbmsDataStore extends TransactionDataStore<Session, Transaction> {
         try {
             SqlQueryParser<K, E> parser = (SqlQueryParser<K, E>) getParser(type, keyType);
             parser.parse(query);
+            if (query.sort() == null || query.sort().isEmpty()) {
+                // No explicit ordering: page on the primary key (keyset) instead of scroll offsets.
+                return new HibernateSeekCursor<>(session, parser, query, type, currentPage)
+                        .pageSize(maxResults);
+            }
             Query qq = session.createQuery(query.generatedQuery(), type).setCacheable(false);
             if (query.hasParameters()) {
                 for (String key : query.parameters().keySet())
@@ -166,6 +302,101 @@ public class RdbmsDataStore extends TransactionDataStore<Session, Transaction> {
         }
     }
 
+    /**
+     * Unsorted queries on entities with a single integral key column are split into key ranges of
+     * equal width between the MIN and MAX key selected by the query.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    protected <K extends IKey, E extends IEntity<K>> List<ScanPartition> doPartition(@NonNull Q query,
+                                                                                  int count,
+                                                                                  @NonNull Class<? extends K> keyType,
+                                                                                  @NonNull Class<? extends E> type,
+                                                                                  Context context) throws Exception {
+        checkState();
+        SqlQueryParser<K, E> parser = (SqlQueryParser<K, E>) getParser(type, keyType);
+        String path = parser.rangeExpression();
+        if (path == null || (query.sort() != null && !query.sort().isEmpty())) {
+            return null;
+        }
+        parser.parse(query);
+        Object[] bounds;
+        try (Session session = ((HibernateConnection) connection()).openSession()) {
+            String hql = String.format("SELECT min(%s), max(%s) %s", path, path, query.generatedQuery());
+            Query<Object[]> qq = session.createQuery(hql, Object[].class);
+            if (query.hasParameters()) {
+                for (String key : query.parameters().keySet())
+                    qq.setParameter(key, query.parameters().get(key));
+            }
+            bounds = qq.getSingleResult();
+        }
+        if (!(bounds[0] instanceof Long || bounds[0] instanceof Integer)) {
+            return null;
+        }
+        boolean integer = (bounds[0] instanceof Integer);
+        long min = ((Number) bounds[0]).longValue();
+        long span = ((Number) bounds[1]).longValue() - min + 1;
+        if (span <= 0) {
+            return null;
+        }
+        count = (int) Math.min(count, span);
+        List<ScanPartition> partitions = new ArrayList<>(count);
+        for (int ii = 0; ii < count; ii++) {
+            // The outer partitions are left open, rows inserted beyond MIN/MAX are not missed.
+            Object lower = (ii == 0 ? null : rangeBound(min, span, count, ii, integer));
+            Object upper = (ii == count - 1 ? null : rangeBound(min, span, count, ii + 1, integer));
+            partitions.add(new ScanPartition(ii, count, lower, upper));
+        }
+        return partitions;
+    }
+
+    private static Object rangeBound(long min, long span, int count, int index, boolean integer) {
+        long bound = min + index * (span / count) + Math.min(index, span % count);
+        if (integer) {
+            return (int) bound;
+        }
+        return bound;
+    }
+
+    /**
+     * Partitions are read with keyset cursors on sessions owned by the cursor, so that they can
+     * be consumed on different threads.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    protected <K extends IKey, E extends IEntity<K>> Cursor<K, E> doScan(@NonNull Q query,
+                                                                         @NonNull ScanPartition partition,
+                                                                         int maxResults,
+                                                                         @NonNull Class<? extends K> keyType,
+                                                                         @NonNull Class<? extends E> type,
+                                                                         Context context) throws Exception {
+        checkState();
+        if (query.sort() != null && !query.sort().isEmpty()) {
+            if (!partition.isAll()) {
+                throw new DataStoreException("Sorted queries can't be partitioned...");
+            }
+            return doSearch(query, 0, maxResults, keyType, type, context);
+        }
+        if (!partition.isAll() && !partition.isRange()) {
+            throw new DataStoreException(String.format("Partition type not supported. [partition=%s]",
+                    partition));
+        }
+        SqlQueryParser<K, E> parser = (SqlQueryParser<K, E>) getParser(type, keyType);
+        parser.parse(query);
+        Session session = ((HibernateConnection) connection()).openSession();
+        try {
+            session.setCacheMode(CacheMode.IGNORE);
+            session.setDefaultReadOnly(true);
+            return new HibernateSeekCursor<>(session, parser, query, type, 0)
+                    .range(partition.lower(), partition.upper())
+                    .ownsSession()
+                    .pageSize(maxResults);
+        } catch (Exception ex) {
+            session.close();
+            throw ex;
+        }
+    }
+
     @Override
     public boolean isThreadSafe() {
         return true;
@@ -18,7 +18,6 @@ package io.zyient.core.persistence.impl.rdbms;
 
 import com.google.common.base.Preconditions;
 import io.zyient.base.common.model.entity.EEntityState;
-import io.zyient.base.common.utils.DefaultLogger;
 import io.zyient.core.persistence.DataStoreException;
 import io.zyient.core.persistence.StoreSessionManager;
 import io.zyient.core.persistence.model.BaseEntity;
@@ -47,8 +46,9 @@ public class RdbmsSessionManager extends StoreSessionManager<Session, Transactio
         }
     }
 
+    private static final String ATTR_TRANSACTION_CACHE = "transactionCache";
+
     private final HibernateConnection hibernateConnection;
-    private final Map<Long, Map<String, TransactionCacheElement>> transactionCache = new HashMap<>();
 
     public RdbmsSessionManager(@NonNull HibernateConnection hibernateConnection,
                                long sessionTimeout) {
@@ -69,7 +69,7 @@ public class RdbmsSessionManager extends StoreSessionManager<Session, Transactio
     @Override
     protected Session create() throws DataStoreException {
         try {
-            Session session = hibernateConnection.getConnection();
+            Session session = hibernateConnection.openSession();
             session.setCacheMode(CacheMode.IGNORE);
             return session;
         } catch (Exception ex) {
@@ -82,11 +82,6 @@ public class RdbmsSessionManager extends StoreSessionManager<Session, Transactio
         if (session.isOpen()) {
             session.close();
         }
-        if (!remove()) {
-            long tid = Thread.currentThread().getId();
-            DefaultLogger.warn(String.format("[THREAD=%d] Failed to remove session...", tid));
-        }
-        clearCache();
     }
 
     @Override
@@ -124,23 +119,19 @@ public class RdbmsSessionManager extends StoreSessionManager<Session, Transactio
         transaction.rollback();
     }
 
-    private void clearCache() throws DataStoreException {
-        long tid = Thread.currentThread().getId();
-        Map<String, TransactionCacheElement> cache = transactionCache.remove(tid);
-        if (cache != null) {
-            cache.clear();
+    private Map<String, TransactionCacheElement> transactionCache() throws DataStoreException {
+        StoreSession<Session, Transaction> session = current();
+        if (session == null) {
+            throw new DataStoreException("No active sessions found.");
         }
+        return session.attribute(ATTR_TRANSACTION_CACHE, HashMap::new);
     }
 
     public BaseEntity<?> checkCache(@NonNull BaseEntity<?> entity) throws DataStoreException {
         Preconditions.checkState(isInTransaction());
         if (entity.getState().getState() == EEntityState.New)
             return entity;
-        Map<String, TransactionCacheElement> cache;
-        synchronized (transactionCache) {
-            long tid = Thread.currentThread().getId();
-            cache = transactionCache.computeIfAbsent(tid, k -> new HashMap<>());
-        }
+        Map<String, TransactionCacheElement> cache = transactionCache();
         String key = TransactionCacheElement.generateKey((BaseEntity<?>) entity);
         TransactionCacheElement ce = cache.get(key);
         if (ce != null) {
@@ -164,11 +155,7 @@ public class RdbmsSessionManager extends StoreSessionManager<Session, Transactio
 
     public BaseEntity<?> updateCache(@NonNull BaseEntity<?> entity, @NonNull EEntityState state) throws DataStoreException {
         Preconditions.checkState(isInTransaction());
-        Map<String, TransactionCacheElement> cache;
-        synchronized (transactionCache) {
-            long tid = Thread.currentThread().getId();
-            cache = transactionCache.computeIfAbsent(tid, k -> new HashMap<>());
-        }
+        Map<String, TransactionCacheElement> cache = transactionCache();
         Transaction tx = transaction();
         entity.getState().setState(state);
         TransactionCacheElement ce = new TransactionCacheElement();
@@ -20,6 +20,7 @@ import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
 import io.zyient.base.common.model.entity.IEntity;
 import io.zyient.base.common.model.entity.IKey;
+import io.zyient.base.common.model.entity.NativeKey;
 import io.zyient.base.common.utils.ReflectionHelper;
 import io.zyient.core.persistence.AbstractDataStore;
 import io.zyient.core.persistence.QueryParser;
@@ -28,16 +29,133 @@ import lombok.NonNull;
 import net.sf.jsqlparser.statement.select.OrderByElement;
 import net.sf.jsqlparser.statement.select.PlainSelect;
 import net.sf.jsqlparser.statement.select.Select;
+import org.apache.commons.lang3.ClassUtils;
 
 import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.sql.Date;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 public class SqlQueryParser<K extends IKey, E extends IEntity<K>> extends QueryParser<K, E> {
+    public static final String SEEK_PARAM_PREFIX = "__seek_";
+    public static final String RANGE_LOWER_PARAM = "__range_lower";
+    public static final String RANGE_UPPER_PARAM = "__range_upper";
+
+    private final List<String> seekPaths = new ArrayList<>();
+    private final List<Field[]> seekAccessors = new ArrayList<>();
+    private Class<?> rangeType;
+
     public SqlQueryParser(@NonNull Class<? extends K> keyType,
                           @NonNull Class<? extends E> entityType) throws Exception {
         super(keyType, entityType);
+        extractSeekFields(entityType);
+    }
+
+    /**
+     * Predicate selecting the rows after the specified key position, in key order.
+     * Key columns are compared lexicographically: (k0 > :p0) OR (k0 = :p0 AND k1 > :p1) ...
+     */
+    public String seekPredicate() {
+        StringBuilder builder = new StringBuilder();
+        for (int ii = 0; ii < seekPaths.size(); ii++) {
+            if (ii > 0) {
+                builder.append(" OR ");
+            }
+            builder.append("(");
+            for (int jj = 0; jj < ii; jj++) {
+                builder.append(seekPaths.get(jj))
+                        .append(" = :")
+                        .append(SEEK_PARAM_PREFIX)
+                        .append(jj)
+                        .append(" AND ");
+            }
+            builder.append(seekPaths.get(ii))
+                    .append(" > :")
+                    .append(SEEK_PARAM_PREFIX)
+                    .append(ii)
+                    .append(")");
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Key path a query can be split on by value ranges (NULL for composite keys).
+     */
+    public String rangePath() {
+        if (seekPaths.size() == 1) {
+            return seekPaths.get(0);
+        }
+        return null;
+    }
+
+    /**
+     * Integral key expression to compute the MIN/MAX bounds on (NULL if the key can't be split).
+     * Values of native keys are mapped as generic fields and are cast to the key value type.
+     */
+    public String rangeExpression() {
+        String path = rangePath();
+        if (path == null || !(Long.class.equals(rangeType) || Integer.class.equals(rangeType))) {
+            return null;
+        }
+        return String.format("cast(%s as %s)", path, rangeType.getSimpleName());
+    }
+
+    /**
+     * Predicate selecting the rows with a key in [lower, upper), a NULL bound is open.
+     */
+    public String rangePredicate(Object lower, Object upper) {
+        String path = rangePath();
+        Preconditions.checkState(path != null);
+        StringBuilder builder = new StringBuilder();
+        if (lower != null) {
+            builder.append(path)
+                    .append(" >= :")
+                    .append(RANGE_LOWER_PARAM);
+        }
+        if (upper != null) {
+            if (lower != null) {
+                builder.append(" AND ");
+            }
+            builder.append(path)
+                    .append(" < :")
+                    .append(RANGE_UPPER_PARAM);
+        }
+        return builder.toString();
+    }
+
+    public String seekOrder() {
+        StringBuilder builder = new StringBuilder(" ORDER BY ");
+        for (int ii = 0; ii < seekPaths.size(); ii++) {
+            if (ii > 0) {
+                builder.append(", ");
+            }
+            builder.append(seekPaths.get(ii))
+                    .append(" ASC");
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Key values of the entity, in the order of the seek predicate parameters.
+     */
+    public Object[] seekValues(@NonNull E entity) throws Exception {
+        Object[] values = new Object[seekAccessors.size()];
+        for (int ii = 0; ii < values.length; ii++) {
+            Object value = entity;
+            for (Field field : seekAccessors.get(ii)) {
+                value = field.get(value);
+                if (value == null) {
+                    throw new Exception(String.format("Key value is NULL. [type=%s][path=%s]",
+                            entity.getClass().getCanonicalName(), seekPaths.get(ii)));
+                }
+            }
+            values[ii] = value;
+        }
+        return values;
     }
 
     @Override
@@ -64,7 +182,7 @@ public class SqlQueryParser<K extends IKey, E extends IEntity<K>> extends QueryP
     protected void process(AbstractDataStore.@NonNull Q query,
                            @NonNull Select select) throws Exception {
         PlainSelect ps = select.getSelectBody(PlainSelect.class);
-        String hql = String.format("FROM %s WHERE %s",
+        String hql = String.format("FROM %s WHERE (%s)",
                 ps.getFromItem().toString(), ps.getWhere().toString());
         if (ps.getOrderByElements() != null) {
             StringBuilder builder = new StringBuilder(hql)
@@ -165,6 +283,46 @@ public class SqlQueryParser<K extends IKey, E extends IEntity<K>> extends QueryP
         }
     }
 
+    private void extractSeekFields(Class<? extends E> entityType) throws Exception {
+        Field[] fields = ReflectionHelper.getAllFields(entityType);
+        Preconditions.checkNotNull(fields);
+        Field idField = null;
+        for (Field field : fields) {
+            if (field.isAnnotationPresent(Id.class) || field.isAnnotationPresent(EmbeddedId.class)) {
+                idField = field;
+                break;
+            }
+        }
+        Preconditions.checkNotNull(idField);
+        idField.setAccessible(true);
+        if (isNativeKey(idField)) {
+            Field kf = NativeKey.class.getDeclaredField("key");
+            kf.setAccessible(true);
+            seekPaths.add(String.format("%s.%s", idField.getName(), kf.getName()));
+            seekAccessors.add(new Field[]{idField, kf});
+            NativeKey<?> key = (NativeKey<?>) idField.getType().getDeclaredConstructor().newInstance();
+            rangeType = key.getType();
+        } else if (processField(idField)) {
+            seekPaths.add(idField.getName());
+            seekAccessors.add(new Field[]{idField});
+            rangeType = ClassUtils.primitiveToWrapper(idField.getType());
+        } else {
+            Field[] kfields = ReflectionHelper.getAllFields(idField.getType());
+            Preconditions.checkNotNull(kfields);
+            List<Field> sorted = new ArrayList<>();
+            for (Field kf : kfields) {
+                if (ignore(kf) || Modifier.isStatic(kf.getModifiers())) continue;
+                sorted.add(kf);
+            }
+            sorted.sort(Comparator.comparing(Field::getName));
+            for (Field kf : sorted) {
+                kf.setAccessible(true);
+                seekPaths.add(String.format("%s.%s", idField.getName(), kf.getName()));
+                seekAccessors.add(new Field[]{idField, kf});
+            }
+        }
+    }
+
     private boolean processField(Field field) {
         return ReflectionHelper.isPrimitiveTypeOrString(field) ||
                 field.getType().isEnum() ||
@@ -36,6 +36,21 @@ public class MongoDbSettings extends AbstractDataStoreSettings {
     private String modelPackage;
     @Config(name = "sessionTimeout", required = false, parser = TimeValueParser.class)
     private TimeUnitValue sessionTimeout = new TimeUnitValue(30 * 60 * 1000, TimeUnit.MILLISECONDS);
+    /**
+     * Number of write models sent per bulkWrite request.
+     */
+    @Config(name = "bulk.batchSize", required = false, type = Integer.class)
+    private int bulkBatchSize = 1000;
+    /**
+     * Write concern of bulk writes (name as accepted by WriteConcern.valueOf, e.g. W1, MAJORITY).
+     */
+    @Config(name = "bulk.writeConcern", required = false)
+    private String bulkWriteConcern = "ACKNOWLEDGED";
+    /**
+     * Number of times the failed models of a bulk write are retried.
+     */
+    @Config(name = "bulk.retries", required = false, type = Integer.class)
+    private int bulkRetries = 3;
 
     public MongoDbSettings() {
         setType(EDataStoreType.kvstore);
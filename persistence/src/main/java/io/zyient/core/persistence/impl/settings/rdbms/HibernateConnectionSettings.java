@@ -43,6 +43,7 @@ public class HibernateConnectionSettings extends AbstractConnectionSettings {
     private static final int DEFAULT_POOL_MIN_SIZE = 4;
     private static final int DEFAULT_POOL_MAX_SIZE = 8;
     private static final int DEFAULT_POOL_TIMEOUT = 1800;
+    private static final int DEFAULT_BATCH_SIZE = 50;
 
 
     @Config(name = "url")
@@ -71,6 +72,11 @@ public class HibernateConnectionSettings extends AbstractConnectionSettings {
     private TimeUnitValue poolTimeout = new TimeUnitValue(DEFAULT_POOL_TIMEOUT, TimeUnit.MILLISECONDS);
     @Config(name = "pool.check", required = false, type = Boolean.class)
     private boolean poolConnectionCheck = true;
+    /**
+     * JDBC batch size, inserts/updates are ordered to batch when set (0 disables batching).
+     */
+    @Config(name = "batch.size", required = false, type = Integer.class)
+    private int batchSize = DEFAULT_BATCH_SIZE;
     @Config(name = "config", required = false)
     private String hibernateConfigSource;
     @Config(name = "model.packages", required = false, parser = StringListParser.class)
@@ -34,6 +34,11 @@ import java.util.concurrent.TimeUnit;
 public class RdbmsStoreSettings extends AbstractDataStoreSettings {
     @Config(name = "sessionTimeout", required = false, parser = TimeValueParser.class)
     private TimeUnitValue sessionTimeout = new TimeUnitValue(30 * 60 * 1000, TimeUnit.MILLISECONDS);
+    /**
+     * Number of entities written and committed together by bulk writes.
+     */
+    @Config(name = "batchSize", required = false, type = Integer.class)
+    private int batchSize = 1000;
 
     public RdbmsStoreSettings() {
         setType(EDataStoreType.rdbms);
@@ -17,16 +17,43 @@
 package io.zyient.core.persistence.impl.settings.solr;
 
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import io.zyient.base.common.config.Config;
+import io.zyient.base.common.config.units.TimeUnitValue;
+import io.zyient.base.common.config.units.TimeValueParser;
 import io.zyient.core.persistence.AbstractDataStoreSettings;
 import io.zyient.core.persistence.EDataStoreType;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.util.concurrent.TimeUnit;
+
 @Getter
 @Setter
 @JsonTypeInfo(use = JsonTypeInfo.Id.CLASS, include = JsonTypeInfo.As.PROPERTY,
         property = "@class")
 public class SolrDbSettings extends AbstractDataStoreSettings {
+    /**
+     * Maximum number of adds/deletes buffered per collection before being sent.
+     */
+    @Config(name = "writer.batchSize", required = false, type = Integer.class)
+    private int writeBatchSize = 500;
+    /**
+     * Maximum delay before written documents are visible to searches (commitWithin, soft commits).
+     */
+    @Config(name = "writer.commitWithin", required = false, parser = TimeValueParser.class)
+    private TimeUnitValue commitWithin = new TimeUnitValue(1000, TimeUnit.MILLISECONDS);
+    /**
+     * Maximum time adds/deletes are buffered before being sent.
+     */
+    @Config(name = "writer.flushInterval", required = false, parser = TimeValueParser.class)
+    private TimeUnitValue flushInterval = new TimeUnitValue(250, TimeUnit.MILLISECONDS);
+    /**
+     * Flush and soft commit the pending writes of a collection before reading from it. Disable
+     * to let reads lag by up to commitWithin.
+     */
+    @Config(name = "writer.syncReads", required = false, type = Boolean.class)
+    private boolean syncReads = true;
+
     public SolrDbSettings() {
         setType(EDataStoreType.kvstore);
     }
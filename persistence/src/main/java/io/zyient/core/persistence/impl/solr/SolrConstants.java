@@ -33,4 +33,5 @@ public class SolrConstants {
     public static final String FIELD_DOCUMENT_COUNT = "document_count";
     public static final String FIELD_DOC_PARENT_ID = "parent_doc_id";
     public static final String FIELD_DOC_URI = "URI";
+    public static final String PARAM_PARTITION_KEYS = "partitionKeys";
 }
@@ -22,8 +22,8 @@ import io.zyient.base.common.model.entity.IKey;
 import io.zyient.base.common.utils.DefaultLogger;
 import io.zyient.base.common.utils.JSONUtils;
 import io.zyient.base.common.utils.ReflectionHelper;
-import io.zyient.core.persistence.Cursor;
 import io.zyient.core.persistence.DataStoreException;
+import io.zyient.core.persistence.SeekCursor;
 import io.zyient.core.persistence.model.Document;
 import io.zyient.core.persistence.model.DocumentId;
 import lombok.Getter;
@@ -34,6 +34,7 @@ import org.apache.solr.client.solrj.SolrQuery;
 import org.apache.solr.client.solrj.response.QueryResponse;
 import org.apache.solr.common.SolrDocument;
 import org.apache.solr.common.SolrDocumentList;
+import org.apache.solr.common.params.CursorMarkParams;
 
 import java.io.IOException;
 import java.util.ArrayList;
@@ -42,13 +43,16 @@ import java.util.Set;
 
 @Getter
 @Accessors(fluent = true)
-public class SolrCursor<K extends IKey, E extends IEntity<K>> extends Cursor<K, E> {
+public class SolrCursor<K extends IKey, E extends IEntity<K>> extends SeekCursor<K, E, String> {
     private final EntityQueryBuilder.LuceneQuery query;
     private final int batchSize;
     private final Class<? extends E> entityType;
     private final SolrDataStore dataStore;
     private final SolrClient client;
     private final boolean fetchChildren;
+    private String nextCursorMark;
+    private int worker = 0;
+    private int workers = 1;
 
     public SolrCursor(@NonNull Class<? extends E> entityType,
                       @NonNull SolrDataStore dataStore,
@@ -66,52 +70,102 @@ public class SolrCursor<K extends IKey, E extends IEntity<K>> extends Cursor<K,
         this.fetchChildren = fetchChildren;
     }
 
+    /**
+     * Restrict the cursor to the documents whose id hashes to the worker (of workers).
+     */
+    public SolrCursor<K, E> hashPartition(int worker, int workers) {
+        this.worker = worker;
+        this.workers = workers;
+        return this;
+    }
+
     @Override
-    @SuppressWarnings("unchecked")
-    protected List<E> next(int page) throws DataStoreException {
+    protected List<E> fetch(int page) throws DataStoreException {
+        // Cursor marks can't be combined with a start offset: walk forward to the requested page.
+        String mark = CursorMarkParams.CURSOR_MARK_START;
         try {
-            SolrQuery query = new SolrQuery(this.query.where());
-            query.setStart(page * batchSize);
-            query.setRows(batchSize);
-            QueryResponse response = client.query(query);
-            if (ReflectionHelper.isSuperType(SolrEntity.class, entityType)) {
-                List<E> entities = (List<E>) response.getBeans(entityType);
-                if (entities != null) {
-                    if (!entities.isEmpty()) {
-                        for (E entity : entities) {
-                            ((SolrEntity<?>) entity).getState().setState(EEntityState.Synced);
-                        }
-                    }
+            for (int ii = 0; ii < page; ii++) {
+                SolrQuery query = buildQuery(mark);
+                query.setFields(SolrConstants.FIELD_SOLR_ID);
+                String next = client.query(query).getNextCursorMark();
+                if (next == null || next.equals(mark)) {
+                    return null;
                 }
-                return entities;
-            } else if (ReflectionHelper.isSuperType(Document.class, entityType)) {
-                SolrDocumentList documents = response.getResults();
-                if (documents != null && !documents.isEmpty()) {
-                    List<E> entities = new ArrayList<>(documents.size());
-                    for (SolrDocument doc : documents) {
-                        Document<?, ?, ?> document = dataStore().readDocument(doc,
-                                this.query.where(),
-                                (Class<? extends Document<?, ?, ?>>) entityType,
-                                fetchChildren);
-                        entities.add((E) document);
+                mark = next;
+            }
+        } catch (Exception ex) {
+            throw new DataStoreException(ex);
+        }
+        return seek(mark);
+    }
+
+    @Override
+    protected List<E> seek(@NonNull String position) throws DataStoreException {
+        try {
+            QueryResponse response = client.query(buildQuery(position));
+            nextCursorMark = response.getNextCursorMark();
+            return read(response);
+        } catch (Exception ex) {
+            throw new DataStoreException(ex);
+        }
+    }
+
+    @Override
+    protected String position(@NonNull List<E> page) {
+        return nextCursorMark;
+    }
+
+    private SolrQuery buildQuery(String mark) {
+        SolrQuery query = new SolrQuery(this.query.where());
+        query.setRows(batchSize);
+        // Cursor marks require a sort that ends on the unique key.
+        query.setSort(SolrConstants.FIELD_SOLR_ID, SolrQuery.ORDER.asc);
+        query.set(CursorMarkParams.CURSOR_MARK_PARAM, mark);
+        if (workers > 1) {
+            query.addFilterQuery(String.format("{!hash workers=%d worker=%d partitionKeys=%s}",
+                    workers, worker, SolrConstants.FIELD_SOLR_ID));
+            query.set(SolrConstants.PARAM_PARTITION_KEYS, SolrConstants.FIELD_SOLR_ID);
+        }
+        return query;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<E> read(QueryResponse response) throws Exception {
+        if (ReflectionHelper.isSuperType(SolrEntity.class, entityType)) {
+            List<E> entities = (List<E>) response.getBeans(entityType);
+            if (entities != null) {
+                if (!entities.isEmpty()) {
+                    for (E entity : entities) {
+                        ((SolrEntity<?>) entity).getState().setState(EEntityState.Synced);
                     }
-                    return entities;
                 }
-            } else {
-                List<SolrJsonEntity> entities = response.getBeans(SolrJsonEntity.class);
-                if (entities != null && !entities.isEmpty()) {
-                    List<E> array = new ArrayList<>(entities.size());
-                    for (SolrJsonEntity je : entities) {
-                        E entity = JSONUtils.read(je.getJson(), entityType);
-                        array.add(entity);
-                    }
-                    return array;
+            }
+            return entities;
+        } else if (ReflectionHelper.isSuperType(Document.class, entityType)) {
+            SolrDocumentList documents = response.getResults();
+            if (documents != null && !documents.isEmpty()) {
+                List<E> entities = new ArrayList<>(documents.size());
+                for (SolrDocument doc : documents) {
+                    Document<?, ?, ?> document = dataStore().readDocument(doc,
+                            this.query.where(),
+                            (Class<? extends Document<?, ?, ?>>) entityType,
+                            fetchChildren);
+                    entities.add((E) document);
+                }
+                return entities;
+            }
+        } else {
+            List<SolrJsonEntity> entities = response.getBeans(SolrJsonEntity.class);
+            if (entities != null && !entities.isEmpty()) {
+                List<E> array = new ArrayList<>(entities.size());
+                for (SolrJsonEntity je : entities) {
+                    E entity = JSONUtils.read(je.getJson(), entityType);
+                    array.add(entity);
                 }
+                return array;
             }
-            return null;
-        } catch (Exception ex) {
-            throw new DataStoreException(ex);
         }
+        return null;
     }
 
     public Set<Document<?, ?, ?>> fetchChildren(@NonNull DocumentId id,
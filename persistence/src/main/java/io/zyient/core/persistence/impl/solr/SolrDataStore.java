@@ -40,11 +40,9 @@ import lombok.NonNull;
 import org.apache.commons.configuration2.ex.ConfigurationException;
 import org.apache.solr.client.solrj.SolrClient;
 import org.apache.solr.client.solrj.SolrQuery;
-import org.apache.solr.client.solrj.request.AbstractUpdateRequest;
 import org.apache.solr.client.solrj.request.ContentStreamUpdateRequest;
 import org.apache.solr.client.solrj.request.schema.SchemaRequest;
 import org.apache.solr.client.solrj.response.QueryResponse;
-import org.apache.solr.client.solrj.response.UpdateResponse;
 import org.apache.solr.client.solrj.response.schema.SchemaRepresentation;
 import org.apache.solr.client.solrj.response.schema.SchemaResponse;
 import org.apache.solr.common.SolrDocument;
@@ -58,8 +56,10 @@ import org.apache.tika.metadata.TikaCoreProperties;
 import org.apache.tika.mime.MediaType;
 
 import java.io.File;
+import java.io.IOException;
 import java.lang.reflect.Field;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 
 public class SolrDataStore extends AbstractDataStore<SolrClient> {
@@ -85,6 +85,7 @@ public class SolrDataStore extends AbstractDataStore<SolrClient> {
     public static final String CONTEXT_KEY_JSON_SPLITS = "SOLR_JSON_SPLITS";
     public static final String JSON_FIELD = "data_json";
     private final Map<Class<?>, Boolean> checkedSchema = new HashMap<>();
+    private SolrWriter writer;
 
     @Override
     protected <K extends IKey, E extends IEntity<K>> QueryParser<K, E> createParser(@NonNull Class<? extends E> entityType,
@@ -100,11 +101,118 @@ public class SolrDataStore extends AbstractDataStore<SolrClient> {
             if (!connection.isConnected()) {
                 connection.connect();
             }
+            SolrDbSettings dbSettings = (SolrDbSettings) settings;
+            writer = new SolrWriter(connection::connect,
+                    dbSettings.getWriteBatchSize(),
+                    dbSettings.getCommitWithin().normalized(),
+                    dbSettings.getFlushInterval().normalized())
+                    .addFailureHandler(failure -> {
+                        if (failure.entity() != null) {
+                            metrics.createCounterError().increment();
+                        } else {
+                            metrics.deleteCounterError().increment();
+                        }
+                    });
         } catch (Exception ex) {
             throw new ConfigurationException(ex);
         }
     }
 
+    public SolrWriter writer() {
+        return writer;
+    }
+
+    /**
+     * Send all the buffered writes.
+     *
+     * @return - Documents that failed to be written, NULL if none
+     */
+    public List<SolrWriter.Failure> flush() throws DataStoreException {
+        checkState();
+        return writer.flushAll();
+    }
+
+    /**
+     * Bulk create: entities are buffered and sent in batches, failures are reported per entity
+     * once the batches have been flushed.
+     */
+    @Override
+    protected <E extends IEntity<?>> BatchResult<E> createEntities(@NonNull Iterator<E> entities,
+                                                                   @NonNull Class<? extends E> type,
+                                                                   Context context) throws DataStoreException {
+        checkState();
+        return writeAll(entities, type, context, true);
+    }
+
+    @Override
+    protected <E extends IEntity<?>> BatchResult<E> updateEntities(@NonNull Iterator<E> entities,
+                                                                   @NonNull Class<? extends E> type,
+                                                                   Context context) throws DataStoreException {
+        checkState();
+        return writeAll(entities, type, context, false);
+    }
+
+    private <E extends IEntity<?>> BatchResult<E> writeAll(Iterator<E> entities,
+                                                           Class<? extends E> type,
+                                                           Context context,
+                                                           boolean create) {
+        List<E> written = new ArrayList<>();
+        Map<Object, Integer> indexes = Collections.synchronizedMap(new IdentityHashMap<>());
+        Map<Integer, Throwable> errors = new ConcurrentHashMap<>();
+        SolrWriter.FailureHandler handler = failure -> {
+            Integer index = indexes.get(failure.entity());
+            if (index != null) {
+                errors.put(index, failure.error());
+            }
+        };
+        writer.addFailureHandler(handler);
+        try {
+            while (entities.hasNext()) {
+                E entity = entities.next();
+                int index = written.size();
+                written.add(entity);
+                indexes.put(entity, index);
+                try {
+                    if (create) {
+                        createEntity(entity, type, context);
+                    } else {
+                        updateEntity(entity, type, context);
+                    }
+                } catch (Exception ex) {
+                    errors.put(index, ex);
+                }
+            }
+            writer.flushAll();
+        } finally {
+            writer.removeFailureHandler(handler);
+        }
+        BatchResult<E> result = new BatchResult<>();
+        for (int ii = 0; ii < written.size(); ii++) {
+            Throwable error = errors.get(ii);
+            if (error == null) {
+                result.add(written.get(ii));
+            } else {
+                result.error(ii, written.get(ii), error);
+            }
+        }
+        return result;
+    }
+
+    private void sync(String collection) throws Exception {
+        if (((SolrDbSettings) settings).isSyncReads()) {
+            writer.sync(collection);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+        }
+        super.close();
+    }
+
     private <E extends IEntity<?>> String getCollection(E entity) throws Exception {
         if (entity instanceof Document<?, ?, ?>) {
             return ((Document<?, ?, ?>) entity).getId().getCollection();
@@ -166,7 +274,7 @@ public class SolrDataStore extends AbstractDataStore<SolrClient> {
                 }
                 ((Document<?, ?, ?>) entity).getState().setState(EEntityState.Synced);
                 ContentStreamUpdateRequest ur = getContentUpdateRequest((Document<?, ?, ?>) entity);
-                NamedList<Object> request = client.request(ur);
+                NamedList<Object> request = writer.send(cname, ur);
                 if (DefaultLogger.isTraceEnabled()) {
                     for (Map.Entry<String, Object> entry : request) {
                         DefaultLogger.trace(String.format("Response [key=%s, value=%s]",
@@ -179,11 +287,7 @@ public class SolrDataStore extends AbstractDataStore<SolrClient> {
                     ((SolrEntity<?>) entity).setCreatedTime(System.nanoTime());
                 ((SolrEntity<?>) entity).setUpdatedTime(System.nanoTime());
                 ((SolrEntity<?>) entity).getState().setState(EEntityState.Synced);
-                UpdateResponse ur = client.addBean(entity);
-                if (ur.getStatus() != 0) {
-                    throw new DataStoreException(String.format("Insert failed [status=%d]. [type=%s][id=%s]",
-                            ur.getStatus(), type.getCanonicalName(), entity.entityKey().stringKey()));
-                }
+                writer.add(cname, client.getBinder().toSolrInputDocument(entity), entity);
             } else {
                 long createdTimestamp = System.nanoTime();
                 long updatedTimestamp = System.nanoTime();
@@ -202,13 +306,8 @@ public class SolrDataStore extends AbstractDataStore<SolrClient> {
                 je.setCreatedTime(createdTimestamp);
                 je.setUpdatedTime(updatedTimestamp);
 
-                UpdateResponse ur = client.addBean(je);
-                if (ur.getStatus() != 0) {
-                    throw new DataStoreException(String.format("Insert failed [status=%d]. [type=%s][id=%s]",
-                            ur.getStatus(), type.getCanonicalName(), entity.entityKey().stringKey()));
-                }
+                writer.add(cname, client.getBinder().toSolrInputDocument(je), entity);
             }
-            client.commit();
             return entity;
         } catch (Exception ex) {
             DefaultLogger.stacktrace(ex);
@@ -309,12 +408,7 @@ public class SolrDataStore extends AbstractDataStore<SolrClient> {
                     }
                 }
             }
-            UpdateResponse ur = client.deleteById(k);
-            if (ur.getStatus() != 0) {
-                throw new DataStoreException(String.format("Delete failed [status=%d]. [type=%s][id=%s]",
-                        ur.getStatus(), type.getCanonicalName(), k));
-            }
-            client.commit();
+            writer.delete(cname, k);
             return true;
         } catch (Exception ex) {
             DefaultLogger.stacktrace(ex);
@@ -444,7 +538,6 @@ public class SolrDataStore extends AbstractDataStore<SolrClient> {
                 }
             }
         }
-        ur.setAction(AbstractUpdateRequest.ACTION.COMMIT, true, true);
         return ur;
     }
 
@@ -491,6 +584,7 @@ public class SolrDataStore extends AbstractDataStore<SolrClient> {
             SolrConnection connection = (SolrConnection) connection();
             String cname = getCollection(key, type);
             SolrClient client = connection.connect(cname);
+            sync(cname);
             String k = null;
             Q luceneQuery = null;
             if (key instanceof String) {
@@ -668,14 +762,48 @@ public class SolrDataStore extends AbstractDataStore<SolrClient> {
                 fetchChildren = ((SearchContext) context).fetchChildDocuments();
             }
             SolrClient client = connection.connect(cname);
+            sync(cname);
             EntityQueryBuilder.LuceneQuery q = (EntityQueryBuilder.LuceneQuery) query;
-            return new SolrCursor<>(type, this, client, q, maxResults, currentPage, fetchChildren);
+            return new SolrCursor<K, E>(type, this, client, q, currentPage, maxResults, fetchChildren)
+                    .pageSize(maxResults);
         } catch (Exception ex) {
             DefaultLogger.stacktrace(ex);
             throw new DataStoreException(ex);
         }
     }
 
+    /**
+     * Documents are split into hash partitions of the id field (hash query parser), each read by
+     * its own cursor mark.
+     */
+    @Override
+    protected <K extends IKey, E extends IEntity<K>> List<ScanPartition> doPartition(@NonNull Q query,
+                                                                                  int count,
+                                                                                  @NonNull Class<? extends K> keyType,
+                                                                                  @NonNull Class<? extends E> type,
+                                                                                  Context context) throws Exception {
+        List<ScanPartition> partitions = new ArrayList<>(count);
+        for (int ii = 0; ii < count; ii++) {
+            partitions.add(new ScanPartition(ii, count));
+        }
+        return partitions;
+    }
+
+    @Override
+    protected <K extends IKey, E extends IEntity<K>> Cursor<K, E> doScan(@NonNull Q query,
+                                                                         @NonNull ScanPartition partition,
+                                                                         int maxResults,
+                                                                         @NonNull Class<? extends K> keyType,
+                                                                         @NonNull Class<? extends E> type,
+                                                                         Context context) throws Exception {
+        if (partition.isRange()) {
+            throw new DataStoreException(String.format("Partition type not supported. [partition=%s]",
+                    partition));
+        }
+        SolrCursor<K, E> cursor = (SolrCursor<K, E>) doSearch(query, 0, maxResults, keyType, type, context);
+        return cursor.hashPartition(partition.index(), partition.count());
+    }
+
     public static String getDocumentType(@NonNull File path) throws Exception {
         TikaConfig config = TikaConfig.getDefaultConfig();
         Detector detector = config.getDetector();
@@ -0,0 +1,332 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.core.persistence.impl.solr;
+
+import com.google.common.base.Preconditions;
+import io.zyient.base.common.utils.DefaultLogger;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.experimental.Accessors;
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.request.AbstractUpdateRequest;
+import org.apache.solr.client.solrj.request.UpdateRequest;
+import org.apache.solr.client.solrj.response.UpdateResponse;
+import org.apache.solr.common.SolrInputDocument;
+import org.apache.solr.common.util.NamedList;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Buffered Solr write engine: adds and deletes are queued per collection and sent as
+ * {@link UpdateRequest} batches when a batch is full, when the flush interval elapses, on an
+ * explicit flush and on close. Visibility relies on {@code commitWithin} (soft commits), no hard
+ * commit is issued per write.
+ * <p>
+ * A batch that fails is retried one document at a time, documents still failing are reported to
+ * the registered {@link FailureHandler}s and returned by the flush that sent them.
+ */
+@Getter
+@Accessors(fluent = true)
+public class SolrWriter implements Closeable {
+    public interface ClientProvider {
+        SolrClient client(@NonNull String collection) throws Exception;
+    }
+
+    public interface FailureHandler {
+        void failed(@NonNull Failure failure);
+    }
+
+    @Getter
+    @Accessors(fluent = true)
+    public static class Failure {
+        private final String collection;
+        private final String id;
+        private final Object entity;
+        private final Throwable error;
+
+        public Failure(@NonNull String collection, String id, Object entity, @NonNull Throwable error) {
+            this.collection = collection;
+            this.id = id;
+            this.entity = entity;
+            this.error = error;
+        }
+    }
+
+    private enum EOperation {
+        Add, Delete
+    }
+
+    private static class Pending {
+        private EOperation operation = EOperation.Add;
+        private final List<SolrInputDocument> documents = new ArrayList<>();
+        private final List<Object> entities = new ArrayList<>();
+        private final List<String> deletes = new ArrayList<>();
+        private boolean dirty = false;
+
+        private int size() {
+            return documents.size() + deletes.size();
+        }
+    }
+
+    private final ClientProvider clients;
+    private final int batchSize;
+    private final int commitWithin;
+    private final Map<String, Pending> pending = new ConcurrentHashMap<>();
+    private final List<FailureHandler> handlers = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService executor;
+
+    /**
+     * @param clients       - Solr client per collection
+     * @param batchSize     - Maximum number of buffered operations per collection
+     * @param commitWithin  - Maximum delay (milliseconds) before sent documents are visible to searches
+     * @param flushInterval - Maximum time (milliseconds) operations are buffered before being sent
+     */
+    public SolrWriter(@NonNull ClientProvider clients,
+                      int batchSize,
+                      long commitWithin,
+                      long flushInterval) {
+        Preconditions.checkArgument(batchSize > 0);
+        Preconditions.checkArgument(commitWithin > 0);
+        Preconditions.checkArgument(flushInterval > 0);
+        this.clients = clients;
+        this.batchSize = batchSize;
+        this.commitWithin = (int) Math.min(commitWithin, Integer.MAX_VALUE);
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "solr-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::flushAll, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+    }
+
+    public SolrWriter addFailureHandler(@NonNull FailureHandler handler) {
+        handlers.add(handler);
+        return this;
+    }
+
+    public void removeFailureHandler(@NonNull FailureHandler handler) {
+        handlers.remove(handler);
+    }
+
+    public List<Failure> add(@NonNull String collection,
+                             @NonNull SolrInputDocument document,
+                             Object entity) {
+        Pending p = pending.computeIfAbsent(collection, c -> new Pending());
+        synchronized (p) {
+            List<Failure> failures = null;
+            if (p.operation != EOperation.Add) {
+                failures = flush(collection, p);
+                p.operation = EOperation.Add;
+            }
+            p.documents.add(document);
+            p.entities.add(entity);
+            if (p.size() >= batchSize) {
+                failures = merge(failures, flush(collection, p));
+            }
+            return failures;
+        }
+    }
+
+    public List<Failure> delete(@NonNull String collection,
+                                @NonNull String id) {
+        Pending p = pending.computeIfAbsent(collection, c -> new Pending());
+        synchronized (p) {
+            List<Failure> failures = null;
+            if (p.operation != EOperation.Delete) {
+                failures = flush(collection, p);
+                p.operation = EOperation.Delete;
+            }
+            p.deletes.add(id);
+            if (p.size() >= batchSize) {
+                failures = merge(failures, flush(collection, p));
+            }
+            return failures;
+        }
+    }
+
+    /**
+     * Send a request that cannot be batched (e.g. content extraction), after the operations
+     * already buffered for the collection.
+     */
+    public NamedList<Object> send(@NonNull String collection,
+                                  @NonNull AbstractUpdateRequest request) throws Exception {
+        Pending p = pending.computeIfAbsent(collection, c -> new Pending());
+        synchronized (p) {
+            flush(collection, p);
+            request.setCommitWithin(commitWithin);
+            NamedList<Object> response = clients.client(collection).request(request);
+            p.dirty = true;
+            return response;
+        }
+    }
+
+    public List<Failure> flush(@NonNull String collection) {
+        Pending p = pending.get(collection);
+        if (p == null) {
+            return null;
+        }
+        synchronized (p) {
+            return flush(collection, p);
+        }
+    }
+
+    public List<Failure> flushAll() {
+        List<Failure> failures = null;
+        for (String collection : pending.keySet()) {
+            failures = merge(failures, flush(collection));
+        }
+        return failures;
+    }
+
+    /**
+     * Flush the buffered operations of the collection and, if documents were written since the
+     * last commit, issue a soft commit so that they are visible to the following reads.
+     */
+    public List<Failure> sync(@NonNull String collection) throws Exception {
+        Pending p = pending.get(collection);
+        if (p == null) {
+            return null;
+        }
+        synchronized (p) {
+            List<Failure> failures = flush(collection, p);
+            if (p.dirty) {
+                clients.client(collection).commit(true, true, true);
+                p.dirty = false;
+            }
+            return failures;
+        }
+    }
+
+    private List<Failure> flush(String collection, Pending p) {
+        if (p.size() == 0) {
+            return null;
+        }
+        List<Failure> failures = new ArrayList<>();
+        try {
+            SolrClient client = clients.client(collection);
+            if (p.operation == EOperation.Add) {
+                try {
+                    process(client, new UpdateRequest().add(p.documents));
+                } catch (Exception ex) {
+                    DefaultLogger.debug(String.format("Batch add failed, retrying per document. [collection=%s][size=%d][error=%s]",
+                            collection, p.documents.size(), ex.getLocalizedMessage()));
+                    for (int ii = 0; ii < p.documents.size(); ii++) {
+                        SolrInputDocument document = p.documents.get(ii);
+                        try {
+                            process(client, new UpdateRequest().add(document));
+                        } catch (Exception de) {
+                            failures.add(new Failure(collection,
+                                    String.valueOf(document.getFieldValue(SolrConstants.FIELD_SOLR_ID)),
+                                    p.entities.get(ii),
+                                    de));
+                        }
+                    }
+                }
+            } else {
+                try {
+                    process(client, new UpdateRequest().deleteById(p.deletes));
+                } catch (Exception ex) {
+                    for (String id : p.deletes) {
+                        try {
+                            process(client, new UpdateRequest().deleteById(id));
+                        } catch (Exception de) {
+                            failures.add(new Failure(collection, id, null, de));
+                        }
+                    }
+                }
+            }
+            p.dirty = true;
+        } catch (Exception ex) {
+            // Client not available: every buffered operation failed.
+            for (int ii = 0; ii < p.documents.size(); ii++) {
+                SolrInputDocument document = p.documents.get(ii);
+                failures.add(new Failure(collection,
+                        String.valueOf(document.getFieldValue(SolrConstants.FIELD_SOLR_ID)),
+                        p.entities.get(ii),
+                        ex));
+            }
+            for (String id : p.deletes) {
+                failures.add(new Failure(collection, id, null, ex));
+            }
+        } finally {
+            p.documents.clear();
+            p.entities.clear();
+            p.deletes.clear();
+        }
+        for (Failure failure : failures) {
+            DefaultLogger.error(String.format("Solr write failed. [collection=%s][id=%s][error=%s]",
+                    collection, failure.id, failure.error.getLocalizedMessage()));
+            for (FailureHandler handler : handlers) {
+                try {
+                    handler.failed(failure);
+                } catch (Exception ex) {
+                    DefaultLogger.stacktrace(ex);
+                }
+            }
+        }
+        return failures;
+    }
+
+    private void process(SolrClient client, UpdateRequest request) throws Exception {
+        request.setCommitWithin(commitWithin);
+        UpdateResponse response = request.process(client);
+        if (response.getStatus() != 0) {
+            throw new Exception(String.format("Update failed. [status=%d]", response.getStatus()));
+        }
+    }
+
+    private static List<Failure> merge(List<Failure> target, List<Failure> failures) {
+        if (failures == null || failures.isEmpty()) {
+            return target;
+        }
+        if (target == null) {
+            return failures;
+        }
+        target.addAll(failures);
+        return target;
+    }
+
+    /**
+     * Flush all the buffered operations and commit the written collections.
+     */
+    @Override
+    public void close() throws IOException {
+        executor.shutdown();
+        flushAll();
+        for (Map.Entry<String, Pending> entry : pending.entrySet()) {
+            Pending p = entry.getValue();
+            synchronized (p) {
+                if (p.dirty) {
+                    try {
+                        clients.client(entry.getKey()).commit();
+                        p.dirty = false;
+                    } catch (Exception ex) {
+                        DefaultLogger.error(String.format("Commit failed. [collection=%s]", entry.getKey()), ex);
+                    }
+                }
+            }
+        }
+        pending.clear();
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.zyient.core.persistence;
+
+import io.zyient.base.common.model.Context;
+import io.zyient.base.common.model.entity.IEntity;
+import io.zyient.base.core.model.LongKey;
+import io.zyient.core.persistence.annotations.EGeneratedType;
+import io.zyient.core.persistence.annotations.GeneratedId;
+import io.zyient.core.persistence.impl.rdbms.H2DataStore;
+import io.zyient.core.persistence.impl.rdbms.model.GroupRow;
+import jakarta.persistence.Id;
+import lombok.Getter;
+import lombok.Setter;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IDGeneratorTest {
+    private static H2DataStore store;
+
+    @Getter
+    @Setter
+    public static class SequencedEntity implements IEntity<LongKey> {
+        @Id
+        @GeneratedId(type = EGeneratedType.SEQUENCE, sequence = "test")
+        private Long id;
+
+        @Override
+        public int compare(LongKey key) {
+            return entityKey().compareTo(key);
+        }
+
+        @Override
+        public IEntity<LongKey> copyChanges(IEntity<LongKey> source, Context context) {
+            return this;
+        }
+
+        @Override
+        public IEntity<LongKey> clone(Context context) {
+            return this;
+        }
+
+        @Override
+        public LongKey entityKey() {
+            return new LongKey(id);
+        }
+
+        @Override
+        public void validate() {
+        }
+    }
+
+    @BeforeAll
+    public static void setup() throws Exception {
+        store = new H2DataStore("id-generator", 10, GroupRow.class);
+    }
+
+    @AfterAll
+    public static void stop() throws Exception {
+        store.close();
+    }
+
+    @Test
+    void fieldPlanCached() throws Exception {
+        Field field = SequencedEntity.class.getDeclaredField("id");
+        IDGenerator.IdPlan plan = IDGenerator.plan(SequencedEntity.class, field);
+        assertTrue(plan.sequenced());
+        assertEquals("test", plan.sequence());
+        assertSame(plan, IDGenerator.plan(SequencedEntity.class, field));
+        assertThrows(IllegalArgumentException.class,
+                () -> IDGenerator.plan(GroupRow.class, GroupRow.class.getDeclaredField("name")));
+
+        Set<Long> ids = new HashSet<>();
+        for (int ii = 0; ii < 10; ii++) {
+            SequencedEntity entity = new SequencedEntity();
+            IDGenerator.process(entity, field, store.dataStore());
+            assertNotNull(entity.getId());
+            assertTrue(ids.add(entity.getId()));
+        }
+    }
+
+    @Test
+    void batch() throws Exception {
+        List<SequencedEntity> entities = new ArrayList<>();
+        for (int ii = 0; ii < 25; ii++) {
+            entities.add(new SequencedEntity());
+        }
+        IDGenerator.process(entities, store.dataStore());
+        Set<Long> ids = new HashSet<>();
+        for (SequencedEntity entity : entities) {
+            assertNotNull(entity.getId());
+            assertTrue(ids.add(entity.getId()));
+        }
+    }
+}
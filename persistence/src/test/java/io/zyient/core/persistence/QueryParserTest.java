@@ -0,0 +1,55 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.zyient.core.persistence;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryParserTest {
+    @Test
+    void shapeCollapsesWhitespace() {
+        assertEquals("a = :a AND b = :b", QueryParser.shape(query("  a = :a\n\tAND   b = :b ")));
+        assertEquals(QueryParser.shape(query("a = :a AND b = :b")),
+                QueryParser.shape(query("a  =  :a  AND\nb = :b")));
+    }
+
+    @Test
+    void shapeKeepsQuotedSpans() {
+        assertEquals("name = 'a  b'", QueryParser.shape(query("name  =  'a  b'")));
+        assertEquals("\"first  name\" = :a", QueryParser.shape(query("\"first  name\"  = :a")));
+        // A quote of the other style inside a quoted span does not end it.
+        assertEquals("name = \"it's  a\" AND b = 'say \"x  y\"'",
+                QueryParser.shape(query("name = \"it's  a\"   AND b = 'say \"x  y\"'")));
+        assertNotEquals(QueryParser.shape(query("name = \"a b\"")),
+                QueryParser.shape(query("name = \"a  b\"")));
+    }
+
+    @Test
+    void shapeIncludesSort() {
+        AbstractDataStore.Q query = query("a = :a");
+        query.addSort("a", true);
+        assertEquals("a = :a # a+", QueryParser.shape(query));
+    }
+
+    private static AbstractDataStore.Q query(String where) {
+        AbstractDataStore.Q query = new AbstractDataStore.Q();
+        query.where(where);
+        return query;
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.core.persistence;
+
+import io.zyient.base.common.utils.JSONUtils;
+import org.apache.curator.framework.CuratorFramework;
+import org.apache.curator.framework.CuratorFrameworkFactory;
+import org.apache.curator.retry.RetryOneTime;
+import org.apache.curator.test.TestingServer;
+import org.apache.zookeeper.data.Stat;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SequenceAllocatorTest {
+    private static final String SEQUENCE_PATH = "/test/sequences/stress";
+    private static final int PROCESSES = 3;
+    private static final int THREADS = 4;
+    private static final int COUNT = 5000;
+
+    private static TestingServer server;
+
+    @TempDir
+    File dir;
+
+    @BeforeAll
+    public static void setup() throws Exception {
+        server = new TestingServer(true);
+    }
+
+    @AfterAll
+    public static void stop() throws Exception {
+        server.close();
+    }
+
+    @Test
+    void uniqueAcrossProcesses() throws Exception {
+        List<Process> processes = new ArrayList<>();
+        List<File> outputs = new ArrayList<>();
+        String java = String.format("%s/bin/java", System.getProperty("java.home"));
+        for (int ii = 0; ii < PROCESSES; ii++) {
+            File output = new File(dir, String.format("worker-%d.txt", ii));
+            outputs.add(output);
+            processes.add(new ProcessBuilder(java,
+                    "-cp", System.getProperty("java.class.path"),
+                    Worker.class.getName(),
+                    server.getConnectString(),
+                    SEQUENCE_PATH,
+                    String.valueOf(COUNT),
+                    output.getAbsolutePath())
+                    .inheritIO()
+                    .start());
+        }
+        Set<Long> values = new HashSet<>();
+        try (CuratorFramework client = client(server.getConnectString())) {
+            for (long value : allocate(client, SEQUENCE_PATH, COUNT)) {
+                assertTrue(values.add(value), String.format("Duplicate sequence. [value=%d]", value));
+            }
+        }
+        for (Process process : processes) {
+            assertTrue(process.waitFor(120, TimeUnit.SECONDS));
+            assertEquals(0, process.exitValue());
+        }
+        for (File output : outputs) {
+            List<String> lines = Files.readAllLines(output.toPath());
+            assertEquals(COUNT * THREADS, lines.size());
+            for (String line : lines) {
+                long value = Long.parseLong(line);
+                assertTrue(values.add(value), String.format("Duplicate sequence. [value=%d]", value));
+            }
+        }
+        assertEquals((PROCESSES + 1) * COUNT * THREADS, values.size());
+    }
+
+    @Test
+    void adaptsBlockSize() throws Exception {
+        try (CuratorFramework client = client(server.getConnectString())) {
+            SequenceAllocator allocator = new SequenceAllocator(client,
+                    "/test/sequences/adaptive",
+                    4,
+                    1024,
+                    25,
+                    60000);
+            long last = -1;
+            for (int ii = 0; ii < 20000; ii++) {
+                long value = allocator.next();
+                assertTrue(value > last);
+                last = value;
+            }
+            Stat stat = new Stat();
+            byte[] data = client.getData().storingStatIn(stat).forPath("/test/sequences/adaptive");
+            ZkSequence sequence = JSONUtils.read(data, ZkSequence.class);
+            assertNotNull(sequence);
+            assertTrue(sequence.getNext() >= 20000);
+            assertTrue(sequence.getNext() <= 20000 + 2 * 1024);
+            // Blocks grow towards the max. size, so far fewer than 20000 / 4 reservations are made.
+            assertTrue(stat.getVersion() < 100);
+        }
+    }
+
+    @Test
+    void reservesRanges() throws Exception {
+        try (CuratorFramework client = client(server.getConnectString())) {
+            SequenceAllocator allocator = new SequenceAllocator(client,
+                    "/test/sequences/ranges",
+                    64,
+                    64,
+                    25,
+                    0);
+            Set<Long> values = new HashSet<>();
+            for (int ii = 0; ii < 100; ii++) {
+                int remaining = 50;
+                while (remaining > 0) {
+                    SequenceAllocator.Range range = allocator.next(remaining);
+                    assertTrue(range.size() > 0 && range.size() <= remaining);
+                    for (long value = range.start(); value < range.start() + range.size(); value++) {
+                        assertTrue(values.add(value), String.format("Duplicate sequence. [value=%d]", value));
+                    }
+                    remaining -= (int) range.size();
+                }
+                assertTrue(values.add(allocator.next()));
+            }
+            assertEquals(100 * 51, values.size());
+        }
+    }
+
+    private static CuratorFramework client(String connectString) throws Exception {
+        CuratorFramework client = CuratorFrameworkFactory.newClient(connectString, new RetryOneTime(100));
+        client.start();
+        client.blockUntilConnected(15, TimeUnit.SECONDS);
+        return client;
+    }
+
+    private static List<Long> allocate(CuratorFramework client, String path, int count) throws Exception {
+        List<SequenceAllocator> allocators = new ArrayList<>();
+        for (int ii = 0; ii < 2; ii++) {
+            allocators.add(new SequenceAllocator(client, path, 4, 64, 25, 1000));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<List<Long>>> futures = new ArrayList<>();
+            for (int ii = 0; ii < THREADS; ii++) {
+                SequenceAllocator allocator = allocators.get(ii % allocators.size());
+                futures.add(executor.submit(() -> {
+                    List<Long> values = new ArrayList<>(count);
+                    for (int jj = 0; jj < count; jj++) {
+                        values.add(allocator.next());
+                    }
+                    return values;
+                }));
+            }
+            List<Long> values = new ArrayList<>();
+            for (Future<List<Long>> future : futures) {
+                values.addAll(future.get());
+            }
+            return values;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    public static class Worker {
+        public static void main(String[] args) throws Exception {
+            try (CuratorFramework client = client(args[0]);
+                 PrintWriter writer = new PrintWriter(args[3])) {
+                for (long value : allocate(client, args[1], Integer.parseInt(args[2]))) {
+                    writer.println(value);
+                }
+            }
+        }
+    }
+}
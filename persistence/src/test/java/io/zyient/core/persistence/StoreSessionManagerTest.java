@@ -0,0 +1,209 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.zyient.core.persistence;
+
+import lombok.NonNull;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StoreSessionManagerTest {
+    private static final long SESSION_TIMEOUT = 50;
+
+    private static class TestSession {
+        private boolean closed = false;
+    }
+
+    private static class TestTransaction {
+        private boolean active = true;
+        private int commits = 0;
+        private int rollbacks = 0;
+    }
+
+    private static class TestSessionManager extends StoreSessionManager<TestSession, TestTransaction> {
+        private final List<TestTransaction> transactions = new ArrayList<>();
+
+        private TestSessionManager() {
+            super(SESSION_TIMEOUT);
+        }
+
+        @Override
+        protected boolean isActive(@NonNull TestTransaction transaction) {
+            return transaction.active;
+        }
+
+        @Override
+        protected boolean isAvailable(@NonNull TestSession session) {
+            return !session.closed;
+        }
+
+        @Override
+        protected TestSession create() {
+            return new TestSession();
+        }
+
+        @Override
+        protected void close(@NonNull TestSession session) {
+            session.closed = true;
+        }
+
+        @Override
+        protected synchronized TestTransaction beingTransaction(@NonNull TestSession session) {
+            TestTransaction transaction = new TestTransaction();
+            transactions.add(transaction);
+            return transaction;
+        }
+
+        @Override
+        protected void commit(@NonNull TestSession session, @NonNull TestTransaction transaction) {
+            transaction.commits++;
+            transaction.active = false;
+        }
+
+        @Override
+        protected void rollback(@NonNull TestSession session, @NonNull TestTransaction transaction) {
+            transaction.rollbacks++;
+            transaction.active = false;
+        }
+    }
+
+    @Test
+    void nestedCommit() throws Exception {
+        TestSessionManager manager = new TestSessionManager();
+        manager.session();
+        manager.beingTransaction();
+        manager.beingTransaction();
+        assertEquals(2, manager.current().depth());
+        assertEquals(1, manager.transactions.size());
+
+        manager.commit();
+        assertTrue(manager.isInTransaction());
+        assertEquals(1, manager.current().depth());
+        assertEquals(0, manager.transactions.get(0).commits);
+
+        manager.commit();
+        assertFalse(manager.isInTransaction());
+        assertEquals(0, manager.current().depth());
+        assertEquals(1, manager.transactions.get(0).commits);
+        manager.close();
+    }
+
+    @Test
+    void nestedRollback() throws Exception {
+        TestSessionManager manager = new TestSessionManager();
+        manager.session();
+        manager.beingTransaction();
+        manager.beingTransaction();
+        manager.rollback();
+        assertTrue(manager.isInTransaction());
+        assertTrue(manager.current().rollbackOnly());
+
+        // The outer commit rolls back the transaction marked by the nested rollback.
+        assertThrows(DataStoreException.class, manager::commit);
+        TestTransaction transaction = manager.transactions.get(0);
+        assertEquals(0, transaction.commits);
+        assertEquals(1, transaction.rollbacks);
+        assertFalse(manager.isInTransaction());
+        assertFalse(manager.current().rollbackOnly());
+
+        // A new transaction starts clean.
+        manager.beingTransaction();
+        manager.commit();
+        assertEquals(1, manager.transactions.get(1).commits);
+        manager.close();
+    }
+
+    @Test
+    void reapsSessionsOfEndedThreads() throws Exception {
+        TestSessionManager manager = new TestSessionManager();
+        TestSession idle = open(manager, false);
+        TestSession inTransaction = open(manager, true);
+        TestSession live = manager.session();
+        assertEquals(3, manager.openCount());
+        Thread.sleep(SESSION_TIMEOUT * 2);
+
+        assertEquals(1, manager.checkLeaks(true));
+        assertTrue(idle.closed);
+        // Sessions in a transaction are only reported.
+        assertFalse(inTransaction.closed);
+        // The owner thread is alive: the session can still be in use (e.g. by a cursor).
+        assertFalse(live.closed);
+        assertEquals(2, manager.openCount());
+
+        // The expired session is replaced on the next use of its thread.
+        TestSession next = manager.session();
+        assertNotSame(live, next);
+        assertTrue(live.closed);
+        manager.close();
+        assertTrue(next.closed);
+        assertEquals(1, manager.openCount());
+    }
+
+    @Test
+    void bind() throws Exception {
+        TestSessionManager manager = new TestSessionManager();
+        TestSession session = manager.session();
+        manager.beingTransaction();
+        StoreSessionManager.StoreSession<TestSession, TestTransaction> current = manager.current();
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        Thread thread = new Thread(() -> {
+            try {
+                assertNull(manager.current());
+                try (StoreSessionManager.Scope scope = manager.bind(current)) {
+                    assertSame(session, manager.session());
+                    assertTrue(manager.isInTransaction());
+                    manager.beingTransaction();
+                    manager.commit();
+                }
+                assertNull(manager.current());
+            } catch (Throwable t) {
+                error.set(t);
+            }
+        });
+        thread.start();
+        thread.join();
+        assertNull(error.get());
+        assertTrue(manager.isInTransaction());
+        manager.commit();
+        assertEquals(1, manager.transactions.get(0).commits);
+        manager.close();
+        assertThrows(DataStoreException.class, () -> manager.bind(current));
+    }
+
+    private static TestSession open(TestSessionManager manager, boolean transaction) throws Exception {
+        AtomicReference<TestSession> session = new AtomicReference<>();
+        Thread thread = new Thread(() -> {
+            try {
+                session.set(manager.session());
+                if (transaction) {
+                    manager.beingTransaction();
+                }
+            } catch (DataStoreException ex) {
+                throw new RuntimeException(ex);
+            }
+        });
+        thread.start();
+        thread.join();
+        assertNotNull(session.get());
+        return session.get();
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.zyient.core.persistence.cache;
+
+import io.zyient.core.persistence.AbstractDataStore;
+import io.zyient.core.persistence.DataStoreMetrics;
+import io.zyient.core.persistence.impl.rdbms.H2DataStore;
+import io.zyient.core.persistence.impl.rdbms.RdbmsDataStore;
+import io.zyient.core.persistence.impl.rdbms.model.CachedRow;
+import io.zyient.core.persistence.impl.rdbms.model.GroupKey;
+import io.zyient.core.persistence.impl.rdbms.model.GroupRow;
+import io.zyient.core.persistence.impl.settings.rdbms.RdbmsStoreSettings;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EntityCacheTest {
+    private static final int ROWS = 20;
+
+    private static H2DataStore store;
+
+    @BeforeAll
+    public static void setup() throws Exception {
+        RdbmsStoreSettings settings = H2DataStore.settings("entity-cache", 10);
+        settings.setCacheEnabled(true);
+        store = new H2DataStore(settings, CachedRow.class, GroupRow.class);
+        List<CachedRow> cached = new ArrayList<>(ROWS);
+        List<GroupRow> rows = new ArrayList<>(ROWS);
+        for (int ii = 0; ii < ROWS; ii++) {
+            cached.add(new CachedRow(0, ii));
+            rows.add(new GroupRow(0, ii));
+        }
+        store.dataStore().createAll(cached, CachedRow.class, null);
+        store.dataStore().createAll(rows, GroupRow.class, null);
+    }
+
+    @AfterAll
+    public static void stop() throws Exception {
+        store.close();
+    }
+
+    @Test
+    void readThrough() throws Exception {
+        RdbmsDataStore dataStore = store.dataStore();
+        DataStoreMetrics metrics = dataStore.metrics();
+        double hits = metrics.cacheHitCounter().count();
+        double misses = metrics.cacheMissCounter().count();
+
+        CachedRow first = dataStore.find(new GroupKey(0, 1), CachedRow.class, null);
+        assertNotNull(first);
+        assertEquals(misses + 1, metrics.cacheMissCounter().count());
+        CachedRow second = dataStore.find(new GroupKey(0, 1), CachedRow.class, null);
+        assertNotNull(second);
+        assertEquals(hits + 1, metrics.cacheHitCounter().count());
+        // Every hit is a new instance: changes to it are not visible to the other readers.
+        assertNotSame(first, second);
+        assertEquals(first.getName(), second.getName());
+        second.setName("changed");
+        CachedRow third = dataStore.find(new GroupKey(0, 1), CachedRow.class, null);
+        assertEquals(first.getName(), third.getName());
+        assertEquals(hits + 2, metrics.cacheHitCounter().count());
+    }
+
+    @Test
+    void notCached() throws Exception {
+        RdbmsDataStore dataStore = store.dataStore();
+        DataStoreMetrics metrics = dataStore.metrics();
+        double hits = metrics.cacheHitCounter().count();
+        double misses = metrics.cacheMissCounter().count();
+        for (int ii = 0; ii < 2; ii++) {
+            assertNotNull(dataStore.find(new GroupKey(0, 2), GroupRow.class, null));
+        }
+        assertEquals(hits, metrics.cacheHitCounter().count());
+        assertEquals(misses, metrics.cacheMissCounter().count());
+    }
+
+    @Test
+    void refresh() throws Exception {
+        RdbmsDataStore dataStore = store.dataStore();
+        DataStoreMetrics metrics = dataStore.metrics();
+        assertNotNull(dataStore.find(new GroupKey(0, 3), CachedRow.class, null));
+        double hits = metrics.cacheHitCounter().count();
+        assertNotNull(dataStore.find(new GroupKey(0, 3), CachedRow.class, AbstractDataStore.withRefresh(null)));
+        assertEquals(hits, metrics.cacheHitCounter().count());
+    }
+
+    @Test
+    void invalidatedOnCommit() throws Exception {
+        RdbmsDataStore dataStore = store.dataStore();
+        GroupKey key = new GroupKey(0, 4);
+        CachedRow row = dataStore.find(key, CachedRow.class, null);
+        assertNotNull(row);
+        assertEquals(4, row.getAmount());
+
+        dataStore.beingTransaction();
+        try {
+            CachedRow current = dataStore.find(key, CachedRow.class, null);
+            current.setAmount(400);
+            dataStore.update(current, CachedRow.class, null);
+            // Reads in the transaction bypass the cache.
+            assertEquals(400, dataStore.find(key, CachedRow.class, null).getAmount());
+            dataStore.commit();
+        } catch (Throwable t) {
+            dataStore.rollback(false);
+            throw t;
+        }
+        double misses = dataStore.metrics().cacheMissCounter().count();
+        assertEquals(400, dataStore.find(key, CachedRow.class, null).getAmount());
+        assertEquals(misses + 1, dataStore.metrics().cacheMissCounter().count());
+    }
+
+    @Test
+    void invalidatedOnDelete() throws Exception {
+        RdbmsDataStore dataStore = store.dataStore();
+        GroupKey key = new GroupKey(0, 5);
+        assertNotNull(dataStore.find(key, CachedRow.class, null));
+        assertNotNull(dataStore.find(key, CachedRow.class, null));
+
+        dataStore.beingTransaction();
+        try {
+            assertTrue(dataStore.delete(key, CachedRow.class, null));
+            dataStore.commit();
+        } catch (Throwable t) {
+            dataStore.rollback(false);
+            throw t;
+        }
+        assertNull(dataStore.find(key, CachedRow.class, null));
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.zyient.core.persistence.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.zyient.base.core.BaseEnv;
+import io.zyient.core.persistence.DataStoreMetrics;
+import io.zyient.core.persistence.env.DemoDataStoreEnv;
+import io.zyient.core.persistence.impl.rdbms.model.CachedRow;
+import io.zyient.core.persistence.impl.rdbms.model.GroupKey;
+import io.zyient.core.persistence.impl.settings.rdbms.RdbmsStoreSettings;
+import org.apache.curator.framework.CuratorFramework;
+import org.apache.curator.framework.CuratorFrameworkFactory;
+import org.apache.curator.retry.RetryOneTime;
+import org.apache.curator.test.TestingServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.Callable;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ZkEntityCacheChannelTest {
+    private static final long TIMEOUT = 10000;
+
+    private static TestingServer server;
+    private static CuratorFramework client;
+
+    @BeforeAll
+    public static void setup() throws Exception {
+        if (BaseEnv.registry() == null) {
+            BaseEnv.registry(new SimpleMeterRegistry());
+        }
+        server = new TestingServer(true);
+        client = CuratorFrameworkFactory.newClient(server.getConnectString(), new RetryOneTime(100));
+        client.start();
+        client.blockUntilConnected();
+    }
+
+    @AfterAll
+    public static void stop() throws Exception {
+        client.close();
+        server.close();
+    }
+
+    @Test
+    void remoteInvalidation() throws Exception {
+        try (EntityCache first = cache("remote", "first");
+             EntityCache second = cache("remote", "second")) {
+            GroupKey key = new GroupKey(1, 1);
+            first.put(key, new CachedRow(1, 1), CachedRow.class);
+            second.put(key, new CachedRow(1, 1), CachedRow.class);
+
+            first.invalidate(CachedRow.class, key);
+            assertNull(first.get(key, CachedRow.class));
+            await(() -> second.get(key, CachedRow.class) == null);
+        }
+    }
+
+    @Test
+    void ownInvalidationApplied() throws Exception {
+        try (EntityCache first = cache("own", "first");
+             EntityCache second = cache("own", "second")) {
+            GroupKey key = new GroupKey(2, 1);
+            GroupKey other = new GroupKey(2, 2);
+            // The notification of the own write can coalesce with another instance's update:
+            // the own payload clears the type as well.
+            first.put(other, new CachedRow(2, 2), CachedRow.class);
+            second.invalidate(CachedRow.class, key);
+            await(() -> first.get(other, CachedRow.class) == null);
+
+            second.put(other, new CachedRow(2, 2), CachedRow.class);
+            second.invalidate(CachedRow.class, key);
+            await(() -> second.get(other, CachedRow.class) == null);
+        }
+    }
+
+    private EntityCache cache(String path, String name) throws Exception {
+        RdbmsStoreSettings settings = new RdbmsStoreSettings();
+        settings.setName(name);
+        DataStoreMetrics metrics = new DataStoreMetrics("test", name, LocalEntityCache.class.getSimpleName(),
+                new DemoDataStoreEnv(), LocalEntityCache.class);
+        return new LocalEntityCache()
+                .configure(settings, metrics)
+                .withChannel(new ZkEntityCacheChannel(client, String.format("/test/cache/%s", path)));
+    }
+
+    private void await(Callable<Boolean> condition) throws Exception {
+        long start = System.currentTimeMillis();
+        while (!condition.call()) {
+            if (System.currentTimeMillis() - start > TIMEOUT) {
+                fail(String.format("Invalidation not received in %d ms.", TIMEOUT));
+            }
+            Thread.sleep(50);
+        }
+    }
+}
@@ -0,0 +1,284 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.zyient.core.persistence.impl.mongo;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.MongoNamespace;
+import com.mongodb.MongoSocketReadException;
+import com.mongodb.ServerAddress;
+import com.mongodb.WriteConcern;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.bulk.BulkWriteUpsert;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.InsertOneModel;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.WriteModel;
+import com.mongodb.client.result.UpdateResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.zyient.base.common.model.Context;
+import io.zyient.base.common.model.entity.IEntity;
+import io.zyient.base.core.BaseEnv;
+import io.zyient.base.core.model.StringKey;
+import io.zyient.core.persistence.BatchResult;
+import io.zyient.core.persistence.DataStoreMetrics;
+import io.zyient.core.persistence.env.DemoDataStoreEnv;
+import lombok.NonNull;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MongoBulkWriterTest {
+    private static final int BATCH_SIZE = 10;
+
+    private static DataStoreMetrics metrics;
+
+    /**
+     * In-memory collection serving bulkWrite / replaceOne with the server semantics used by the
+     * writer: unordered writes, duplicate key errors and matched / upserted counts.
+     */
+    private static class MemoryCollection implements InvocationHandler {
+        private final Map<String, Document> documents = new LinkedHashMap<>();
+        private int requests = 0;
+        // Requests applied and then failed with a network error.
+        private int dropped = 0;
+
+        @SuppressWarnings("unchecked")
+        private MongoCollection<Document> collection() {
+            return (MongoCollection<Document>) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class[]{MongoCollection.class},
+                    this);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Object invoke(Object proxy, Method method, Object[] args) {
+            switch (method.getName()) {
+                case "withWriteConcern":
+                    return proxy;
+                case "getNamespace":
+                    return new MongoNamespace("test", "documents");
+                case "bulkWrite":
+                    return bulkWrite((List<WriteModel<Document>>) args[0]);
+                case "replaceOne":
+                    return replaceOne((Bson) args[0], (Document) args[1], (ReplaceOptions) args[2]);
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                case "toString":
+                    return "MemoryCollection";
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        }
+
+        private BulkWriteResult bulkWrite(List<WriteModel<Document>> models) {
+            requests++;
+            int inserted = 0;
+            int matched = 0;
+            List<BulkWriteUpsert> upserts = new ArrayList<>();
+            List<BulkWriteError> errors = new ArrayList<>();
+            for (int ii = 0; ii < models.size(); ii++) {
+                WriteModel<Document> model = models.get(ii);
+                if (model instanceof InsertOneModel<Document> insert) {
+                    String id = insert.getDocument().getString("_id");
+                    if (documents.containsKey(id)) {
+                        errors.add(new BulkWriteError(11000, "E11000 duplicate key error", new BsonDocument(), ii));
+                    } else {
+                        documents.put(id, insert.getDocument());
+                        inserted++;
+                    }
+                } else {
+                    ReplaceOneModel<Document> replace = (ReplaceOneModel<Document>) model;
+                    String id = id(replace.getFilter());
+                    if (documents.containsKey(id)) {
+                        documents.put(id, replace.getReplacement());
+                        matched++;
+                    } else if (replace.getReplaceOptions().isUpsert()) {
+                        documents.put(id, replace.getReplacement());
+                        upserts.add(new BulkWriteUpsert(ii, new BsonString(id)));
+                    }
+                }
+            }
+            BulkWriteResult result = BulkWriteResult.acknowledged(inserted, matched, 0, matched, upserts, List.of());
+            if (!errors.isEmpty()) {
+                throw new MongoBulkWriteException(result, errors, null, new ServerAddress());
+            }
+            if (dropped > 0) {
+                dropped--;
+                throw new MongoSocketReadException("Connection reset.", new ServerAddress());
+            }
+            return result;
+        }
+
+        private UpdateResult replaceOne(Bson filter, Document document, ReplaceOptions options) {
+            String id = id(filter);
+            if (documents.containsKey(id)) {
+                documents.put(id, document);
+                return UpdateResult.acknowledged(1, 1L, null);
+            }
+            return UpdateResult.acknowledged(0, 0L, null);
+        }
+
+        private static String id(Bson filter) {
+            return filter.toBsonDocument().getString("_id").getValue();
+        }
+    }
+
+    private static class Row implements IEntity<StringKey> {
+        private final StringKey key;
+
+        private Row(int index) {
+            key = new StringKey(String.format("row-%03d", index));
+        }
+
+        @Override
+        public int compare(StringKey key) {
+            return this.key.compareTo(key);
+        }
+
+        @Override
+        public IEntity<StringKey> copyChanges(IEntity<StringKey> source, Context context) {
+            return this;
+        }
+
+        @Override
+        public IEntity<StringKey> clone(Context context) {
+            return this;
+        }
+
+        @Override
+        public StringKey entityKey() {
+            return key;
+        }
+
+        @Override
+        public void validate() {
+        }
+    }
+
+    @BeforeAll
+    public static void setup() throws Exception {
+        if (BaseEnv.registry() == null) {
+            BaseEnv.registry(new SimpleMeterRegistry());
+        }
+        metrics = new DataStoreMetrics("test", "bulk", MongoBulkWriter.class.getSimpleName(),
+                new DemoDataStoreEnv(), MongoBulkWriter.class);
+    }
+
+    @Test
+    void inserts() {
+        MemoryCollection memory = new MemoryCollection();
+        BatchResult<Row> result = writer(2).write(memory.collection(), rows(0, 25), MongoBulkWriterTest::insert);
+        assertEquals(25, result.entities().size());
+        assertFalse(result.hasErrors());
+        assertEquals(25, memory.documents.size());
+        assertEquals(3, memory.requests);
+    }
+
+    @Test
+    void duplicateNotRetried() {
+        MemoryCollection memory = new MemoryCollection();
+        memory.documents.put(new Row(3).entityKey().stringKey(), new Document());
+        BatchResult<Row> result = writer(2).write(memory.collection(), rows(0, 10), MongoBulkWriterTest::insert);
+        assertEquals(9, result.entities().size());
+        assertEquals(1, result.failures().size());
+        assertEquals(3, result.failures().get(0).index());
+        assertEquals(1, memory.requests);
+    }
+
+    @Test
+    void replayedInserts() {
+        MemoryCollection memory = new MemoryCollection();
+        // The first request is applied but its response is lost: the replay finds every document written.
+        memory.dropped = 1;
+        BatchResult<Row> result = writer(2).write(memory.collection(), rows(0, 10), MongoBulkWriterTest::insert);
+        assertEquals(10, result.entities().size());
+        assertFalse(result.hasErrors());
+        assertEquals(10, memory.documents.size());
+        assertEquals(2, memory.requests);
+    }
+
+    @Test
+    void replaceMisses() {
+        MemoryCollection memory = new MemoryCollection();
+        writer(0).write(memory.collection(), rows(0, 5), MongoBulkWriterTest::insert);
+        BatchResult<Row> result = writer(2).write(memory.collection(), rows(0, 10),
+                row -> replace(row, false));
+        assertEquals(5, result.entities().size());
+        assertEquals(5, result.failures().size());
+        for (BatchResult.Failure<Row> failure : result.failures()) {
+            assertTrue(failure.index() >= 5);
+        }
+        assertEquals(5, memory.documents.size());
+    }
+
+    @Test
+    void upserts() {
+        MemoryCollection memory = new MemoryCollection();
+        writer(0).write(memory.collection(), rows(0, 5), MongoBulkWriterTest::insert);
+        BatchResult<Row> result = writer(2).write(memory.collection(), rows(0, 10),
+                row -> replace(row, true));
+        assertEquals(10, result.entities().size());
+        assertFalse(result.hasErrors());
+        assertEquals(10, memory.documents.size());
+    }
+
+    private static MongoBulkWriter writer(int retries) {
+        return new MongoBulkWriter(BATCH_SIZE, WriteConcern.ACKNOWLEDGED, retries, metrics);
+    }
+
+    private static Iterator<Row> rows(int from, int to) {
+        List<Row> rows = new ArrayList<>();
+        for (int ii = from; ii < to; ii++) {
+            rows.add(new Row(ii));
+        }
+        return rows.iterator();
+    }
+
+    private static WriteModel<Document> insert(@NonNull Row row) {
+        return new InsertOneModel<>(document(row));
+    }
+
+    private static WriteModel<Document> replace(@NonNull Row row, boolean upsert) {
+        return new ReplaceOneModel<>(Filters.eq("_id", row.entityKey().stringKey()),
+                document(row),
+                new ReplaceOptions().upsert(upsert));
+    }
+
+    private static Document document(Row row) {
+        return new Document("_id", row.entityKey().stringKey());
+    }
+}
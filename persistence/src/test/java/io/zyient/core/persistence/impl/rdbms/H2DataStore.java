@@ -0,0 +1,127 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.zyient.core.persistence.impl.rdbms;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.zyient.base.core.BaseEnv;
+import io.zyient.base.core.connections.Connection;
+import io.zyient.core.persistence.AbstractConnection;
+import io.zyient.core.persistence.AbstractDataStore;
+import io.zyient.core.persistence.DataStoreManager;
+import io.zyient.core.persistence.SequenceAllocator;
+import io.zyient.core.persistence.env.DemoDataStoreEnv;
+import io.zyient.core.persistence.impl.settings.rdbms.RdbmsStoreSettings;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.experimental.Accessors;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.cfg.Environment;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link RdbmsDataStore} on an in-memory H2 database, for tests that don't need a database server.
+ * Sequences are served from a local counter.
+ */
+@Getter
+@Accessors(fluent = true)
+public class H2DataStore implements Closeable {
+    private final HibernateConnection connection;
+    private final RdbmsDataStore dataStore;
+
+    public H2DataStore(@NonNull String name,
+                       int batchSize,
+                       @NonNull Class<?>... entities) throws Exception {
+        this(settings(name, batchSize), entities);
+    }
+
+    public H2DataStore(@NonNull RdbmsStoreSettings settings,
+                       @NonNull Class<?>... entities) throws Exception {
+        String name = settings.getName();
+        if (BaseEnv.registry() == null) {
+            BaseEnv.registry(new SimpleMeterRegistry());
+        }
+        Properties properties = new Properties();
+        properties.setProperty(Environment.DRIVER, "org.h2.Driver");
+        properties.setProperty(Environment.URL, String.format("jdbc:h2:mem:%s;DB_CLOSE_DELAY=-1", name));
+        properties.setProperty(Environment.USER, "sa");
+        properties.setProperty(Environment.PASS, "");
+        properties.setProperty(Environment.HBM2DDL_AUTO, "create-drop");
+        Configuration configuration = new Configuration().addProperties(properties);
+        for (Class<?> entity : entities) {
+            configuration.addAnnotatedClass(entity);
+        }
+        SessionFactory sessionFactory = configuration.buildSessionFactory();
+        connection = new HibernateConnection().withSessionFactory(sessionFactory);
+        connection.state().setState(Connection.EConnectionState.Initialized);
+        connection.connect();
+
+        dataStore = new RdbmsDataStore();
+        dataStore.configure(new H2DataStoreManager(connection), settings, new DemoDataStoreEnv());
+    }
+
+    public static RdbmsStoreSettings settings(@NonNull String name, int batchSize) {
+        RdbmsStoreSettings settings = new RdbmsStoreSettings();
+        settings.setName(name);
+        settings.setConnectionName(name);
+        settings.setConnectionType(HibernateConnection.class);
+        settings.setBatchSize(batchSize);
+        return settings;
+    }
+
+    @Override
+    public void close() throws IOException {
+        dataStore.close();
+        connection.close();
+    }
+
+    private static class H2DataStoreManager extends DataStoreManager {
+        private final HibernateConnection connection;
+        private final AtomicLong sequence = new AtomicLong();
+
+        private H2DataStoreManager(HibernateConnection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T extends AbstractConnection<?>> T getConnection(@NonNull String name,
+                                                                 Class<? extends T> type) {
+            return (T) connection;
+        }
+
+        @Override
+        public long nextSequence(String name, String sequenceName) {
+            return sequence.incrementAndGet();
+        }
+
+        @Override
+        public SequenceAllocator.Range nextSequences(String name, String sequenceName, int count) {
+            return new SequenceAllocator.Range(sequence.getAndAdd(count) + 1, count);
+        }
+
+        @Override
+        @SuppressWarnings("rawtypes")
+        public void close(@NonNull AbstractDataStore dataStore) {
+        }
+    }
+}
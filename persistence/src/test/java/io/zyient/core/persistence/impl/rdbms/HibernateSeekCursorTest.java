@@ -0,0 +1,133 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.zyient.core.persistence.impl.rdbms;
+
+import io.zyient.core.persistence.AbstractDataStore;
+import io.zyient.core.persistence.Cursor;
+import io.zyient.core.persistence.impl.rdbms.model.GroupKey;
+import io.zyient.core.persistence.impl.rdbms.model.GroupRow;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HibernateSeekCursorTest {
+    private static final int GROUPS = 10;
+    private static final int GROUP_SIZE = 100;
+
+    private static H2DataStore store;
+
+    @BeforeAll
+    public static void setup() throws Exception {
+        store = new H2DataStore("seek-cursor", 100, GroupRow.class);
+        List<GroupRow> rows = new ArrayList<>(GROUPS * GROUP_SIZE);
+        for (int ii = 0; ii < GROUPS; ii++) {
+            for (int jj = 0; jj < GROUP_SIZE; jj++) {
+                rows.add(new GroupRow(ii, jj));
+            }
+        }
+        Collections.shuffle(rows, new Random(7));
+        try (StatelessSession session = store.connection().openStatelessSession()) {
+            Transaction tx = session.beginTransaction();
+            for (GroupRow row : rows) {
+                session.insert(row);
+            }
+            tx.commit();
+        }
+    }
+
+    @AfterAll
+    public static void stop() throws Exception {
+        store.close();
+    }
+
+    @Test
+    void pagesAcrossTies() throws Exception {
+        // Page sizes that end pages in the middle of a group (ties on the leading key column).
+        for (int pageSize : new int[]{7, 30, 99, 100, 101}) {
+            List<GroupKey> keys = readAll(0, pageSize);
+            assertEquals(GROUPS * GROUP_SIZE, keys.size(), String.format("[page size=%d]", pageSize));
+            for (int ii = 0; ii < keys.size(); ii++) {
+                assertEquals(new GroupKey(ii / GROUP_SIZE, ii % GROUP_SIZE), keys.get(ii),
+                        String.format("[page size=%d][index=%d]", pageSize, ii));
+            }
+        }
+    }
+
+    @Test
+    void startAtPage() throws Exception {
+        int pageSize = 30;
+        int page = 5;
+        List<GroupKey> keys = readAll(page, pageSize);
+        int start = page * pageSize;
+        assertEquals(GROUPS * GROUP_SIZE - start, keys.size());
+        for (int ii = 0; ii < keys.size(); ii++) {
+            int index = start + ii;
+            assertEquals(new GroupKey(index / GROUP_SIZE, index % GROUP_SIZE), keys.get(ii));
+        }
+    }
+
+    @Test
+    void filteredTies() throws Exception {
+        // Rows with seq < 10 are filtered out, the cursor must still seek within each group.
+        AbstractDataStore.Q query = new AbstractDataStore.Q()
+                .where("amount >= :amount")
+                .add("amount", 10L);
+        List<GroupKey> keys = new ArrayList<>();
+        try (Cursor<GroupKey, GroupRow> cursor = store.dataStore()
+                .search(query, 0, 13, GroupKey.class, GroupRow.class, null)) {
+            assertInstanceOf(HibernateSeekCursor.class, cursor);
+            List<GroupRow> page;
+            while ((page = cursor.nextPage()) != null) {
+                for (GroupRow row : page) {
+                    keys.add(row.getId());
+                }
+            }
+        }
+        assertEquals(GROUPS * (GROUP_SIZE - 10), keys.size());
+        for (int ii = 1; ii < keys.size(); ii++) {
+            assertTrue(keys.get(ii - 1).compareTo(keys.get(ii)) < 0);
+        }
+    }
+
+    private List<GroupKey> readAll(int page, int pageSize) throws Exception {
+        AbstractDataStore.Q query = new AbstractDataStore.Q()
+                .where("amount >= :amount")
+                .add("amount", 0L);
+        List<GroupKey> keys = new ArrayList<>();
+        try (Cursor<GroupKey, GroupRow> cursor = store.dataStore()
+                .search(query, page, pageSize, GroupKey.class, GroupRow.class, null)) {
+            assertInstanceOf(HibernateSeekCursor.class, cursor);
+            List<GroupRow> rows;
+            while ((rows = cursor.nextPage()) != null) {
+                for (GroupRow row : rows) {
+                    keys.add(row.getId());
+                }
+            }
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.zyient.core.persistence.impl.rdbms;
+
+import io.zyient.base.core.model.LongKey;
+import io.zyient.core.persistence.AbstractDataStore;
+import io.zyient.core.persistence.Cursor;
+import io.zyient.core.persistence.PartitionedScan;
+import io.zyient.core.persistence.ScanPartition;
+import io.zyient.core.persistence.impl.rdbms.model.ScanRow;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PartitionedScanTest {
+    private static final int ROWS = 2000;
+    private static final long MAX_ID = 100000;
+    private static final int PAGE_SIZE = 64;
+
+    private static H2DataStore store;
+    private static final Set<Long> ids = new HashSet<>();
+
+    @BeforeAll
+    public static void setup() throws Exception {
+        store = new H2DataStore("partitioned-scan", 100, ScanRow.class);
+        // Sparse, skewed keys: ranges of equal width hold very different row counts.
+        Random random = new Random(11);
+        for (long id = 1; id <= ROWS / 2; id++) {
+            ids.add(id);
+        }
+        while (ids.size() < ROWS) {
+            ids.add(ROWS + (long) (random.nextDouble() * MAX_ID));
+        }
+        try (StatelessSession session = store.connection().openStatelessSession()) {
+            Transaction tx = session.beginTransaction();
+            for (long id : ids) {
+                session.insert(new ScanRow(id));
+            }
+            tx.commit();
+        }
+    }
+
+    @AfterAll
+    public static void stop() throws Exception {
+        store.close();
+    }
+
+    @Test
+    void partitionsCoverKeys() throws Exception {
+        for (int count : new int[]{1, 3, 4, 7}) {
+            List<ScanPartition> partitions = partitions(query(), count);
+            assertEquals(count, partitions.size());
+            // Adjacent ranges: no gaps between partitions, the outer bounds are open.
+            if (count > 1) {
+                assertNull(partitions.get(0).lower());
+                assertNull(partitions.get(count - 1).upper());
+                for (int ii = 1; ii < count; ii++) {
+                    assertEquals(partitions.get(ii - 1).upper(), partitions.get(ii).lower());
+                    if (ii < count - 1) {
+                        assertTrue(((Number) partitions.get(ii).lower()).longValue()
+                                < ((Number) partitions.get(ii).upper()).longValue());
+                    }
+                }
+            }
+            Set<Long> read = new HashSet<>();
+            for (ScanPartition partition : partitions) {
+                try (Cursor<LongKey, ScanRow> cursor = store.dataStore()
+                        .scan(query(), partition, PAGE_SIZE, LongKey.class, ScanRow.class, null)) {
+                    List<ScanRow> page;
+                    while ((page = cursor.nextPage()) != null) {
+                        for (ScanRow row : page) {
+                            assertTrue(inRange(partition, row.getId().getKey()),
+                                    String.format("Row outside partition. [id=%d]%s", row.getId().getKey(), partition));
+                            assertTrue(read.add(row.getId().getKey()), String.format("Row read twice. [id=%d]", row.getId().getKey()));
+                        }
+                    }
+                }
+            }
+            assertEquals(ids, read, String.format("[partitions=%d]", count));
+        }
+    }
+
+    @Test
+    void filteredQuery() throws Exception {
+        AbstractDataStore.Q query = new AbstractDataStore.Q()
+                .where("amount >= :amount")
+                .add("amount", 5L);
+        Set<Long> expected = new HashSet<>();
+        for (long id : ids) {
+            if (id % 10 >= 5) {
+                expected.add(id);
+            }
+        }
+        try (PartitionedScan<LongKey, ScanRow> scan = scan(query, partitions(query, 4))) {
+            assertEquals(expected, readAll(scan, Integer.MAX_VALUE));
+        }
+    }
+
+    @Test
+    void resumeFromCheckpoints() throws Exception {
+        List<ScanPartition> partitions = partitions(query(), 4);
+        Set<Long> read;
+        try (PartitionedScan<LongKey, ScanRow> scan = scan(query(), partitions)) {
+            read = readAll(scan, 5);
+        }
+        assertFalse(read.isEmpty());
+        // Pages consumed before the close are not read again, pages read ahead (not consumed) are.
+        try (PartitionedScan<LongKey, ScanRow> scan = scan(query(), partitions)) {
+            for (long id : readAll(scan, Integer.MAX_VALUE)) {
+                assertTrue(read.add(id), String.format("Row read twice. [id=%d]", id));
+            }
+        }
+        assertEquals(ids, read);
+        for (ScanPartition partition : partitions) {
+            assertTrue(partition.finished());
+        }
+    }
+
+    @Test
+    void morePartitionsThanKeys() throws Exception {
+        AbstractDataStore.Q query = new AbstractDataStore.Q()
+                .where("id.key <= :id")
+                .add("id", 3L);
+        long keys = ids.stream().filter(id -> id <= 3).count();
+        List<ScanPartition> partitions = partitions(query, 16);
+        assertTrue(partitions.size() <= 3);
+        try (PartitionedScan<LongKey, ScanRow> scan = scan(query, partitions)) {
+            assertEquals(keys, readAll(scan, Integer.MAX_VALUE).size());
+        }
+    }
+
+    private static AbstractDataStore.Q query() {
+        return new AbstractDataStore.Q()
+                .where("amount >= :amount")
+                .add("amount", 0L);
+    }
+
+    private static List<ScanPartition> partitions(AbstractDataStore.Q query, int count) throws Exception {
+        return store.dataStore().partitions(query, count, LongKey.class, ScanRow.class, null);
+    }
+
+    private static PartitionedScan<LongKey, ScanRow> scan(AbstractDataStore.Q query,
+                                                         List<ScanPartition> partitions) throws Exception {
+        return new PartitionedScan<LongKey, ScanRow>(store.dataStore(),
+                query,
+                partitions,
+                PAGE_SIZE,
+                0,
+                LongKey.class,
+                ScanRow.class).start(null);
+    }
+
+    private static Set<Long> readAll(PartitionedScan<LongKey, ScanRow> scan, int pages) throws Exception {
+        Set<Long> read = new HashSet<>();
+        List<ScanRow> page;
+        while (pages-- > 0 && (page = scan.next()) != null) {
+            for (ScanRow row : page) {
+                assertTrue(read.add(row.getId().getKey()), String.format("Row read twice. [id=%d]", row.getId().getKey()));
+            }
+        }
+        return read;
+    }
+
+    private static boolean inRange(ScanPartition partition, long id) {
+        if (partition.lower() != null && id < ((Number) partition.lower()).longValue()) {
+            return false;
+        }
+        return partition.upper() == null || id < ((Number) partition.upper()).longValue();
+    }
+}
@@ -22,6 +22,7 @@ import io.zyient.base.common.model.services.EConfigFileType;
 import io.zyient.base.common.utils.DefaultLogger;
 import io.zyient.base.core.model.IntegerKey;
 import io.zyient.core.persistence.AbstractDataStore;
+import io.zyient.core.persistence.BatchResult;
 import io.zyient.core.persistence.Cursor;
 import io.zyient.core.persistence.DataStoreManager;
 import io.zyient.core.persistence.env.DemoDataStoreEnv;
@@ -82,6 +83,30 @@ class RdbmsDataStoreTest {
         }
     }
 
+    @Test
+    void createEntities() {
+        try {
+            DataStoreManager manager = env.getDataStoreManager();
+            assertNotNull(manager);
+            RdbmsDataStore dataStore = manager.getDataStore(__DATASTORE, RdbmsDataStore.class);
+            assertNotNull(dataStore);
+            List<CustomersEntity> customers = createCustomers(25, dataStore);
+            // Duplicate key: should be reported without failing the rest of the batch.
+            customers.add(customers.get(3));
+            BatchResult<CustomersEntity> result = dataStore.createAll(customers, CustomersEntity.class, null);
+            assertEquals(25, result.entities().size());
+            assertEquals(1, result.failures().size());
+            assertEquals(25, result.failures().get(0).index());
+            for (CustomersEntity ce : result.entities()) {
+                CustomersEntity fe = dataStore.find(ce.entityKey(), CustomersEntity.class, null);
+                assertNotNull(fe);
+            }
+        } catch (Exception ex) {
+            DefaultLogger.stacktrace(ex);
+            fail(ex);
+        }
+    }
+
     @Test
     void updateEntity() {
         try {
@@ -0,0 +1,84 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.zyient.core.persistence.impl.rdbms.model;
+
+import io.zyient.base.common.model.entity.IKey;
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+
+import java.util.Objects;
+
+/**
+ * Two column key: rows of a group share the leading column.
+ */
+@Getter
+@Setter
+@Embeddable
+public class GroupKey implements IKey {
+    @Column(name = "group_id")
+    private int group;
+    @Column(name = "seq")
+    private int seq;
+
+    public GroupKey() {
+    }
+
+    public GroupKey(int group, int seq) {
+        this.group = group;
+        this.seq = seq;
+    }
+
+    @Override
+    public String stringKey() {
+        return String.format("%d%s%d", group, __DEFAULT_SEPARATOR, seq);
+    }
+
+    @Override
+    public int compareTo(IKey key) {
+        GroupKey target = (GroupKey) key;
+        int ret = Integer.compare(group, target.group);
+        if (ret == 0) {
+            ret = Integer.compare(seq, target.seq);
+        }
+        return ret;
+    }
+
+    @Override
+    public IKey fromString(@NonNull String value) throws Exception {
+        String[] parts = value.split(__DEFAULT_SEPARATOR);
+        group = Integer.parseInt(parts[0]);
+        seq = Integer.parseInt(parts[1]);
+        return this;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        GroupKey that = (GroupKey) o;
+        return group == that.group && seq == that.seq;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(group, seq);
+    }
+}
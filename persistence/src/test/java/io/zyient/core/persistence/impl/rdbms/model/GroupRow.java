@@ -0,0 +1,75 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.zyient.core.persistence.impl.rdbms.model;
+
+import io.zyient.base.common.model.Context;
+import io.zyient.base.common.model.CopyException;
+import io.zyient.base.common.model.ValidationExceptions;
+import io.zyient.base.common.model.entity.IEntity;
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Entity
+@Table(name = "group_rows")
+public class GroupRow implements IEntity<GroupKey> {
+    @EmbeddedId
+    private GroupKey id;
+    @Column(name = "amount")
+    private long amount;
+    @Column(name = "name")
+    private String name;
+
+    public GroupRow() {
+    }
+
+    public GroupRow(int group, int seq) {
+        id = new GroupKey(group, seq);
+        amount = seq;
+        name = String.format("row [%d:%d]", group, seq);
+    }
+
+    @Override
+    public int compare(GroupKey key) {
+        return id.compareTo(key);
+    }
+
+    @Override
+    public IEntity<GroupKey> copyChanges(IEntity<GroupKey> source, Context context) throws CopyException {
+        return this;
+    }
+
+    @Override
+    public IEntity<GroupKey> clone(Context context) throws CopyException {
+        return this;
+    }
+
+    @Override
+    public GroupKey entityKey() {
+        return id;
+    }
+
+    @Override
+    public void validate() throws ValidationExceptions {
+    }
+}
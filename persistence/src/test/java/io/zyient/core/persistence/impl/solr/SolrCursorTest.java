@@ -0,0 +1,170 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.zyient.core.persistence.impl.solr;
+
+import io.zyient.base.core.model.LongKey;
+import io.zyient.core.persistence.Cursor;
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrRequest;
+import org.apache.solr.common.SolrDocument;
+import org.apache.solr.common.SolrDocumentList;
+import org.apache.solr.common.params.CommonParams;
+import org.apache.solr.common.params.CursorMarkParams;
+import org.apache.solr.common.params.SolrParams;
+import org.apache.solr.common.util.NamedList;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SolrCursorTest {
+    private static final int GROUPS = 5;
+    private static final int GROUP_SIZE = 40;
+
+    /**
+     * In-process client serving cursor mark requests over a fixed document set sorted on the id.
+     * Documents of a group share the same text, timestamp and amount (ties on every field but the id).
+     */
+    private static class PagingSolrClient extends SolrClient {
+        private final List<SolrDocument> documents = new ArrayList<>();
+        private final List<String> sorts = new ArrayList<>();
+
+        private PagingSolrClient() {
+            for (int ii = 0; ii < GROUPS; ii++) {
+                for (int jj = 0; jj < GROUP_SIZE; jj++) {
+                    SolrDocument document = new SolrDocument();
+                    document.setField(SolrConstants.FIELD_SOLR_ID, id(ii * GROUP_SIZE + jj));
+                    document.setField("text", String.format("group-%d", ii));
+                    document.setField("timestamp", (long) ii);
+                    document.setField("amount", (double) ii);
+                    documents.add(document);
+                }
+            }
+        }
+
+        @Override
+        public NamedList<Object> request(SolrRequest<?> request, String collection) {
+            SolrParams params = request.getParams();
+            sorts.add(params.get(CommonParams.SORT));
+            String mark = params.get(CursorMarkParams.CURSOR_MARK_PARAM);
+            int rows = params.getInt(CommonParams.ROWS);
+            SolrDocumentList page = new SolrDocumentList();
+            String next = mark;
+            for (SolrDocument document : documents) {
+                String id = (String) document.getFieldValue(SolrConstants.FIELD_SOLR_ID);
+                if (!mark.equals(CursorMarkParams.CURSOR_MARK_START) && id.compareTo(mark) <= 0) {
+                    continue;
+                }
+                if (page.size() >= rows) {
+                    break;
+                }
+                page.add(document);
+                next = id;
+            }
+            page.setNumFound(documents.size());
+            NamedList<Object> response = new NamedList<>();
+            response.add("response", page);
+            response.add(CursorMarkParams.CURSOR_MARK_NEXT, next);
+            return response;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    @Test
+    void pagesAcrossTies() throws Exception {
+        for (int pageSize : new int[]{7, 40, 41}) {
+            PagingSolrClient client = new PagingSolrClient();
+            List<String> ids = readAll(client, 0, pageSize);
+            assertEquals(GROUPS * GROUP_SIZE, ids.size(), String.format("[page size=%d]", pageSize));
+            for (int ii = 0; ii < ids.size(); ii++) {
+                assertEquals(id(ii), ids.get(ii));
+            }
+            for (String sort : client.sorts) {
+                assertEquals(String.format("%s asc", SolrConstants.FIELD_SOLR_ID), sort);
+            }
+        }
+    }
+
+    @Test
+    void startAtPage() throws Exception {
+        int pageSize = 30;
+        int page = 3;
+        List<String> ids = readAll(new PagingSolrClient(), page, pageSize);
+        assertEquals(GROUPS * GROUP_SIZE - page * pageSize, ids.size());
+        assertEquals(id(page * pageSize), ids.get(0));
+    }
+
+    @Test
+    void resume() throws Exception {
+        PagingSolrClient client = new PagingSolrClient();
+        String position;
+        try (SolrCursor<LongKey, TestPOJO> cursor = cursor(client, 0, 25)) {
+            assertEquals(25, cursor.nextPage().size());
+            position = cursor.lastPosition();
+            assertEquals(id(24), position);
+        }
+        List<String> ids = new ArrayList<>();
+        try (SolrCursor<LongKey, TestPOJO> cursor = cursor(client, 1, 25)) {
+            cursor.resume(position);
+            List<TestPOJO> page;
+            while ((page = cursor.nextPage()) != null) {
+                for (TestPOJO entity : page) {
+                    ids.add(entity.getId());
+                }
+            }
+        }
+        assertEquals(GROUPS * GROUP_SIZE - 25, ids.size());
+        assertEquals(id(25), ids.get(0));
+    }
+
+    private static List<String> readAll(SolrClient client, int page, int pageSize) throws Exception {
+        List<String> ids = new ArrayList<>();
+        try (Cursor<LongKey, TestPOJO> cursor = cursor(client, page, pageSize)) {
+            List<TestPOJO> entities;
+            while ((entities = cursor.nextPage()) != null) {
+                for (TestPOJO entity : entities) {
+                    ids.add(entity.getId());
+                }
+            }
+        }
+        return ids;
+    }
+
+    private static SolrCursor<LongKey, TestPOJO> cursor(SolrClient client, int page, int pageSize) {
+        EntityQueryBuilder.LuceneQuery query = new EntityQueryBuilder.LuceneQuery();
+        query.where("*:*");
+        SolrCursor<LongKey, TestPOJO> cursor = new SolrCursor<>(TestPOJO.class,
+                new SolrDataStore(),
+                client,
+                query,
+                page,
+                pageSize,
+                false);
+        cursor.pageSize(pageSize);
+        return cursor;
+    }
+
+    private static String id(int index) {
+        return String.format("doc-%05d", index);
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright(C) (2024) Zyient Inc. (open.source at zyient dot io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.zyient.core.persistence.impl.solr;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.experimental.Accessors;
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrRequest;
+import org.apache.solr.client.solrj.request.UpdateRequest;
+import org.apache.solr.common.SolrInputDocument;
+import org.apache.solr.common.params.SolrParams;
+import org.apache.solr.common.params.UpdateParams;
+import org.apache.solr.common.util.NamedList;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SolrWriterTest {
+    private static final String COLLECTION = "test";
+    private static final long COMMIT_WITHIN = 500;
+    private static final long NO_FLUSH = 60 * 60 * 1000;
+
+    @Getter
+    @Accessors(fluent = true)
+    @AllArgsConstructor
+    private static class Sent {
+        private final List<String> adds;
+        private final List<String> deletes;
+        private final int commitWithin;
+        private final boolean commit;
+        private final boolean soft;
+    }
+
+    /**
+     * In-process client recording the update requests, documents with an id starting with "bad"
+     * are rejected (and the batch that contains them).
+     */
+    private static class RecordingSolrClient extends SolrClient {
+        private final List<Sent> requests = new ArrayList<>();
+
+        @Override
+        public synchronized NamedList<Object> request(SolrRequest<?> request, String collection) throws IOException {
+            UpdateRequest update = (UpdateRequest) request;
+            List<String> adds = new ArrayList<>();
+            if (update.getDocuments() != null) {
+                for (SolrInputDocument document : update.getDocuments()) {
+                    String id = (String) document.getFieldValue(SolrConstants.FIELD_SOLR_ID);
+                    if (id.startsWith("bad")) {
+                        throw new IOException(String.format("Rejected document. [id=%s]", id));
+                    }
+                    adds.add(id);
+                }
+            }
+            List<String> deletes = update.getDeleteById() == null ? List.of() : update.getDeleteById();
+            SolrParams params = update.getParams();
+            requests.add(new Sent(adds,
+                    deletes,
+                    update.getCommitWithin(),
+                    params != null && params.getBool(UpdateParams.COMMIT, false),
+                    params != null && params.getBool(UpdateParams.SOFT_COMMIT, false)));
+            NamedList<Object> header = new NamedList<>();
+            header.add("status", 0);
+            header.add("QTime", 0);
+            NamedList<Object> response = new NamedList<>();
+            response.add("responseHeader", header);
+            return response;
+        }
+
+        private synchronized List<Sent> requests() {
+            return new ArrayList<>(requests);
+        }
+
+        private synchronized List<Sent> commits() {
+            return requests.stream().filter(Sent::commit).collect(Collectors.toList());
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    @Test
+    void batches() throws Exception {
+        RecordingSolrClient client = new RecordingSolrClient();
+        try (SolrWriter writer = new SolrWriter(c -> client, 10, COMMIT_WITHIN, NO_FLUSH)) {
+            for (int ii = 0; ii < 25; ii++) {
+                assertNull(writer.add(COLLECTION, document("doc-" + ii), null));
+            }
+            List<Sent> requests = client.requests();
+            assertEquals(2, requests.size());
+            for (Sent sent : requests) {
+                assertEquals(10, sent.adds().size());
+                assertEquals(COMMIT_WITHIN, sent.commitWithin());
+                assertFalse(sent.commit());
+            }
+            assertTrue(writer.flush(COLLECTION).isEmpty());
+            requests = client.requests();
+            assertEquals(3, requests.size());
+            assertEquals(5, requests.get(2).adds().size());
+            assertEquals("doc-24", requests.get(2).adds().get(4));
+            // Nothing left to send.
+            assertNull(writer.flushAll());
+            assertTrue(client.commits().isEmpty());
+        }
+        // Close commits the written collection.
+        assertEquals(1, client.commits().size());
+    }
+
+    @Test
+    void flushInterval() throws Exception {
+        RecordingSolrClient client = new RecordingSolrClient();
+        try (SolrWriter writer = new SolrWriter(c -> client, 100, COMMIT_WITHIN, 50)) {
+            for (int ii = 0; ii < 3; ii++) {
+                writer.add(COLLECTION, document("doc-" + ii), null);
+            }
+            long start = System.currentTimeMillis();
+            while (client.requests().isEmpty()) {
+                if (System.currentTimeMillis() - start > 5000) {
+                    fail("Buffered documents not flushed.");
+                }
+                Thread.sleep(10);
+            }
+            List<Sent> requests = client.requests();
+            assertEquals(3, requests.get(0).adds().size());
+            assertEquals(COMMIT_WITHIN, requests.get(0).commitWithin());
+            assertTrue(client.commits().isEmpty());
+        }
+    }
+
+    @Test
+    void retryPerDocument() throws Exception {
+        RecordingSolrClient client = new RecordingSolrClient();
+        List<SolrWriter.Failure> handled = new ArrayList<>();
+        try (SolrWriter writer = new SolrWriter(c -> client, 10, COMMIT_WITHIN, NO_FLUSH)) {
+            writer.addFailureHandler(handled::add);
+            Object entity = new Object();
+            writer.add(COLLECTION, document("doc-0"), null);
+            writer.add(COLLECTION, document("bad-1"), entity);
+            writer.add(COLLECTION, document("doc-2"), null);
+            List<SolrWriter.Failure> failures = writer.flush(COLLECTION);
+            assertEquals(1, failures.size());
+            assertEquals("bad-1", failures.get(0).id());
+            assertSame(entity, failures.get(0).entity());
+            assertEquals(COLLECTION, failures.get(0).collection());
+            assertEquals(failures, handled);
+
+            List<String> written = new ArrayList<>();
+            for (Sent sent : client.requests()) {
+                assertEquals(1, sent.adds().size());
+                written.addAll(sent.adds());
+            }
+            assertEquals(List.of("doc-0", "doc-2"), written);
+        }
+    }
+
+    @Test
+    void operationOrder() throws Exception {
+        RecordingSolrClient client = new RecordingSolrClient();
+        try (SolrWriter writer = new SolrWriter(c -> client, 10, COMMIT_WITHIN, NO_FLUSH)) {
+            writer.add(COLLECTION, document("doc-0"), null);
+            writer.add(COLLECTION, document("doc-1"), null);
+            // A delete sends the buffered adds first.
+            writer.delete(COLLECTION, "doc-0");
+            List<Sent> requests = client.requests();
+            assertEquals(1, requests.size());
+            assertEquals(List.of("doc-0", "doc-1"), requests.get(0).adds());
+
+            writer.add(COLLECTION, document("doc-0"), null);
+            requests = client.requests();
+            assertEquals(2, requests.size());
+            assertEquals(List.of("doc-0"), requests.get(1).deletes());
+
+            // Sync sends the buffered add and soft commits.
+            writer.sync(COLLECTION);
+            requests = client.requests();
+            assertEquals(4, requests.size());
+            assertEquals(List.of("doc-0"), requests.get(2).adds());
+            assertTrue(requests.get(3).commit());
+            assertTrue(requests.get(3).soft());
+        }
+        // Nothing written since the sync: no commit on close.
+        assertEquals(1, client.commits().size());
+    }
+
+    private static SolrInputDocument document(String id) {
+        SolrInputDocument document = new SolrInputDocument();
+        document.setField(SolrConstants.FIELD_SOLR_ID, id);
+        return document;
+    }
+}